@@ -0,0 +1,364 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import fr.univartois.cril.juniverse.checker.UniverseCheckerAssignment;
+import fr.univartois.cril.juniverse.checker.UniverseCheckerModel;
+import fr.univartois.cril.juniverse.checker.UniverseSolutionChecker;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.csp.intension.IUniverseIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseIntensionConstraintFactory;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+import fr.univartois.cril.juniverse.listener.UniverseSearchEventType;
+import fr.univartois.cril.juniverse.listener.filter.UniverseFilteringSearchListener;
+import fr.univartois.cril.juniverse.listener.metrics.UniverseSearchMetricsListener;
+
+/**
+ * The UniverseAllocationCheck measures the number of bytes allocated per operation on
+ * the hot paths of JUniverse, and fails when one of them exceeds its budget.
+ * It is meant to detect innocuous-looking changes that make a hot path allocate (e.g.,
+ * in a default method).
+ * As the budgets depend on the JVM running the check, the check is opt-in, and is not
+ * part of the regular build.
+ *
+ * Allocations are measured with {@link com.sun.management.ThreadMXBean}, after a warm-up
+ * phase letting the JIT compiler apply escape analysis.
+ * Only the bytes allocated by the current thread and by the threads of the pool used by
+ * the scenarios are taken into account, so that work delegated to this pool is measured
+ * too, while unrelated threads (e.g., those of the JVM) are ignored.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseAllocationCheck {
+
+    /**
+     * The number of operations performed by each run of a scenario.
+     */
+    private static final int N_OPERATIONS = 1_000;
+
+    /**
+     * The number of runs of a scenario performed before measuring its allocations.
+     */
+    private static final int N_WARMUP_RUNS = 2_000;
+
+    /**
+     * The number of runs of a scenario over which its allocations are measured.
+     */
+    private static final int N_MEASURED_RUNS = 200;
+
+    /**
+     * The number of measurements of each scenario, among which the lowest is kept so as
+     * to ignore the allocations of unrelated threads.
+     */
+    private static final int N_ROUNDS = 5;
+
+    /**
+     * The number of bytes per operation tolerated above the budget of a scenario, to
+     * account for the allocations of the measurement itself.
+     */
+    private static final double TOLERANCE = 0.5;
+
+    /**
+     * The bean used to measure the allocations of the threads.
+     */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * The identifiers of the threads created by the pool used by the scenarios.
+     */
+    private static final Set<Long> POOL_THREADS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Disables instantiation.
+     */
+    private UniverseAllocationCheck() {
+        throw new AssertionError("No UniverseAllocationCheck instances for you!");
+    }
+
+    /**
+     * Runs the allocation check.
+     * The process exits with a non-zero status if a scenario exceeds its budget.
+     *
+     * @param args The command line arguments (unused).
+     */
+    public static void main(String[] args) {
+        if (!THREADS.isThreadAllocatedMemorySupported()) {
+            System.out.println("Allocation measurement is not supported: skipping the check");
+            return;
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        var pool = new ForkJoinPool(1, UniverseAllocationCheck::newPoolThread, null, false);
+        var failures = 0;
+        for (var scenario : scenarios(pool)) {
+            double bytes = measure(scenario);
+            boolean ok = bytes <= scenario.budget + TOLERANCE;
+            System.out.printf("%-7s %-32s %10.2f B/op (budget: %d B/op)%n",
+                    ok ? "[OK]" : "[FAIL]", scenario.name, bytes, scenario.budget);
+            if (!ok) {
+                failures++;
+            }
+        }
+        pool.shutdown();
+
+        if (failures > 0) {
+            System.out.println(failures + " hot path(s) exceed their allocation budget");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates a thread for the pool used by the scenarios, and records its identifier so
+     * that its allocations are measured.
+     *
+     * @param pool The pool for which to create the thread.
+     *
+     * @return The created thread.
+     */
+    private static ForkJoinWorkerThread newPoolThread(ForkJoinPool pool) {
+        var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        POOL_THREADS.add(thread.getId());
+        return thread;
+    }
+
+    /**
+     * Creates the scenarios to check.
+     *
+     * @param pool The pool in which the solution checker runs.
+     *
+     * @return The scenarios to check.
+     */
+    private static List<Scenario> scenarios(ForkJoinPool pool) {
+        var random = new Random(UniverseBenchmarkData.SEED);
+        var solver = new UniverseStubSolver();
+        var scenarios = new ArrayList<Scenario>();
+
+        // Clause ingestion.
+        var clauses = UniverseBenchmarkData.clauses(100, N_OPERATIONS, 3, random);
+        scenarios.add(new Scenario("addAllClauses", 0, () -> solver.addAllClauses(clauses)));
+
+        // Cardinality constraints, relying on default methods (which only create the view
+        // of the unit coefficients).
+        var cardinality = UniverseBenchmarkData.literals(100, 8, random);
+        scenarios.add(new Scenario("addAtMost(List, int)", 24, () -> {
+            for (int i = 0; i < N_OPERATIONS; i++) {
+                solver.addAtMost(cardinality, 2);
+            }
+        }));
+
+        // Assumption solving (one operation per assumption).
+        var literals = UniverseBenchmarkData.literals(2 * N_OPERATIONS, N_OPERATIONS, random);
+        scenarios.add(new Scenario("solveDimacs", 128, () -> solver.solveDimacs(literals)));
+
+        // Listener dispatch.
+        scenarios.add(listenerScenario("dispatch (filtered)",
+                new UniverseFilteringSearchListener(new IUniverseSearchListener() {
+                    // All events are ignored.
+                }).sample(UniverseSearchEventType.PROPAGATION, 100)));
+        scenarios.add(listenerScenario("dispatch (metrics)", new UniverseSearchMetricsListener()));
+
+        // Compiled intension evaluation and solution access.
+        var model = new UniverseCheckerModel();
+        var values = new HashMap<String, BigInteger>();
+        var variables = UniverseBenchmarkData.variables(N_OPERATIONS);
+        for (int i = 0; i < N_OPERATIONS; i++) {
+            values.put(variables.get(i), BigInteger.valueOf(random.nextInt(10)));
+            model.record("addIntension", intension(variables.get(i),
+                    variables.get((i + 1) % N_OPERATIONS)));
+        }
+        var checker = new UniverseSolutionChecker(model, pool);
+        checker.setGranularity(N_OPERATIONS);
+        scenarios.add(new Scenario("intension evaluation", 256, () -> checker.check(values)));
+        scenarios.add(solutionAccessScenario(values));
+
+        return scenarios;
+    }
+
+    /**
+     * Creates a scenario notifying search events to a listener.
+     *
+     * @param name The name of the scenario.
+     * @param listener The listener to notify.
+     *
+     * @return The created scenario.
+     */
+    private static Scenario listenerScenario(String name, IUniverseSearchListener listener) {
+        IUniverseVariable variable = new UniverseStubVariable();
+        return new Scenario(name, 0, () -> {
+            for (int i = 0; i < N_OPERATIONS; i++) {
+                listener.onPropagation(variable, BigInteger.ZERO);
+            }
+        });
+    }
+
+    /**
+     * Creates a scenario reading the values of a solution.
+     *
+     * @param values The values of the solution.
+     *
+     * @return The created scenario.
+     */
+    private static Scenario solutionAccessScenario(Map<String, BigInteger> values) {
+        var assignment = new UniverseCheckerAssignment(values);
+        var variables = new ArrayList<>(values.keySet());
+        return new Scenario("solution access", 0, () -> {
+            for (int i = 0; i < N_OPERATIONS; i++) {
+                assignment.valueOf(variables.get(i));
+            }
+        });
+    }
+
+    /**
+     * Creates the intension constraint {@code 2x + y <= 20}.
+     *
+     * @param x The name of the first variable.
+     * @param y The name of the second variable.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseIntensionConstraint intension(String x, String y) {
+        return UniverseIntensionConstraintFactory.le(
+                UniverseIntensionConstraintFactory.add(
+                        UniverseIntensionConstraintFactory.mult(
+                                UniverseIntensionConstraintFactory.constant(2),
+                                UniverseIntensionConstraintFactory.variable(x)),
+                        UniverseIntensionConstraintFactory.variable(y)),
+                UniverseIntensionConstraintFactory.constant(20));
+    }
+
+    /**
+     * Measures the number of bytes allocated per operation by a scenario.
+     *
+     * @param scenario The scenario to measure.
+     *
+     * @return The number of bytes allocated per operation.
+     */
+    private static double measure(Scenario scenario) {
+        for (int i = 0; i < N_WARMUP_RUNS; i++) {
+            scenario.run.run();
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < N_ROUNDS; round++) {
+            var before = allocatedBytes();
+            for (int i = 0; i < N_MEASURED_RUNS; i++) {
+                scenario.run.run();
+            }
+            best = Math.min(best, allocatedSince(before));
+        }
+        return (double) best / ((long) N_MEASURED_RUNS * N_OPERATIONS);
+    }
+
+    /**
+     * Gives the number of bytes allocated so far by each of the measured threads, i.e.,
+     * the current thread and the threads of the pool used by the scenarios.
+     *
+     * @return The number of bytes allocated by the measured threads, indexed by their
+     *         identifiers.
+     */
+    private static Map<Long, Long> allocatedBytes() {
+        var ids = new ArrayList<Long>(POOL_THREADS);
+        ids.add(Thread.currentThread().getId());
+        var allocated = THREADS.getThreadAllocatedBytes(
+                ids.stream().mapToLong(Long::longValue).toArray());
+        var bytes = new HashMap<Long, Long>();
+        for (int i = 0; i < allocated.length; i++) {
+            bytes.put(ids.get(i), allocated[i]);
+        }
+        return bytes;
+    }
+
+    /**
+     * Gives the number of bytes allocated by the measured threads since a previous
+     * measurement.
+     * Threads that did not exist at that time are considered to have allocated nothing
+     * before, and threads that have terminated since then are ignored (the difference
+     * for a thread is never negative).
+     *
+     * @param before The number of bytes allocated by the measured threads at the time of
+     *        the previous measurement.
+     *
+     * @return The number of bytes allocated since the previous measurement.
+     */
+    private static long allocatedSince(Map<Long, Long> before) {
+        long total = 0;
+        for (var entry : allocatedBytes().entrySet()) {
+            long previous = Math.max(0, before.getOrDefault(entry.getKey(), 0L));
+            total += Math.max(0, entry.getValue() - previous);
+        }
+        return total;
+    }
+
+    /**
+     * The Scenario is a hot path whose allocations are checked.
+     * Each run of a scenario performs {@link UniverseAllocationCheck#N_OPERATIONS}
+     * operations.
+     */
+    private static final class Scenario {
+
+        /**
+         * The name of the scenario.
+         */
+        private final String name;
+
+        /**
+         * The maximum number of bytes that an operation of the scenario may allocate.
+         */
+        private final int budget;
+
+        /**
+         * The code performing a run of the scenario.
+         */
+        private final Runnable run;
+
+        /**
+         * Creates a new Scenario.
+         *
+         * @param name The name of the scenario.
+         * @param budget The maximum number of bytes that an operation of the scenario may
+         *        allocate.
+         * @param run The code performing a run of the scenario.
+         */
+        private Scenario(String name, int budget, Runnable run) {
+            this.name = name;
+            this.budget = budget;
+            this.run = run;
+        }
+
+    }
+
+}
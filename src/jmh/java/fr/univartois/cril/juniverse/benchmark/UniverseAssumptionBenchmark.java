@@ -0,0 +1,124 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.cril.juniverse.core.UniverseAssumption;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+
+/**
+ * The UniverseAssumptionBenchmark measures the conversion of assumptions performed by
+ * the default methods {@code solveDimacs} and {@code solveBoolean} before the solver is
+ * actually called.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniverseAssumptionBenchmark {
+
+    /**
+     * The number of assumptions.
+     */
+    @Param({ "10", "10000" })
+    public int nAssumptions;
+
+    /**
+     * The solver receiving the assumptions.
+     */
+    private UniverseStubSolver solver;
+
+    /**
+     * The assumptions, as DIMACS literals.
+     */
+    private List<Integer> literals;
+
+    /**
+     * The assumptions, as Boolean assumptions.
+     */
+    private List<UniverseAssumption<Boolean>> assumptions;
+
+    /**
+     * Creates a new UniverseAssumptionBenchmark.
+     */
+    public UniverseAssumptionBenchmark() {
+        // The state is initialized by setUp().
+    }
+
+    /**
+     * Generates the assumptions.
+     */
+    @Setup
+    public void setUp() {
+        var random = new Random(UniverseBenchmarkData.SEED);
+        solver = new UniverseStubSolver();
+        literals = UniverseBenchmarkData.literals(2 * nAssumptions, nAssumptions, random);
+        assumptions = new ArrayList<>(nAssumptions);
+        for (int literal : literals) {
+            assumptions.add(new UniverseAssumption<>(Integer.toString(Math.abs(literal)), true,
+                    literal > 0));
+        }
+    }
+
+    /**
+     * Solves under DIMACS assumptions.
+     *
+     * @return The result of the solver.
+     */
+    @Benchmark
+    public UniverseSolverResult solveDimacs() {
+        return solver.solveDimacs(literals);
+    }
+
+    /**
+     * Solves under Boolean assumptions.
+     *
+     * @return The result of the solver.
+     */
+    @Benchmark
+    public UniverseSolverResult solveBoolean() {
+        return solver.solveBoolean(assumptions);
+    }
+
+}
@@ -0,0 +1,175 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.generator.UniverseGraphColoringGenerator;
+import fr.univartois.cril.juniverse.generator.UniverseKnapsackGenerator;
+import fr.univartois.cril.juniverse.generator.UniverseRandomKSatGenerator;
+import fr.univartois.cril.juniverse.utils.IUniverseSolverFactory;
+import fr.univartois.cril.juniverse.utils.SolverFactoryLoader;
+
+/**
+ * The UniverseBackendSolveBenchmark measures end-to-end solves of generated instances on
+ * the backends discovered by {@link SolverFactoryLoader}.
+ * The backend to use is selected by its name (as given by its factory) with the
+ * {@code backend} parameter (e.g., {@code -p backend=...}).
+ * When no backend is given, the first discovered one is used.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UniverseBackendSolveBenchmark {
+
+    /**
+     * The ratio between the number of clauses and the number of variables of the random
+     * 3-SAT instances, which is close to the satisfiability threshold.
+     */
+    private static final double CLAUSE_RATIO = 4.2;
+
+    /**
+     * The name of the backend to benchmark, or an empty string for the first discovered
+     * backend.
+     */
+    @Param({ "" })
+    public String backend;
+
+    /**
+     * The kind of instance to solve, i.e., {@code sat} for a random 3-SAT instance,
+     * {@code pb} for a random knapsack instance, or {@code csp} for a random graph
+     * coloring instance.
+     */
+    @Param({ "sat", "pb", "csp" })
+    public String kind;
+
+    /**
+     * The size of the instance (i.e., its number of variables).
+     */
+    @Param({ "150" })
+    public int size;
+
+    /**
+     * The factory of the benchmarked backend.
+     */
+    private IUniverseSolverFactory factory;
+
+    /**
+     * The solver in which the instance has been loaded.
+     */
+    private IUniverseSolver solver;
+
+    /**
+     * Creates a new UniverseBackendSolveBenchmark.
+     */
+    public UniverseBackendSolveBenchmark() {
+        // The state is initialized by setUp().
+    }
+
+    /**
+     * Looks for the backend to benchmark.
+     *
+     * @throws IllegalStateException If the backend cannot be found.
+     */
+    @Setup
+    public void setUp() {
+        var loader = SolverFactoryLoader.getInstance();
+        if (backend.isEmpty()) {
+            var capabilities = loader.getCapabilities();
+            factory = capabilities.isEmpty() ? null
+                    : loader.getFactory(capabilities.get(0).getType());
+        } else {
+            factory = loader.getFactory(backend);
+        }
+
+        if (factory == null) {
+            throw new IllegalStateException("No backend found for '" + backend
+                    + "': add a JUniverse backend to the benchmark classpath");
+        }
+    }
+
+    /**
+     * Creates a fresh solver and loads the instance into it, so that each solve starts
+     * from scratch.
+     */
+    @Setup(Level.Invocation)
+    public void loadInstance() {
+        switch (kind) {
+            case "sat":
+                var satSolver = factory.createSatSolver();
+                new UniverseRandomKSatGenerator(size, CLAUSE_RATIO, 3, UniverseBenchmarkData.SEED)
+                        .generate(satSolver);
+                solver = satSolver;
+                break;
+
+            case "pb":
+                var pbSolver = factory.createPseudoBooleanSolver();
+                new UniverseKnapsackGenerator(size, 100, 0.5, 0.5, UniverseBenchmarkData.SEED)
+                        .generate(pbSolver);
+                solver = pbSolver;
+                break;
+
+            case "csp":
+                var cspSolver = factory.createCspSolver();
+                new UniverseGraphColoringGenerator(size, 0.05, 4, UniverseBenchmarkData.SEED)
+                        .generate(cspSolver);
+                solver = cspSolver;
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown kind of instance: " + kind);
+        }
+    }
+
+    /**
+     * Solves the loaded instance.
+     *
+     * @return The result of the solver.
+     */
+    @Benchmark
+    public UniverseSolverResult solve() {
+        return solver.solve();
+    }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The UniverseBenchmarkData generates the (random, but reproducible) data used in the
+ * benchmarks.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseBenchmarkData {
+
+    /**
+     * The seed used to generate all the data, so that runs can be compared.
+     */
+    static final long SEED = 20_231_017L;
+
+    /**
+     * Disables instantiation.
+     */
+    private UniverseBenchmarkData() {
+        throw new AssertionError("No UniverseBenchmarkData instances for you!");
+    }
+
+    /**
+     * Generates random clauses.
+     *
+     * @param nVariables The number of variables.
+     * @param nClauses The number of clauses.
+     * @param size The number of literals in each clause.
+     * @param random The random generator to use.
+     *
+     * @return The generated clauses, in the DIMACS format.
+     */
+    static List<List<Integer>> clauses(int nVariables, int nClauses, int size, Random random) {
+        var clauses = new ArrayList<List<Integer>>(nClauses);
+        for (int i = 0; i < nClauses; i++) {
+            clauses.add(literals(nVariables, size, random));
+        }
+        return clauses;
+    }
+
+    /**
+     * Generates random literals, whose variables are all different.
+     *
+     * @param nVariables The number of variables.
+     * @param size The number of literals to generate.
+     * @param random The random generator to use.
+     *
+     * @return The generated literals, in the DIMACS format.
+     */
+    static List<Integer> literals(int nVariables, int size, Random random) {
+        var literals = new ArrayList<Integer>(size);
+        while (literals.size() < size) {
+            int variable = 1 + random.nextInt(nVariables);
+            if (!literals.contains(variable) && !literals.contains(-variable)) {
+                literals.add(random.nextBoolean() ? variable : -variable);
+            }
+        }
+        return literals;
+    }
+
+    /**
+     * Generates random positive coefficients.
+     *
+     * @param size The number of coefficients to generate.
+     * @param max The maximum value of the coefficients.
+     * @param random The random generator to use.
+     *
+     * @return The generated coefficients.
+     */
+    static List<BigInteger> coefficients(int size, int max, Random random) {
+        var coefficients = new ArrayList<BigInteger>(size);
+        for (int i = 0; i < size; i++) {
+            coefficients.add(BigInteger.valueOf(1 + random.nextInt(max)));
+        }
+        return coefficients;
+    }
+
+    /**
+     * Generates the names of CSP variables.
+     *
+     * @param n The number of variables.
+     *
+     * @return The names of the variables.
+     */
+    static List<String> variables(int n) {
+        var variables = new ArrayList<String>(n);
+        for (int i = 0; i < n; i++) {
+            variables.add("x[" + i + "]");
+        }
+        return variables;
+    }
+
+    /**
+     * Generates random tuples of values.
+     *
+     * @param nTuples The number of tuples.
+     * @param arity The arity of the tuples.
+     * @param domainSize The number of values in the domain of the variables.
+     * @param random The random generator to use.
+     *
+     * @return The generated tuples.
+     */
+    static List<List<BigInteger>> tuples(int nTuples, int arity, int domainSize,
+            Random random) {
+        var tuples = new ArrayList<List<BigInteger>>(nTuples);
+        for (int i = 0; i < nTuples; i++) {
+            var tuple = new ArrayList<BigInteger>(arity);
+            for (int j = 0; j < arity; j++) {
+                tuple.add(BigInteger.valueOf(random.nextInt(domainSize)));
+            }
+            tuples.add(tuple);
+        }
+        return tuples;
+    }
+
+}
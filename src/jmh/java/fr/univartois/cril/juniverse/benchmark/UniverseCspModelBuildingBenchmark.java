@@ -0,0 +1,154 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.cril.juniverse.checker.UniverseCheckerModel;
+import fr.univartois.cril.juniverse.csp.IUniverseCSPSolver;
+import fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator;
+
+/**
+ * The UniverseCspModelBuildingBenchmark measures the time needed to record a CSP model
+ * through the recorder of a {@link UniverseCheckerModel}, which is the part of
+ * JUniverse that processes the arguments of the constraints.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniverseCspModelBuildingBenchmark {
+
+    /**
+     * The number of variables in the model.
+     */
+    private static final int N_VARIABLES = 1_000;
+
+    /**
+     * The number of constraints of each kind in the model.
+     */
+    @Param({ "1000" })
+    public int nConstraints;
+
+    /**
+     * The number of tuples in each table constraint.
+     */
+    @Param({ "100" })
+    public int nTuples;
+
+    /**
+     * The scopes of the constraints of the model.
+     */
+    private List<List<String>> scopes;
+
+    /**
+     * The coefficients of the sums of the model.
+     */
+    private List<List<BigInteger>> coefficients;
+
+    /**
+     * The tables of the model.
+     */
+    private List<List<List<BigInteger>>> tables;
+
+    /**
+     * Creates a new UniverseCspModelBuildingBenchmark.
+     */
+    public UniverseCspModelBuildingBenchmark() {
+        // The state is initialized by setUp().
+    }
+
+    /**
+     * Generates the model to record.
+     */
+    @Setup
+    public void setUp() {
+        var random = new Random(UniverseBenchmarkData.SEED);
+        var variables = UniverseBenchmarkData.variables(N_VARIABLES);
+        scopes = new ArrayList<>(nConstraints);
+        coefficients = new ArrayList<>(nConstraints);
+        tables = new ArrayList<>(nConstraints);
+        for (int i = 0; i < nConstraints; i++) {
+            var scope = new ArrayList<String>(3);
+            for (var lit : UniverseBenchmarkData.literals(N_VARIABLES, 3, random)) {
+                scope.add(variables.get(Math.abs(lit) - 1));
+            }
+            scopes.add(scope);
+            coefficients.add(UniverseBenchmarkData.coefficients(3, 10, random));
+            tables.add(UniverseBenchmarkData.tuples(nTuples, 3, 10, random));
+        }
+    }
+
+    /**
+     * Records the sums of the model.
+     *
+     * @return The model in which the sums have been recorded.
+     */
+    @Benchmark
+    public UniverseCheckerModel addSum() {
+        var model = new UniverseCheckerModel();
+        var solver = model.recorder(IUniverseCSPSolver.class);
+        for (int i = 0; i < nConstraints; i++) {
+            solver.addSum(scopes.get(i), coefficients.get(i), UniverseRelationalOperator.LE,
+                    BigInteger.TEN);
+        }
+        return model;
+    }
+
+    /**
+     * Records the table constraints of the model.
+     *
+     * @return The model in which the tables have been recorded.
+     */
+    @Benchmark
+    public UniverseCheckerModel addSupport() {
+        var model = new UniverseCheckerModel();
+        var solver = model.recorder(IUniverseCSPSolver.class);
+        for (int i = 0; i < nConstraints; i++) {
+            solver.addSupport(scopes.get(i), tables.get(i));
+        }
+        return model;
+    }
+
+}
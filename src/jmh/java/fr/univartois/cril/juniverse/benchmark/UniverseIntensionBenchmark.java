@@ -0,0 +1,233 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.cril.juniverse.csp.intension.IUniverseIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.IUniverseIntensionConstraintVisitor;
+import fr.univartois.cril.juniverse.csp.intension.UniverseBinaryIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseConstantIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseIfThenElseIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseIntensionConstraintFactory;
+import fr.univartois.cril.juniverse.csp.intension.UniverseNaryIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseRangeIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseSetIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseUnaryIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseVariableIntensionConstraint;
+
+/**
+ * The UniverseIntensionBenchmark measures the construction of intension constraints
+ * with {@link UniverseIntensionConstraintFactory}, and their traversal with an
+ * {@link IUniverseIntensionConstraintVisitor}.
+ * The benchmarked expressions are weighted sums of the form
+ * {@code le(add(mult(x0, 1), ..., mult(xn, n)), n)}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniverseIntensionBenchmark {
+
+    /**
+     * The number of terms in the benchmarked expressions.
+     */
+    @Param({ "10", "1000" })
+    public int nTerms;
+
+    /**
+     * The expression to traverse.
+     */
+    private IUniverseIntensionConstraint expression;
+
+    /**
+     * Creates a new UniverseIntensionBenchmark.
+     */
+    public UniverseIntensionBenchmark() {
+        // The state is initialized by setUp().
+    }
+
+    /**
+     * Creates the expression to traverse.
+     */
+    @Setup
+    public void setUp() {
+        expression = build();
+    }
+
+    /**
+     * Builds an expression with the factory.
+     *
+     * @return The built expression.
+     */
+    @Benchmark
+    public IUniverseIntensionConstraint build() {
+        var terms = new ArrayList<IUniverseIntensionConstraint>(nTerms);
+        for (int i = 0; i < nTerms; i++) {
+            terms.add(UniverseIntensionConstraintFactory.mult(
+                    UniverseIntensionConstraintFactory.variable("x" + i),
+                    UniverseIntensionConstraintFactory.constant(i)));
+        }
+        return UniverseIntensionConstraintFactory.le(UniverseIntensionConstraintFactory.add(terms),
+                UniverseIntensionConstraintFactory.constant(nTerms));
+    }
+
+    /**
+     * Traverses an expression with a visitor.
+     *
+     * @return The number of nodes in the expression.
+     */
+    @Benchmark
+    public int visit() {
+        var visitor = new CountingVisitor();
+        expression.accept(visitor);
+        return visitor.nNodes;
+    }
+
+    /**
+     * The CountingVisitor counts the nodes of an expression.
+     */
+    private static final class CountingVisitor implements IUniverseIntensionConstraintVisitor {
+
+        /**
+         * The number of nodes visited so far.
+         */
+        private int nNodes;
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseConstantIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseConstantIntensionConstraint constant) {
+            nNodes++;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseVariableIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseVariableIntensionConstraint variable) {
+            nNodes++;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseUnaryIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseUnaryIntensionConstraint constr) {
+            nNodes++;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseBinaryIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseBinaryIntensionConstraint constr) {
+            nNodes++;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseNaryIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseNaryIntensionConstraint constr) {
+            nNodes++;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseIfThenElseIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseIfThenElseIntensionConstraint ifThenElse) {
+            nNodes++;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseSetIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseSetIntensionConstraint set) {
+            nNodes++;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseRangeIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseRangeIntensionConstraint range) {
+            nNodes++;
+        }
+
+    }
+
+}
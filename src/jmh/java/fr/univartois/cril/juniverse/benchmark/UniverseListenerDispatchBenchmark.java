@@ -0,0 +1,147 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+import fr.univartois.cril.juniverse.listener.UniverseSearchEventType;
+import fr.univartois.cril.juniverse.listener.filter.UniverseFilteringSearchListener;
+import fr.univartois.cril.juniverse.listener.metrics.UniverseSearchMetricsListener;
+
+/**
+ * The UniverseListenerDispatchBenchmark measures the cost of notifying search events to
+ * the listeners provided by JUniverse, as a solver would do it in its main loop.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniverseListenerDispatchBenchmark {
+
+    /**
+     * The number of events notified by each invocation of the benchmark.
+     */
+    private static final int N_EVENTS = 16;
+
+    /**
+     * The listener receiving the events.
+     * It is either a listener ignoring all events ({@code noop}), a filter forwarding
+     * only restarts to such a listener ({@code filtered}), a filter sampling the
+     * propagations ({@code sampled}), or a listener collecting metrics
+     * ({@code metrics}).
+     */
+    @Param({ "noop", "filtered", "sampled", "metrics" })
+    public String listenerKind;
+
+    /**
+     * The listener receiving the events.
+     */
+    private IUniverseSearchListener listener;
+
+    /**
+     * The variable involved in the events.
+     */
+    private IUniverseVariable variable;
+
+    /**
+     * Creates a new UniverseListenerDispatchBenchmark.
+     */
+    public UniverseListenerDispatchBenchmark() {
+        // The state is initialized by setUp().
+    }
+
+    /**
+     * Creates the listener receiving the events.
+     */
+    @Setup
+    public void setUp() {
+        variable = new UniverseStubVariable();
+        IUniverseSearchListener noop = new IUniverseSearchListener() {
+            // All events are ignored.
+        };
+
+        switch (listenerKind) {
+            case "noop":
+                listener = noop;
+                break;
+
+            case "filtered":
+                listener = new UniverseFilteringSearchListener(noop)
+                        .acceptOnly(UniverseSearchEventType.RESTART);
+                break;
+
+            case "sampled":
+                listener = new UniverseFilteringSearchListener(noop)
+                        .sample(UniverseSearchEventType.PROPAGATION, 100);
+                break;
+
+            case "metrics":
+                listener = new UniverseSearchMetricsListener();
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown listener: " + listenerKind);
+        }
+    }
+
+    /**
+     * Notifies the events of a typical step of a search: a decision, several
+     * propagations, a conflict, a learned constraint and a backtrack.
+     *
+     * @return The listener that received the events.
+     */
+    @Benchmark
+    @OperationsPerInvocation(N_EVENTS)
+    public IUniverseSearchListener dispatch() {
+        listener.onPositiveDecision(variable, BigInteger.ONE);
+        for (int i = 0; i < N_EVENTS - 4; i++) {
+            listener.onPropagation(variable, BigInteger.ZERO);
+        }
+        listener.onConflict(null, variable);
+        listener.onLearning(null);
+        listener.onBacktrack(1);
+        return listener;
+    }
+
+}
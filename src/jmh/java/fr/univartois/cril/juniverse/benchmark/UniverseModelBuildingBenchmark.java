@@ -0,0 +1,186 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.cril.juniverse.checker.UniverseCheckerModel;
+import fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver;
+
+/**
+ * The UniverseModelBuildingBenchmark measures the time needed to feed a SAT or
+ * pseudo-Boolean model to a solver, either directly or through the recorder of a
+ * {@link UniverseCheckerModel}.
+ * The solver is a {@link UniverseStubSolver}, so that only the code of JUniverse is
+ * measured.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniverseModelBuildingBenchmark {
+
+    /**
+     * The number of variables in the model.
+     */
+    private static final int N_VARIABLES = 1_000;
+
+    /**
+     * The number of constraints of each kind in the model.
+     */
+    @Param({ "10000" })
+    public int nConstraints;
+
+    /**
+     * Whether the constraints are recorded for a checker before reaching the solver.
+     */
+    @Param({ "false", "true" })
+    public boolean recorded;
+
+    /**
+     * The clauses of the model.
+     */
+    private List<List<Integer>> clauses;
+
+    /**
+     * The literals of the pseudo-Boolean constraints of the model.
+     */
+    private List<List<Integer>> literals;
+
+    /**
+     * The coefficients of the pseudo-Boolean constraints of the model.
+     */
+    private List<List<BigInteger>> coefficients;
+
+    /**
+     * Creates a new UniverseModelBuildingBenchmark.
+     */
+    public UniverseModelBuildingBenchmark() {
+        // The state is initialized by setUp().
+    }
+
+    /**
+     * Generates the model to feed to the solver.
+     */
+    @Setup
+    public void setUp() {
+        var random = new Random(UniverseBenchmarkData.SEED);
+        clauses = UniverseBenchmarkData.clauses(N_VARIABLES, nConstraints, 3, random);
+        literals = new ArrayList<>(nConstraints);
+        coefficients = new ArrayList<>(nConstraints);
+        for (int i = 0; i < nConstraints; i++) {
+            literals.add(UniverseBenchmarkData.literals(N_VARIABLES, 10, random));
+            coefficients.add(UniverseBenchmarkData.coefficients(10, 100, random));
+        }
+    }
+
+    /**
+     * Creates the solver to which the model is fed.
+     *
+     * @return The created solver.
+     */
+    private IUniversePseudoBooleanSolver newSolver() {
+        var solver = new UniverseStubSolver();
+        if (recorded) {
+            return new UniverseCheckerModel().recorder(IUniversePseudoBooleanSolver.class, solver);
+        }
+        return solver;
+    }
+
+    /**
+     * Adds the clauses of the model one at a time.
+     *
+     * @return The solver to which the clauses have been added.
+     */
+    @Benchmark
+    public IUniversePseudoBooleanSolver addClause() {
+        var solver = newSolver();
+        for (var clause : clauses) {
+            solver.addClause(clause);
+        }
+        return solver;
+    }
+
+    /**
+     * Adds all the clauses of the model at once.
+     *
+     * @return The solver to which the clauses have been added.
+     */
+    @Benchmark
+    public IUniversePseudoBooleanSolver addAllClauses() {
+        var solver = newSolver();
+        solver.addAllClauses(clauses);
+        return solver;
+    }
+
+    /**
+     * Adds the pseudo-Boolean constraints of the model.
+     *
+     * @return The solver to which the constraints have been added.
+     */
+    @Benchmark
+    public IUniversePseudoBooleanSolver addPseudoBoolean() {
+        var solver = newSolver();
+        for (int i = 0; i < nConstraints; i++) {
+            solver.addPseudoBoolean(literals.get(i), coefficients.get(i), true, BigInteger.TEN);
+        }
+        return solver;
+    }
+
+    /**
+     * Adds cardinality constraints, whose coefficients are created by the default method
+     * of the solver interface.
+     *
+     * @return The solver to which the constraints have been added.
+     */
+    @Benchmark
+    public IUniversePseudoBooleanSolver addAtMost() {
+        var solver = newSolver();
+        for (var lits : literals) {
+            solver.addAtMost(lits, 5);
+        }
+        return solver;
+    }
+
+}
@@ -0,0 +1,437 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import fr.univartois.cril.juniverse.core.UniverseAssumption;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver;
+
+/**
+ * The UniverseStubSolver is a pseudo-Boolean solver that does not solve anything.
+ * It only consumes the data it receives, so that benchmarks measure the cost of the
+ * code of JUniverse around the solver (e.g., default methods) rather than that of an
+ * actual backend.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseStubSolver implements IUniversePseudoBooleanSolver {
+
+    /**
+     * A checksum of the data received by this solver, preventing the JIT compiler from
+     * eliminating the calls to this solver.
+     */
+    private long checksum;
+
+    /**
+     * The last list received by this solver.
+     * Publishing the received lists makes them escape, as they would with an actual
+     * backend, so that the JIT compiler cannot eliminate their allocation.
+     */
+    private volatile List<?> sink;
+
+    /**
+     * Creates a new UniverseStubSolver.
+     */
+    public UniverseStubSolver() {
+        // Nothing to initialize.
+    }
+
+    /**
+     * Gives the checksum of the data received by this solver.
+     *
+     * @return The checksum of the received data.
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Consumes a list received by this solver.
+     *
+     * @param list The list to consume.
+     */
+    private void consume(List<?> list) {
+        sink = list;
+        checksum += list.size();
+        if (!list.isEmpty()) {
+            checksum += list.get(list.size() - 1).hashCode();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.sat.IUniverseSatSolver#addClause(java.util.List)
+     */
+    @Override
+    public void addClause(List<Integer> literals) {
+        consume(literals);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver#addPseudoBoolean(java.
+     * util.List, java.util.List, boolean, java.math.BigInteger)
+     */
+    @Override
+    public void addPseudoBoolean(List<Integer> literals, List<BigInteger> coefficients,
+            boolean moreThan, BigInteger degree) {
+        consume(literals);
+        consume(coefficients);
+        checksum += moreThan ? degree.intValue() : -degree.intValue();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver#addAtMost(java.util.
+     * List, java.util.List, int)
+     */
+    @Override
+    public void addAtMost(List<Integer> literals, List<Integer> coefficients, int degree) {
+        consume(literals);
+        consume(coefficients);
+        checksum += degree;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver#addAtMost(java.util.
+     * List, java.util.List, java.math.BigInteger)
+     */
+    @Override
+    public void addAtMost(List<Integer> literals, List<BigInteger> coefficients,
+            BigInteger degree) {
+        addPseudoBoolean(literals, coefficients, false, degree);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver#addAtLeast(java.util.
+     * List, java.util.List, int)
+     */
+    @Override
+    public void addAtLeast(List<Integer> literals, List<Integer> coefficients, int degree) {
+        consume(literals);
+        consume(coefficients);
+        checksum -= degree;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver#addAtLeast(java.util.
+     * List, java.util.List, java.math.BigInteger)
+     */
+    @Override
+    public void addAtLeast(List<Integer> literals, List<BigInteger> coefficients,
+            BigInteger degree) {
+        addPseudoBoolean(literals, coefficients, true, degree);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver#addExactly(java.util.
+     * List, java.util.List, int)
+     */
+    @Override
+    public void addExactly(List<Integer> literals, List<Integer> coefficients, int degree) {
+        addAtMost(literals, coefficients, degree);
+        addAtLeast(literals, coefficients, degree);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver#addExactly(java.util.
+     * List, java.util.List, java.math.BigInteger)
+     */
+    @Override
+    public void addExactly(List<Integer> literals, List<BigInteger> coefficients,
+            BigInteger degree) {
+        addAtMost(literals, coefficients, degree);
+        addAtLeast(literals, coefficients, degree);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#solve(java.util.List)
+     */
+    @Override
+    public UniverseSolverResult solve(List<UniverseAssumption<BigInteger>> assumptions) {
+        for (var assumption : assumptions) {
+            checksum += assumption.getValue().intValue();
+        }
+        return UniverseSolverResult.UNKNOWN;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#solve()
+     */
+    @Override
+    public UniverseSolverResult solve() {
+        return UniverseSolverResult.UNKNOWN;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#solve(java.lang.String)
+     */
+    @Override
+    public UniverseSolverResult solve(String filename) {
+        return UniverseSolverResult.UNKNOWN;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#reset()
+     */
+    @Override
+    public void reset() {
+        checksum = 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#nVariables()
+     */
+    @Override
+    public int nVariables() {
+        return 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#getVariablesMapping()
+     */
+    @Override
+    public Map<String, IUniverseVariable> getVariablesMapping() {
+        return Collections.emptyMap();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#getAuxiliaryVariables()
+     */
+    @Override
+    public List<String> getAuxiliaryVariables() {
+        return Collections.emptyList();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#getConstraints()
+     */
+    @Override
+    public List<IUniverseConstraint> getConstraints() {
+        return Collections.emptyList();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#decisionVariables(java.util.List)
+     */
+    @Override
+    public void decisionVariables(List<String> variables) {
+        consume(variables);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#valueHeuristicStatic(java.util.
+     * List, java.util.List)
+     */
+    @Override
+    public void valueHeuristicStatic(List<String> variables,
+            List<? extends Number> orderedValues) {
+        consume(variables);
+        consume(orderedValues);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#nConstraints()
+     */
+    @Override
+    public int nConstraints() {
+        return 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#isOptimization()
+     */
+    @Override
+    public boolean isOptimization() {
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setTimeout(long)
+     */
+    @Override
+    public void setTimeout(long seconds) {
+        // The stub solver never runs long enough to time out.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setTimeoutMs(long)
+     */
+    @Override
+    public void setTimeoutMs(long mseconds) {
+        // The stub solver never runs long enough to time out.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setVerbosity(int)
+     */
+    @Override
+    public void setVerbosity(int level) {
+        // The stub solver does not log anything.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setLogFile(java.lang.String)
+     */
+    @Override
+    public void setLogFile(String filename) {
+        // The stub solver does not log anything.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setLogStream(java.io.
+     * OutputStream)
+     */
+    @Override
+    public void setLogStream(OutputStream stream) {
+        // The stub solver does not log anything.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#loadInstance(java.lang.String)
+     */
+    @Override
+    public void loadInstance(String filename) {
+        throw new UnsupportedOperationException("The stub solver cannot read instances");
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#interrupt()
+     */
+    @Override
+    public void interrupt() {
+        // The stub solver never runs long enough to be interrupted.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#solution()
+     */
+    @Override
+    public List<BigInteger> solution() {
+        return Collections.emptyList();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#mapSolution()
+     */
+    @Override
+    public Map<String, BigInteger> mapSolution() {
+        return Collections.emptyMap();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#mapSolution(boolean)
+     */
+    @Override
+    public Map<String, BigInteger> mapSolution(boolean excludeAux) {
+        return Collections.emptyMap();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#checkSolution()
+     */
+    @Override
+    public boolean checkSolution() {
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#checkSolution(java.util.Map)
+     */
+    @Override
+    public boolean checkSolution(Map<String, BigInteger> assignment) {
+        return false;
+    }
+
+}
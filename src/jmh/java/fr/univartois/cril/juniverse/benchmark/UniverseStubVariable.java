@@ -0,0 +1,81 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseDomain;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+
+/**
+ * The UniverseStubVariable is a variable named {@code x}, used as argument of the
+ * events notified to search listeners.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseStubVariable implements IUniverseVariable {
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.problem.IUniverseVariable#getName()
+     */
+    @Override
+    public String getName() {
+        return "x";
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.problem.IUniverseVariable#getId()
+     */
+    @Override
+    public int getId() {
+        return 1;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.problem.IUniverseVariable#getDomain()
+     */
+    @Override
+    public IUniverseDomain getDomain() {
+        return null;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.problem.IUniverseVariable#getConstraints()
+     */
+    @Override
+    public List<IUniverseConstraint> getConstraints() {
+        return Collections.emptyList();
+    }
+
+}
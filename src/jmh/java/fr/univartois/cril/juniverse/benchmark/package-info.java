@@ -0,0 +1,12 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.benchmark} package provides the JMH benchmarks
+ * of JUniverse, which measure the overhead of the library itself and the end-to-end
+ * performance of the available backends.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.benchmark;
@@ -0,0 +1,49 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+/**
+ * The IUniverseCheckedConstraint defines a constraint that can be checked against an
+ * assignment of its variables.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@FunctionalInterface
+public interface IUniverseCheckedConstraint {
+
+    /**
+     * Checks whether this constraint is satisfied by the given assignment.
+     *
+     * @param assignment The assignment to check.
+     *
+     * @return Whether this constraint is satisfied by the assignment.
+     *
+     * @throws java.util.NoSuchElementException If a variable of this constraint is not
+     *         assigned.
+     * @throws ArithmeticException If the constraint cannot be evaluated on the
+     *         assignment (e.g., because of a division by zero).
+     */
+    boolean isSatisfiedBy(UniverseCheckerAssignment assignment);
+
+}
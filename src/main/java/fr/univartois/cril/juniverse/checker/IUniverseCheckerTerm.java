@@ -0,0 +1,121 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import fr.univartois.cril.juniverse.csp.intension.IUniverseIntensionConstraint;
+
+/**
+ * The IUniverseCheckerTerm defines a term appearing in a checked constraint, i.e., a
+ * variable, a constant or an expression, which evaluates to an integer value.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@FunctionalInterface
+interface IUniverseCheckerTerm {
+
+    /**
+     * Evaluates this term on an assignment.
+     *
+     * @param assignment The assignment on which to evaluate this term.
+     *
+     * @return The value of this term.
+     */
+    BigInteger evaluate(UniverseCheckerAssignment assignment);
+
+    /**
+     * Creates the term corresponding to an argument of a constraint.
+     * Strings are interpreted as variable names, numbers as constants, and intension
+     * constraints as expressions.
+     *
+     * @param object The argument to create the term of.
+     *
+     * @return The created term.
+     *
+     * @throws IllegalArgumentException If the argument cannot be interpreted as a term.
+     */
+    static IUniverseCheckerTerm of(Object object) {
+        if (object instanceof String) {
+            var variable = (String) object;
+            return a -> a.valueOf(variable);
+        }
+
+        if (object instanceof BigInteger) {
+            var constant = (BigInteger) object;
+            return a -> constant;
+        }
+
+        if ((object instanceof Integer) || (object instanceof Long)) {
+            var constant = BigInteger.valueOf(((Number) object).longValue());
+            return a -> constant;
+        }
+
+        if (object instanceof IUniverseIntensionConstraint) {
+            return UniverseCompiledIntension.compile((IUniverseIntensionConstraint) object);
+        }
+
+        throw new IllegalArgumentException("Not a term: " + object);
+    }
+
+    /**
+     * Creates the terms corresponding to a list of arguments of a constraint.
+     *
+     * @param objects The arguments to create the terms of.
+     *
+     * @return The created terms.
+     *
+     * @throws IllegalArgumentException If an argument cannot be interpreted as a term.
+     *
+     * @see #of(Object)
+     */
+    static IUniverseCheckerTerm[] of(List<?> objects) {
+        var terms = new IUniverseCheckerTerm[objects.size()];
+        int i = 0;
+        for (var object : objects) {
+            terms[i] = of(object);
+            i++;
+        }
+        return terms;
+    }
+
+    /**
+     * Evaluates terms on an assignment.
+     *
+     * @param terms The terms to evaluate.
+     * @param assignment The assignment on which to evaluate the terms.
+     *
+     * @return The values of the terms.
+     */
+    static BigInteger[] evaluate(IUniverseCheckerTerm[] terms,
+            UniverseCheckerAssignment assignment) {
+        var values = new BigInteger[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            values[i] = terms[i].evaluate(assignment);
+        }
+        return values;
+    }
+
+}
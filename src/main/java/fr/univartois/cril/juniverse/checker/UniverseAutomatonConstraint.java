@@ -0,0 +1,180 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import fr.univartois.cril.juniverse.csp.UniverseTransition;
+
+/**
+ * The UniverseAutomatonConstraint is a checked {@code regular} or {@code mdd}
+ * constraint, i.e., a constraint whose satisfying assignments are the words accepted
+ * by an automaton.
+ * Nondeterministic automata are supported by tracking the set of reachable states.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseAutomatonConstraint implements IUniverseCheckedConstraint {
+
+    /**
+     * The variables of the constraint, in the order in which they are read.
+     */
+    private final String[] variables;
+
+    /**
+     * The transitions of the automaton, indexed by their source state and their value.
+     */
+    private final Map<String, Map<Integer, List<String>>> transitions;
+
+    /**
+     * The initial states of the automaton.
+     */
+    private final Set<String> initialStates;
+
+    /**
+     * The final states of the automaton.
+     */
+    private final Set<String> finalStates;
+
+    /**
+     * Creates a new UniverseAutomatonConstraint.
+     *
+     * @param variables The variables of the constraint.
+     * @param transitions The transitions of the automaton.
+     * @param initialStates The initial states of the automaton.
+     * @param finalStates The final states of the automaton.
+     */
+    private UniverseAutomatonConstraint(List<String> variables,
+            Map<String, Map<Integer, List<String>>> transitions, Set<String> initialStates,
+            Set<String> finalStates) {
+        this.variables = variables.toArray(new String[0]);
+        this.transitions = transitions;
+        this.initialStates = initialStates;
+        this.finalStates = finalStates;
+    }
+
+    /**
+     * Creates a checked {@code regular} constraint.
+     *
+     * @param variables The variables of the constraint.
+     * @param transitions The transitions of the automaton.
+     * @param startState The initial state of the automaton.
+     * @param finalStates The final states of the automaton.
+     *
+     * @return The created constraint.
+     */
+    static UniverseAutomatonConstraint regular(List<String> variables,
+            List<UniverseTransition> transitions, String startState,
+            Collection<String> finalStates) {
+        return new UniverseAutomatonConstraint(variables, index(transitions),
+                Set.of(startState), new HashSet<>(finalStates));
+    }
+
+    /**
+     * Creates a checked {@code mdd} constraint.
+     * The root of the diagram is the state that is never the target of a transition, and
+     * its terminal is the state that is never the source of a transition.
+     *
+     * @param variables The variables of the constraint.
+     * @param transitions The transitions of the diagram.
+     *
+     * @return The created constraint.
+     */
+    static UniverseAutomatonConstraint mdd(List<String> variables,
+            List<UniverseTransition> transitions) {
+        var sources = new HashSet<String>();
+        var targets = new HashSet<String>();
+        for (var transition : transitions) {
+            sources.add(transition.getStart());
+            targets.add(transition.getEnd());
+        }
+
+        var roots = new HashSet<>(sources);
+        roots.removeAll(targets);
+        var terminals = new HashSet<>(targets);
+        terminals.removeAll(sources);
+        return new UniverseAutomatonConstraint(variables, index(transitions), roots, terminals);
+    }
+
+    /**
+     * Indexes transitions by their source state and their value.
+     *
+     * @param transitions The transitions to index.
+     *
+     * @return The indexed transitions.
+     */
+    private static Map<String, Map<Integer, List<String>>> index(
+            List<UniverseTransition> transitions) {
+        var index = new HashMap<String, Map<Integer, List<String>>>();
+        for (var transition : transitions) {
+            index.computeIfAbsent(transition.getStart(), s -> new HashMap<>())
+                    .computeIfAbsent(transition.getValue(), v -> new ArrayList<>(1))
+                    .add(transition.getEnd());
+        }
+        return index;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.checker.IUniverseCheckedConstraint#isSatisfiedBy(fr.
+     * univartois.cril.juniverse.checker.UniverseCheckerAssignment)
+     */
+    @Override
+    public boolean isSatisfiedBy(UniverseCheckerAssignment assignment) {
+        Set<String> current = initialStates;
+        for (var variable : variables) {
+            var value = assignment.valueOf(variable);
+            if (value.bitLength() >= Integer.SIZE) {
+                return false;
+            }
+
+            var reached = new HashSet<String>();
+            for (var state : current) {
+                var targets = transitions.getOrDefault(state, Collections.emptyMap())
+                        .get(value.intValue());
+                if (targets != null) {
+                    reached.addAll(targets);
+                }
+            }
+
+            if (reached.isEmpty()) {
+                return false;
+            }
+            current = reached;
+        }
+
+        return !Collections.disjoint(current, finalStates);
+    }
+
+}
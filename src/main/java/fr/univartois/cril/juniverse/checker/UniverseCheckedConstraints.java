@@ -0,0 +1,1002 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import fr.univartois.cril.juniverse.csp.operator.UniverseArithmeticOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseBooleanOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator;
+
+/**
+ * The UniverseCheckedConstraints provides the checked versions of the constraints that
+ * do not need a dedicated data structure to be checked efficiently.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseCheckedConstraints {
+
+    /**
+     * The maximum number of bits of the coefficients of a pseudo-Boolean constraint for
+     * its weighted sum to be computed on {@code long} values.
+     */
+    private static final int SMALL_COEFFICIENT_BITS = 31;
+
+    /**
+     * Disables instantiation.
+     */
+    private UniverseCheckedConstraints() {
+        throw new AssertionError("No UniverseCheckedConstraints instances for you!");
+    }
+
+    /**
+     * Creates a checked clause over DIMACS literals.
+     *
+     * @param literals The literals of the clause.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint clause(int[] literals) {
+        return a -> {
+            for (int literal : literals) {
+                if (a.isSatisfied(literal)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Creates a checked pseudo-Boolean constraint over DIMACS literals.
+     *
+     * @param literals The literals of the constraint.
+     * @param coefficients The coefficients of the literals.
+     * @param operator The operator comparing the weighted sum with the degree.
+     * @param degree The degree of the constraint.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint pseudoBoolean(int[] literals, BigInteger[] coefficients,
+            UniverseRelationalOperator operator, BigInteger degree) {
+        if (literals.length != coefficients.length) {
+            throw new IllegalArgumentException("Literals and coefficients do not match");
+        }
+
+        // Small coefficients are summed on longs, which cannot overflow.
+        boolean small = (degree.bitLength() <= 2 * SMALL_COEFFICIENT_BITS);
+        for (var coefficient : coefficients) {
+            small &= (coefficient.bitLength() <= SMALL_COEFFICIENT_BITS);
+        }
+
+        if (small) {
+            var weights = Arrays.stream(coefficients).mapToLong(BigInteger::longValue).toArray();
+            long limit = degree.longValue();
+            return a -> {
+                long sum = 0;
+                for (int i = 0; i < literals.length; i++) {
+                    if (a.isSatisfied(literals[i])) {
+                        sum += weights[i];
+                    }
+                }
+                return UniverseCheckerCondition.holds(operator, Long.compare(sum, limit));
+            };
+        }
+
+        return a -> {
+            var sum = BigInteger.ZERO;
+            for (int i = 0; i < literals.length; i++) {
+                if (a.isSatisfied(literals[i])) {
+                    sum = sum.add(coefficients[i]);
+                }
+            }
+            return UniverseCheckerCondition.compare(operator, sum, degree);
+        };
+    }
+
+    /**
+     * Creates a checked clause over Boolean variables.
+     *
+     * @param positive The variables appearing positively in the clause.
+     * @param negative The variables appearing negatively in the clause.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint clause(IUniverseCheckerTerm[] positive,
+            IUniverseCheckerTerm[] negative) {
+        return a -> {
+            for (var term : positive) {
+                if (term.evaluate(a).signum() != 0) {
+                    return true;
+                }
+            }
+            for (var term : negative) {
+                if (term.evaluate(a).signum() == 0) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Creates a checked {@code instantiation} constraint.
+     *
+     * @param terms The instantiated terms.
+     * @param values The values of the terms.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint instantiation(IUniverseCheckerTerm[] terms,
+            BigInteger[] values) {
+        if (terms.length != values.length) {
+            throw new IllegalArgumentException("Variables and values do not match");
+        }
+
+        return a -> {
+            for (int i = 0; i < terms.length; i++) {
+                if (!terms[i].evaluate(a).equals(values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a checked {@code logical} constraint.
+     *
+     * @param operator The Boolean operator to apply on the terms.
+     * @param terms The terms on which the operator is applied.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint logical(UniverseBooleanOperator operator,
+            IUniverseCheckerTerm[] terms) {
+        return a -> logical(operator, terms, a);
+    }
+
+    /**
+     * Creates a checked {@code logical} constraint whose truth value is reified.
+     *
+     * @param variable The term whose value depends on the logical operation.
+     * @param equiv Whether {@code variable} must be equivalent to the logical operation
+     *        (or to its negation).
+     * @param operator The Boolean operator to apply on the terms.
+     * @param terms The terms on which the operator is applied.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint logical(IUniverseCheckerTerm variable, boolean equiv,
+            UniverseBooleanOperator operator, IUniverseCheckerTerm[] terms) {
+        return a -> ((variable.evaluate(a).signum() != 0) == logical(operator, terms, a)) == equiv;
+    }
+
+    /**
+     * Creates a checked {@code logical} constraint whose comparison is reified.
+     *
+     * @param variable The term whose value depends on the comparison.
+     * @param left The left-hand side of the comparison.
+     * @param operator The relational operator of the comparison.
+     * @param right The right-hand side of the comparison.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint logical(IUniverseCheckerTerm variable,
+            IUniverseCheckerTerm left, UniverseRelationalOperator operator,
+            IUniverseCheckerTerm right) {
+        return a -> (variable.evaluate(a).signum() != 0) == UniverseCheckerCondition.compare(
+                operator, left.evaluate(a), right.evaluate(a));
+    }
+
+    /**
+     * Applies a Boolean operator on terms.
+     *
+     * @param operator The Boolean operator to apply.
+     * @param terms The terms on which the operator is applied.
+     * @param assignment The assignment on which to evaluate the terms.
+     *
+     * @return The truth value of the operation.
+     */
+    private static boolean logical(UniverseBooleanOperator operator, IUniverseCheckerTerm[] terms,
+            UniverseCheckerAssignment assignment) {
+        int nTrue = 0;
+        for (var term : terms) {
+            if (term.evaluate(assignment).signum() != 0) {
+                nTrue++;
+            }
+        }
+
+        switch (operator) {
+            case NOT:
+                return nTrue == 0;
+
+            case AND:
+                return nTrue == terms.length;
+
+            case OR:
+                return nTrue > 0;
+
+            case XOR:
+                return (nTrue % 2) == 1;
+
+            case EQUIV:
+                return (nTrue == 0) || (nTrue == terms.length);
+
+            case IMPL:
+                return (terms[0].evaluate(assignment).signum() == 0)
+                        || (terms[1].evaluate(assignment).signum() != 0);
+
+            default:
+                throw new IllegalArgumentException("Unknown operator: " + operator);
+        }
+    }
+
+    /**
+     * Creates a checked {@code all-different} constraint.
+     *
+     * @param terms The terms that must take different values.
+     * @param except The values that may be taken by several terms.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint allDifferent(IUniverseCheckerTerm[] terms,
+            Set<BigInteger> except) {
+        return a -> {
+            var values = new HashSet<BigInteger>(2 * terms.length);
+            for (var term : terms) {
+                var value = term.evaluate(a);
+                if (!except.contains(value) && !values.add(value)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a checked {@code all-different-list} constraint.
+     *
+     * @param tuples The tuples of terms that must take different values.
+     * @param except The tuples of values that may be taken by several tuples.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint allDifferentList(List<IUniverseCheckerTerm[]> tuples,
+            Set<List<BigInteger>> except) {
+        return a -> {
+            var values = new HashSet<List<BigInteger>>(2 * tuples.size());
+            for (var tuple : tuples) {
+                var value = Arrays.asList(IUniverseCheckerTerm.evaluate(tuple, a));
+                if (!except.contains(value) && !values.add(value)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a checked {@code all-equal} or {@code not-all-equal} constraint.
+     *
+     * @param terms The terms of the constraint.
+     * @param equal Whether all the terms must be equal (or not).
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint allEqual(IUniverseCheckerTerm[] terms, boolean equal) {
+        return a -> {
+            if (terms.length == 0) {
+                return equal;
+            }
+
+            var first = terms[0].evaluate(a);
+            for (int i = 1; i < terms.length; i++) {
+                if (!terms[i].evaluate(a).equals(first)) {
+                    return !equal;
+                }
+            }
+            return equal;
+        };
+    }
+
+    /**
+     * Creates a checked {@code sum} constraint.
+     *
+     * @param terms The terms to sum.
+     * @param coefficients The coefficients of the terms, or {@code null} if all are equal
+     *        to {@code 1}.
+     * @param condition The condition that the sum must satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint sum(IUniverseCheckerTerm[] terms,
+            IUniverseCheckerTerm[] coefficients, UniverseCheckerCondition condition) {
+        if ((coefficients != null) && (coefficients.length != terms.length)) {
+            throw new IllegalArgumentException("Terms and coefficients do not match");
+        }
+
+        return a -> {
+            var sum = BigInteger.ZERO;
+            for (int i = 0; i < terms.length; i++) {
+                var value = terms[i].evaluate(a);
+                sum = sum.add((coefficients == null) ? value
+                        : value.multiply(coefficients[i].evaluate(a)));
+            }
+            return condition.test(sum, a);
+        };
+    }
+
+    /**
+     * Creates a checked {@code count} constraint.
+     *
+     * @param terms The terms whose values are counted.
+     * @param values The values to count.
+     * @param condition The condition that the number of occurrences must satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint count(IUniverseCheckerTerm[] terms,
+            IUniverseCheckerTerm[] values, UniverseCheckerCondition condition) {
+        return a -> {
+            var counted = new HashSet<>(Arrays.asList(IUniverseCheckerTerm.evaluate(values, a)));
+            long count = 0;
+            for (var term : terms) {
+                if (counted.contains(term.evaluate(a))) {
+                    count++;
+                }
+            }
+            return condition.test(BigInteger.valueOf(count), a);
+        };
+    }
+
+    /**
+     * Creates a checked {@code n-values} constraint.
+     *
+     * @param terms The terms whose distinct values are counted.
+     * @param except The values that are not counted.
+     * @param condition The condition that the number of distinct values must satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint nValues(IUniverseCheckerTerm[] terms,
+            Set<BigInteger> except, UniverseCheckerCondition condition) {
+        return a -> {
+            var values = new HashSet<BigInteger>(2 * terms.length);
+            for (var term : terms) {
+                values.add(term.evaluate(a));
+            }
+            values.removeAll(except);
+            return condition.test(BigInteger.valueOf(values.size()), a);
+        };
+    }
+
+    /**
+     * Creates a checked {@code cardinality} constraint.
+     *
+     * @param terms The terms whose values are counted.
+     * @param values The values to count.
+     * @param occursMin The minimum numbers of occurrences of the values.
+     * @param occursMax The maximum numbers of occurrences of the values.
+     * @param closed Whether the terms may only take the counted values.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint cardinality(IUniverseCheckerTerm[] terms,
+            IUniverseCheckerTerm[] values, IUniverseCheckerTerm[] occursMin,
+            IUniverseCheckerTerm[] occursMax, boolean closed) {
+        if ((occursMin.length != values.length) || (occursMax.length != values.length)) {
+            throw new IllegalArgumentException("Values and occurrences do not match");
+        }
+
+        return a -> {
+            var occurrences = new HashMap<BigInteger, Long>();
+            for (var value : values) {
+                occurrences.put(value.evaluate(a), 0L);
+            }
+
+            for (var term : terms) {
+                var value = term.evaluate(a);
+                var count = occurrences.get(value);
+                if (count != null) {
+                    occurrences.put(value, count + 1);
+                } else if (closed) {
+                    return false;
+                }
+            }
+
+            for (int i = 0; i < values.length; i++) {
+                var count = BigInteger.valueOf(occurrences.get(values[i].evaluate(a)));
+                if ((count.compareTo(occursMin[i].evaluate(a)) < 0)
+                        || (count.compareTo(occursMax[i].evaluate(a)) > 0)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a checked {@code minimum} or {@code maximum} constraint.
+     *
+     * @param terms The terms whose extremum is computed.
+     * @param maximum Whether the maximum (or minimum) is computed.
+     * @param condition The condition that the extremum must satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint extremum(IUniverseCheckerTerm[] terms, boolean maximum,
+            UniverseCheckerCondition condition) {
+        return a -> condition.test(extremum(IUniverseCheckerTerm.evaluate(terms, a), maximum), a);
+    }
+
+    /**
+     * Creates a checked {@code minimum} or {@code maximum} constraint, which also
+     * constrains the index at which the extremum is reached.
+     *
+     * @param terms The terms whose extremum is computed.
+     * @param maximum Whether the maximum (or minimum) is computed.
+     * @param startIndex The index of the first term.
+     * @param index The index of a term reaching the extremum.
+     * @param condition The condition that the extremum must satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint extremumIndex(IUniverseCheckerTerm[] terms,
+            boolean maximum, int startIndex, IUniverseCheckerTerm index,
+            UniverseCheckerCondition condition) {
+        return a -> {
+            var values = IUniverseCheckerTerm.evaluate(terms, a);
+            var extremum = extremum(values, maximum);
+            var position = index.evaluate(a).subtract(BigInteger.valueOf(startIndex));
+            return (position.signum() >= 0)
+                    && (position.compareTo(BigInteger.valueOf(values.length)) < 0)
+                    && values[position.intValue()].equals(extremum)
+                    && condition.test(extremum, a);
+        };
+    }
+
+    /**
+     * Creates a checked {@code arg-min} or {@code arg-max} constraint, i.e., a
+     * constraint whose condition applies to the index at which the extremum is reached.
+     *
+     * @param terms The terms whose extremum is computed.
+     * @param maximum Whether the maximum (or minimum) is computed.
+     * @param condition The condition that one of the indices reaching the extremum must
+     *        satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint extremumArg(IUniverseCheckerTerm[] terms,
+            boolean maximum, UniverseCheckerCondition condition) {
+        return a -> {
+            var values = IUniverseCheckerTerm.evaluate(terms, a);
+            var extremum = extremum(values, maximum);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].equals(extremum) && condition.test(BigInteger.valueOf(i), a)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Computes the extremum of values.
+     *
+     * @param values The values whose extremum is computed.
+     * @param maximum Whether the maximum (or minimum) is computed.
+     *
+     * @return The extremum of the values.
+     *
+     * @throws ArithmeticException If there is no value.
+     */
+    private static BigInteger extremum(BigInteger[] values, boolean maximum) {
+        if (values.length == 0) {
+            throw new ArithmeticException("Extremum of an empty list");
+        }
+
+        var extremum = values[0];
+        for (var value : values) {
+            extremum = maximum ? extremum.max(value) : extremum.min(value);
+        }
+        return extremum;
+    }
+
+    /**
+     * Creates a checked {@code element} constraint without index, i.e., a constraint
+     * requiring that at least one of the terms satisfies the condition.
+     *
+     * @param terms The terms of the constraint.
+     * @param condition The condition that one of the terms must satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint element(IUniverseCheckerTerm[] terms,
+            UniverseCheckerCondition condition) {
+        return a -> {
+            for (var term : terms) {
+                if (condition.test(term.evaluate(a), a)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Creates a checked {@code element} constraint.
+     *
+     * @param terms The terms of the constraint.
+     * @param startIndex The index of the first term.
+     * @param index The index of the term that must satisfy the condition.
+     * @param condition The condition that the indexed term must satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint element(IUniverseCheckerTerm[] terms, int startIndex,
+            IUniverseCheckerTerm index, UniverseCheckerCondition condition) {
+        return a -> {
+            int position = position(index.evaluate(a), startIndex, terms.length);
+            return (position >= 0) && condition.test(terms[position].evaluate(a), a);
+        };
+    }
+
+    /**
+     * Creates a checked {@code element} constraint over a matrix.
+     *
+     * @param matrix The terms of the constraint.
+     * @param startRowIndex The index of the first row.
+     * @param rowIndex The index of the row of the term that must satisfy the condition.
+     * @param startColIndex The index of the first column.
+     * @param colIndex The index of the column of the term that must satisfy the
+     *        condition.
+     * @param condition The condition that the indexed term must satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint element(IUniverseCheckerTerm[][] matrix,
+            int startRowIndex, IUniverseCheckerTerm rowIndex, int startColIndex,
+            IUniverseCheckerTerm colIndex, UniverseCheckerCondition condition) {
+        return a -> {
+            int row = position(rowIndex.evaluate(a), startRowIndex, matrix.length);
+            if (row < 0) {
+                return false;
+            }
+
+            int col = position(colIndex.evaluate(a), startColIndex, matrix[row].length);
+            return (col >= 0) && condition.test(matrix[row][col].evaluate(a), a);
+        };
+    }
+
+    /**
+     * Gives the position designated by an index.
+     *
+     * @param index The value of the index.
+     * @param startIndex The index of the first position.
+     * @param length The number of positions.
+     *
+     * @return The designated position, or {@code -1} if the index is out of bounds.
+     */
+    private static int position(BigInteger index, int startIndex, int length) {
+        var position = index.subtract(BigInteger.valueOf(startIndex));
+        if ((position.signum() < 0) || (position.compareTo(BigInteger.valueOf(length)) >= 0)) {
+            return -1;
+        }
+        return position.intValue();
+    }
+
+    /**
+     * Creates a checked {@code channel} constraint on a single list, i.e., a constraint
+     * requiring that {@code x[i] = j} if and only if {@code x[j] = i}.
+     *
+     * @param terms The terms of the constraint.
+     * @param startIndex The index of the first term.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint channel(IUniverseCheckerTerm[] terms, int startIndex) {
+        return channel(terms, startIndex, terms, startIndex);
+    }
+
+    /**
+     * Creates a checked {@code channel} constraint between two lists, i.e., a
+     * constraint requiring that {@code x[i] = j} implies {@code y[j] = i}, and
+     * conversely if both lists have the same length.
+     *
+     * @param terms The first list of terms.
+     * @param startIndex The index of the first term of the first list.
+     * @param others The second list of terms.
+     * @param otherStartIndex The index of the first term of the second list.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint channel(IUniverseCheckerTerm[] terms, int startIndex,
+            IUniverseCheckerTerm[] others, int otherStartIndex) {
+        return a -> {
+            var values = IUniverseCheckerTerm.evaluate(terms, a);
+            var otherValues = IUniverseCheckerTerm.evaluate(others, a);
+            return channel(values, startIndex, otherValues, otherStartIndex)
+                    && ((values.length != otherValues.length)
+                            || channel(otherValues, otherStartIndex, values, startIndex));
+        };
+    }
+
+    /**
+     * Checks that {@code x[i] = j} implies {@code y[j] = i}.
+     *
+     * @param values The values of the first list.
+     * @param startIndex The index of the first value of the first list.
+     * @param others The values of the second list.
+     * @param otherStartIndex The index of the first value of the second list.
+     *
+     * @return Whether the values are channeled.
+     */
+    private static boolean channel(BigInteger[] values, int startIndex, BigInteger[] others,
+            int otherStartIndex) {
+        for (int i = 0; i < values.length; i++) {
+            int j = position(values[i], otherStartIndex, others.length);
+            if ((j < 0) || !others[j].equals(BigInteger.valueOf((long) i + startIndex))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a checked {@code channel} constraint with a value, i.e., a constraint
+     * requiring that exactly one of the (Boolean) terms is true, namely the one at the
+     * index given by the value.
+     *
+     * @param terms The terms of the constraint.
+     * @param startIndex The index of the first term.
+     * @param value The index of the only true term.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint channel(IUniverseCheckerTerm[] terms, int startIndex,
+            IUniverseCheckerTerm value) {
+        return a -> {
+            int position = position(value.evaluate(a), startIndex, terms.length);
+            for (int i = 0; i < terms.length; i++) {
+                if ((terms[i].evaluate(a).signum() != 0) != (i == position)) {
+                    return false;
+                }
+            }
+            return position >= 0;
+        };
+    }
+
+    /**
+     * Creates a checked {@code ordered} constraint.
+     *
+     * @param terms The terms that must be ordered.
+     * @param lengths The lengths between consecutive terms, or {@code null} if there are
+     *        none.
+     * @param operator The relational operator defining the order.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint ordered(IUniverseCheckerTerm[] terms,
+            IUniverseCheckerTerm[] lengths, UniverseRelationalOperator operator) {
+        return a -> {
+            var previous = (terms.length == 0) ? null : terms[0].evaluate(a);
+            for (int i = 1; i < terms.length; i++) {
+                var current = terms[i].evaluate(a);
+                var left = (lengths == null) ? previous : previous.add(lengths[i - 1].evaluate(a));
+                if (!UniverseCheckerCondition.compare(operator, left, current)) {
+                    return false;
+                }
+                previous = current;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a checked {@code lex} constraint, requiring consecutive tuples to be
+     * lexicographically ordered.
+     *
+     * @param tuples The tuples that must be ordered.
+     * @param operator The relational operator defining the order.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint lex(List<IUniverseCheckerTerm[]> tuples,
+            UniverseRelationalOperator operator) {
+        return a -> {
+            BigInteger[] previous = null;
+            for (var tuple : tuples) {
+                var current = IUniverseCheckerTerm.evaluate(tuple, a);
+                if ((previous != null) && !UniverseCheckerCondition.holds(
+                        operator, lexCompare(previous, current))) {
+                    return false;
+                }
+                previous = current;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a checked {@code lex-matrix} constraint, requiring both the rows and the
+     * columns of a matrix to be lexicographically ordered.
+     *
+     * @param matrix The matrix of terms.
+     * @param operator The relational operator defining the order.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint lexMatrix(IUniverseCheckerTerm[][] matrix,
+            UniverseRelationalOperator operator) {
+        var rows = Arrays.asList(matrix);
+        var columns = Arrays.asList(transpose(matrix));
+        var rowsOrdered = lex(rows, operator);
+        var columnsOrdered = lex(columns, operator);
+        return a -> rowsOrdered.isSatisfiedBy(a) && columnsOrdered.isSatisfiedBy(a);
+    }
+
+    /**
+     * Compares two tuples of values lexicographically.
+     *
+     * @param tuple The first tuple.
+     * @param other The second tuple.
+     *
+     * @return The result of the comparison, as given by
+     *         {@link Comparable#compareTo(Object)}.
+     */
+    static int lexCompare(BigInteger[] tuple, BigInteger[] other) {
+        for (int i = 0; i < Math.min(tuple.length, other.length); i++) {
+            int comparison = tuple[i].compareTo(other[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(tuple.length, other.length);
+    }
+
+    /**
+     * Transposes a matrix of terms.
+     *
+     * @param matrix The matrix to transpose.
+     *
+     * @return The transposed matrix.
+     *
+     * @throws IllegalArgumentException If the matrix is not rectangular.
+     */
+    static IUniverseCheckerTerm[][] transpose(IUniverseCheckerTerm[][] matrix) {
+        int nCols = (matrix.length == 0) ? 0 : matrix[0].length;
+        var transposed = new IUniverseCheckerTerm[nCols][matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            if (matrix[i].length != nCols) {
+                throw new IllegalArgumentException("Matrix is not rectangular");
+            }
+            for (int j = 0; j < nCols; j++) {
+                transposed[j][i] = matrix[i][j];
+            }
+        }
+        return transposed;
+    }
+
+    /**
+     * Creates a checked {@code primitive} constraint of the form
+     * {@code (x arithOp y) relOp z}.
+     *
+     * @param variable The left operand of the arithmetic operation.
+     * @param arithOp The arithmetic operator.
+     * @param operand The right operand of the arithmetic operation.
+     * @param relOp The relational operator.
+     * @param right The right-hand side of the comparison.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint primitive(IUniverseCheckerTerm variable,
+            UniverseArithmeticOperator arithOp, IUniverseCheckerTerm operand,
+            UniverseRelationalOperator relOp, IUniverseCheckerTerm right) {
+        return a -> UniverseCheckerCondition.compare(relOp,
+                apply(arithOp, variable.evaluate(a), operand.evaluate(a)), right.evaluate(a));
+    }
+
+    /**
+     * Creates a checked {@code primitive} constraint of the form
+     * {@code arithOp(x) = y}, where {@code arithOp} is a unary operator.
+     *
+     * @param arithOp The unary arithmetic operator.
+     * @param variable The operand of the arithmetic operation.
+     * @param right The result of the arithmetic operation.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint primitive(UniverseArithmeticOperator arithOp,
+            IUniverseCheckerTerm variable, IUniverseCheckerTerm right) {
+        if ((arithOp != UniverseArithmeticOperator.NEG)
+                && (arithOp != UniverseArithmeticOperator.ABS)
+                && (arithOp != UniverseArithmeticOperator.SQR)) {
+            throw new IllegalArgumentException("Not a unary operator: " + arithOp);
+        }
+        return a -> apply(arithOp, variable.evaluate(a), null).equals(right.evaluate(a));
+    }
+
+    /**
+     * Applies an arithmetic operator.
+     *
+     * @param operator The operator to apply.
+     * @param left The left operand (or the only operand for unary operators).
+     * @param right The right operand, ignored for unary operators.
+     *
+     * @return The result of the operation.
+     */
+    private static BigInteger apply(UniverseArithmeticOperator operator, BigInteger left,
+            BigInteger right) {
+        switch (operator) {
+            case NEG:
+                return left.negate();
+
+            case ABS:
+                return left.abs();
+
+            case SQR:
+                return left.multiply(left);
+
+            case ADD:
+                return left.add(right);
+
+            case SUB:
+                return left.subtract(right);
+
+            case MULT:
+                return left.multiply(right);
+
+            case DIV:
+                return left.divide(right);
+
+            case MOD:
+                return left.remainder(right);
+
+            case POW:
+                return left.pow(right.intValueExact());
+
+            case MIN:
+                return left.min(right);
+
+            case MAX:
+                return left.max(right);
+
+            case DIST:
+                return left.subtract(right).abs();
+
+            default:
+                throw new IllegalArgumentException("Unknown operator: " + operator);
+        }
+    }
+
+    /**
+     * Creates a checked {@code stretch} constraint.
+     *
+     * @param terms The terms of the constraint.
+     * @param values The values that the terms may take.
+     * @param widthsMin The minimum widths of the stretches of each value.
+     * @param widthsMax The maximum widths of the stretches of each value.
+     * @param patterns The allowed pairs of values of successive stretches, or
+     *        {@code null} if all pairs are allowed.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint stretch(IUniverseCheckerTerm[] terms,
+            List<BigInteger> values, List<BigInteger> widthsMin, List<BigInteger> widthsMax,
+            Set<List<BigInteger>> patterns) {
+        var index = new HashMap<BigInteger, Integer>();
+        for (int i = 0; i < values.size(); i++) {
+            index.put(values.get(i), i);
+        }
+
+        return a -> {
+            var assigned = IUniverseCheckerTerm.evaluate(terms, a);
+            int start = 0;
+            while (start < assigned.length) {
+                var value = assigned[start];
+                var position = index.get(value);
+                if (position == null) {
+                    return false;
+                }
+
+                int end = start + 1;
+                while ((end < assigned.length) && assigned[end].equals(value)) {
+                    end++;
+                }
+
+                var width = BigInteger.valueOf((long) end - start);
+                if ((width.compareTo(widthsMin.get(position)) < 0)
+                        || (width.compareTo(widthsMax.get(position)) > 0)) {
+                    return false;
+                }
+
+                if ((patterns != null) && (end < assigned.length)
+                        && !patterns.contains(List.of(value, assigned[end]))) {
+                    return false;
+                }
+                start = end;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a checked {@code precedence} constraint, requiring that each value (but
+     * the first) is not taken before the previous one is.
+     *
+     * @param terms The terms of the constraint.
+     * @param values The values on which the precedence applies.
+     * @param covered Whether each value must be taken by at least one term.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint precedence(IUniverseCheckerTerm[] terms,
+            List<BigInteger> values, boolean covered) {
+        var index = new HashMap<BigInteger, Integer>();
+        for (int i = 0; i < values.size(); i++) {
+            index.put(values.get(i), i);
+        }
+
+        return a -> {
+            // The number of values taken so far, which are always the first ones.
+            int taken = 0;
+            for (var term : terms) {
+                var position = index.get(term.evaluate(a));
+                if (position != null) {
+                    if (position > taken) {
+                        return false;
+                    }
+                    taken = Math.max(taken, position + 1);
+                }
+            }
+            return !covered || (taken == values.size());
+        };
+    }
+
+    /**
+     * Creates a checked {@code knapsack} constraint.
+     *
+     * @param terms The terms giving the number of times each item is selected.
+     * @param weights The weights of the items.
+     * @param weightCondition The condition that the total weight must satisfy.
+     * @param profits The profits of the items.
+     * @param profitCondition The condition that the total profit must satisfy.
+     *
+     * @return The created constraint.
+     */
+    static IUniverseCheckedConstraint knapsack(IUniverseCheckerTerm[] terms,
+            IUniverseCheckerTerm[] weights, UniverseCheckerCondition weightCondition,
+            IUniverseCheckerTerm[] profits, UniverseCheckerCondition profitCondition) {
+        var weight = sum(terms, weights, weightCondition);
+        var profit = sum(terms, profits, profitCondition);
+        return a -> weight.isSatisfiedBy(a) && profit.isSatisfiedBy(a);
+    }
+
+}
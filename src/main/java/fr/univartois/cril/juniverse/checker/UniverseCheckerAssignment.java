@@ -0,0 +1,163 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The UniverseCheckerAssignment is a read-only view of an assignment of the variables
+ * of a model.
+ * Boolean variables named after their DIMACS identifier are also stored in an array, so
+ * that clauses and pseudo-Boolean constraints can be checked without looking up the
+ * assignment map.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseCheckerAssignment {
+
+    /**
+     * The marker for an unassigned DIMACS variable.
+     */
+    private static final byte UNASSIGNED = 0;
+
+    /**
+     * The marker for a DIMACS variable assigned to {@code false}.
+     */
+    private static final byte FALSE = 1;
+
+    /**
+     * The marker for a DIMACS variable assigned to {@code true}.
+     */
+    private static final byte TRUE = 2;
+
+    /**
+     * The values of the variables, indexed by their names.
+     */
+    private final Map<String, BigInteger> values;
+
+    /**
+     * The values of the DIMACS variables, indexed by their identifiers.
+     */
+    private final byte[] literals;
+
+    /**
+     * Creates a new UniverseCheckerAssignment.
+     *
+     * @param values The values of the variables, indexed by their names.
+     */
+    public UniverseCheckerAssignment(Map<String, BigInteger> values) {
+        this.values = values;
+
+        int max = 0;
+        for (var entry : values.entrySet()) {
+            max = Math.max(max, dimacsIdentifier(entry.getKey(), entry.getValue()));
+        }
+
+        this.literals = new byte[max + 1];
+        for (var entry : values.entrySet()) {
+            int id = dimacsIdentifier(entry.getKey(), entry.getValue());
+            if (id > 0) {
+                literals[id] = (entry.getValue().signum() == 0) ? FALSE : TRUE;
+            }
+        }
+    }
+
+    /**
+     * Gives the DIMACS identifier of a variable, provided that it is a Boolean variable
+     * whose name is a positive integer.
+     *
+     * @param name The name of the variable.
+     * @param value The value of the variable.
+     *
+     * @return The DIMACS identifier of the variable, or {@code 0} if it is not a DIMACS
+     *         variable.
+     */
+    private static int dimacsIdentifier(String name, BigInteger value) {
+        if ((value == null) || (value.signum() < 0) || (value.compareTo(BigInteger.ONE) > 0)) {
+            return 0;
+        }
+
+        int length = name.length();
+        if ((length == 0) || (length > 9)) {
+            return 0;
+        }
+
+        int id = 0;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if ((c < '0') || (c > '9')) {
+                return 0;
+            }
+            id = 10 * id + (c - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Gives the value assigned to a variable.
+     *
+     * @param variable The name of the variable.
+     *
+     * @return The value of the variable.
+     *
+     * @throws NoSuchElementException If the variable is not assigned.
+     */
+    public BigInteger valueOf(String variable) {
+        var value = values.get(variable);
+        if (value == null) {
+            throw new NoSuchElementException("Variable " + variable + " is not assigned");
+        }
+        return value;
+    }
+
+    /**
+     * Checks whether a DIMACS literal is satisfied by this assignment.
+     *
+     * @param literal The literal to check.
+     *
+     * @return Whether the literal is satisfied.
+     *
+     * @throws NoSuchElementException If the variable of the literal is not assigned.
+     */
+    public boolean isSatisfied(int literal) {
+        int id = Math.abs(literal);
+        byte value = (id < literals.length) ? literals[id] : UNASSIGNED;
+        if (value == UNASSIGNED) {
+            throw new NoSuchElementException("Variable " + id + " is not assigned");
+        }
+        return (value == TRUE) == (literal > 0);
+    }
+
+    /**
+     * Gives the number of variables in this assignment.
+     *
+     * @return The number of assigned variables.
+     */
+    public int size() {
+        return values.size();
+    }
+
+}
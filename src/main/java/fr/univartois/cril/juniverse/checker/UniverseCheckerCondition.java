@@ -0,0 +1,245 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseSetBelongingOperator;
+
+/**
+ * The UniverseCheckerCondition is the condition ending most global constraints, i.e.,
+ * either a comparison with a value or a variable, or a membership in a range or a set
+ * of values.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseCheckerCondition {
+
+    /**
+     * The relational operator of this condition, or {@code null} if this is a
+     * membership condition.
+     */
+    private final UniverseRelationalOperator operator;
+
+    /**
+     * The right-hand side of the comparison, if this is a relational condition.
+     */
+    private final IUniverseCheckerTerm right;
+
+    /**
+     * Whether the membership is negated.
+     */
+    private final boolean negated;
+
+    /**
+     * The lower bound of the range, if this condition is a membership in a range.
+     */
+    private final BigInteger min;
+
+    /**
+     * The upper bound of the range, if this condition is a membership in a range.
+     */
+    private final BigInteger max;
+
+    /**
+     * The allowed values, if this condition is a membership in a set.
+     */
+    private final Set<BigInteger> values;
+
+    /**
+     * The number of arguments describing this condition.
+     */
+    private final int length;
+
+    /**
+     * Creates a new UniverseCheckerCondition.
+     *
+     * @param operator The relational operator of the condition.
+     * @param right The right-hand side of the comparison.
+     * @param negated Whether the membership is negated.
+     * @param min The lower bound of the range.
+     * @param max The upper bound of the range.
+     * @param values The allowed values.
+     * @param length The number of arguments describing the condition.
+     */
+    private UniverseCheckerCondition(UniverseRelationalOperator operator,
+            IUniverseCheckerTerm right, boolean negated, BigInteger min, BigInteger max,
+            Set<BigInteger> values, int length) {
+        this.operator = operator;
+        this.right = right;
+        this.negated = negated;
+        this.min = min;
+        this.max = max;
+        this.values = values;
+        this.length = length;
+    }
+
+    /**
+     * Creates a relational condition.
+     *
+     * @param operator The relational operator of the condition.
+     * @param right The right-hand side of the comparison.
+     *
+     * @return The created condition.
+     */
+    static UniverseCheckerCondition compare(UniverseRelationalOperator operator,
+            IUniverseCheckerTerm right) {
+        return new UniverseCheckerCondition(operator, right, false, null, null, null, 2);
+    }
+
+    /**
+     * Parses the condition described by the arguments of a constraint.
+     *
+     * @param args The arguments of the constraint.
+     * @param from The index of the operator of the condition in {@code args}.
+     *
+     * @return The parsed condition.
+     *
+     * @throws IllegalArgumentException If the arguments do not describe a condition.
+     */
+    static UniverseCheckerCondition parse(Object[] args, int from) {
+        if ((from + 1 >= args.length) || (args[from + 1] == null)) {
+            throw new IllegalArgumentException("Missing right-hand side of the condition");
+        }
+
+        if (args[from] instanceof UniverseRelationalOperator) {
+            return compare((UniverseRelationalOperator) args[from],
+                    IUniverseCheckerTerm.of(args[from + 1]));
+        }
+
+        if (!(args[from] instanceof UniverseSetBelongingOperator)) {
+            throw new IllegalArgumentException("Not a condition operator: " + args[from]);
+        }
+
+        boolean negated = (args[from] == UniverseSetBelongingOperator.NOT_IN);
+        if (args[from + 1] instanceof List) {
+            var values = new HashSet<BigInteger>();
+            for (var value : (List<?>) args[from + 1]) {
+                values.add((BigInteger) value);
+            }
+            return new UniverseCheckerCondition(null, null, negated, null, null, values, 2);
+        }
+
+        if ((from + 2 >= args.length) || (args[from + 2] == null)) {
+            throw new IllegalArgumentException("Missing upper bound of the condition");
+        }
+        return new UniverseCheckerCondition(null, null, negated, (BigInteger) args[from + 1],
+                (BigInteger) args[from + 2], null, 3);
+    }
+
+    /**
+     * Gives the number of arguments describing this condition, including its operator.
+     *
+     * @return The number of arguments of this condition.
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Checks whether a value satisfies this condition.
+     *
+     * @param value The value to check.
+     * @param assignment The assignment of the variables.
+     *
+     * @return Whether the value satisfies this condition.
+     */
+    boolean test(BigInteger value, UniverseCheckerAssignment assignment) {
+        if (operator != null) {
+            return compare(operator, value, right.evaluate(assignment));
+        }
+
+        if (values != null) {
+            return values.contains(value) != negated;
+        }
+
+        return ((value.compareTo(min) >= 0) && (value.compareTo(max) <= 0)) != negated;
+    }
+
+    /**
+     * Compares two values with a relational operator.
+     *
+     * @param operator The relational operator to use.
+     * @param left The left-hand side of the comparison.
+     * @param right The right-hand side of the comparison.
+     *
+     * @return Whether the comparison holds.
+     */
+    static boolean compare(UniverseRelationalOperator operator, BigInteger left,
+            BigInteger right) {
+        return holds(operator, left.compareTo(right));
+    }
+
+    /**
+     * Checks whether the result of a comparison satisfies a relational operator.
+     *
+     * @param operator The relational operator to check.
+     * @param comparison The result of the comparison, as given by
+     *        {@link Comparable#compareTo(Object)}.
+     *
+     * @return Whether the comparison satisfies the operator.
+     */
+    static boolean holds(UniverseRelationalOperator operator, int comparison) {
+        switch (operator) {
+            case LT:
+                return comparison < 0;
+
+            case LE:
+                return comparison <= 0;
+
+            case EQ:
+                return comparison == 0;
+
+            case NEQ:
+                return comparison != 0;
+
+            case GE:
+                return comparison >= 0;
+
+            case GT:
+                return comparison > 0;
+
+            default:
+                throw new IllegalArgumentException("Unknown operator: " + operator);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        if (operator != null) {
+            return operator.toString();
+        }
+        return negated ? "not in" : "in";
+    }
+
+}
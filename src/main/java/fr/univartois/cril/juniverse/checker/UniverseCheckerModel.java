@@ -0,0 +1,300 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.csp.IUniverseCSPSolver;
+import fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver;
+import fr.univartois.cril.juniverse.sat.IUniverseSatSolver;
+
+/**
+ * The UniverseCheckerModel is a solver-independent copy of the constraints of a model,
+ * which can be checked against an assignment by a {@link UniverseSolutionChecker}.
+ *
+ * Constraints are usually recorded through a recorder, i.e., a proxy of a solver
+ * interface that records each call to an {@code add*} method of the SAT, pseudo-Boolean
+ * or CSP interfaces before forwarding it to the actual solver.
+ * Constraints are identified by the order in which they are added, whether they are
+ * supported by the checker or not.
+ * Unsupported constraints (such as symbolic ones) are kept in the model, but are
+ * reported as unchecked.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseCheckerModel {
+
+    /**
+     * The checked constraints of the model, in which unsupported constraints are
+     * {@code null}.
+     */
+    private final List<IUniverseCheckedConstraint> constraints = new ArrayList<>();
+
+    /**
+     * The names of the constraints of the model.
+     */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * The number of unsupported constraints in the model.
+     */
+    private int nUnchecked;
+
+    /**
+     * Creates a new, empty, UniverseCheckerModel.
+     */
+    public UniverseCheckerModel() {
+        // Constraints are added afterwards.
+    }
+
+    /**
+     * Adds a constraint to this model.
+     *
+     * @param name The name of the constraint, used to describe its violations.
+     * @param constraint The constraint to add, or {@code null} if it cannot be checked.
+     *
+     * @return The index of the constraint in this model.
+     */
+    public synchronized int add(String name, IUniverseCheckedConstraint constraint) {
+        constraints.add(constraint);
+        names.add(name);
+        if (constraint == null) {
+            nUnchecked++;
+        }
+        return constraints.size() - 1;
+    }
+
+    /**
+     * Records the constraint corresponding to a call to an {@code add*} method of a
+     * solver interface.
+     *
+     * @param method The name of the called method.
+     * @param args The arguments of the call.
+     *
+     * @return Whether the constraint is supported by the checker.
+     */
+    public boolean record(String method, Object... args) {
+        IUniverseCheckedConstraint constraint;
+        try {
+            constraint = UniverseConstraintParser.parse(method, args);
+
+        } catch (RuntimeException e) {
+            // The arguments do not match any supported overload.
+            constraint = null;
+        }
+
+        add(method, constraint);
+        return constraint != null;
+    }
+
+    /**
+     * Creates a recorder for this model, i.e., an implementation of the given solver
+     * interface that records the constraints added to it in this model, before
+     * forwarding all calls to the given solver.
+     *
+     * @param <S> The type of the solver interface.
+     *
+     * @param type The solver interface to implement.
+     * @param solver The solver to forward the calls to, or {@code null} to only record
+     *        the constraints.
+     *
+     * @return The created recorder.
+     */
+    public <S extends IUniverseSolver> S recorder(Class<S> type, S solver) {
+        var proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                new Recorder(this, solver));
+        return type.cast(proxy);
+    }
+
+    /**
+     * Creates a recorder for this model, which only records the constraints added to it.
+     * Methods that do not add constraints and return a value are not supported by this
+     * recorder.
+     *
+     * @param <S> The type of the solver interface.
+     *
+     * @param type The solver interface to implement.
+     *
+     * @return The created recorder.
+     */
+    public <S extends IUniverseSolver> S recorder(Class<S> type) {
+        return recorder(type, null);
+    }
+
+    /**
+     * Gives the number of constraints in this model, including those that cannot be
+     * checked.
+     *
+     * @return The number of constraints.
+     */
+    public synchronized int size() {
+        return constraints.size();
+    }
+
+    /**
+     * Gives the number of constraints in this model that cannot be checked.
+     *
+     * @return The number of unchecked constraints.
+     */
+    public synchronized int getUncheckedCount() {
+        return nUnchecked;
+    }
+
+    /**
+     * Gives the name of a constraint of this model.
+     *
+     * @param index The index of the constraint.
+     *
+     * @return The name of the constraint.
+     */
+    public synchronized String getName(int index) {
+        return names.get(index);
+    }
+
+    /**
+     * Gives a snapshot of the constraints of this model.
+     *
+     * @return The constraints of this model, in which unsupported constraints are
+     *         {@code null}.
+     */
+    synchronized IUniverseCheckedConstraint[] snapshot() {
+        return constraints.toArray(new IUniverseCheckedConstraint[0]);
+    }
+
+    /**
+     * Gives a snapshot of the names of the constraints of this model.
+     *
+     * @return The names of the constraints of this model.
+     */
+    synchronized String[] snapshotNames() {
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * The Recorder is the invocation handler of the recorders of a model.
+     */
+    private static final class Recorder implements InvocationHandler {
+
+        /**
+         * The model in which constraints are recorded.
+         */
+        private final UniverseCheckerModel model;
+
+        /**
+         * The solver to forward the calls to, or {@code null} to only record the
+         * constraints.
+         */
+        private final IUniverseSolver solver;
+
+        /**
+         * Creates a new Recorder.
+         *
+         * @param model The model in which constraints are recorded.
+         * @param solver The solver to forward the calls to, or {@code null} to only
+         *        record the constraints.
+         */
+        private Recorder(UniverseCheckerModel model, IUniverseSolver solver) {
+            this.model = model;
+            this.solver = solver;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object,
+         * java.lang.reflect.Method, java.lang.Object[])
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, args);
+            }
+
+            var name = method.getName();
+            if (name.startsWith("add") && isConstraintMethod(method)) {
+                model.record(name, (args == null) ? new Object[0] : args);
+            }
+
+            if (solver != null) {
+                try {
+                    return method.invoke(solver, args);
+
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            if (method.getReturnType() != void.class) {
+                throw new UnsupportedOperationException(name + " is not supported by a recorder");
+            }
+            return null;
+        }
+
+        /**
+         * Checks whether a method is declared by one of the interfaces adding constraints
+         * to a solver (other methods, such as {@code addSearchListener()}, do not add
+         * constraints).
+         *
+         * @param method The method to check.
+         *
+         * @return Whether the method may add a constraint.
+         */
+        private static boolean isConstraintMethod(Method method) {
+            var declaring = method.getDeclaringClass();
+            return (declaring == IUniverseSatSolver.class)
+                    || (declaring == IUniversePseudoBooleanSolver.class)
+                    || (declaring == IUniverseCSPSolver.class);
+        }
+
+        /**
+         * Invokes a method inherited from {@link Object} on a recorder.
+         *
+         * @param proxy The recorder on which the method is invoked.
+         * @param method The invoked method.
+         * @param args The arguments of the method.
+         *
+         * @return The result of the method.
+         */
+        private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                default:
+                    return "Recorder of " + solver;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.util.List;
+
+/**
+ * The UniverseCheckerReport is the result of the check of an assignment against a
+ * model.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseCheckerReport {
+
+    /**
+     * The violated constraints, sorted by index.
+     */
+    private final List<UniverseViolation> violations;
+
+    /**
+     * The number of constraints that have been checked.
+     */
+    private final int nChecked;
+
+    /**
+     * The number of constraints that could not be checked.
+     */
+    private final int nUnchecked;
+
+    /**
+     * Creates a new UniverseCheckerReport.
+     *
+     * @param violations The violated constraints, sorted by index.
+     * @param nChecked The number of constraints that have been checked.
+     * @param nUnchecked The number of constraints that could not be checked.
+     */
+    UniverseCheckerReport(List<UniverseViolation> violations, int nChecked, int nUnchecked) {
+        this.violations = List.copyOf(violations);
+        this.nChecked = nChecked;
+        this.nUnchecked = nUnchecked;
+    }
+
+    /**
+     * Checks whether all the checked constraints are satisfied.
+     * Note that constraints that could not be checked are not taken into account.
+     *
+     * @return Whether no violation has been found.
+     *
+     * @see #isComplete()
+     */
+    public boolean isSatisfied() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * Checks whether all the constraints of the model have been checked.
+     *
+     * @return Whether there is no unchecked constraint.
+     */
+    public boolean isComplete() {
+        return nUnchecked == 0;
+    }
+
+    /**
+     * Gives the violated constraints.
+     *
+     * @return The violated constraints, sorted by index.
+     */
+    public List<UniverseViolation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Gives the number of constraints that have been checked.
+     *
+     * @return The number of checked constraints.
+     */
+    public int getCheckedCount() {
+        return nChecked;
+    }
+
+    /**
+     * Gives the number of constraints that could not be checked.
+     *
+     * @return The number of unchecked constraints.
+     */
+    public int getUncheckedCount() {
+        return nUnchecked;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return violations.size() + " violation(s) among " + nChecked
+                + " checked constraint(s), " + nUnchecked + " unchecked constraint(s)";
+    }
+
+}
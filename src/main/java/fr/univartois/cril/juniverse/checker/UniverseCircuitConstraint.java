@@ -0,0 +1,114 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+
+/**
+ * The UniverseCircuitConstraint is a checked {@code circuit} constraint.
+ * The value of each variable is the successor of its node, and nodes that are their
+ * own successor are not part of the circuit.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseCircuitConstraint implements IUniverseCheckedConstraint {
+
+    /**
+     * The successors of the nodes.
+     */
+    private final IUniverseCheckerTerm[] successors;
+
+    /**
+     * The index of the first node.
+     */
+    private final BigInteger startIndex;
+
+    /**
+     * The size of the circuit, or {@code null} if it is not constrained.
+     */
+    private final IUniverseCheckerTerm size;
+
+    /**
+     * Creates a new UniverseCircuitConstraint.
+     *
+     * @param successors The successors of the nodes.
+     * @param startIndex The index of the first node.
+     * @param size The size of the circuit, or {@code null} if it is not constrained.
+     */
+    UniverseCircuitConstraint(IUniverseCheckerTerm[] successors, int startIndex,
+            IUniverseCheckerTerm size) {
+        this.successors = successors;
+        this.startIndex = BigInteger.valueOf(startIndex);
+        this.size = size;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.checker.IUniverseCheckedConstraint#isSatisfiedBy(fr.
+     * univartois.cril.juniverse.checker.UniverseCheckerAssignment)
+     */
+    @Override
+    public boolean isSatisfiedBy(UniverseCheckerAssignment assignment) {
+        int n = successors.length;
+        var next = new int[n];
+        int first = -1;
+        int inCircuit = 0;
+
+        for (int i = 0; i < n; i++) {
+            var successor = successors[i].evaluate(assignment).subtract(startIndex);
+            if ((successor.signum() < 0) || (successor.compareTo(BigInteger.valueOf(n)) >= 0)) {
+                return false;
+            }
+
+            next[i] = successor.intValue();
+            if (next[i] != i) {
+                first = (first < 0) ? i : first;
+                inCircuit++;
+            }
+        }
+
+        if (first < 0) {
+            return false;
+        }
+
+        // All the nodes that are not loops must be visited by a single cycle.
+        var visited = new boolean[n];
+        int length = 0;
+        int node = first;
+        while (!visited[node]) {
+            if (next[node] == node) {
+                return false;
+            }
+            visited[node] = true;
+            node = next[node];
+            length++;
+        }
+
+        return (node == first) && (length == inCircuit)
+                && ((size == null) || size.evaluate(assignment).equals(BigInteger.valueOf(length)));
+    }
+
+}
@@ -0,0 +1,575 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.univartois.cril.juniverse.csp.intension.IUniverseIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.IUniverseIntensionConstraintVisitor;
+import fr.univartois.cril.juniverse.csp.intension.UniverseBinaryIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseConstantIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseIfThenElseIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseNaryIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseRangeIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseSetIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseUnaryIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.intension.UniverseVariableIntensionConstraint;
+import fr.univartois.cril.juniverse.csp.operator.UniverseArithmeticOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseBooleanOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseSetBelongingOperator;
+
+/**
+ * The UniverseCompiledIntension is an intension expression compiled into a postfix
+ * program, which is evaluated on a stack instead of walking the expression tree for
+ * each assignment.
+ * Boolean values are represented by the integers {@code 0} and {@code 1}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseCompiledIntension implements IUniverseCheckerTerm {
+
+    /**
+     * The instructions of the compiled program, in postfix order.
+     */
+    private final IInstruction[] program;
+
+    /**
+     * The maximum depth of the stack needed to evaluate the program.
+     */
+    private final int depth;
+
+    /**
+     * Creates a new UniverseCompiledIntension.
+     *
+     * @param program The instructions of the compiled program, in postfix order.
+     * @param depth The maximum depth of the stack needed to evaluate the program.
+     */
+    private UniverseCompiledIntension(IInstruction[] program, int depth) {
+        this.program = program;
+        this.depth = depth;
+    }
+
+    /**
+     * Compiles an intension expression.
+     *
+     * @param intension The expression to compile.
+     *
+     * @return The compiled expression.
+     *
+     * @throws IllegalArgumentException If the expression uses an unknown operator.
+     */
+    static UniverseCompiledIntension compile(IUniverseIntensionConstraint intension) {
+        var compiler = new Compiler();
+        intension.accept(compiler);
+        if (compiler.size != 1) {
+            throw new IllegalArgumentException("Malformed intension expression");
+        }
+        return new UniverseCompiledIntension(
+                compiler.program.toArray(new IInstruction[0]), compiler.depth);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.checker.IUniverseCheckerTerm#evaluate(fr.univartois.
+     * cril.juniverse.checker.UniverseCheckerAssignment)
+     */
+    @Override
+    public BigInteger evaluate(UniverseCheckerAssignment assignment) {
+        var stack = new Object[depth];
+        int top = 0;
+        for (var instruction : program) {
+            top = instruction.execute(stack, top, assignment);
+        }
+
+        if (!(stack[0] instanceof BigInteger)) {
+            throw new ArithmeticException("Intension expression does not evaluate to a value");
+        }
+        return (BigInteger) stack[0];
+    }
+
+    /**
+     * Gives the truth value of an integer.
+     *
+     * @param value The value to interpret as a Boolean.
+     *
+     * @return Whether the value is non-zero.
+     */
+    private static boolean truth(Object value) {
+        return value(value).signum() != 0;
+    }
+
+    /**
+     * Gives the integer representing a truth value.
+     *
+     * @param truth The truth value.
+     *
+     * @return The integer representing the truth value.
+     */
+    private static BigInteger of(boolean truth) {
+        return truth ? BigInteger.ONE : BigInteger.ZERO;
+    }
+
+    /**
+     * Casts a value of the stack into an integer.
+     *
+     * @param value The value to cast.
+     *
+     * @return The integer value.
+     *
+     * @throws ArithmeticException If the value is a set.
+     */
+    private static BigInteger value(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        }
+        throw new ArithmeticException("A set is used where an integer is expected");
+    }
+
+    /**
+     * The IInstruction defines an instruction of a compiled program.
+     */
+    @FunctionalInterface
+    private interface IInstruction {
+
+        /**
+         * Executes this instruction.
+         *
+         * @param stack The stack of the program.
+         * @param top The number of values on the stack.
+         * @param assignment The assignment on which the program is evaluated.
+         *
+         * @return The number of values on the stack after the execution.
+         */
+        int execute(Object[] stack, int top, UniverseCheckerAssignment assignment);
+
+    }
+
+    /**
+     * The IValueSet defines the sets of values appearing in an expression.
+     */
+    @FunctionalInterface
+    private interface IValueSet {
+
+        /**
+         * Checks whether this set contains a value.
+         *
+         * @param value The value to look for.
+         *
+         * @return Whether the value belongs to this set.
+         */
+        boolean contains(BigInteger value);
+
+    }
+
+    /**
+     * The IReduction defines an n-ary operation applied on the topmost values of the
+     * stack.
+     */
+    @FunctionalInterface
+    private interface IReduction {
+
+        /**
+         * Applies this operation.
+         *
+         * @param stack The stack of the program.
+         * @param from The index of the first operand on the stack.
+         * @param to The index following the last operand on the stack.
+         *
+         * @return The result of the operation.
+         */
+        Object apply(Object[] stack, int from, int to);
+
+    }
+
+    /**
+     * The Compiler is the visitor compiling an expression into a postfix program.
+     * As the expression is visited in post-order, each node only has to emit its own
+     * instruction.
+     */
+    private static final class Compiler implements IUniverseIntensionConstraintVisitor {
+
+        /**
+         * The instructions emitted so far.
+         */
+        private final List<IInstruction> program = new ArrayList<>();
+
+        /**
+         * The number of values on the stack after the instructions emitted so far.
+         */
+        private int size;
+
+        /**
+         * The maximum number of values on the stack so far.
+         */
+        private int depth;
+
+        /**
+         * Emits an instruction.
+         *
+         * @param arity The number of values popped by the instruction.
+         * @param instruction The instruction to emit.
+         */
+        private void emit(int arity, IInstruction instruction) {
+            if (arity > size) {
+                throw new IllegalArgumentException("Malformed intension expression");
+            }
+            program.add(instruction);
+            size = size - arity + 1;
+            depth = Math.max(depth, size);
+        }
+
+        /**
+         * Emits an n-ary operation, which pops its operands and pushes its result.
+         *
+         * @param arity The number of operands of the operation.
+         * @param reduction The operation to apply.
+         */
+        private void reduce(int arity, IReduction reduction) {
+            emit(arity, (stack, top, assignment) -> {
+                int from = top - arity;
+                stack[from] = reduction.apply(stack, from, top);
+                return from + 1;
+            });
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseConstantIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseConstantIntensionConstraint constant) {
+            var value = constant.getValue();
+            emit(0, (stack, top, assignment) -> {
+                stack[top] = value;
+                return top + 1;
+            });
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseVariableIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseVariableIntensionConstraint variable) {
+            var identifier = variable.getIdentifier();
+            emit(0, (stack, top, assignment) -> {
+                stack[top] = assignment.valueOf(identifier);
+                return top + 1;
+            });
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseUnaryIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseUnaryIntensionConstraint constr) {
+            operator(constr.getOperator(), 1);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseBinaryIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseBinaryIntensionConstraint constr) {
+            operator(constr.getOperator(), 2);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseNaryIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseNaryIntensionConstraint constr) {
+            operator(constr.getOperator(), constr.getArity());
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseIfThenElseIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseIfThenElseIntensionConstraint ifThenElse) {
+            reduce(3, (s, f, t) -> truth(s[f]) ? s[f + 1] : s[f + 2]);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseSetIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseSetIntensionConstraint set) {
+            reduce(set.size(), (s, f, t) -> {
+                var elements = new Object[t - f];
+                System.arraycopy(s, f, elements, 0, elements.length);
+                return (IValueSet) v -> {
+                    for (var e : elements) {
+                        if ((e instanceof IValueSet) ? ((IValueSet) e).contains(v) : v.equals(e)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            });
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.juniverse.csp.intension.
+         * IUniverseIntensionConstraintVisitor#visit(fr.univartois.cril.juniverse.csp.
+         * intension.UniverseRangeIntensionConstraint)
+         */
+        @Override
+        public void visit(UniverseRangeIntensionConstraint range) {
+            var min = range.getMin();
+            var max = range.getMax();
+            IValueSet values = v -> (v.compareTo(min) >= 0) && (v.compareTo(max) <= 0);
+            emit(0, (stack, top, assignment) -> {
+                stack[top] = values;
+                return top + 1;
+            });
+        }
+
+        /**
+         * Emits the instruction applying an operator.
+         *
+         * @param operator The operator to apply.
+         * @param arity The number of operands of the operator.
+         */
+        private void operator(UniverseOperator operator, int arity) {
+            if (operator instanceof UniverseArithmeticOperator) {
+                arithmetic((UniverseArithmeticOperator) operator, arity);
+
+            } else if (operator instanceof UniverseBooleanOperator) {
+                bool((UniverseBooleanOperator) operator, arity);
+
+            } else if (operator instanceof UniverseRelationalOperator) {
+                var relational = (UniverseRelationalOperator) operator;
+                reduce(arity, (s, f, t) -> {
+                    for (int i = f + 1; i < t; i++) {
+                        var left = value(s[i - 1]);
+                        if (!UniverseCheckerCondition.compare(relational, left, value(s[i]))) {
+                            return BigInteger.ZERO;
+                        }
+                    }
+                    return BigInteger.ONE;
+                });
+
+            } else if (operator instanceof UniverseSetBelongingOperator) {
+                boolean in = (operator == UniverseSetBelongingOperator.IN);
+                reduce(arity, (s, f, t) -> {
+                    var v = value(s[f]);
+                    var set = s[f + 1];
+                    boolean contains = (set instanceof IValueSet)
+                            ? ((IValueSet) set).contains(v) : v.equals(set);
+                    return of(contains == in);
+                });
+
+            } else {
+                throw new IllegalArgumentException("Unknown operator: " + operator);
+            }
+        }
+
+        /**
+         * Emits the instruction applying an arithmetic operator.
+         *
+         * @param operator The operator to apply.
+         * @param arity The number of operands of the operator.
+         */
+        private void arithmetic(UniverseArithmeticOperator operator, int arity) {
+            switch (operator) {
+                case NEG:
+                    reduce(arity, (s, f, t) -> value(s[f]).negate());
+                    break;
+
+                case ABS:
+                    reduce(arity, (s, f, t) -> value(s[f]).abs());
+                    break;
+
+                case SQR:
+                    reduce(arity, (s, f, t) -> value(s[f]).multiply(value(s[f])));
+                    break;
+
+                case ADD:
+                    reduce(arity, (s, f, t) -> {
+                        var sum = BigInteger.ZERO;
+                        for (int i = f; i < t; i++) {
+                            sum = sum.add(value(s[i]));
+                        }
+                        return sum;
+                    });
+                    break;
+
+                case MULT:
+                    reduce(arity, (s, f, t) -> {
+                        var product = BigInteger.ONE;
+                        for (int i = f; i < t; i++) {
+                            product = product.multiply(value(s[i]));
+                        }
+                        return product;
+                    });
+                    break;
+
+                case MIN:
+                    reduce(arity, (s, f, t) -> {
+                        var min = value(s[f]);
+                        for (int i = f + 1; i < t; i++) {
+                            min = min.min(value(s[i]));
+                        }
+                        return min;
+                    });
+                    break;
+
+                case MAX:
+                    reduce(arity, (s, f, t) -> {
+                        var max = value(s[f]);
+                        for (int i = f + 1; i < t; i++) {
+                            max = max.max(value(s[i]));
+                        }
+                        return max;
+                    });
+                    break;
+
+                case SUB:
+                    reduce(arity, (s, f, t) -> value(s[f]).subtract(value(s[f + 1])));
+                    break;
+
+                case DIV:
+                    reduce(arity, (s, f, t) -> value(s[f]).divide(value(s[f + 1])));
+                    break;
+
+                case MOD:
+                    reduce(arity, (s, f, t) -> value(s[f]).remainder(value(s[f + 1])));
+                    break;
+
+                case POW:
+                    reduce(arity, (s, f, t) -> value(s[f]).pow(value(s[f + 1]).intValueExact()));
+                    break;
+
+                case DIST:
+                    reduce(arity, (s, f, t) -> value(s[f]).subtract(value(s[f + 1])).abs());
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown operator: " + operator);
+            }
+        }
+
+        /**
+         * Emits the instruction applying a Boolean operator.
+         *
+         * @param operator The operator to apply.
+         * @param arity The number of operands of the operator.
+         */
+        private void bool(UniverseBooleanOperator operator, int arity) {
+            switch (operator) {
+                case NOT:
+                    reduce(arity, (s, f, t) -> of(!truth(s[f])));
+                    break;
+
+                case AND:
+                    reduce(arity, (s, f, t) -> {
+                        for (int i = f; i < t; i++) {
+                            if (!truth(s[i])) {
+                                return BigInteger.ZERO;
+                            }
+                        }
+                        return BigInteger.ONE;
+                    });
+                    break;
+
+                case OR:
+                    reduce(arity, (s, f, t) -> {
+                        for (int i = f; i < t; i++) {
+                            if (truth(s[i])) {
+                                return BigInteger.ONE;
+                            }
+                        }
+                        return BigInteger.ZERO;
+                    });
+                    break;
+
+                case XOR:
+                    reduce(arity, (s, f, t) -> {
+                        boolean parity = false;
+                        for (int i = f; i < t; i++) {
+                            parity ^= truth(s[i]);
+                        }
+                        return of(parity);
+                    });
+                    break;
+
+                case EQUIV:
+                    reduce(arity, (s, f, t) -> {
+                        boolean first = truth(s[f]);
+                        for (int i = f + 1; i < t; i++) {
+                            if (truth(s[i]) != first) {
+                                return BigInteger.ZERO;
+                            }
+                        }
+                        return BigInteger.ONE;
+                    });
+                    break;
+
+                case IMPL:
+                    reduce(arity, (s, f, t) -> of(!truth(s[f]) || truth(s[f + 1])));
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown operator: " + operator);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,718 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import static fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator.EQ;
+import static fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator.GE;
+import static fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator.LE;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import fr.univartois.cril.juniverse.csp.UniverseTransition;
+import fr.univartois.cril.juniverse.csp.operator.UniverseArithmeticOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseBooleanOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator;
+
+/**
+ * The UniverseConstraintParser creates checked constraints from the arguments given to
+ * the {@code add*} methods of the solver interfaces.
+ * As most of these methods are overloaded, the actual overload is identified from the
+ * runtime types of the arguments.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseConstraintParser {
+
+    /**
+     * Disables instantiation.
+     */
+    private UniverseConstraintParser() {
+        throw new AssertionError("No UniverseConstraintParser instances for you!");
+    }
+
+    /**
+     * Creates the checked constraint corresponding to a call to an {@code add*} method.
+     *
+     * @param name The name of the called method.
+     * @param args The arguments of the call.
+     *
+     * @return The checked constraint, or {@code null} if the constraint is not supported.
+     *
+     * @throws RuntimeException If the arguments are not those expected for the method.
+     */
+    static IUniverseCheckedConstraint parse(String name, Object[] args) {
+        switch (name) {
+            case "addClause":
+                if (args.length == 1) {
+                    return UniverseCheckedConstraints.clause(literals(args[0]));
+                }
+                return UniverseCheckedConstraints.clause(terms(args[0]), terms(args[1]));
+
+            case "addAllClauses":
+                return allClauses(args);
+
+            case "addPseudoBoolean":
+                return UniverseCheckedConstraints.pseudoBoolean(literals(args[0]),
+                        values(args[1]), ((Boolean) args[2]) ? GE : LE, (BigInteger) args[3]);
+
+            case "addAtLeast":
+                return cardinality(args, GE);
+
+            case "addAtMost":
+                return cardinality(args, LE);
+
+            case "addExactly":
+                return cardinality(args, EQ);
+
+            case "addInstantiation":
+                return instantiation(args);
+
+            case "addLogical":
+                return logical(args);
+
+            case "addAllDifferent":
+            case "addAllDifferentIntension":
+                return UniverseCheckedConstraints.allDifferent(terms(args[0]), except(args, 1));
+
+            case "addAllDifferentMatrix":
+                return allDifferentMatrix(args);
+
+            case "addAllDifferentList":
+                return allDifferentList(args);
+
+            case "addAllEqual":
+            case "addAllEqualIntension":
+                return UniverseCheckedConstraints.allEqual(terms(args[0]), true);
+
+            case "addNotAllEqual":
+                return UniverseCheckedConstraints.allEqual(terms(args[0]), false);
+
+            case "addChannel":
+                return channel(args);
+
+            case "addCardinalityWithConstantValuesAndConstantCounts":
+            case "addCardinalityWithConstantValuesAndVariableCounts":
+            case "addCardinalityWithVariableValuesAndConstantCounts":
+            case "addCardinalityWithVariableValuesAndVariableCounts":
+                return UniverseCheckedConstraints.cardinality(terms(args[0]), terms(args[1]),
+                        terms(args[2]), terms(args[2]), (Boolean) args[3]);
+
+            case "addCardinalityWithConstantValuesAndConstantIntervalCounts":
+            case "addCardinalityWithVariableValuesAndConstantIntervalCounts":
+                return UniverseCheckedConstraints.cardinality(terms(args[0]), terms(args[1]),
+                        terms(args[2]), terms(args[3]), (Boolean) args[4]);
+
+            case "addAmong":
+                return UniverseCheckedConstraints.count(terms(args[0]), terms(args[1]),
+                        UniverseCheckerCondition.compare(EQ, IUniverseCheckerTerm.of(args[2])));
+
+            case "addCountWithConstantValues":
+            case "addCountWithVariableValues":
+            case "addCountIntensionWithConstantValues":
+                return UniverseCheckedConstraints.count(terms(args[0]), terms(args[1]),
+                        UniverseCheckerCondition.parse(args, 2));
+
+            case "addNValues":
+            case "addNValuesIntension":
+                return UniverseCheckedConstraints.nValues(terms(args[0]), Collections.emptySet(),
+                        UniverseCheckerCondition.parse(args, 1));
+
+            case "addNValuesExcept":
+                return UniverseCheckedConstraints.nValues(terms(args[0]),
+                        except(args, args.length - 1), UniverseCheckerCondition.parse(args, 1));
+
+            case "addSum":
+            case "addSumIntension":
+            case "addSumWithVariableCoefficients":
+            case "addSumIntensionWithVariableCoefficients":
+                return sum(args);
+
+            case "addMinimum":
+            case "addMinimumIntension":
+            case "addMaximum":
+            case "addMaximumIntension":
+                return UniverseCheckedConstraints.extremum(terms(args[0]),
+                        name.startsWith("addMaximum"), UniverseCheckerCondition.parse(args, 1));
+
+            case "addMinimumIndex":
+            case "addMaximumIndex":
+                return UniverseCheckedConstraints.extremumIndex(terms(args[0]),
+                        name.startsWith("addMaximum"), (Integer) args[1],
+                        IUniverseCheckerTerm.of(args[2]), UniverseCheckerCondition.parse(args, 3));
+
+            case "addMinimumArg":
+            case "addMinimumArgIntension":
+            case "addMaximumArg":
+            case "addMaximumArgIntension":
+                return UniverseCheckedConstraints.extremumArg(terms(args[0]),
+                        name.startsWith("addMaximum"), UniverseCheckerCondition.parse(args, 1));
+
+            case "addElement":
+            case "addElementConstantValues":
+                if (args[1] instanceof Integer) {
+                    return UniverseCheckedConstraints.element(terms(args[0]), (Integer) args[1],
+                            IUniverseCheckerTerm.of(args[2]),
+                            UniverseCheckerCondition.parse(args, 3));
+                }
+                return UniverseCheckedConstraints.element(terms(args[0]),
+                        UniverseCheckerCondition.parse(args, 1));
+
+            case "addElementMatrix":
+            case "addElementConstantMatrix":
+                return UniverseCheckedConstraints.element(matrix(args[0]), (Integer) args[1],
+                        IUniverseCheckerTerm.of(args[2]), (Integer) args[3],
+                        IUniverseCheckerTerm.of(args[4]), UniverseCheckerCondition.parse(args, 5));
+
+            case "addSupport":
+            case "addConflicts":
+                return table(args, "addSupport".equals(name));
+
+            case "addIntension":
+                var intension = IUniverseCheckerTerm.of(args[0]);
+                return a -> intension.evaluate(a).signum() != 0;
+
+            case "addPrimitive":
+                return primitive(args);
+
+            case "addOrdered":
+                return UniverseCheckedConstraints.ordered(terms(args[0]), null,
+                        (UniverseRelationalOperator) args[1]);
+
+            case "addOrderedWithConstantLength":
+            case "addOrderedWithVariableLength":
+                return UniverseCheckedConstraints.ordered(terms(args[0]), terms(args[1]),
+                        (UniverseRelationalOperator) args[2]);
+
+            case "addLex":
+                return lex(args);
+
+            case "addLexMatrix":
+                return UniverseCheckedConstraints.lexMatrix(matrix(args[0]),
+                        (UniverseRelationalOperator) args[1]);
+
+            case "addCircuit":
+                return new UniverseCircuitConstraint(terms(args[0]), (Integer) args[1],
+                        (args.length > 2) ? IUniverseCheckerTerm.of(args[2]) : null);
+
+            case "addMDD":
+                return UniverseAutomatonConstraint.mdd(strings(args[0]), transitions(args[1]));
+
+            case "addRegular":
+                return UniverseAutomatonConstraint.regular(strings(args[0]), transitions(args[1]),
+                        (String) args[2], strings(args[3]));
+
+            case "addCumulativeConstantLengthsConstantHeights":
+            case "addCumulativeConstantLengthsVariableHeights":
+            case "addCumulativeVariableLengthsConstantHeights":
+            case "addCumulativeVariableLengthsVariableHeights":
+                return cumulative(args);
+
+            case "addNoOverlap":
+            case "addNoOverlapVariableLength":
+                return noOverlap(args);
+
+            case "addBiDimensionalNoOverlap":
+                return new UniverseNoOverlapConstraint(
+                        columns(terms(args[0]), terms(args[1])),
+                        columns(terms(args[2]), terms(args[3])),
+                        (args.length <= 4) || (Boolean) args[4]);
+
+            case "addMultiDimensionalNoOverlap":
+            case "addMultiDimensionalNoOverlapVariableLength":
+                return new UniverseNoOverlapConstraint(matrix(args[0]), matrix(args[1]),
+                        (args.length <= 2) || (Boolean) args[2]);
+
+            case "addStretch":
+                return UniverseCheckedConstraints.stretch(terms(args[0]), values(args[1], true),
+                        values(args[2], true), values(args[3], true),
+                        (args.length > 4) ? tuples(args[4]) : null);
+
+            case "addPrecedence":
+                if (args.length == 1) {
+                    return null;
+                }
+                return UniverseCheckedConstraints.precedence(terms(args[0]), values(args[1], true),
+                        (Boolean) args[2]);
+
+            case "addKnapsack":
+                return knapsack(args);
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Creates a checked constraint from a list of clauses over DIMACS literals.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint allClauses(Object[] args) {
+        var clauses = new ArrayList<IUniverseCheckedConstraint>();
+        for (var clause : (List<?>) args[0]) {
+            clauses.add(UniverseCheckedConstraints.clause(literals(clause)));
+        }
+        return a -> {
+            for (var clause : clauses) {
+                if (!clause.isSatisfiedBy(a)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a checked cardinality constraint, which is either a pseudo-Boolean
+     * constraint over DIMACS literals, or a {@code count} constraint over variables.
+     *
+     * @param args The arguments of the call.
+     * @param operator The operator of the constraint.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint cardinality(Object[] args,
+            UniverseRelationalOperator operator) {
+        if (args[1] instanceof BigInteger) {
+            // This is a count constraint: (variables, value, count).
+            return UniverseCheckedConstraints.count(terms(args[0]),
+                    new IUniverseCheckerTerm[] { IUniverseCheckerTerm.of(args[1]) },
+                    UniverseCheckerCondition.compare(operator, IUniverseCheckerTerm.of(args[2])));
+        }
+
+        var literals = literals(args[0]);
+        if (args.length == 2) {
+            var coefficients = new BigInteger[literals.length];
+            Arrays.fill(coefficients, BigInteger.ONE);
+            return UniverseCheckedConstraints.pseudoBoolean(literals, coefficients, operator,
+                    value(args[1]));
+        }
+        return UniverseCheckedConstraints.pseudoBoolean(literals, values(args[1]), operator,
+                value(args[2]));
+    }
+
+    /**
+     * Creates a checked {@code instantiation} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint instantiation(Object[] args) {
+        if (args[0] instanceof List) {
+            return UniverseCheckedConstraints.instantiation(terms(args[0]), values(args[1]));
+        }
+        return UniverseCheckedConstraints.instantiation(
+                new IUniverseCheckerTerm[] { IUniverseCheckerTerm.of(args[0]) },
+                new BigInteger[] { value(args[1]) });
+    }
+
+    /**
+     * Creates a checked {@code logical} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint logical(Object[] args) {
+        if (args[0] instanceof UniverseBooleanOperator) {
+            return UniverseCheckedConstraints.logical((UniverseBooleanOperator) args[0],
+                    terms(args[1]));
+        }
+
+        var variable = IUniverseCheckerTerm.of(args[0]);
+        if (args[1] instanceof Boolean) {
+            return UniverseCheckedConstraints.logical(variable, (Boolean) args[1],
+                    (UniverseBooleanOperator) args[2], terms(args[3]));
+        }
+        return UniverseCheckedConstraints.logical(variable, IUniverseCheckerTerm.of(args[1]),
+                (UniverseRelationalOperator) args[2], IUniverseCheckerTerm.of(args[3]));
+    }
+
+    /**
+     * Creates a checked {@code all-different-matrix} constraint, i.e., an
+     * {@code all-different} constraint on each row and each column of a matrix.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint allDifferentMatrix(Object[] args) {
+        var matrix = matrix(args[0]);
+        var except = except(args, 1);
+        var constraints = new ArrayList<IUniverseCheckedConstraint>();
+        for (var row : matrix) {
+            constraints.add(UniverseCheckedConstraints.allDifferent(row, except));
+        }
+        for (var col : UniverseCheckedConstraints.transpose(matrix)) {
+            constraints.add(UniverseCheckedConstraints.allDifferent(col, except));
+        }
+        return a -> {
+            for (var constraint : constraints) {
+                if (!constraint.isSatisfiedBy(a)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates a checked {@code all-different-list} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint allDifferentList(Object[] args) {
+        var tuples = new ArrayList<IUniverseCheckerTerm[]>();
+        for (var tuple : (List<?>) args[0]) {
+            tuples.add(terms(tuple));
+        }
+
+        Set<List<BigInteger>> except = Collections.emptySet();
+        if (args.length > 1) {
+            except = tuples(args[1]);
+        }
+        return UniverseCheckedConstraints.allDifferentList(tuples, except);
+    }
+
+    /**
+     * Creates a checked {@code channel} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint channel(Object[] args) {
+        if (args.length == 2) {
+            return UniverseCheckedConstraints.channel(terms(args[0]), (Integer) args[1]);
+        }
+
+        if (args.length == 3) {
+            return UniverseCheckedConstraints.channel(terms(args[0]), (Integer) args[1],
+                    IUniverseCheckerTerm.of(args[2]));
+        }
+        return UniverseCheckedConstraints.channel(terms(args[0]), (Integer) args[1],
+                terms(args[2]), (Integer) args[3]);
+    }
+
+    /**
+     * Creates a checked {@code sum} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint sum(Object[] args) {
+        if (args[1] instanceof List) {
+            return UniverseCheckedConstraints.sum(terms(args[0]), terms(args[1]),
+                    UniverseCheckerCondition.parse(args, 2));
+        }
+        return UniverseCheckedConstraints.sum(terms(args[0]), null,
+                UniverseCheckerCondition.parse(args, 1));
+    }
+
+    /**
+     * Creates a checked {@code extension} constraint.
+     *
+     * @param args The arguments of the call.
+     * @param support Whether the tuples are supports (or conflicts).
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint table(Object[] args, boolean support) {
+        if (args[0] instanceof String) {
+            // This is a unary constraint, whose tuples are single values.
+            var tuples = new ArrayList<List<BigInteger>>();
+            for (var value : values(args[1], false)) {
+                tuples.add(Collections.singletonList(value));
+            }
+            return new UniverseTableConstraint(List.of((String) args[0]), tuples, support);
+        }
+
+        var tuples = new ArrayList<List<BigInteger>>();
+        for (var tuple : (List<?>) args[1]) {
+            tuples.add(values(tuple, false));
+        }
+        return new UniverseTableConstraint(strings(args[0]), tuples, support);
+    }
+
+    /**
+     * Creates a checked {@code primitive} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint primitive(Object[] args) {
+        if (args[0] instanceof UniverseArithmeticOperator) {
+            return UniverseCheckedConstraints.primitive((UniverseArithmeticOperator) args[0],
+                    IUniverseCheckerTerm.of(args[1]), IUniverseCheckerTerm.of(args[2]));
+        }
+
+        var variable = IUniverseCheckerTerm.of(args[0]);
+        if (args[1] instanceof UniverseArithmeticOperator) {
+            return UniverseCheckedConstraints.primitive(variable,
+                    (UniverseArithmeticOperator) args[1], IUniverseCheckerTerm.of(args[2]),
+                    (UniverseRelationalOperator) args[3], IUniverseCheckerTerm.of(args[4]));
+        }
+
+        var condition = UniverseCheckerCondition.parse(args, 1);
+        return a -> condition.test(variable.evaluate(a), a);
+    }
+
+    /**
+     * Creates a checked {@code lex} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint lex(Object[] args) {
+        var tuples = new ArrayList<IUniverseCheckerTerm[]>();
+        if (args.length == 2) {
+            for (var tuple : (List<?>) args[0]) {
+                tuples.add(terms(tuple));
+            }
+        } else {
+            tuples.add(terms(args[0]));
+            tuples.add(terms(args[1]));
+        }
+        var operator = (UniverseRelationalOperator) args[args.length - 1];
+        return UniverseCheckedConstraints.lex(tuples, operator);
+    }
+
+    /**
+     * Creates a checked {@code cumulative} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint cumulative(Object[] args) {
+        if (args[3] instanceof List) {
+            // The ends of the tasks are given.
+            return new UniverseCumulativeConstraint(terms(args[0]), terms(args[1]),
+                    terms(args[2]), terms(args[3]), UniverseCheckerCondition.parse(args, 4));
+        }
+        return new UniverseCumulativeConstraint(terms(args[0]), terms(args[1]), null,
+                terms(args[2]), UniverseCheckerCondition.parse(args, 3));
+    }
+
+    /**
+     * Creates a checked one-dimensional {@code no-overlap} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint noOverlap(Object[] args) {
+        var origins = terms(args[0]);
+        var lengths = terms(args[1]);
+        return new UniverseNoOverlapConstraint(columns(origins), columns(lengths),
+                (args.length <= 2) || (Boolean) args[2]);
+    }
+
+    /**
+     * Creates a checked {@code knapsack} constraint.
+     *
+     * @param args The arguments of the call.
+     *
+     * @return The created constraint.
+     */
+    private static IUniverseCheckedConstraint knapsack(Object[] args) {
+        var weightCondition = UniverseCheckerCondition.parse(args, 2);
+        int profits = 2 + weightCondition.length();
+        return UniverseCheckedConstraints.knapsack(terms(args[0]), terms(args[1]),
+                weightCondition, terms(args[profits]),
+                UniverseCheckerCondition.parse(args, profits + 1));
+    }
+
+    /**
+     * Gives the terms corresponding to a list argument.
+     *
+     * @param arg The argument to convert.
+     *
+     * @return The terms of the list.
+     */
+    private static IUniverseCheckerTerm[] terms(Object arg) {
+        return IUniverseCheckerTerm.of((List<?>) arg);
+    }
+
+    /**
+     * Gives the matrix of terms corresponding to a list of lists argument.
+     *
+     * @param arg The argument to convert.
+     *
+     * @return The matrix of terms.
+     */
+    private static IUniverseCheckerTerm[][] matrix(Object arg) {
+        var rows = (List<?>) arg;
+        var matrix = new IUniverseCheckerTerm[rows.size()][];
+        for (int i = 0; i < matrix.length; i++) {
+            matrix[i] = terms(rows.get(i));
+        }
+        return matrix;
+    }
+
+    /**
+     * Gives the matrix whose rows are made of the elements of the given columns.
+     *
+     * @param columns The columns of the matrix, which must have the same length.
+     *
+     * @return The matrix built from the columns.
+     */
+    private static IUniverseCheckerTerm[][] columns(IUniverseCheckerTerm[]... columns) {
+        return UniverseCheckedConstraints.transpose(columns);
+    }
+
+    /**
+     * Gives the DIMACS literals corresponding to a list argument.
+     *
+     * @param arg The argument to convert.
+     *
+     * @return The literals of the list.
+     */
+    private static int[] literals(Object arg) {
+        return ((List<?>) arg).stream().mapToInt(l -> ((Number) l).intValue()).toArray();
+    }
+
+    /**
+     * Gives the integer corresponding to a numeric argument.
+     *
+     * @param arg The argument to convert.
+     *
+     * @return The value of the argument.
+     */
+    private static BigInteger value(Object arg) {
+        if (arg instanceof BigInteger) {
+            return (BigInteger) arg;
+        }
+        return BigInteger.valueOf(((Number) arg).longValue());
+    }
+
+    /**
+     * Gives the integers corresponding to a list argument.
+     *
+     * @param arg The argument to convert.
+     *
+     * @return The values of the list.
+     */
+    private static BigInteger[] values(Object arg) {
+        return values(arg, false).toArray(new BigInteger[0]);
+    }
+
+    /**
+     * Gives the integers corresponding to a list argument.
+     *
+     * @param arg The argument to convert.
+     * @param strict Whether {@code null} values are forbidden.
+     *
+     * @return The values of the list, in which {@code null} values are preserved if not
+     *         strict.
+     */
+    private static List<BigInteger> values(Object arg, boolean strict) {
+        var list = (List<?>) arg;
+        var values = new ArrayList<BigInteger>(list.size());
+        for (var value : list) {
+            if ((value == null) && strict) {
+                throw new IllegalArgumentException("Unexpected null value");
+            }
+            values.add((value == null) ? null : value(value));
+        }
+        return values;
+    }
+
+    /**
+     * Gives the set of values that are excepted from a constraint.
+     *
+     * @param args The arguments of the call.
+     * @param index The index of the excepted values in {@code args}.
+     *
+     * @return The excepted values, which are empty if there are none.
+     */
+    private static Set<BigInteger> except(Object[] args, int index) {
+        if (index >= args.length) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(values(args[index], true));
+    }
+
+    /**
+     * Gives the set of tuples of values corresponding to a list of lists argument.
+     *
+     * @param arg The argument to convert.
+     *
+     * @return The tuples of values.
+     */
+    private static Set<List<BigInteger>> tuples(Object arg) {
+        var tuples = new HashSet<List<BigInteger>>();
+        for (var tuple : (List<?>) arg) {
+            tuples.add(values(tuple, true));
+        }
+        return tuples;
+    }
+
+    /**
+     * Gives the strings of a list argument.
+     *
+     * @param arg The argument to convert.
+     *
+     * @return The strings of the list.
+     */
+    private static List<String> strings(Object arg) {
+        var list = (List<?>) arg;
+        var strings = new ArrayList<String>(list.size());
+        for (var string : list) {
+            strings.add((String) string);
+        }
+        return strings;
+    }
+
+    /**
+     * Gives the transitions of a list argument.
+     *
+     * @param arg The argument to convert.
+     *
+     * @return The transitions of the list.
+     */
+    private static List<UniverseTransition> transitions(Object arg) {
+        var list = (List<?>) arg;
+        var transitions = new ArrayList<UniverseTransition>(list.size());
+        for (var transition : list) {
+            transitions.add((UniverseTransition) transition);
+        }
+        return transitions;
+    }
+
+}
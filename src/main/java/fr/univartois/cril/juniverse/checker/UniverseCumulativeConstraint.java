@@ -0,0 +1,168 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The UniverseCumulativeConstraint is a checked {@code cumulative} constraint.
+ * The load of the resource is computed by sweeping over the start and end events of
+ * the tasks, so that an assignment is checked in {@code O(n log n)}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseCumulativeConstraint implements IUniverseCheckedConstraint {
+
+    /**
+     * The origins of the tasks.
+     */
+    private final IUniverseCheckerTerm[] origins;
+
+    /**
+     * The lengths of the tasks.
+     */
+    private final IUniverseCheckerTerm[] lengths;
+
+    /**
+     * The ends of the tasks, or {@code null} if they are not constrained.
+     */
+    private final IUniverseCheckerTerm[] ends;
+
+    /**
+     * The heights of the tasks.
+     */
+    private final IUniverseCheckerTerm[] heights;
+
+    /**
+     * The condition that the load of the resource must satisfy.
+     */
+    private final UniverseCheckerCondition condition;
+
+    /**
+     * Creates a new UniverseCumulativeConstraint.
+     *
+     * @param origins The origins of the tasks.
+     * @param lengths The lengths of the tasks.
+     * @param ends The ends of the tasks, or {@code null} if they are not constrained.
+     * @param heights The heights of the tasks.
+     * @param condition The condition that the load of the resource must satisfy.
+     */
+    UniverseCumulativeConstraint(IUniverseCheckerTerm[] origins, IUniverseCheckerTerm[] lengths,
+            IUniverseCheckerTerm[] ends, IUniverseCheckerTerm[] heights,
+            UniverseCheckerCondition condition) {
+        if ((lengths.length != origins.length) || (heights.length != origins.length)
+                || ((ends != null) && (ends.length != origins.length))) {
+            throw new IllegalArgumentException("Tasks are not fully described");
+        }
+        this.origins = origins;
+        this.lengths = lengths;
+        this.ends = ends;
+        this.heights = heights;
+        this.condition = condition;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.checker.IUniverseCheckedConstraint#isSatisfiedBy(fr.
+     * univartois.cril.juniverse.checker.UniverseCheckerAssignment)
+     */
+    @Override
+    public boolean isSatisfiedBy(UniverseCheckerAssignment assignment) {
+        var events = new Event[2 * origins.length];
+        int nEvents = 0;
+
+        for (int i = 0; i < origins.length; i++) {
+            var origin = origins[i].evaluate(assignment);
+            var length = lengths[i].evaluate(assignment);
+            var end = origin.add(length);
+            if ((ends != null) && !end.equals(ends[i].evaluate(assignment))) {
+                return false;
+            }
+
+            var height = heights[i].evaluate(assignment);
+            if ((length.signum() > 0) && (height.signum() != 0)) {
+                events[nEvents] = new Event(origin, height, true);
+                events[nEvents + 1] = new Event(end, height.negate(), false);
+                nEvents += 2;
+            }
+        }
+
+        // Ends are processed before starts, as tasks are executed in [origin, end).
+        Arrays.sort(events, 0, nEvents, Comparator.comparing((Event e) -> e.time)
+                .thenComparing(e -> e.start));
+
+        var load = BigInteger.ZERO;
+        int active = 0;
+        for (int i = 0; i < nEvents; i++) {
+            load = load.add(events[i].delta);
+            active += events[i].start ? 1 : -1;
+            boolean last = (i + 1 == nEvents) || !events[i + 1].time.equals(events[i].time);
+            if (last && (active > 0) && !condition.test(load, assignment)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The Event represents the start or the end of a task.
+     */
+    private static final class Event {
+
+        /**
+         * The time at which the event occurs.
+         */
+        private final BigInteger time;
+
+        /**
+         * The variation of the load of the resource at this event.
+         */
+        private final BigInteger delta;
+
+        /**
+         * Whether this event is the start of a task.
+         */
+        private final boolean start;
+
+        /**
+         * Creates a new Event.
+         *
+         * @param time The time at which the event occurs.
+         * @param delta The variation of the load of the resource at the event.
+         * @param start Whether the event is the start of a task.
+         */
+        private Event(BigInteger time, BigInteger delta, boolean start) {
+            this.time = time;
+            this.delta = delta;
+            this.start = start;
+        }
+
+    }
+
+}
@@ -0,0 +1,161 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The UniverseNoOverlapConstraint is a checked {@code no-overlap} constraint, in any
+ * number of dimensions.
+ * In one dimension, the tasks are sorted by origin so that an assignment is checked in
+ * {@code O(n log n)}.
+ * In more dimensions, each pair of objects is checked.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseNoOverlapConstraint implements IUniverseCheckedConstraint {
+
+    /**
+     * The origins of the objects, for each dimension.
+     */
+    private final IUniverseCheckerTerm[][] origins;
+
+    /**
+     * The lengths of the objects, for each dimension.
+     */
+    private final IUniverseCheckerTerm[][] lengths;
+
+    /**
+     * Whether objects having a zero length are ignored.
+     */
+    private final boolean zeroIgnored;
+
+    /**
+     * Creates a new UniverseNoOverlapConstraint.
+     *
+     * @param origins The origins of the objects, for each dimension.
+     * @param lengths The lengths of the objects, for each dimension.
+     * @param zeroIgnored Whether objects having a zero length are ignored.
+     */
+    UniverseNoOverlapConstraint(IUniverseCheckerTerm[][] origins,
+            IUniverseCheckerTerm[][] lengths, boolean zeroIgnored) {
+        if (origins.length != lengths.length) {
+            throw new IllegalArgumentException("Objects are not fully described");
+        }
+        for (int i = 0; i < origins.length; i++) {
+            if (origins[i].length != lengths[i].length) {
+                throw new IllegalArgumentException("Objects are not fully described");
+            }
+        }
+        this.origins = origins;
+        this.lengths = lengths;
+        this.zeroIgnored = zeroIgnored;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.checker.IUniverseCheckedConstraint#isSatisfiedBy(fr.
+     * univartois.cril.juniverse.checker.UniverseCheckerAssignment)
+     */
+    @Override
+    public boolean isSatisfiedBy(UniverseCheckerAssignment assignment) {
+        var boxes = new BigInteger[origins.length][];
+        int nBoxes = 0;
+
+        for (int i = 0; i < origins.length; i++) {
+            int dimensions = origins[i].length;
+            var box = new BigInteger[2 * dimensions];
+            boolean ignored = false;
+            for (int d = 0; d < dimensions; d++) {
+                box[2 * d] = origins[i][d].evaluate(assignment);
+                var length = lengths[i][d].evaluate(assignment);
+                box[2 * d + 1] = box[2 * d].add(length);
+                ignored |= zeroIgnored && (length.signum() == 0);
+            }
+
+            if (!ignored) {
+                boxes[nBoxes] = box;
+                nBoxes++;
+            }
+        }
+
+        if ((nBoxes > 0) && (boxes[0].length == 2)) {
+            return sweep(boxes, nBoxes);
+        }
+
+        for (int i = 0; i < nBoxes; i++) {
+            for (int j = i + 1; j < nBoxes; j++) {
+                if (overlap(boxes[i], boxes[j])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that one-dimensional tasks do not overlap.
+     *
+     * @param tasks The tasks to check, given as pairs of origin and end.
+     * @param nTasks The number of tasks to check.
+     *
+     * @return Whether the tasks do not overlap.
+     */
+    private static boolean sweep(BigInteger[][] tasks, int nTasks) {
+        // Tasks are sorted by origin, and then by end to handle zero-length tasks.
+        Arrays.sort(tasks, 0, nTasks, Comparator.comparing((BigInteger[] t) -> t[0])
+                .thenComparing(t -> t[1]));
+
+        var end = tasks[0][1];
+        for (int i = 1; i < nTasks; i++) {
+            if (tasks[i][0].compareTo(end) < 0) {
+                return false;
+            }
+            end = end.max(tasks[i][1]);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether two boxes overlap.
+     *
+     * @param box The first box, given as pairs of origin and end.
+     * @param other The second box, given as pairs of origin and end.
+     *
+     * @return Whether the boxes overlap in all dimensions.
+     */
+    private static boolean overlap(BigInteger[] box, BigInteger[] other) {
+        for (int d = 0; d < box.length; d += 2) {
+            if ((box[d + 1].compareTo(other[d]) <= 0) || (other[d + 1].compareTo(box[d]) <= 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
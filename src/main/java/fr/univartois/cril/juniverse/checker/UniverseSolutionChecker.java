@@ -0,0 +1,265 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The UniverseSolutionChecker checks assignments against a {@link UniverseCheckerModel},
+ * independently of any solver.
+ * The constraints of the model are split into ranges that are checked in parallel in a
+ * fork-join pool, so that models with millions of constraints are checked quickly.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseSolutionChecker {
+
+    /**
+     * The default number of constraints below which a range of constraints is checked
+     * sequentially.
+     */
+    private static final int DEFAULT_GRANULARITY = 1024;
+
+    /**
+     * The model against which assignments are checked.
+     */
+    private final UniverseCheckerModel model;
+
+    /**
+     * The pool in which the constraints are checked.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The number of constraints below which a range of constraints is checked
+     * sequentially.
+     */
+    private int granularity = DEFAULT_GRANULARITY;
+
+    /**
+     * Creates a new UniverseSolutionChecker, which uses the common fork-join pool.
+     *
+     * @param model The model against which assignments are checked.
+     */
+    public UniverseSolutionChecker(UniverseCheckerModel model) {
+        this(model, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new UniverseSolutionChecker.
+     *
+     * @param model The model against which assignments are checked.
+     * @param pool The pool in which the constraints are checked.
+     */
+    public UniverseSolutionChecker(UniverseCheckerModel model, ForkJoinPool pool) {
+        this.model = model;
+        this.pool = pool;
+    }
+
+    /**
+     * Sets the number of constraints below which a range of constraints is checked
+     * sequentially.
+     *
+     * @param granularity The granularity of the parallel check.
+     */
+    public void setGranularity(int granularity) {
+        if (granularity <= 0) {
+            throw new IllegalArgumentException("Granularity must be positive");
+        }
+        this.granularity = granularity;
+    }
+
+    /**
+     * Checks whether an assignment satisfies all the checked constraints of the model.
+     *
+     * @param assignment The assignment to check.
+     *
+     * @return Whether no violation has been found.
+     */
+    public boolean checkSolution(Map<String, BigInteger> assignment) {
+        return check(assignment).isSatisfied();
+    }
+
+    /**
+     * Checks an assignment against the constraints of the model.
+     * Constraints added to the model while checking are not taken into account.
+     *
+     * @param assignment The assignment to check.
+     *
+     * @return The report of the check.
+     */
+    public UniverseCheckerReport check(Map<String, BigInteger> assignment) {
+        var constraints = model.snapshot();
+        var names = model.snapshotNames();
+        var task = new CheckTask(constraints, names, new UniverseCheckerAssignment(assignment),
+                0, constraints.length);
+        var violations = pool.invoke(task);
+
+        int nUnchecked = 0;
+        for (var constraint : constraints) {
+            if (constraint == null) {
+                nUnchecked++;
+            }
+        }
+        return new UniverseCheckerReport(violations, constraints.length - nUnchecked,
+                nUnchecked);
+    }
+
+    /**
+     * The CheckTask checks a range of constraints, by splitting it in halves until it is
+     * small enough.
+     */
+    private final class CheckTask extends RecursiveTask<List<UniverseViolation>> {
+
+        /**
+         * The {@code serialVersionUID} of this {@link java.io.Serializable} class.
+         */
+        private static final long serialVersionUID = -4218563075012394731L;
+
+        /**
+         * The constraints to check.
+         */
+        private final IUniverseCheckedConstraint[] constraints;
+
+        /**
+         * The names of the constraints to check.
+         */
+        private final String[] names;
+
+        /**
+         * The assignment to check.
+         */
+        private final UniverseCheckerAssignment assignment;
+
+        /**
+         * The index of the first constraint to check.
+         */
+        private final int from;
+
+        /**
+         * The index following the last constraint to check.
+         */
+        private final int to;
+
+        /**
+         * Creates a new CheckTask.
+         *
+         * @param constraints The constraints to check.
+         * @param names The names of the constraints to check.
+         * @param assignment The assignment to check.
+         * @param from The index of the first constraint to check.
+         * @param to The index following the last constraint to check.
+         */
+        private CheckTask(IUniverseCheckedConstraint[] constraints, String[] names,
+                UniverseCheckerAssignment assignment, int from, int to) {
+            this.constraints = constraints;
+            this.names = names;
+            this.assignment = assignment;
+            this.from = from;
+            this.to = to;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.concurrent.RecursiveTask#compute()
+         */
+        @Override
+        protected List<UniverseViolation> compute() {
+            if (to - from > granularity) {
+                int middle = (from + to) >>> 1;
+                var right = new CheckTask(constraints, names, assignment, middle, to);
+                right.fork();
+                var left = new CheckTask(constraints, names, assignment, from, middle).compute();
+                return merge(left, right.join());
+            }
+
+            List<UniverseViolation> violations = Collections.emptyList();
+            for (int i = from; i < to; i++) {
+                var reason = check(constraints[i]);
+                if (reason != null) {
+                    if (violations.isEmpty()) {
+                        violations = new ArrayList<>();
+                    }
+                    violations.add(new UniverseViolation(i, names[i],
+                            reason.isEmpty() ? null : reason));
+                }
+            }
+            return violations;
+        }
+
+        /**
+         * Checks a constraint.
+         *
+         * @param constraint The constraint to check.
+         *
+         * @return {@code null} if the constraint is satisfied or cannot be checked, an
+         *         empty string if it is violated, or the reason why it could not be
+         *         evaluated.
+         */
+        private String check(IUniverseCheckedConstraint constraint) {
+            if (constraint == null) {
+                return null;
+            }
+
+            try {
+                return constraint.isSatisfiedBy(assignment) ? null : "";
+
+            } catch (NoSuchElementException | ArithmeticException e) {
+                return e.getMessage();
+            }
+        }
+
+        /**
+         * Merges the violations found on two consecutive ranges.
+         *
+         * @param left The violations found on the first range.
+         * @param right The violations found on the second range.
+         *
+         * @return The violations found on both ranges, sorted by index.
+         */
+        private List<UniverseViolation> merge(List<UniverseViolation> left,
+                List<UniverseViolation> right) {
+            if (right.isEmpty()) {
+                return left;
+            }
+
+            if (left.isEmpty()) {
+                return right;
+            }
+
+            left.addAll(right);
+            return left;
+        }
+
+    }
+
+}
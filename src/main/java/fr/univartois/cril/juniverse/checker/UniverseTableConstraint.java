@@ -0,0 +1,124 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The UniverseTableConstraint is a checked {@code extension} constraint, whose tuples
+ * are stored in hashed sets.
+ * Starred tuples are grouped by the positions of their stars, so that checking an
+ * assignment requires one lookup per group rather than a scan of the table.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseTableConstraint implements IUniverseCheckedConstraint {
+
+    /**
+     * The variables of the constraint.
+     */
+    private final String[] variables;
+
+    /**
+     * Whether the tuples of the table are supports (or conflicts).
+     */
+    private final boolean support;
+
+    /**
+     * The tuples of the table, grouped by the positions of their non-star values.
+     */
+    private final Map<BitSet, Set<List<BigInteger>>> tuples;
+
+    /**
+     * Creates a new UniverseTableConstraint.
+     *
+     * @param variables The variables of the constraint.
+     * @param tuples The tuples of the table, in which {@code null} values are stars.
+     * @param support Whether the tuples of the table are supports (or conflicts).
+     */
+    UniverseTableConstraint(List<String> variables, List<? extends List<BigInteger>> tuples,
+            boolean support) {
+        this.variables = variables.toArray(new String[0]);
+        this.support = support;
+        this.tuples = new HashMap<>();
+
+        for (var tuple : tuples) {
+            if (tuple.size() != this.variables.length) {
+                throw new IllegalArgumentException("Tuple of wrong arity: " + tuple);
+            }
+
+            var mask = new BitSet(tuple.size());
+            var projection = new BigInteger[tuple.size()];
+            int size = 0;
+            for (int i = 0; i < tuple.size(); i++) {
+                if (tuple.get(i) != null) {
+                    mask.set(i);
+                    projection[size] = tuple.get(i);
+                    size++;
+                }
+            }
+            this.tuples.computeIfAbsent(mask, m -> new HashSet<>())
+                    .add(Arrays.asList(Arrays.copyOf(projection, size)));
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.checker.IUniverseCheckedConstraint#isSatisfiedBy(fr.
+     * univartois.cril.juniverse.checker.UniverseCheckerAssignment)
+     */
+    @Override
+    public boolean isSatisfiedBy(UniverseCheckerAssignment assignment) {
+        var values = new BigInteger[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            values[i] = assignment.valueOf(variables[i]);
+        }
+
+        for (var group : tuples.entrySet()) {
+            var mask = group.getKey();
+            var projection = new BigInteger[mask.cardinality()];
+            int size = 0;
+            for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+                projection[size] = values[i];
+                size++;
+            }
+
+            if (group.getValue().contains(Arrays.asList(projection))) {
+                return support;
+            }
+        }
+
+        return !support;
+    }
+
+}
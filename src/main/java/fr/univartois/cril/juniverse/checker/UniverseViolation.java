@@ -0,0 +1,103 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.checker;
+
+/**
+ * The UniverseViolation describes a constraint that is violated by an assignment.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseViolation {
+
+    /**
+     * The index of the violated constraint in its model.
+     */
+    private final int index;
+
+    /**
+     * The name of the violated constraint.
+     */
+    private final String name;
+
+    /**
+     * The reason why the constraint could not be evaluated, or {@code null} if it has
+     * been evaluated to {@code false}.
+     */
+    private final String reason;
+
+    /**
+     * Creates a new UniverseViolation.
+     *
+     * @param index The index of the violated constraint in its model.
+     * @param name The name of the violated constraint.
+     * @param reason The reason why the constraint could not be evaluated, or
+     *        {@code null} if it has been evaluated to {@code false}.
+     */
+    UniverseViolation(int index, String name, String reason) {
+        this.index = index;
+        this.name = name;
+        this.reason = reason;
+    }
+
+    /**
+     * Gives the index of the violated constraint in its model.
+     *
+     * @return The index of the violated constraint.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gives the name of the violated constraint.
+     *
+     * @return The name of the violated constraint.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gives the reason why the violated constraint could not be evaluated (e.g., because
+     * one of its variables is not assigned).
+     *
+     * @return The reason of the violation, or {@code null} if the constraint has been
+     *         evaluated to {@code false}.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        var description = "#" + index + " (" + name + ")";
+        return (reason == null) ? description : (description + ": " + reason);
+    }
+
+}
@@ -0,0 +1,12 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.checker} package provides a solver-independent
+ * checker, which evaluates the constraints of a recorded model against an assignment of
+ * its variables.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.checker;
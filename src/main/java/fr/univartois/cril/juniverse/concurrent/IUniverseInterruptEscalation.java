@@ -0,0 +1,57 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.concurrent;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+
+/**
+ * The IUniverseInterruptEscalation interface defines the action to perform when a
+ * solver does not stop within a grace period after having been interrupted by a
+ * {@link UniverseDeadlineScheduler}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@FunctionalInterface
+public interface IUniverseInterruptEscalation {
+
+    /**
+     * The default escalation, which interrupts the solver once again and interrupts the
+     * thread running it.
+     */
+    IUniverseInterruptEscalation DEFAULT = (solver, thread) -> {
+        solver.interrupt();
+        thread.interrupt();
+    };
+
+    /**
+     * Escalates the interruption of a solver that does not stop.
+     * This method is invoked by the thread of the scheduler, and should thus return
+     * quickly.
+     *
+     * @param solver The solver that does not stop.
+     * @param thread The thread running the solver.
+     */
+    void escalate(IUniverseSolver solver, Thread thread);
+
+}
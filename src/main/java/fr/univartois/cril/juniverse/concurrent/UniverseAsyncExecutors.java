@@ -0,0 +1,145 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The UniverseAsyncExecutors manages the executor used by default to run asynchronous
+ * searches (see {@link fr.univartois.cril.juniverse.core.IUniverseSolver#solveAsync()}).
+ * When the runtime supports virtual threads, each search is run by its own virtual
+ * thread, so that many concurrent searches do not block as many platform threads.
+ * Otherwise, searches are run by a cached pool of daemon threads.
+ *
+ * Note that a solver relying on native code may pin the carrier thread of the virtual
+ * thread running it: for such solvers, an executor based on platform threads should be
+ * preferred.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseAsyncExecutors {
+
+    /**
+     * The executor used when no default executor has been set.
+     */
+    private static final Executor FALLBACK = createFallback();
+
+    /**
+     * Whether the fallback executor runs searches in virtual threads.
+     */
+    private static final boolean VIRTUAL = !(FALLBACK instanceof DaemonPool);
+
+    /**
+     * The executor used by default to run asynchronous searches.
+     */
+    private static volatile Executor defaultExecutor = FALLBACK;
+
+    /**
+     * Disables instantiation.
+     */
+    private UniverseAsyncExecutors() {
+        throw new AssertionError("No UniverseAsyncExecutors instances for you!");
+    }
+
+    /**
+     * Gives the executor used by default to run asynchronous searches.
+     *
+     * @return The default executor.
+     */
+    public static Executor getDefault() {
+        return defaultExecutor;
+    }
+
+    /**
+     * Sets the executor to use by default to run asynchronous searches.
+     *
+     * @param executor The executor to use, or {@code null} to restore the original
+     *        executor.
+     */
+    public static void setDefault(Executor executor) {
+        defaultExecutor = (executor == null) ? FALLBACK : executor;
+    }
+
+    /**
+     * Gives whether the original default executor runs searches in virtual threads.
+     *
+     * @return Whether virtual threads are used.
+     */
+    public static boolean usesVirtualThreads() {
+        return VIRTUAL;
+    }
+
+    /**
+     * Creates the original default executor.
+     * As this library targets Java 11, virtual threads are looked up reflectively.
+     *
+     * @return The created executor.
+     */
+    private static Executor createFallback() {
+        try {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Virtual threads are not supported by this runtime.
+            return new DaemonPool();
+        }
+    }
+
+    /**
+     * The DaemonPool is a cached pool of daemon threads, which does not prevent the JVM
+     * from exiting.
+     */
+    private static final class DaemonPool implements Executor {
+
+        /**
+         * The number of threads created so far.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        /**
+         * The executor running the tasks.
+         */
+        private final ExecutorService pool = Executors.newCachedThreadPool(r -> {
+            var thread = new Thread(r, "juniverse-solve-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+         */
+        @Override
+        public void execute(Runnable command) {
+            pool.execute(command);
+        }
+
+    }
+
+}
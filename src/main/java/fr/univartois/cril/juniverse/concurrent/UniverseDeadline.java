@@ -0,0 +1,268 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+
+/**
+ * The UniverseDeadline represents the deadline of a search, as tracked by a
+ * {@link UniverseDeadlineScheduler}.
+ * The search must be declared as completed (using {@link #complete()} or
+ * {@link #close()}) as soon as the solver returns.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseDeadline implements AutoCloseable {
+
+    /**
+     * The state of a deadline that has not been reached yet.
+     */
+    static final int SCHEDULED = 0;
+
+    /**
+     * The state of a deadline that has been reached, after the solver has been
+     * interrupted.
+     */
+    static final int INTERRUPTED = 1;
+
+    /**
+     * The state of a deadline that has been reached, while the interruption is being
+     * escalated.
+     * The search cannot be declared as completed in this state, so that the escalation
+     * never affects the thread once {@link #complete()} has returned.
+     */
+    static final int ESCALATING = 2;
+
+    /**
+     * The state of a deadline that has been reached, after the interruption has been
+     * escalated.
+     */
+    static final int ESCALATED = 3;
+
+    /**
+     * The state of a deadline whose search has completed.
+     */
+    static final int COMPLETED = 4;
+
+    /**
+     * The scheduler tracking this deadline.
+     */
+    private final UniverseDeadlineScheduler scheduler;
+
+    /**
+     * The solver performing the search.
+     */
+    private final IUniverseSolver solver;
+
+    /**
+     * The thread running the solver.
+     */
+    private final Thread thread;
+
+    /**
+     * The current state of this deadline.
+     */
+    private final AtomicInteger state = new AtomicInteger(SCHEDULED);
+
+    /**
+     * The time at which the scheduler must next act on this deadline (in nanoseconds).
+     */
+    private volatile long expiration;
+
+    /**
+     * The time at which the solver has been interrupted (in nanoseconds).
+     */
+    private volatile long interruptionTime;
+
+    /**
+     * Whether the search has completed after this deadline has been reached.
+     */
+    private volatile boolean expired;
+
+    /**
+     * The number of complete turns of the timer wheel remaining before this deadline is
+     * reached.
+     * This field is only accessed by the thread of the scheduler.
+     */
+    int remainingRounds;
+
+    /**
+     * Creates a new UniverseDeadline.
+     *
+     * @param scheduler The scheduler tracking the deadline.
+     * @param solver The solver performing the search.
+     * @param thread The thread running the solver.
+     * @param expiration The time at which the deadline is reached (in nanoseconds).
+     */
+    UniverseDeadline(UniverseDeadlineScheduler scheduler, IUniverseSolver solver,
+            Thread thread, long expiration) {
+        this.scheduler = scheduler;
+        this.solver = solver;
+        this.thread = thread;
+        this.expiration = expiration;
+    }
+
+    /**
+     * Gives the solver performing the search.
+     *
+     * @return The solver.
+     */
+    public IUniverseSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Gives the thread running the solver.
+     *
+     * @return The thread running the solver.
+     */
+    Thread getThread() {
+        return thread;
+    }
+
+    /**
+     * Gives the time at which the scheduler must next act on this deadline.
+     *
+     * @return The expiration time (in nanoseconds).
+     */
+    long getExpiration() {
+        return expiration;
+    }
+
+    /**
+     * Checks whether this deadline has been reached, i.e., whether the solver has been
+     * interrupted by the scheduler.
+     *
+     * @return Whether this deadline has been reached.
+     */
+    public boolean isExpired() {
+        int current = state.get();
+        return ((current != SCHEDULED) && (current != COMPLETED)) || expired;
+    }
+
+    /**
+     * Checks whether the search has been declared as completed.
+     *
+     * @return Whether the search has completed.
+     */
+    public boolean isCompleted() {
+        return state.get() == COMPLETED;
+    }
+
+    /**
+     * Moves this deadline to the state reached when the solver is interrupted.
+     *
+     * @param now The current time (in nanoseconds).
+     * @param graceNanos The grace period given to the solver to stop (in nanoseconds).
+     *
+     * @return Whether the solver must be interrupted.
+     */
+    boolean expire(long now, long graceNanos) {
+        interruptionTime = now;
+        expiration = now + graceNanos;
+        return state.compareAndSet(SCHEDULED, INTERRUPTED);
+    }
+
+    /**
+     * Moves this deadline to the state reached while the interruption of the solver is
+     * being escalated.
+     * If this method returns {@code true}, {@link #escalated()} must be invoked once the
+     * escalation is over.
+     *
+     * @return Whether the interruption must be escalated.
+     */
+    boolean escalate() {
+        return state.compareAndSet(INTERRUPTED, ESCALATING);
+    }
+
+    /**
+     * Moves this deadline to the state reached once the interruption of the solver has
+     * been escalated.
+     */
+    void escalated() {
+        state.compareAndSet(ESCALATING, ESCALATED);
+    }
+
+    /**
+     * Gives the current state of this deadline.
+     *
+     * @return The state of this deadline.
+     */
+    int getState() {
+        return state.get();
+    }
+
+    /**
+     * Declares the search as completed, so that the solver is not interrupted anymore.
+     * If the interruption of the solver is being escalated, this method waits for the
+     * escalation to be over.
+     * If the interruption has been escalated and this method is invoked by the thread
+     * running the solver, the interrupted status of this thread is cleared.
+     * If the solver has already been interrupted, the latency between its interruption
+     * and its return is recorded by the scheduler.
+     *
+     * @return Whether this deadline has been reached before the search completed.
+     */
+    public boolean complete() {
+        int previous;
+        for (;;) {
+            previous = state.get();
+            if (previous == COMPLETED) {
+                return isExpired();
+            }
+
+            if (previous == ESCALATING) {
+                Thread.onSpinWait();
+
+            } else if (state.compareAndSet(previous, COMPLETED)) {
+                break;
+            }
+        }
+
+        if ((previous == ESCALATED) && (Thread.currentThread() == thread)) {
+            // The interruption of the thread is not meant to outlive the search.
+            Thread.interrupted();
+        }
+
+        if (previous != SCHEDULED) {
+            expired = true;
+            scheduler.recordLatency(System.nanoTime() - interruptionTime);
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.AutoCloseable#close()
+     */
+    @Override
+    public void close() {
+        complete();
+    }
+
+}
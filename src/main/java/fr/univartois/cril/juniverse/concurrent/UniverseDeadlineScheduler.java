@@ -0,0 +1,390 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+
+/**
+ * The UniverseDeadlineScheduler tracks the deadlines of many concurrent searches with a
+ * single thread, instead of relying on the time limit of each solver (which often
+ * requires a dedicated timer thread per search).
+ *
+ * Deadlines are stored in a hashed timer wheel, so that scheduling and cancelling a
+ * deadline are performed in constant time.
+ * When a deadline is reached, the corresponding solver is interrupted.
+ * If the solver does not stop within a grace period, the interruption is escalated
+ * using an {@link IUniverseInterruptEscalation}.
+ * The latency between the interruption of a solver and its return is recorded.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseDeadlineScheduler implements AutoCloseable {
+
+    /**
+     * The duration of a tick of the timer wheel (in nanoseconds).
+     */
+    private final long tickNanos;
+
+    /**
+     * The grace period given to an interrupted solver to stop (in nanoseconds).
+     */
+    private final long graceNanos;
+
+    /**
+     * The action performed when a solver does not stop within the grace period.
+     */
+    private final IUniverseInterruptEscalation escalation;
+
+    /**
+     * The buckets of the timer wheel.
+     * They are only accessed by the thread of this scheduler.
+     */
+    private final List<List<UniverseDeadline>> wheel;
+
+    /**
+     * The mask used to compute the index of a bucket from a tick number.
+     */
+    private final int mask;
+
+    /**
+     * The deadlines that have been scheduled but not added to the wheel yet.
+     */
+    private final Queue<UniverseDeadline> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The thread moving the timer wheel.
+     */
+    private final Thread worker;
+
+    /**
+     * The time at which the timer wheel has started (in nanoseconds).
+     */
+    private final long startTime;
+
+    /**
+     * The number of searches that have been interrupted.
+     */
+    private final LongAdder interrupted = new LongAdder();
+
+    /**
+     * The number of searches whose interruption has been escalated.
+     */
+    private final LongAdder escalated = new LongAdder();
+
+    /**
+     * The number of interrupted searches that have returned.
+     */
+    private final LongAdder returned = new LongAdder();
+
+    /**
+     * The total latency between the interruption of the solvers and their return (in
+     * nanoseconds).
+     */
+    private final LongAdder totalLatency = new LongAdder();
+
+    /**
+     * The maximum latency between the interruption of a solver and its return (in
+     * nanoseconds).
+     */
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Whether this scheduler is running.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new UniverseDeadlineScheduler, with a tick of 10 milliseconds, a wheel
+     * of 512 buckets, a grace period of 1 second and the default escalation.
+     */
+    public UniverseDeadlineScheduler() {
+        this(10, 512, 1000, IUniverseInterruptEscalation.DEFAULT);
+    }
+
+    /**
+     * Creates a new UniverseDeadlineScheduler.
+     *
+     * @param tickMs The duration of a tick of the timer wheel (in milliseconds).
+     *        Deadlines are checked with this precision.
+     * @param wheelSize The number of buckets in the timer wheel, which is rounded up to a
+     *        power of two.
+     * @param graceMs The grace period given to an interrupted solver to stop (in
+     *        milliseconds).
+     * @param escalation The action performed when a solver does not stop within the
+     *        grace period.
+     *
+     * @throws IllegalArgumentException If the tick duration or the wheel size is not
+     *         positive.
+     */
+    public UniverseDeadlineScheduler(long tickMs, int wheelSize, long graceMs,
+            IUniverseInterruptEscalation escalation) {
+        if ((tickMs <= 0) || (wheelSize <= 0)) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.graceNanos = TimeUnit.MILLISECONDS.toNanos(graceMs);
+        this.escalation = escalation;
+
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.mask = size - 1;
+
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, "juniverse-deadline-scheduler");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules the deadline of a search that is about to be performed by the current
+     * thread.
+     *
+     * @param solver The solver performing the search.
+     * @param timeoutMs The time limit of the search (in milliseconds).
+     *
+     * @return The deadline of the search, which must be completed as soon as the solver
+     *         returns.
+     *
+     * @throws IllegalStateException If this scheduler has been closed.
+     */
+    public UniverseDeadline schedule(IUniverseSolver solver, long timeoutMs) {
+        if (!running) {
+            throw new IllegalStateException("The scheduler has been closed");
+        }
+
+        var deadline = new UniverseDeadline(this, solver, Thread.currentThread(),
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+        pending.add(deadline);
+        return deadline;
+    }
+
+    /**
+     * Solves the problem associated to the given solver, interrupting it when the time
+     * limit is reached.
+     *
+     * @param solver The solver to run.
+     * @param timeoutMs The time limit of the search (in milliseconds).
+     *
+     * @return The outcome of the search.
+     */
+    public UniverseSolverResult solve(IUniverseSolver solver, long timeoutMs) {
+        var deadline = schedule(solver, timeoutMs);
+        try {
+            return solver.solve();
+
+        } finally {
+            deadline.complete();
+        }
+    }
+
+    /**
+     * Moves the timer wheel until this scheduler is closed.
+     */
+    private void run() {
+        long tick = 0;
+
+        while (running) {
+            // Waiting for the end of the current tick.
+            long tickEnd = startTime + ((tick + 1) * tickNanos);
+            for (long now = System.nanoTime(); now < tickEnd; now = System.nanoTime()) {
+                LockSupport.parkNanos(this, tickEnd - now);
+                if (!running) {
+                    return;
+                }
+            }
+
+            transferPending(tick);
+            expire(tick);
+            tick++;
+        }
+    }
+
+    /**
+     * Adds the deadlines that have been scheduled since the last tick to the wheel.
+     *
+     * @param tick The current tick.
+     */
+    private void transferPending(long tick) {
+        for (var deadline = pending.poll(); deadline != null; deadline = pending.poll()) {
+            if (!deadline.isCompleted()) {
+                add(deadline, tick);
+            }
+        }
+    }
+
+    /**
+     * Adds a deadline to the timer wheel.
+     *
+     * @param deadline The deadline to add.
+     * @param tick The current tick.
+     */
+    private void add(UniverseDeadline deadline, long tick) {
+        long target = Math.max(tick,
+                (deadline.getExpiration() - startTime + tickNanos - 1) / tickNanos);
+        deadline.remainingRounds = (int) ((target - tick) / wheel.size());
+        wheel.get((int) (target & mask)).add(deadline);
+    }
+
+    /**
+     * Processes the deadlines of the bucket corresponding to the current tick.
+     *
+     * @param tick The current tick.
+     */
+    private void expire(long tick) {
+        var bucket = wheel.get((int) (tick & mask));
+        var rescheduled = new ArrayList<UniverseDeadline>();
+
+        for (var iterator = bucket.iterator(); iterator.hasNext();) {
+            var deadline = iterator.next();
+            if (deadline.isCompleted()) {
+                iterator.remove();
+
+            } else if (deadline.remainingRounds > 0) {
+                deadline.remainingRounds--;
+
+            } else {
+                iterator.remove();
+                if (process(deadline)) {
+                    rescheduled.add(deadline);
+                }
+            }
+        }
+
+        for (var deadline : rescheduled) {
+            add(deadline, tick + 1);
+        }
+    }
+
+    /**
+     * Acts on a deadline that has been reached.
+     *
+     * @param deadline The deadline to process.
+     *
+     * @return Whether the deadline must be tracked until the end of its grace period.
+     */
+    private boolean process(UniverseDeadline deadline) {
+        try {
+            if ((deadline.getState() == UniverseDeadline.SCHEDULED)
+                    && deadline.expire(System.nanoTime(), graceNanos)) {
+                interrupted.increment();
+                deadline.getSolver().interrupt();
+                return true;
+            }
+
+            if (deadline.escalate()) {
+                try {
+                    escalated.increment();
+                    escalation.escalate(deadline.getSolver(), deadline.getThread());
+
+                } finally {
+                    deadline.escalated();
+                }
+            }
+
+        } catch (RuntimeException e) {
+            // A faulty solver must not prevent other deadlines from being processed.
+            worker.getUncaughtExceptionHandler().uncaughtException(worker, e);
+        }
+
+        return false;
+    }
+
+    /**
+     * Records the latency between the interruption of a solver and its return.
+     *
+     * @param latency The latency to record (in nanoseconds).
+     */
+    void recordLatency(long latency) {
+        returned.increment();
+        totalLatency.add(latency);
+        maxLatency.accumulate(latency);
+    }
+
+    /**
+     * Gives the number of searches that have been interrupted by this scheduler.
+     *
+     * @return The number of interrupted searches.
+     */
+    public long getInterruptedSearches() {
+        return interrupted.sum();
+    }
+
+    /**
+     * Gives the number of searches whose interruption has been escalated because they
+     * did not stop within the grace period.
+     *
+     * @return The number of escalated searches.
+     */
+    public long getEscalatedSearches() {
+        return escalated.sum();
+    }
+
+    /**
+     * Gives the average latency between the interruption of a solver and its return.
+     *
+     * @return The average latency (in nanoseconds), or {@code 0} if no interrupted
+     *         search has returned.
+     */
+    public long getMeanInterruptLatencyNanos() {
+        long count = returned.sum();
+        return (count == 0) ? 0 : (totalLatency.sum() / count);
+    }
+
+    /**
+     * Gives the maximum latency between the interruption of a solver and its return.
+     *
+     * @return The maximum latency (in nanoseconds).
+     */
+    public long getMaxInterruptLatencyNanos() {
+        return maxLatency.get();
+    }
+
+    /**
+     * Stops this scheduler.
+     * The deadlines that have not been reached yet are not tracked anymore.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+}
@@ -0,0 +1,455 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.concurrent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+import fr.univartois.cril.juniverse.config.IUniverseConfigurableSolver;
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+
+/**
+ * The UniverseMemoryGovernor protects the JVM against the solvers that consume too
+ * much memory.
+ *
+ * The governor sets usage thresholds on the heap memory pools, and listens to the
+ * notifications emitted when these thresholds are exceeded or when the garbage
+ * collector runs.
+ * While the heap usage remains above the high watermark, the reaction of the governor
+ * is escalated step by step on the biggest consumers (estimated by the number of
+ * learned constraints they currently store): it first asks them to clean their learned
+ * constraints, then lowers their verbosity, and finally interrupts them.
+ * Once the heap usage goes back below the low watermark, the governor starts over from
+ * the first step.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseMemoryGovernor implements AutoCloseable {
+
+    /**
+     * The minimum delay between two escalation steps (in nanoseconds), which gives the
+     * garbage collector the time to reclaim the memory released by a step.
+     */
+    private static final long COOLDOWN_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * The step in which the learned constraints of the solvers are cleaned.
+     */
+    private static final int CLEAN = 1;
+
+    /**
+     * The step in which the verbosity of the solvers is lowered.
+     */
+    private static final int QUIET = 2;
+
+    /**
+     * The verbosity level making a solver silent.
+     */
+    private static final int SILENT = 0;
+
+    /**
+     * The step in which the solvers are interrupted.
+     */
+    private static final int INTERRUPT = 3;
+
+    /**
+     * The ratio of the maximum heap size above which the heap is under pressure.
+     */
+    private final double highWatermark;
+
+    /**
+     * The ratio of the maximum heap size below which the heap is not under pressure
+     * anymore.
+     */
+    private final double lowWatermark;
+
+    /**
+     * The number of solvers affected by each escalation step.
+     */
+    private final int victims;
+
+    /**
+     * The solvers watched by this governor, with their memory consumption.
+     */
+    private final Map<IUniverseSolver, Consumer> consumers = new ConcurrentHashMap<>();
+
+    /**
+     * The usage thresholds of the memory pools before they were changed by this
+     * governor.
+     */
+    private final Map<MemoryPoolMXBean, Long> previousThresholds = new HashMap<>();
+
+    /**
+     * The collection usage thresholds of the memory pools before they were changed by
+     * this governor.
+     */
+    private final Map<MemoryPoolMXBean, Long> previousCollectionThresholds = new HashMap<>();
+
+    /**
+     * The emitters this governor listens to.
+     */
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+    /**
+     * The listener of the memory and garbage collection notifications.
+     */
+    private final NotificationListener listener = this::handleNotification;
+
+    /**
+     * The current escalation step.
+     */
+    private int step;
+
+    /**
+     * The time of the last escalation step (in nanoseconds).
+     */
+    private long lastEscalation;
+
+    /**
+     * Creates a new UniverseMemoryGovernor, reacting when the heap is 85% full until it
+     * goes back to 70%, and affecting one solver at each escalation step.
+     */
+    public UniverseMemoryGovernor() {
+        this(0.85, 0.7, 1);
+    }
+
+    /**
+     * Creates a new UniverseMemoryGovernor.
+     *
+     * @param highWatermark The ratio of the maximum heap size above which the heap is
+     *        under pressure.
+     * @param lowWatermark The ratio of the maximum heap size below which the heap is
+     *        not under pressure anymore.
+     * @param victims The number of solvers affected by each escalation step.
+     *
+     * @throws IllegalArgumentException If the watermarks are not such that
+     *         {@code 0 < lowWatermark <= highWatermark < 1}.
+     */
+    public UniverseMemoryGovernor(double highWatermark, double lowWatermark, int victims) {
+        if ((lowWatermark <= 0) || (lowWatermark > highWatermark) || (highWatermark >= 1)) {
+            throw new IllegalArgumentException("Invalid watermarks");
+        }
+
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.victims = victims;
+
+        for (var pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if ((pool.getType() == MemoryType.HEAP) && (max > 0)) {
+                if (pool.isUsageThresholdSupported()) {
+                    previousThresholds.put(pool, pool.getUsageThreshold());
+                    pool.setUsageThreshold((long) (max * highWatermark));
+                }
+                if (pool.isCollectionUsageThresholdSupported()) {
+                    previousCollectionThresholds.put(pool, pool.getCollectionUsageThreshold());
+                    pool.setCollectionUsageThreshold((long) (max * highWatermark));
+                }
+            }
+        }
+
+        listenTo(ManagementFactory.getMemoryMXBean());
+        for (var collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            listenTo(collector);
+        }
+    }
+
+    /**
+     * Listens to the notifications emitted by the given bean.
+     *
+     * @param bean The bean to listen to.
+     */
+    private void listenTo(Object bean) {
+        if (bean instanceof NotificationEmitter) {
+            var emitter = (NotificationEmitter) bean;
+            emitter.addNotificationListener(listener, null, null);
+            emitters.add(emitter);
+        }
+    }
+
+    /**
+     * Watches the memory consumption of a solver.
+     *
+     * @param solver The solver to watch.
+     */
+    public void register(IUniverseSolver solver) {
+        var consumer = new Consumer(solver);
+        consumers.put(solver, consumer);
+        try {
+            solver.addSearchListener(consumer);
+
+        } catch (UnsupportedOperationException e) {
+            // The consumption of the solver cannot be estimated.
+        }
+    }
+
+    /**
+     * Stops watching the memory consumption of a solver.
+     *
+     * @param solver The solver to stop watching.
+     *
+     * @return Whether the solver has been interrupted by this governor.
+     */
+    public boolean unregister(IUniverseSolver solver) {
+        var consumer = consumers.remove(solver);
+        if (consumer == null) {
+            return false;
+        }
+
+        try {
+            solver.removeSearchListener(consumer);
+
+        } catch (UnsupportedOperationException e) {
+            // The solver has not been listened to.
+        }
+        return consumer.interrupted;
+    }
+
+    /**
+     * Solves the problem associated to the given solver, while watching its memory
+     * consumption.
+     *
+     * @param solver The solver to run.
+     *
+     * @return The outcome of the search, which is {@link UniverseSolverResult#UNKNOWN}
+     *         if the solver has been interrupted by this governor.
+     */
+    public UniverseSolverResult solve(IUniverseSolver solver) {
+        register(solver);
+        UniverseSolverResult result = UniverseSolverResult.UNKNOWN;
+        try {
+            result = solver.solve();
+
+        } finally {
+            if (unregister(solver)) {
+                result = UniverseSolverResult.UNKNOWN;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Handles a notification emitted by the memory system.
+     *
+     * @param notification The notification to handle.
+     * @param handback Not used.
+     */
+    private void handleNotification(Notification notification, Object handback) {
+        var type = notification.getType();
+        if (MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(type)
+                || MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)
+                || type.endsWith(".gc.notification")) {
+            checkPressure();
+        }
+    }
+
+    /**
+     * Checks the current heap usage, and reacts if the heap is under pressure.
+     */
+    public synchronized void checkPressure() {
+        var usage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = (usage.getMax() > 0) ? usage.getMax() : usage.getCommitted();
+        double ratio = (double) usage.getUsed() / max;
+
+        if (ratio < lowWatermark) {
+            step = 0;
+            return;
+        }
+
+        long now = System.nanoTime();
+        if ((ratio < highWatermark) || ((step > 0) && (now - lastEscalation < COOLDOWN_NANOS))) {
+            return;
+        }
+
+        step = Math.min(step + 1, INTERRUPT);
+        lastEscalation = now;
+        for (var consumer : biggestConsumers()) {
+            consumer.react(step);
+        }
+    }
+
+    /**
+     * Gives the solvers consuming the most memory.
+     *
+     * @return The solvers to affect at the current escalation step.
+     */
+    private List<Consumer> biggestConsumers() {
+        var running = new ArrayList<Consumer>();
+        for (var consumer : consumers.values()) {
+            if (!consumer.interrupted) {
+                running.add(consumer);
+            }
+        }
+        running.sort(Comparator.comparingLong(Consumer::getLearnedConstraints).reversed());
+        return running.subList(0, Math.min(victims, running.size()));
+    }
+
+    /**
+     * Gives the current escalation step of this governor.
+     *
+     * @return The current escalation step, which is {@code 0} when the heap is not
+     *         under pressure.
+     */
+    public synchronized int getEscalationStep() {
+        return step;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.AutoCloseable#close()
+     */
+    @Override
+    public void close() {
+        for (var emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+
+            } catch (ListenerNotFoundException e) {
+                // The listener has already been removed.
+            }
+        }
+
+        for (var entry : previousThresholds.entrySet()) {
+            entry.getKey().setUsageThreshold(entry.getValue());
+        }
+
+        for (var entry : previousCollectionThresholds.entrySet()) {
+            entry.getKey().setCollectionUsageThreshold(entry.getValue());
+        }
+
+        for (var solver : new ArrayList<>(consumers.keySet())) {
+            unregister(solver);
+        }
+    }
+
+    /**
+     * The Consumer estimates the memory consumed by a solver, based on the number of
+     * learned constraints it stores.
+     */
+    private static final class Consumer implements IUniverseSearchListener {
+
+        /**
+         * The solver consuming memory.
+         */
+        private final IUniverseSolver solver;
+
+        /**
+         * The number of constraints learned by the solver.
+         */
+        private final LongAdder learned = new LongAdder();
+
+        /**
+         * The number of learned constraints deleted by the solver.
+         */
+        private final LongAdder deleted = new LongAdder();
+
+        /**
+         * Whether the solver has been interrupted by the governor.
+         */
+        private volatile boolean interrupted;
+
+        /**
+         * Creates a new Consumer.
+         *
+         * @param solver The solver consuming memory.
+         */
+        Consumer(IUniverseSolver solver) {
+            this.solver = solver;
+        }
+
+        /**
+         * Gives the number of learned constraints currently stored by the solver.
+         *
+         * @return The number of learned constraints.
+         */
+        long getLearnedConstraints() {
+            return learned.sum() - deleted.sum();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see
+         * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onLearning(fr.
+         * univartois.cril.juniverse.core.problem.IUniverseConstraint)
+         */
+        @Override
+        public void onLearning(IUniverseConstraint noGood) {
+            learned.increment();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see
+         * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onDelete(fr.
+         * univartois.cril.juniverse.core.problem.IUniverseConstraint)
+         */
+        @Override
+        public void onDelete(IUniverseConstraint noGood) {
+            deleted.increment();
+        }
+
+        /**
+         * Reacts to the pressure on the heap.
+         *
+         * @param step The current escalation step.
+         */
+        void react(int step) {
+            if (step == CLEAN) {
+                if (solver instanceof IUniverseConfigurableSolver) {
+                    ((IUniverseConfigurableSolver) solver).cleanNow();
+                }
+
+            } else if (step == QUIET) {
+                solver.setVerbosity(SILENT);
+
+            } else {
+                interrupted = true;
+                solver.interrupt();
+            }
+        }
+
+    }
+
+}
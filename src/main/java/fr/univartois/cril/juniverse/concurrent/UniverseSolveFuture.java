@@ -0,0 +1,157 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+
+/**
+ * The UniverseSolveFuture is a {@link CompletableFuture} representing a search performed
+ * asynchronously by a solver.
+ * Cancelling this future before the search starts prevents it from being performed,
+ * while cancelling it during the search interrupts the solver (using
+ * {@link IUniverseSolver#interrupt()}).
+ * As a solver may miss an interruption (e.g., if it is received before the solver
+ * actually starts its search), the interruption is sent again periodically until the
+ * search returns.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseSolveFuture extends CompletableFuture<UniverseSolverResult> {
+
+    /**
+     * The state of a search that has not started yet.
+     */
+    private static final int WAITING = 0;
+
+    /**
+     * The state of a search that is running.
+     */
+    private static final int RUNNING = 1;
+
+    /**
+     * The state of a search that has returned.
+     */
+    private static final int DONE = 2;
+
+    /**
+     * The delay between two interruptions of the solver when this future is cancelled
+     * (in milliseconds).
+     */
+    private static final long INTERRUPT_PERIOD_MS = 50;
+
+    /**
+     * The solver performing the search.
+     */
+    private final IUniverseSolver solver;
+
+    /**
+     * The current state of the search.
+     */
+    private final AtomicInteger state;
+
+    /**
+     * Creates a new UniverseSolveFuture.
+     *
+     * @param solver The solver performing the search.
+     */
+    private UniverseSolveFuture(IUniverseSolver solver) {
+        this.solver = solver;
+        this.state = new AtomicInteger(WAITING);
+    }
+
+    /**
+     * Submits a search to the given executor.
+     *
+     * @param solver The solver performing the search.
+     * @param search The search to perform, which must be run by the solver.
+     * @param executor The executor running the search.
+     *
+     * @return The future outcome of the search.
+     */
+    public static UniverseSolveFuture submit(IUniverseSolver solver,
+            Supplier<UniverseSolverResult> search, Executor executor) {
+        var future = new UniverseSolveFuture(solver);
+        executor.execute(() -> future.run(search));
+        return future;
+    }
+
+    /**
+     * Performs the search, unless this future has already been cancelled.
+     *
+     * @param search The search to perform.
+     */
+    private void run(Supplier<UniverseSolverResult> search) {
+        if (!state.compareAndSet(WAITING, RUNNING)) {
+            return;
+        }
+
+        try {
+            complete(search.get());
+
+        } catch (Throwable t) {
+            completeExceptionally(t);
+
+        } finally {
+            state.set(DONE);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.concurrent.CompletableFuture#cancel(boolean)
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (!super.cancel(mayInterruptIfRunning)) {
+            return false;
+        }
+
+        if (!state.compareAndSet(WAITING, DONE)) {
+            // The search may have started: the solver must be stopped.
+            interruptUntilDone();
+        }
+        return true;
+    }
+
+    /**
+     * Interrupts the solver, and schedules a new interruption as long as the search has
+     * not returned.
+     */
+    private void interruptUntilDone() {
+        if (state.get() == RUNNING) {
+            solver.interrupt();
+            CompletableFuture.delayedExecutor(INTERRUPT_PERIOD_MS, TimeUnit.MILLISECONDS)
+                    .execute(this::interruptUntilDone);
+        }
+    }
+
+}
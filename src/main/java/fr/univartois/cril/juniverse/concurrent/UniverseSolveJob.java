@@ -0,0 +1,301 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.concurrent;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+
+/**
+ * The UniverseSolveJob represents a search to be performed by a
+ * {@link UniverseSolveScheduler}.
+ * A job is described by a model, i.e., a function creating a solver in which the problem
+ * to solve has been loaded.
+ * When the created solver is an
+ * {@link fr.univartois.cril.juniverse.optim.IUniverseOptimizationSolver}, the job may be
+ * preempted: its best solution and bounds are then kept, and are used to resume the
+ * search in a new solver created by the model.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseSolveJob {
+
+    /**
+     * The name of this job.
+     */
+    private final String name;
+
+    /**
+     * The group of this job, among which the computing time is shared fairly.
+     */
+    private final String group;
+
+    /**
+     * The priority of this job (the greater, the more urgent).
+     */
+    private final int priority;
+
+    /**
+     * The model of this job, creating a solver in which the problem has been loaded.
+     */
+    private final Supplier<? extends IUniverseSolver> model;
+
+    /**
+     * The future outcome of this job.
+     */
+    private final CompletableFuture<UniverseSolverResult> future;
+
+    /**
+     * The order in which this job has been (re)submitted to the scheduler.
+     */
+    long sequence;
+
+    /**
+     * The solver currently running this job, if any.
+     */
+    volatile IUniverseSolver solver;
+
+    /**
+     * The time at which the current run of this job has started (in nanoseconds).
+     */
+    long runStart;
+
+    /**
+     * Whether the current run of this job has been preempted.
+     */
+    boolean preempted;
+
+    /**
+     * Whether this job may be preempted.
+     */
+    boolean preemptible;
+
+    /**
+     * The number of times this job has been preempted.
+     */
+    private volatile int preemptions;
+
+    /**
+     * The best solution found so far for this job.
+     */
+    private volatile Map<String, BigInteger> bestSolution;
+
+    /**
+     * The cost of the best solution found so far for this job.
+     */
+    private volatile BigInteger bestCost;
+
+    /**
+     * The best bound proven so far for this job, i.e., the lower bound of a minimization
+     * problem, or the upper bound of a maximization problem.
+     */
+    private volatile BigInteger provenBound;
+
+    /**
+     * Whether the objective function of this job is minimized, as known after its first
+     * run.
+     */
+    private volatile boolean minimization;
+
+    /**
+     * Creates a new UniverseSolveJob, which constitutes its own group.
+     *
+     * @param name The name of the job.
+     * @param priority The priority of the job (the greater, the more urgent).
+     * @param model The model of the job, creating a solver in which the problem has been
+     *        loaded.
+     */
+    public UniverseSolveJob(String name, int priority,
+            Supplier<? extends IUniverseSolver> model) {
+        this(name, name, priority, model);
+    }
+
+    /**
+     * Creates a new UniverseSolveJob.
+     *
+     * @param name The name of the job.
+     * @param group The group of the job, among which the computing time is shared
+     *        fairly.
+     * @param priority The priority of the job (the greater, the more urgent).
+     * @param model The model of the job, creating a solver in which the problem has been
+     *        loaded.
+     */
+    public UniverseSolveJob(String name, String group, int priority,
+            Supplier<? extends IUniverseSolver> model) {
+        this.name = name;
+        this.group = group;
+        this.priority = priority;
+        this.model = model;
+        this.future = new CompletableFuture<>();
+    }
+
+    /**
+     * Gives the name of this job.
+     *
+     * @return The name of this job.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gives the group of this job.
+     *
+     * @return The group of this job.
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Gives the priority of this job.
+     *
+     * @return The priority of this job.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gives the model of this job.
+     *
+     * @return The model of this job.
+     */
+    Supplier<? extends IUniverseSolver> getModel() {
+        return model;
+    }
+
+    /**
+     * Gives the future outcome of this job.
+     * Cancelling this future removes the job from the scheduler, or interrupts it if it
+     * is running.
+     *
+     * @return The future outcome of this job.
+     */
+    public CompletableFuture<UniverseSolverResult> getFuture() {
+        return future;
+    }
+
+    /**
+     * Gives the number of times this job has been preempted.
+     *
+     * @return The number of preemptions.
+     */
+    public int getPreemptionCount() {
+        return preemptions;
+    }
+
+    /**
+     * Records that this job has been preempted.
+     */
+    void preempted() {
+        preemptions++;
+    }
+
+    /**
+     * Gives the best solution found so far for this job.
+     * If the job has been preempted, this solution may not be the one of the solver
+     * that has completed the job.
+     *
+     * @return The best solution, or {@code null} if no solution has been found.
+     */
+    public Map<String, BigInteger> getBestSolution() {
+        var solution = bestSolution;
+        return (solution == null) ? null : Collections.unmodifiableMap(solution);
+    }
+
+    /**
+     * Gives the cost of the best solution found so far for this job.
+     *
+     * @return The best cost, or {@code null} if no solution has been found.
+     */
+    public BigInteger getBestCost() {
+        return bestCost;
+    }
+
+    /**
+     * Gives the best bound proven so far for this job, i.e., the lower bound of a
+     * minimization problem, or the upper bound of a maximization problem.
+     *
+     * @return The best proven bound, or {@code null} if there is none.
+     */
+    public BigInteger getProvenBound() {
+        return provenBound;
+    }
+
+    /**
+     * Records a solution of this job.
+     *
+     * @param solution The solution.
+     * @param cost The cost of the solution.
+     */
+    void improve(Map<String, BigInteger> solution, BigInteger cost) {
+        this.bestSolution = solution;
+        this.bestCost = cost;
+    }
+
+    /**
+     * Records a bound proven for this job.
+     *
+     * @param bound The proven bound.
+     * @param minimization Whether the objective function of this job is minimized.
+     */
+    void prove(BigInteger bound, boolean minimization) {
+        this.provenBound = bound;
+        this.minimization = minimization;
+    }
+
+    /**
+     * Checks whether the proven bound of this job has reached the cost of its best
+     * solution, in which case this solution is optimal.
+     *
+     * @return Whether the best solution of this job is known to be optimal.
+     */
+    boolean isOptimumProven() {
+        var cost = bestCost;
+        var bound = provenBound;
+        if ((cost == null) || (bound == null)) {
+            return false;
+        }
+
+        int comparison = bound.compareTo(cost);
+        return minimization ? (comparison >= 0) : (comparison <= 0);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
@@ -0,0 +1,604 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.concurrent;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.optim.IUniverseOptimizationSolver;
+
+/**
+ * The UniverseSolveScheduler runs {@link UniverseSolveJob}s on a fixed number of worker
+ * threads.
+ *
+ * Waiting jobs are started by decreasing priority.
+ * Among jobs with the same priority, those whose group has consumed the least computing
+ * time are started first, so that groups share the workers fairly.
+ *
+ * When all workers are busy, a running optimization job may be preempted, either as soon
+ * as a job with a higher priority is waiting, or after a time quantum if a job with the
+ * same priority is waiting.
+ * A preempted job is interrupted, and its best solution and bounds are kept.
+ * When it is resumed, its model is reloaded in a new solver, the bounds are restored
+ * (excluding the cost of the best solution, which is already known) and the best
+ * solution is given to the solver as a static value heuristic.
+ * Jobs that are not optimization jobs are never preempted, as their progress would be
+ * lost.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseSolveScheduler implements AutoCloseable {
+
+    /**
+     * The time quantum after which a job may be preempted by a job with the same
+     * priority (in nanoseconds).
+     */
+    private final long quantumNanos;
+
+    /**
+     * The lock protecting the state of this scheduler.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The condition signaled when a job is waiting or when this scheduler is closed.
+     */
+    private final Condition available = lock.newCondition();
+
+    /**
+     * The jobs waiting to be run.
+     */
+    private final Set<UniverseSolveJob> waiting = new LinkedHashSet<>();
+
+    /**
+     * The jobs currently running.
+     */
+    private final Set<UniverseSolveJob> running = new LinkedHashSet<>();
+
+    /**
+     * The computing time consumed by each group of jobs (in nanoseconds).
+     */
+    private final Map<String, Long> usage = new HashMap<>();
+
+    /**
+     * The order in which jobs are started.
+     */
+    private final Comparator<UniverseSolveJob> order = Comparator
+            .comparingInt(UniverseSolveJob::getPriority).reversed()
+            .thenComparingLong(this::usage)
+            .thenComparingLong(j -> j.sequence);
+
+    /**
+     * The worker threads running the jobs.
+     */
+    private final List<Thread> workers;
+
+    /**
+     * The executor periodically checking whether a job must be preempted.
+     */
+    private final ScheduledExecutorService monitor;
+
+    /**
+     * The number of jobs submitted so far.
+     */
+    private long sequence;
+
+    /**
+     * Whether this scheduler accepts new jobs.
+     */
+    private boolean open = true;
+
+    /**
+     * Creates a new UniverseSolveScheduler, with one worker per available processor and
+     * a time quantum of 30 seconds.
+     */
+    public UniverseSolveScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), 30_000);
+    }
+
+    /**
+     * Creates a new UniverseSolveScheduler.
+     *
+     * @param nWorkers The number of worker threads.
+     * @param quantumMs The time quantum after which a job may be preempted by a job with
+     *        the same priority (in milliseconds).
+     *        As resuming a preempted job requires to reload its model in a new solver,
+     *        and the solver loses what it has learned, the quantum should be large
+     *        compared to the time needed to load the model, otherwise long jobs spend
+     *        most of their time being reloaded.
+     *
+     * @throws IllegalArgumentException If the number of workers or the quantum is not
+     *         positive.
+     */
+    public UniverseSolveScheduler(int nWorkers, long quantumMs) {
+        if ((nWorkers <= 0) || (quantumMs <= 0)) {
+            throw new IllegalArgumentException("Workers and quantum must be positive");
+        }
+
+        this.quantumNanos = TimeUnit.MILLISECONDS.toNanos(quantumMs);
+        this.workers = new ArrayList<>(nWorkers);
+        for (int i = 0; i < nWorkers; i++) {
+            var worker = new Thread(this::work, "juniverse-solve-scheduler-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+
+        this.monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "juniverse-solve-scheduler-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, Math.min(quantumMs / 4, 1000));
+        monitor.scheduleAtFixedRate(this::rebalance, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Submits a job to this scheduler.
+     *
+     * @param job The job to run.
+     *
+     * @return The future outcome of the job (see {@link UniverseSolveJob#getFuture()}).
+     *
+     * @throws IllegalStateException If this scheduler has been closed.
+     */
+    public CompletableFuture<UniverseSolverResult> submit(UniverseSolveJob job) {
+        lock.lock();
+        try {
+            if (!open) {
+                throw new IllegalStateException("The scheduler has been closed");
+            }
+            enqueue(job);
+
+        } finally {
+            lock.unlock();
+        }
+
+        job.getFuture().whenComplete((r, e) -> {
+            if (job.getFuture().isCancelled()) {
+                cancel(job);
+            }
+        });
+        rebalance();
+        return job.getFuture();
+    }
+
+    /**
+     * Adds a job to the waiting jobs.
+     * The lock must be held.
+     *
+     * @param job The job to add.
+     */
+    private void enqueue(UniverseSolveJob job) {
+        job.sequence = sequence++;
+        waiting.add(job);
+        available.signal();
+    }
+
+    /**
+     * Removes a cancelled job from this scheduler, or interrupts it if it is running.
+     *
+     * @param job The cancelled job.
+     */
+    private void cancel(UniverseSolveJob job) {
+        lock.lock();
+        try {
+            if (!waiting.remove(job) && running.contains(job) && (job.solver != null)) {
+                job.solver.interrupt();
+            }
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives the computing time consumed by the group of a job.
+     * The lock must be held.
+     *
+     * @param job The job to get the consumed time of.
+     *
+     * @return The consumed time (in nanoseconds).
+     */
+    private long usage(UniverseSolveJob job) {
+        return usage.getOrDefault(job.getGroup(), 0L);
+    }
+
+    /**
+     * Runs the jobs taken from the waiting jobs until this scheduler is closed.
+     */
+    private void work() {
+        for (var job = take(); job != null; job = take()) {
+            run(job);
+        }
+    }
+
+    /**
+     * Takes the next job to run.
+     *
+     * @return The next job to run, or {@code null} if this scheduler has been closed.
+     */
+    private UniverseSolveJob take() {
+        lock.lock();
+        try {
+            while (open && waiting.isEmpty()) {
+                available.awaitUninterruptibly();
+            }
+
+            if (!open) {
+                return null;
+            }
+
+            var job = waiting.stream().min(order).orElseThrow();
+            waiting.remove(job);
+            running.add(job);
+            job.runStart = System.nanoTime();
+            job.preempted = false;
+            return job;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a job until it completes or is preempted.
+     *
+     * @param job The job to run.
+     */
+    private void run(UniverseSolveJob job) {
+        IUniverseSolver solver = null;
+        UniverseSolverResult result = null;
+        Throwable error = null;
+
+        try {
+            solver = job.getModel().get();
+            if (solver instanceof IUniverseOptimizationSolver) {
+                restore(job, (IUniverseOptimizationSolver) solver);
+            }
+
+            lock.lock();
+            try {
+                job.solver = solver;
+                job.preemptible = solver instanceof IUniverseOptimizationSolver;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!job.getFuture().isDone()) {
+                result = solver.solve();
+                if (solver instanceof IUniverseOptimizationSolver) {
+                    save(job, (IUniverseOptimizationSolver) solver, result);
+                }
+            }
+
+        } catch (RuntimeException | Error e) {
+            error = e;
+        }
+
+        boolean requeued = false;
+        lock.lock();
+        try {
+            running.remove(job);
+            job.solver = null;
+            job.preemptible = false;
+            usage.merge(job.getGroup(), System.nanoTime() - job.runStart, Long::sum);
+
+            // A job whose optimum is proven is not resumed, as its bounds would be empty.
+            if ((error == null) && job.preempted && open && !job.getFuture().isDone()
+                    && !job.isOptimumProven()
+                    && (result != UniverseSolverResult.UNSATISFIABLE)
+                    && (result != UniverseSolverResult.OPTIMUM_FOUND)) {
+                job.preempted();
+                enqueue(job);
+                requeued = true;
+            }
+
+        } finally {
+            lock.unlock();
+        }
+
+        if (error != null) {
+            job.getFuture().completeExceptionally(error);
+
+        } else if (!requeued && (result != null)) {
+            job.getFuture().complete(outcome(job, result));
+        }
+    }
+
+    /**
+     * Restores the state of a preempted job in the solver resuming it.
+     *
+     * @param job The job to resume.
+     * @param solver The solver resuming the job.
+     */
+    private static void restore(UniverseSolveJob job, IUniverseOptimizationSolver solver) {
+        var cost = job.getBestCost();
+        var proven = job.getProvenBound();
+        if (solver.isMinimization()) {
+            var ub = (cost == null) ? null : cost.subtract(BigInteger.ONE);
+            setBounds(solver, proven, ub);
+
+        } else {
+            var lb = (cost == null) ? null : cost.add(BigInteger.ONE);
+            setBounds(solver, lb, proven);
+        }
+
+        var solution = job.getBestSolution();
+        if (solution == null) {
+            return;
+        }
+
+        // The variables are grouped by value, so that each variable prefers its own.
+        Map<BigInteger, List<String>> variablesByValue = new HashMap<>();
+        for (var assignment : solution.entrySet()) {
+            variablesByValue.computeIfAbsent(assignment.getValue(), v -> new ArrayList<>())
+                    .add(assignment.getKey());
+        }
+
+        try {
+            for (var entry : variablesByValue.entrySet()) {
+                solver.valueHeuristicStatic(entry.getValue(), List.of(entry.getKey()));
+            }
+
+        } catch (UnsupportedOperationException e) {
+            // The previous solution is only a hint: the search can go on without it.
+        }
+    }
+
+    /**
+     * Sets the (known) bounds of a solver.
+     *
+     * @param solver The solver to set the bounds of.
+     * @param lb The lower bound, or {@code null} if it is unknown.
+     * @param ub The upper bound, or {@code null} if it is unknown.
+     */
+    private static void setBounds(IUniverseOptimizationSolver solver, BigInteger lb,
+            BigInteger ub) {
+        if ((lb != null) && (ub != null)) {
+            solver.setBounds(lb, ub);
+
+        } else if (lb != null) {
+            solver.setLowerBound(lb);
+
+        } else if (ub != null) {
+            solver.setUpperBound(ub);
+        }
+    }
+
+    /**
+     * Saves the state of a job after its solver has returned.
+     *
+     * @param job The job to save the state of.
+     * @param solver The solver that has run the job.
+     * @param result The result returned by the solver.
+     */
+    private static void save(UniverseSolveJob job, IUniverseOptimizationSolver solver,
+            UniverseSolverResult result) {
+        if ((result == UniverseSolverResult.SATISFIABLE)
+                || (result == UniverseSolverResult.OPTIMUM_FOUND)) {
+            job.improve(new HashMap<>(solver.mapSolution(true)), solver.getCurrentBound());
+        }
+
+        var proven = solver.isMinimization() ? solver.getLowerBound() : solver.getUpperBound();
+        if (proven != null) {
+            job.prove(proven, solver.isMinimization());
+        }
+    }
+
+    /**
+     * Computes the outcome of a completed job, taking into account the solutions found
+     * before it has been preempted.
+     *
+     * @param job The completed job.
+     * @param result The result returned by the last solver that has run the job.
+     *
+     * @return The outcome of the job.
+     */
+    private static UniverseSolverResult outcome(UniverseSolveJob job,
+            UniverseSolverResult result) {
+        if (job.isOptimumProven()) {
+            return UniverseSolverResult.OPTIMUM_FOUND;
+        }
+
+        if ((job.getBestSolution() == null) || (job.getPreemptionCount() == 0)) {
+            return result;
+        }
+
+        if (result == UniverseSolverResult.UNSATISFIABLE) {
+            // No solution is better than the best one found before the preemption.
+            return UniverseSolverResult.OPTIMUM_FOUND;
+        }
+
+        if (result == UniverseSolverResult.UNKNOWN) {
+            return UniverseSolverResult.SATISFIABLE;
+        }
+        return result;
+    }
+
+    /**
+     * Preempts the running jobs that must leave their worker to waiting jobs.
+     * As a solver may miss an interruption that occurs before its search has actually
+     * started, the running jobs that have been preempted or cancelled are interrupted
+     * again until they return.
+     */
+    private void rebalance() {
+        lock.lock();
+        try {
+            for (var job : running) {
+                if ((job.solver != null) && (job.preempted || job.getFuture().isDone())) {
+                    job.solver.interrupt();
+                }
+            }
+
+            var candidates = new ArrayList<>(waiting);
+            candidates.sort(order);
+
+            // Some waiting jobs will be started by idle workers or preempted jobs.
+            int free = workers.size() - running.size();
+            for (var job : running) {
+                if (job.preempted) {
+                    free++;
+                }
+            }
+
+            long now = System.nanoTime();
+            for (int i = free; i < candidates.size(); i++) {
+                var victim = victim(candidates.get(i), now);
+                if (victim == null) {
+                    break;
+                }
+                victim.preempted = true;
+                victim.solver.interrupt();
+            }
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Looks for a running job to preempt in favor of a waiting job.
+     * The lock must be held.
+     *
+     * @param candidate The waiting job.
+     * @param now The current time (in nanoseconds).
+     *
+     * @return The job to preempt, or {@code null} if there is none.
+     */
+    private UniverseSolveJob victim(UniverseSolveJob candidate, long now) {
+        UniverseSolveJob victim = null;
+        for (var job : running) {
+            if (!job.preemptible || job.preempted || (job.solver == null)) {
+                continue;
+            }
+
+            // The time consumed by the current run is taken into account for fairness.
+            long elapsed = now - job.runStart;
+            boolean urgent = job.getPriority() < candidate.getPriority();
+            boolean fair = (job.getPriority() == candidate.getPriority())
+                    && (elapsed >= quantumNanos)
+                    && ((usage(job) + elapsed) >= usage(candidate));
+            if ((urgent || fair) && ((victim == null) || isBetterVictim(job, victim))) {
+                victim = job;
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * Checks whether a running job should be preempted rather than another one.
+     * The lock must be held.
+     *
+     * @param job The job to check.
+     * @param other The other job.
+     *
+     * @return Whether {@code job} should be preempted first.
+     */
+    private boolean isBetterVictim(UniverseSolveJob job, UniverseSolveJob other) {
+        if (job.getPriority() != other.getPriority()) {
+            return job.getPriority() < other.getPriority();
+        }
+
+        if (usage(job) != usage(other)) {
+            return usage(job) > usage(other);
+        }
+        return job.runStart < other.runStart;
+    }
+
+    /**
+     * Gives the number of jobs waiting to be run.
+     *
+     * @return The number of waiting jobs.
+     */
+    public int getWaitingCount() {
+        lock.lock();
+        try {
+            return waiting.size();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives the number of jobs currently running.
+     *
+     * @return The number of running jobs.
+     */
+    public int getRunningCount() {
+        lock.lock();
+        try {
+            return running.size();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes this scheduler.
+     * Waiting jobs are cancelled, and running jobs are interrupted: they complete with the
+     * best result found so far.
+     */
+    @Override
+    public void close() {
+        List<UniverseSolveJob> cancelled;
+        lock.lock();
+        try {
+            open = false;
+            cancelled = new ArrayList<>(waiting);
+            waiting.clear();
+            for (var job : running) {
+                if (job.solver != null) {
+                    job.solver.interrupt();
+                }
+            }
+            available.signalAll();
+
+        } finally {
+            lock.unlock();
+        }
+
+        monitor.shutdownNow();
+        for (var job : cancelled) {
+            job.getFuture().cancel(false);
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.concurrent} package provides utilities for
+ * running many solvers concurrently, such as a shared deadline scheduler, asynchronous
+ * searches, or a priority scheduler preempting long optimization searches.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.concurrent;
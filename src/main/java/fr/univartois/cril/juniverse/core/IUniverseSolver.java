@@ -24,7 +24,11 @@ import java.io.OutputStream;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import fr.univartois.cril.juniverse.concurrent.UniverseAsyncExecutors;
+import fr.univartois.cril.juniverse.concurrent.UniverseSolveFuture;
 import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
 import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
 import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
@@ -203,6 +207,86 @@ public interface IUniverseSolver {
     UniverseSolverResult solve(
             List<UniverseAssumption<BigInteger>> assumptions);
 
+    /**
+     * Solves asynchronously the problem associated to this solver, using the default
+     * executor (see {@link UniverseAsyncExecutors#getDefault()}).
+     * Cancelling the returned future interrupts the search.
+     *
+     * @return The future outcome of the search conducted by the solver.
+     */
+    default CompletableFuture<UniverseSolverResult> solveAsync() {
+        return solveAsync(UniverseAsyncExecutors.getDefault());
+    }
+
+    /**
+     * Solves asynchronously the problem associated to this solver.
+     * Cancelling the returned future interrupts the search.
+     *
+     * @param executor The executor running the search.
+     *
+     * @return The future outcome of the search conducted by the solver.
+     */
+    default CompletableFuture<UniverseSolverResult> solveAsync(Executor executor) {
+        return UniverseSolveFuture.submit(this, this::solve, executor);
+    }
+
+    /**
+     * Solves asynchronously the problem stored in the given file, using the default
+     * executor (see {@link UniverseAsyncExecutors#getDefault()}).
+     * Cancelling the returned future interrupts the search.
+     *
+     * @param filename The name of the file containing the problem to solve.
+     *
+     * @return The future outcome of the search conducted by the solver.
+     */
+    default CompletableFuture<UniverseSolverResult> solveAsync(String filename) {
+        return solveAsync(filename, UniverseAsyncExecutors.getDefault());
+    }
+
+    /**
+     * Solves asynchronously the problem stored in the given file.
+     * Cancelling the returned future interrupts the search.
+     *
+     * @param filename The name of the file containing the problem to solve.
+     * @param executor The executor running the search.
+     *
+     * @return The future outcome of the search conducted by the solver.
+     */
+    default CompletableFuture<UniverseSolverResult> solveAsync(String filename,
+            Executor executor) {
+        return UniverseSolveFuture.submit(this, () -> solve(filename), executor);
+    }
+
+    /**
+     * Solves asynchronously the problem associated to this solver under the given
+     * assumptions, using the default executor (see
+     * {@link UniverseAsyncExecutors#getDefault()}).
+     * Cancelling the returned future interrupts the search.
+     *
+     * @param assumptions The assumptions to consider when solving.
+     *
+     * @return The future outcome of the search conducted by the solver.
+     */
+    default CompletableFuture<UniverseSolverResult> solveAsync(
+            List<UniverseAssumption<BigInteger>> assumptions) {
+        return solveAsync(assumptions, UniverseAsyncExecutors.getDefault());
+    }
+
+    /**
+     * Solves asynchronously the problem associated to this solver under the given
+     * assumptions.
+     * Cancelling the returned future interrupts the search.
+     *
+     * @param assumptions The assumptions to consider when solving.
+     * @param executor The executor running the search.
+     *
+     * @return The future outcome of the search conducted by the solver.
+     */
+    default CompletableFuture<UniverseSolverResult> solveAsync(
+            List<UniverseAssumption<BigInteger>> assumptions, Executor executor) {
+        return UniverseSolveFuture.submit(this, () -> solve(assumptions), executor);
+    }
+
     /**
      * Interrupts (asynchronously) the search currently performed by this solver.
      */
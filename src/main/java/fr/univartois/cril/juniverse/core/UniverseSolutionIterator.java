@@ -0,0 +1,316 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.core;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The UniverseSolutionIterator allows to enumerate the solutions of the problem
+ * associated to a solver.
+ *
+ * Each time a solution is found, it is blocked (by adding to the solver a constraint
+ * forbidding it) before the solver is asked for the next one.
+ * The search is thus performed incrementally: the solver is never reset between two
+ * solutions, so that it may take advantage of what it has learned so far.
+ * The enumeration stops when the solver cannot find any other solution, when the limit
+ * on the number of solutions is reached, or when the iterator is closed.
+ *
+ * When a projection is given, solutions are restricted to the projected variables, and
+ * only distinct projected solutions are enumerated.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseSolutionIterator implements Iterator<Map<String, BigInteger>>,
+        AutoCloseable {
+
+    /**
+     * The solver used to enumerate the solutions.
+     */
+    private final IUniverseSolver solver;
+
+    /**
+     * The variables on which solutions are projected, or {@code null} to consider all
+     * non-auxiliary variables.
+     */
+    private final List<String> projection;
+
+    /**
+     * The maximum number of solutions to enumerate.
+     */
+    private final long limit;
+
+    /**
+     * The function used to forbid a solution in the solver.
+     */
+    private final Consumer<Map<String, BigInteger>> blocker;
+
+    /**
+     * The number of solutions enumerated so far.
+     */
+    private long count;
+
+    /**
+     * The next solution to return, if it has already been computed.
+     */
+    private Map<String, BigInteger> next;
+
+    /**
+     * The last solution that has been returned, and that must be blocked before the next
+     * search.
+     */
+    private Map<String, BigInteger> toBlock;
+
+    /**
+     * The result of the last search performed by the solver.
+     */
+    private UniverseSolverResult lastResult;
+
+    /**
+     * Whether the enumeration is over.
+     */
+    private boolean done;
+
+    /**
+     * Creates a new UniverseSolutionIterator.
+     *
+     * @param solver The solver used to enumerate the solutions.
+     * @param projection The variables on which solutions are projected, or {@code null}
+     *        to consider all non-auxiliary variables.
+     * @param limit The maximum number of solutions to enumerate.
+     * @param blocker The function used to forbid a (projected) solution in the solver.
+     *        It may throw a {@link UniverseContradictionException} when no other
+     *        solution can exist.
+     *
+     * @throws IllegalArgumentException If a projected variable is not in the mapping of
+     *         the solver.
+     */
+    public UniverseSolutionIterator(IUniverseSolver solver, List<String> projection,
+            long limit, Consumer<Map<String, BigInteger>> blocker) {
+        this(solver, projection, limit, blocker, null);
+    }
+
+    /**
+     * Creates a new UniverseSolutionIterator.
+     *
+     * @param solver The solver used to enumerate the solutions.
+     * @param projection The variables on which solutions are projected, or {@code null}
+     *        to consider all non-auxiliary variables.
+     * @param limit The maximum number of solutions to enumerate.
+     * @param blocker The function used to forbid a (projected) solution in the solver.
+     *        It may throw a {@link UniverseContradictionException} when no other
+     *        solution can exist.
+     * @param known The predicate telling whether a projected variable is known by the
+     *        solver, or {@code null} to look for it in the mapping of the solver.
+     *
+     * @throws IllegalArgumentException If a projected variable is not known by the
+     *         solver.
+     */
+    public UniverseSolutionIterator(IUniverseSolver solver, List<String> projection,
+            long limit, Consumer<Map<String, BigInteger>> blocker, Predicate<String> known) {
+        checkProjection(solver, projection, known);
+        this.solver = solver;
+        this.projection = projection;
+        this.limit = limit;
+        this.blocker = blocker;
+    }
+
+    /**
+     * Checks that all projected variables are known by the solver, as blocking a solution
+     * with an unknown variable would produce a wrong constraint.
+     *
+     * @param solver The solver used to enumerate the solutions.
+     * @param projection The variables on which solutions are projected, or {@code null}.
+     * @param known The predicate telling whether a projected variable is known by the
+     *        solver, or {@code null} to look for it in the mapping of the solver.
+     *
+     * @throws IllegalArgumentException If a projected variable is unknown.
+     */
+    private static void checkProjection(IUniverseSolver solver, List<String> projection,
+            Predicate<String> known) {
+        if (projection == null) {
+            return;
+        }
+
+        if (known != null) {
+            for (var variable : projection) {
+                if (!known.test(variable)) {
+                    throw new IllegalArgumentException("Unknown projected variable: " + variable);
+                }
+            }
+            return;
+        }
+
+        var mapping = solver.getVariablesMapping();
+        if (mapping == null) {
+            // The solver does not allow to check the variables.
+            return;
+        }
+
+        for (var variable : projection) {
+            if (!mapping.containsKey(variable)) {
+                throw new IllegalArgumentException("Unknown projected variable: " + variable);
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Iterator#hasNext()
+     */
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+
+        if (done || (count >= limit)) {
+            return false;
+        }
+
+        if (toBlock != null) {
+            try {
+                blocker.accept(toBlock);
+                toBlock = null;
+
+            } catch (UniverseContradictionException e) {
+                lastResult = UniverseSolverResult.UNSATISFIABLE;
+                done = true;
+                return false;
+            }
+        }
+
+        lastResult = solver.solve();
+        if ((lastResult != UniverseSolverResult.SATISFIABLE)
+                && (lastResult != UniverseSolverResult.OPTIMUM_FOUND)) {
+            done = true;
+            return false;
+        }
+
+        next = project(solver.mapSolution(true));
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Iterator#next()
+     */
+    @Override
+    public Map<String, BigInteger> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        var solution = next;
+        next = null;
+        toBlock = solution;
+        count++;
+        return solution;
+    }
+
+    /**
+     * Projects a solution on the projected variables.
+     *
+     * @param solution The solution to project.
+     *
+     * @return The projected solution.
+     *
+     * @throws IllegalStateException If the solution does not assign a projected
+     *         variable.
+     */
+    private Map<String, BigInteger> project(Map<String, BigInteger> solution) {
+        if (projection == null) {
+            return Collections.unmodifiableMap(solution);
+        }
+
+        var projected = new LinkedHashMap<String, BigInteger>();
+        for (var variable : projection) {
+            var value = solution.get(variable);
+            if (value == null) {
+                throw new IllegalStateException("No value for projected variable: " + variable);
+            }
+            projected.put(variable, value);
+        }
+        return Collections.unmodifiableMap(projected);
+    }
+
+    /**
+     * Gives the number of solutions enumerated so far.
+     *
+     * @return The number of solutions.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gives the result of the last search performed by the solver.
+     * When the enumeration is over, this result is {@link UniverseSolverResult#UNSATISFIABLE}
+     * if all the solutions have been enumerated.
+     *
+     * @return The result of the last search, or {@code null} if no search has been
+     *         performed yet.
+     */
+    public UniverseSolverResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Stops the enumeration.
+     * The solver is left as is, and in particular keeps the constraints blocking the
+     * solutions enumerated so far.
+     */
+    @Override
+    public void close() {
+        done = true;
+        next = null;
+        toBlock = null;
+    }
+
+    /**
+     * Gives a sequential stream of the solutions enumerated by this iterator.
+     * Closing the stream stops the enumeration.
+     *
+     * @return The stream of solutions.
+     */
+    public Stream<Map<String, BigInteger>> stream() {
+        var spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+}
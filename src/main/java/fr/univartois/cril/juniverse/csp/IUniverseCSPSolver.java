@@ -21,9 +21,12 @@
 package fr.univartois.cril.juniverse.csp;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import fr.univartois.cril.juniverse.core.UniverseContradictionException;
+import fr.univartois.cril.juniverse.core.UniverseSolutionIterator;
 import fr.univartois.cril.juniverse.csp.intension.IUniverseIntensionConstraint;
 import fr.univartois.cril.juniverse.csp.operator.UniverseArithmeticOperator;
 import fr.univartois.cril.juniverse.csp.operator.UniverseBooleanOperator;
@@ -4026,4 +4029,52 @@ public interface IUniverseCSPSolver extends IUniversePseudoBooleanSolver {
     void maximizeExpressionNValues(List<IUniverseIntensionConstraint> expressions,
             List<BigInteger> coefficients);
 
+    /**
+     * Gives an iterator enumerating the solutions of the problem associated to this
+     * solver, projected on the given variables.
+     * After each solution, a {@code conflicts} constraint forbidding the tuple of values
+     * of this solution is added to this solver, and the search goes on incrementally.
+     * These constraints remain in the solver after the enumeration.
+     *
+     * @param variables The variables on which solutions are projected, or {@code null}
+     *        to consider all non-auxiliary variables.
+     * @param limit The maximum number of solutions to enumerate.
+     *
+     * @return The iterator over the solutions of the problem.
+     *
+     * @throws IllegalArgumentException If a projected variable is not a variable of this
+     *         solver.
+     */
+    @Override
+    default UniverseSolutionIterator solutionIterator(List<String> variables, long limit) {
+        return new UniverseSolutionIterator(this, variables, limit, this::addBlockingConflict);
+    }
+
+    /**
+     * Adds to this solver a constraint forbidding the given assignment.
+     *
+     * @param assignment The assignment to forbid.
+     *
+     * @throws UniverseContradictionException If the constraint to add is inconsistent.
+     */
+    private void addBlockingConflict(Map<String, BigInteger> assignment) {
+        if (assignment.isEmpty()) {
+            throw new UniverseContradictionException("Empty blocking constraint");
+        }
+
+        if (assignment.size() == 1) {
+            var entry = assignment.entrySet().iterator().next();
+            addConflicts(entry.getKey(), List.of(entry.getValue()));
+            return;
+        }
+
+        var variables = new ArrayList<String>(assignment.size());
+        var values = new ArrayList<BigInteger>(assignment.size());
+        for (var entry : assignment.entrySet()) {
+            variables.add(entry.getKey());
+            values.add(entry.getValue());
+        }
+        addConflicts(variables, List.of(values));
+    }
+
 }
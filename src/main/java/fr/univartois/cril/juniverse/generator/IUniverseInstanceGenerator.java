@@ -0,0 +1,59 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.generator;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseContradictionException;
+
+/**
+ * The IUniverseInstanceGenerator defines a generator of synthetic instances, which are
+ * loaded into a solver by calling its API directly.
+ * Generators are deterministic: each call to {@link #generate(IUniverseSolver)} loads
+ * the same instance into the given solver.
+ *
+ * @param <S> The type of the solvers into which instances are loaded.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public interface IUniverseInstanceGenerator<S extends IUniverseSolver> {
+
+    /**
+     * Gives the name of the generated instance, which identifies the family and the
+     * parameters of this generator (including its seed).
+     *
+     * @return The name of the generated instance.
+     */
+    String getName();
+
+    /**
+     * Loads the generated instance into the given solver.
+     *
+     * @param solver The solver into which to load the instance.
+     *
+     * @throws UniverseContradictionException If the solver detects that the instance is
+     *         inconsistent while loading it.
+     */
+    void generate(S solver);
+
+}
@@ -0,0 +1,119 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.generator;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The UniverseGenerators provides helper methods shared by the instance generators.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseGenerators {
+
+    /**
+     * Disables instantiation.
+     */
+    private UniverseGenerators() {
+        throw new AssertionError("No UniverseGenerators instances for you!");
+    }
+
+    /**
+     * Checks whether a value appears in the first elements of an array.
+     *
+     * @param values The array to look into.
+     * @param size The number of elements to consider.
+     * @param value The value to look for.
+     *
+     * @return Whether the value appears in the first {@code size} elements of the array.
+     */
+    static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gives the names of the variables of a one-dimensional array, following the XCSP3
+     * conventions (e.g., {@code x[0]}, {@code x[1]}, etc.).
+     *
+     * @param prefix The name of the array.
+     * @param size The size of the array.
+     *
+     * @return The names of the variables of the array.
+     */
+    static List<String> variables(String prefix, int size) {
+        var variables = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            variables.add(prefix + "[" + i + "]");
+        }
+        return variables;
+    }
+
+    /**
+     * Gives a list in which the same value is repeated.
+     *
+     * @param size The size of the list.
+     * @param value The value to repeat.
+     *
+     * @return The list repeating the value.
+     */
+    static List<BigInteger> repeat(int size, long value) {
+        return Collections.nCopies(size, BigInteger.valueOf(value));
+    }
+
+    /**
+     * Gives the sum of a list of values.
+     *
+     * @param values The values to sum.
+     *
+     * @return The sum of the values.
+     */
+    static BigInteger sum(List<BigInteger> values) {
+        var sum = BigInteger.ZERO;
+        for (var value : values) {
+            sum = sum.add(value);
+        }
+        return sum;
+    }
+
+    /**
+     * Computes a fraction of the sum of a list of values.
+     *
+     * @param values The values to sum.
+     * @param fraction The fraction to compute.
+     *
+     * @return The fraction of the sum, rounded down.
+     */
+    static BigInteger fraction(List<BigInteger> values, double fraction) {
+        return BigInteger.valueOf((long) (sum(values).doubleValue() * fraction));
+    }
+
+}
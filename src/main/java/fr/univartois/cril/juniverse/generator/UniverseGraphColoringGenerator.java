@@ -0,0 +1,118 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.generator;
+
+import java.util.List;
+import java.util.Random;
+
+import fr.univartois.cril.juniverse.csp.IUniverseCSPSolver;
+
+/**
+ * The UniverseGraphColoringGenerator generates graph coloring instances on random
+ * graphs following the Erdős–Rényi model, in which each edge is present with a given
+ * probability.
+ * Each node {@code x[i]} takes its value among {@code nColors} colors, and the two
+ * ends of each edge are stated to be different with {@code addAllDifferent}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseGraphColoringGenerator
+        implements IUniverseInstanceGenerator<IUniverseCSPSolver> {
+
+    /**
+     * The number of nodes of the graph.
+     */
+    private final int nNodes;
+
+    /**
+     * The probability for each edge to be in the graph.
+     */
+    private final double density;
+
+    /**
+     * The number of colors.
+     */
+    private final int nColors;
+
+    /**
+     * The seed of the pseudo-random generator.
+     */
+    private final long seed;
+
+    /**
+     * Creates a new UniverseGraphColoringGenerator.
+     *
+     * @param nNodes The number of nodes of the graph.
+     * @param density The probability for each edge to be in the graph.
+     * @param nColors The number of colors.
+     * @param seed The seed of the pseudo-random generator.
+     *
+     * @throws IllegalArgumentException If one of the parameters is out of its range.
+     */
+    public UniverseGraphColoringGenerator(int nNodes, double density, int nColors, long seed) {
+        if ((nNodes <= 0) || (density < 0) || (density > 1) || (nColors <= 0)) {
+            throw new IllegalArgumentException("Invalid graph coloring parameters");
+        }
+
+        this.nNodes = nNodes;
+        this.density = density;
+        this.nColors = nColors;
+        this.seed = seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#getName()
+     */
+    @Override
+    public String getName() {
+        return "coloring-" + nNodes + "-" + density + "-" + nColors + "-" + seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#generate(fr.
+     * univartois.cril.juniverse.core.IUniverseSolver)
+     */
+    @Override
+    public void generate(IUniverseCSPSolver solver) {
+        var nodes = UniverseGenerators.variables("x", nNodes);
+        for (var node : nodes) {
+            solver.newVariable(node, 0, nColors - 1);
+        }
+
+        var random = new Random(seed);
+        for (int i = 0; i < nNodes; i++) {
+            for (int j = i + 1; j < nNodes; j++) {
+                if (random.nextDouble() < density) {
+                    solver.addAllDifferent(List.of(nodes.get(i), nodes.get(j)));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,219 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.generator;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import fr.univartois.cril.juniverse.csp.IUniverseCSPSolver;
+import fr.univartois.cril.juniverse.csp.operator.UniverseArithmeticOperator;
+import fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator;
+
+/**
+ * The UniverseJobShopGenerator generates random job-shop scheduling instances, in the
+ * style of Taillard's instances.
+ * Each job is a sequence of operations, one on each machine, in an order drawn
+ * uniformly, and each operation has a duration drawn uniformly in
+ * {@code [1, maxDuration]}.
+ * The start of the {@code k}-th operation of job {@code j} is the variable
+ * {@code s[j][k]}, and the objective is to minimize the variable {@code makespan}.
+ * Machines are modeled either with {@code addNoOverlap}, or with
+ * {@code addCumulativeConstantLengthsConstantHeights} (with unit heights and capacity).
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseJobShopGenerator implements IUniverseInstanceGenerator<IUniverseCSPSolver> {
+
+    /**
+     * The name of the variable representing the makespan of the schedule.
+     */
+    public static final String MAKESPAN = "makespan";
+
+    /**
+     * The number of jobs.
+     */
+    private final int nJobs;
+
+    /**
+     * The number of machines.
+     */
+    private final int nMachines;
+
+    /**
+     * The maximum duration of an operation.
+     */
+    private final int maxDuration;
+
+    /**
+     * Whether machines are modeled with cumulative constraints rather than with
+     * no-overlap constraints.
+     */
+    private final boolean cumulative;
+
+    /**
+     * The seed of the pseudo-random generator.
+     */
+    private final long seed;
+
+    /**
+     * Creates a new UniverseJobShopGenerator.
+     *
+     * @param nJobs The number of jobs.
+     * @param nMachines The number of machines.
+     * @param maxDuration The maximum duration of an operation.
+     * @param cumulative Whether machines are modeled with cumulative constraints rather
+     *        than with no-overlap constraints.
+     * @param seed The seed of the pseudo-random generator.
+     *
+     * @throws IllegalArgumentException If one of the parameters is not positive.
+     */
+    public UniverseJobShopGenerator(int nJobs, int nMachines, int maxDuration,
+            boolean cumulative, long seed) {
+        if ((nJobs <= 0) || (nMachines <= 0) || (maxDuration <= 0)) {
+            throw new IllegalArgumentException("Invalid job-shop parameters");
+        }
+
+        this.nJobs = nJobs;
+        this.nMachines = nMachines;
+        this.maxDuration = maxDuration;
+        this.cumulative = cumulative;
+        this.seed = seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#getName()
+     */
+    @Override
+    public String getName() {
+        return "jobshop-" + nJobs + "-" + nMachines + "-" + maxDuration
+                + (cumulative ? "-cumulative-" : "-") + seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#generate(fr.
+     * univartois.cril.juniverse.core.IUniverseSolver)
+     */
+    @Override
+    public void generate(IUniverseCSPSolver solver) {
+        // Drawing the machines and durations of the operations of each job.
+        var random = new Random(seed);
+        var machines = new ArrayList<Integer>(nMachines);
+        for (int m = 0; m < nMachines; m++) {
+            machines.add(m);
+        }
+        var routes = new int[nJobs][];
+        var durations = new BigInteger[nJobs][nMachines];
+        long horizon = 0;
+        for (int j = 0; j < nJobs; j++) {
+            Collections.shuffle(machines, random);
+            routes[j] = machines.stream().mapToInt(Integer::intValue).toArray();
+            for (int k = 0; k < nMachines; k++) {
+                int duration = random.nextInt(maxDuration) + 1;
+                durations[j][k] = BigInteger.valueOf(duration);
+                horizon += duration;
+            }
+        }
+
+        // Creating the variables.
+        var starts = new ArrayList<List<String>>(nJobs);
+        for (int j = 0; j < nJobs; j++) {
+            var job = UniverseGenerators.variables("s[" + j + "]", nMachines);
+            for (var start : job) {
+                solver.newVariable(start, BigInteger.ZERO, BigInteger.valueOf(horizon));
+            }
+            starts.add(job);
+        }
+        solver.newVariable(MAKESPAN, BigInteger.ZERO, BigInteger.valueOf(horizon));
+
+        // Each job performs its operations in sequence (the last one ends before the makespan).
+        for (int j = 0; j < nJobs; j++) {
+            if (nMachines > 1) {
+                solver.addOrderedWithConstantLength(starts.get(j),
+                        List.of(durations[j]).subList(0, nMachines - 1),
+                        UniverseRelationalOperator.LE);
+            }
+            solver.addPrimitive(starts.get(j).get(nMachines - 1), UniverseArithmeticOperator.ADD,
+                    durations[j][nMachines - 1], UniverseRelationalOperator.LE, MAKESPAN);
+        }
+
+        // Each machine performs one operation at a time.
+        for (int m = 0; m < nMachines; m++) {
+            var origins = new ArrayList<String>(nJobs);
+            var lengths = new ArrayList<BigInteger>(nJobs);
+            for (int j = 0; j < nJobs; j++) {
+                int k = indexOf(routes[j], m);
+                origins.add(starts.get(j).get(k));
+                lengths.add(durations[j][k]);
+            }
+            addMachine(solver, origins, lengths);
+        }
+
+        solver.minimizeVariable(MAKESPAN);
+    }
+
+    /**
+     * Adds the constraint stating that a machine performs one operation at a time.
+     *
+     * @param solver The solver to add the constraint to.
+     * @param origins The variables representing the starts of the operations.
+     * @param lengths The durations of the operations.
+     */
+    private void addMachine(IUniverseCSPSolver solver, List<String> origins,
+            List<BigInteger> lengths) {
+        if (cumulative) {
+            solver.addCumulativeConstantLengthsConstantHeights(origins, lengths,
+                    UniverseGenerators.repeat(origins.size(), 1), UniverseRelationalOperator.LE,
+                    BigInteger.ONE);
+
+        } else {
+            solver.addNoOverlap(origins, lengths);
+        }
+    }
+
+    /**
+     * Gives the position at which a job visits a machine.
+     *
+     * @param route The machines visited by the job, in order.
+     * @param machine The machine to look for.
+     *
+     * @return The position of the machine in the route.
+     */
+    private static int indexOf(int[] route, int machine) {
+        for (int k = 0; k < route.length; k++) {
+            if (route[k] == machine) {
+                return k;
+            }
+        }
+        throw new IllegalStateException("Machine " + machine + " is not visited");
+    }
+
+}
@@ -0,0 +1,133 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.generator;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Random;
+
+import fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver;
+
+/**
+ * The UniverseKnapsackGenerator generates the decision version of random 0/1 knapsack
+ * instances.
+ * Each of the {@code n} items has a weight and a profit drawn uniformly in
+ * {@code [1, maxWeight]}, and the instance is made of the two pseudo-Boolean
+ * constraints stating that the total weight of the selected items is at most a fraction
+ * of the total weight, and that their total profit is at least a fraction of the total
+ * profit.
+ * The variables are the DIMACS variables {@code 1} to {@code n}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseKnapsackGenerator
+        implements IUniverseInstanceGenerator<IUniversePseudoBooleanSolver> {
+
+    /**
+     * The number of items.
+     */
+    private final int nItems;
+
+    /**
+     * The maximum weight (and profit) of an item.
+     */
+    private final int maxWeight;
+
+    /**
+     * The capacity of the knapsack, as a fraction of the total weight of the items.
+     */
+    private final double capacity;
+
+    /**
+     * The profit to reach, as a fraction of the total profit of the items.
+     */
+    private final double target;
+
+    /**
+     * The seed of the pseudo-random generator.
+     */
+    private final long seed;
+
+    /**
+     * Creates a new UniverseKnapsackGenerator.
+     *
+     * @param nItems The number of items.
+     * @param maxWeight The maximum weight (and profit) of an item.
+     * @param capacity The capacity of the knapsack, as a fraction (between {@code 0} and
+     *        {@code 1}) of the total weight of the items.
+     * @param target The profit to reach, as a fraction (between {@code 0} and {@code 1})
+     *        of the total profit of the items.
+     * @param seed The seed of the pseudo-random generator.
+     *
+     * @throws IllegalArgumentException If one of the parameters is out of its range.
+     */
+    public UniverseKnapsackGenerator(int nItems, int maxWeight, double capacity, double target,
+            long seed) {
+        if ((nItems <= 0) || (maxWeight <= 0) || (capacity < 0) || (capacity > 1)
+                || (target < 0) || (target > 1)) {
+            throw new IllegalArgumentException("Invalid knapsack parameters");
+        }
+
+        this.nItems = nItems;
+        this.maxWeight = maxWeight;
+        this.capacity = capacity;
+        this.target = target;
+        this.seed = seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#getName()
+     */
+    @Override
+    public String getName() {
+        return "knapsack-" + nItems + "-" + maxWeight + "-" + capacity + "-" + target + "-"
+                + seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#generate(fr.
+     * univartois.cril.juniverse.core.IUniverseSolver)
+     */
+    @Override
+    public void generate(IUniversePseudoBooleanSolver solver) {
+        var random = new Random(seed);
+        var literals = new ArrayList<Integer>(nItems);
+        var weights = new ArrayList<BigInteger>(nItems);
+        var profits = new ArrayList<BigInteger>(nItems);
+        for (int i = 1; i <= nItems; i++) {
+            literals.add(i);
+            weights.add(BigInteger.valueOf(random.nextInt(maxWeight) + 1L));
+            profits.add(BigInteger.valueOf(random.nextInt(maxWeight) + 1L));
+        }
+
+        solver.addAtMost(literals, weights, UniverseGenerators.fraction(weights, capacity));
+        solver.addAtLeast(literals, profits, UniverseGenerators.fraction(profits, target));
+    }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.generator;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.univartois.cril.juniverse.csp.IUniverseCSPSolver;
+import fr.univartois.cril.juniverse.csp.operator.UniverseRelationalOperator;
+
+/**
+ * The UniverseMagicSquareGenerator generates magic square instances, in which the
+ * integers from {@code 1} to {@code n²} must be placed in a square of size {@code n} so
+ * that all its rows, columns and diagonals have the same sum.
+ * The cell in row {@code i} and column {@code j} is the variable {@code x[i][j]}.
+ * As magic squares are defined by their order only, this generator does not use a seed.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseMagicSquareGenerator
+        implements IUniverseInstanceGenerator<IUniverseCSPSolver> {
+
+    /**
+     * The order of the square.
+     */
+    private final int order;
+
+    /**
+     * Creates a new UniverseMagicSquareGenerator.
+     *
+     * @param order The order of the square.
+     *
+     * @throws IllegalArgumentException If the order is not positive.
+     */
+    public UniverseMagicSquareGenerator(int order) {
+        if (order <= 0) {
+            throw new IllegalArgumentException("Invalid order: " + order);
+        }
+
+        this.order = order;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#getName()
+     */
+    @Override
+    public String getName() {
+        return "magic-square-" + order;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#generate(fr.
+     * univartois.cril.juniverse.core.IUniverseSolver)
+     */
+    @Override
+    public void generate(IUniverseCSPSolver solver) {
+        var square = new ArrayList<List<String>>(order);
+        var cells = new ArrayList<String>(order * order);
+        for (int i = 0; i < order; i++) {
+            var row = UniverseGenerators.variables("x[" + i + "]", order);
+            for (var cell : row) {
+                solver.newVariable(cell, 1, order * order);
+            }
+            square.add(row);
+            cells.addAll(row);
+        }
+        solver.addAllDifferent(cells);
+
+        var magic = BigInteger.valueOf((long) order * (order * order + 1) / 2);
+        var diagonal = new ArrayList<String>(order);
+        var antiDiagonal = new ArrayList<String>(order);
+        for (int i = 0; i < order; i++) {
+            var column = new ArrayList<String>(order);
+            for (int j = 0; j < order; j++) {
+                column.add(square.get(j).get(i));
+            }
+            solver.addSum(square.get(i), UniverseRelationalOperator.EQ, magic);
+            solver.addSum(column, UniverseRelationalOperator.EQ, magic);
+            diagonal.add(square.get(i).get(i));
+            antiDiagonal.add(square.get(i).get(order - i - 1));
+        }
+        solver.addSum(diagonal, UniverseRelationalOperator.EQ, magic);
+        solver.addSum(antiDiagonal, UniverseRelationalOperator.EQ, magic);
+    }
+
+}
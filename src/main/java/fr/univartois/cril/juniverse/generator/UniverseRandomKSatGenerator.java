@@ -0,0 +1,150 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import fr.univartois.cril.juniverse.sat.IUniverseSatSolver;
+
+/**
+ * The UniverseRandomKSatGenerator generates uniform random k-SAT instances, in which
+ * each clause contains {@code k} distinct variables drawn uniformly, each of them being
+ * negated with probability {@code 1/2}.
+ * The number of clauses is given as a ratio to the number of variables (e.g., about
+ * {@code 4.26} for the satisfiability threshold of random 3-SAT).
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseRandomKSatGenerator implements IUniverseInstanceGenerator<IUniverseSatSolver> {
+
+    /**
+     * The number of variables of the instance.
+     */
+    private final int nVariables;
+
+    /**
+     * The number of clauses of the instance.
+     */
+    private final int nClauses;
+
+    /**
+     * The number of literals in each clause.
+     */
+    private final int k;
+
+    /**
+     * The seed of the pseudo-random generator.
+     */
+    private final long seed;
+
+    /**
+     * Creates a new UniverseRandomKSatGenerator.
+     *
+     * @param nVariables The number of variables of the instance.
+     * @param ratio The ratio between the number of clauses and the number of variables.
+     * @param k The number of literals in each clause.
+     * @param seed The seed of the pseudo-random generator.
+     *
+     * @throws IllegalArgumentException If there are fewer variables than literals in a
+     *         clause, or if the ratio is negative.
+     */
+    public UniverseRandomKSatGenerator(int nVariables, double ratio, int k, long seed) {
+        if ((k <= 0) || (nVariables < k) || (ratio < 0)) {
+            throw new IllegalArgumentException("Cannot generate random " + k + "-SAT with "
+                    + nVariables + " variables and ratio " + ratio);
+        }
+
+        this.nVariables = nVariables;
+        this.nClauses = (int) Math.round(ratio * nVariables);
+        this.k = k;
+        this.seed = seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#getName()
+     */
+    @Override
+    public String getName() {
+        return "random-" + k + "-sat-" + nVariables + "-" + nClauses + "-" + seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#generate(fr.
+     * univartois.cril.juniverse.core.IUniverseSolver)
+     */
+    @Override
+    public void generate(IUniverseSatSolver solver) {
+        for (var clause : clauses()) {
+            solver.addClause(clause);
+        }
+    }
+
+    /**
+     * Gives the clauses of the generated instance, as lists of DIMACS literals.
+     *
+     * @return The clauses of the instance.
+     */
+    public List<List<Integer>> clauses() {
+        var random = new Random(seed);
+        var clauses = new ArrayList<List<Integer>>(nClauses);
+        var variables = new int[k];
+
+        for (int c = 0; c < nClauses; c++) {
+            var clause = new ArrayList<Integer>(k);
+            for (int i = 0; i < k; i++) {
+                variables[i] = distinctVariable(random, variables, i);
+                clause.add(random.nextBoolean() ? variables[i] : -variables[i]);
+            }
+            clauses.add(clause);
+        }
+
+        return clauses;
+    }
+
+    /**
+     * Draws a variable that does not appear among those already in a clause.
+     *
+     * @param random The pseudo-random generator to use.
+     * @param variables The variables already in the clause.
+     * @param size The number of variables already in the clause.
+     *
+     * @return The DIMACS identifier of the drawn variable.
+     */
+    private int distinctVariable(Random random, int[] variables, int size) {
+        while (true) {
+            int variable = random.nextInt(nVariables) + 1;
+            if (!UniverseGenerators.contains(variables, size, variable)) {
+                return variable;
+            }
+        }
+    }
+
+}
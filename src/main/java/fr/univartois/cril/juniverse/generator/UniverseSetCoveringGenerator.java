@@ -0,0 +1,148 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.generator;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Random;
+
+import fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver;
+
+/**
+ * The UniverseSetCoveringGenerator generates the decision version of random weighted
+ * set covering instances.
+ * Each of the elements to cover belongs to {@code coverage} distinct sets drawn
+ * uniformly, and each set has a cost drawn uniformly in {@code [1, maxCost]}.
+ * The instance states that each element is covered by at least one selected set, and
+ * that the total cost of the selected sets is at most a fraction of the total cost.
+ * The variables are the DIMACS variables {@code 1} to {@code nSets}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseSetCoveringGenerator
+        implements IUniverseInstanceGenerator<IUniversePseudoBooleanSolver> {
+
+    /**
+     * The number of elements to cover.
+     */
+    private final int nElements;
+
+    /**
+     * The number of sets.
+     */
+    private final int nSets;
+
+    /**
+     * The number of sets to which each element belongs.
+     */
+    private final int coverage;
+
+    /**
+     * The maximum cost of a set.
+     */
+    private final int maxCost;
+
+    /**
+     * The budget of the covering, as a fraction of the total cost of the sets.
+     */
+    private final double budget;
+
+    /**
+     * The seed of the pseudo-random generator.
+     */
+    private final long seed;
+
+    /**
+     * Creates a new UniverseSetCoveringGenerator.
+     *
+     * @param nElements The number of elements to cover.
+     * @param nSets The number of sets.
+     * @param coverage The number of sets to which each element belongs.
+     * @param maxCost The maximum cost of a set.
+     * @param budget The budget of the covering, as a fraction (between {@code 0} and
+     *        {@code 1}) of the total cost of the sets.
+     * @param seed The seed of the pseudo-random generator.
+     *
+     * @throws IllegalArgumentException If one of the parameters is out of its range.
+     */
+    public UniverseSetCoveringGenerator(int nElements, int nSets, int coverage, int maxCost,
+            double budget, long seed) {
+        if ((nElements <= 0) || (coverage <= 0) || (nSets < coverage) || (maxCost <= 0)
+                || (budget < 0) || (budget > 1)) {
+            throw new IllegalArgumentException("Invalid set covering parameters");
+        }
+
+        this.nElements = nElements;
+        this.nSets = nSets;
+        this.coverage = coverage;
+        this.maxCost = maxCost;
+        this.budget = budget;
+        this.seed = seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#getName()
+     */
+    @Override
+    public String getName() {
+        return "covering-" + nElements + "-" + nSets + "-" + coverage + "-" + maxCost + "-"
+                + budget + "-" + seed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator#generate(fr.
+     * univartois.cril.juniverse.core.IUniverseSolver)
+     */
+    @Override
+    public void generate(IUniversePseudoBooleanSolver solver) {
+        var random = new Random(seed);
+        var sets = new int[coverage];
+        for (int e = 0; e < nElements; e++) {
+            var covering = new ArrayList<Integer>(coverage);
+            for (int i = 0; i < coverage; i++) {
+                int set;
+                do {
+                    set = random.nextInt(nSets) + 1;
+                } while (UniverseGenerators.contains(sets, i, set));
+                sets[i] = set;
+                covering.add(set);
+            }
+            solver.addAtLeast(covering, 1);
+        }
+
+        var literals = new ArrayList<Integer>(nSets);
+        var costs = new ArrayList<BigInteger>(nSets);
+        for (int s = 1; s <= nSets; s++) {
+            literals.add(s);
+            costs.add(BigInteger.valueOf(random.nextInt(maxCost) + 1L));
+        }
+        solver.addAtMost(literals, costs, UniverseGenerators.fraction(costs, budget));
+    }
+
+}
@@ -0,0 +1,15 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.generator} package provides deterministic
+ * generators of synthetic instances, which feed JUniverse solvers directly through their
+ * API.
+ * Given the same parameters and seed, a generator always produces the same instance,
+ * making benchmarks and scaling experiments reproducible at any size without shipping
+ * instance files.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.generator;
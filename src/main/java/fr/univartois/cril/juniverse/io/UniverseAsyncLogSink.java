@@ -0,0 +1,517 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+
+/**
+ * The UniverseAsyncLogSink is an output stream that writes the logs of a solver to a
+ * file without blocking the search.
+ *
+ * The bytes written to this stream are copied into a ring of direct buffers, which are
+ * written to the file by a background thread as soon as they are full (or periodically,
+ * if the solver does not log much).
+ * If all the buffers are waiting to be written, the logs are dropped rather than
+ * stalling the solver, and the number of dropped bytes is recorded.
+ * Consecutive identical lines are only written a limited number of times, and are then
+ * summarized when a different line is logged.
+ *
+ * This stream is also a search listener, which flushes the logs when the search ends.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseAsyncLogSink extends OutputStream implements IUniverseSearchListener {
+
+    /**
+     * The default size of the buffers (in bytes).
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The default number of buffers.
+     */
+    private static final int DEFAULT_NB_BUFFERS = 8;
+
+    /**
+     * The default number of times a line may be repeated before being suppressed.
+     */
+    private static final int DEFAULT_MAX_REPEATS = 3;
+
+    /**
+     * The delay after which a partially filled buffer is written (in milliseconds).
+     */
+    private static final long FLUSH_INTERVAL_MS = 200;
+
+    /**
+     * The channel to which the logs are written.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The size of the buffers (in bytes).
+     */
+    private final int bufferSize;
+
+    /**
+     * The buffers that are available for copying the logs.
+     */
+    private final BlockingQueue<ByteBuffer> free;
+
+    /**
+     * The buffers that are waiting to be written.
+     */
+    private final BlockingQueue<ByteBuffer> full;
+
+    /**
+     * The number of times a line may be repeated before being suppressed.
+     */
+    private final int maxRepeats;
+
+    /**
+     * The thread writing the buffers to the channel.
+     */
+    private final Thread writer;
+
+    /**
+     * The lock used to wait for the buffers to be written.
+     */
+    private final Object progress = new Object();
+
+    /**
+     * The number of bytes that have been dropped.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * The buffer currently being filled.
+     */
+    private ByteBuffer current;
+
+    /**
+     * The line currently being logged.
+     */
+    private byte[] line;
+
+    /**
+     * The number of bytes in the line currently being logged.
+     */
+    private int lineLength;
+
+    /**
+     * The last line that has been logged.
+     */
+    private byte[] previousLine = new byte[0];
+
+    /**
+     * The number of times the last line has been repeated.
+     */
+    private int repeats;
+
+    /**
+     * The number of repetitions of the last line that have been suppressed.
+     */
+    private int suppressed;
+
+    /**
+     * The number of buffers that have been submitted to the writer thread.
+     * This field is guarded by {@link #progress}.
+     */
+    private long submitted;
+
+    /**
+     * The number of buffers that have been written by the writer thread.
+     * This field is guarded by {@link #progress}.
+     */
+    private long written;
+
+    /**
+     * The last error that occurred while writing the logs.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Whether this sink has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new UniverseAsyncLogSink, writing the logs to the given file (which is
+     * truncated if it already exists).
+     *
+     * @param file The file to write the logs to.
+     *
+     * @throws IOException If the file cannot be opened.
+     */
+    public UniverseAsyncLogSink(Path file) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), DEFAULT_BUFFER_SIZE, DEFAULT_NB_BUFFERS,
+                DEFAULT_MAX_REPEATS);
+    }
+
+    /**
+     * Creates a new UniverseAsyncLogSink.
+     *
+     * @param channel The channel to write the logs to.
+     *        This channel is closed when this sink is closed.
+     * @param bufferSize The size of the buffers (in bytes).
+     * @param nbBuffers The number of buffers.
+     * @param maxRepeats The number of times a line may be repeated before being
+     *        suppressed.
+     */
+    public UniverseAsyncLogSink(FileChannel channel, int bufferSize, int nbBuffers,
+            int maxRepeats) {
+        this.channel = channel;
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(nbBuffers);
+        this.full = new ArrayBlockingQueue<>(nbBuffers);
+        this.maxRepeats = maxRepeats;
+        this.line = new byte[Math.min(bufferSize, 256)];
+        for (int i = 0; i < nbBuffers; i++) {
+            free.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+
+        this.writer = new Thread(this::run, "juniverse-log-sink");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Creates a sink writing the logs of a solver to the given file, and sets it as the
+     * log stream of this solver.
+     * If the solver supports search listeners, the logs are flushed at the end of each
+     * search.
+     *
+     * @param solver The solver to write the logs of.
+     * @param file The file to write the logs to.
+     *
+     * @return The created sink, which must be closed when the solver is not used
+     *         anymore.
+     *
+     * @throws IOException If the file cannot be opened.
+     */
+    public static UniverseAsyncLogSink attach(IUniverseSolver solver, Path file)
+            throws IOException {
+        var sink = new UniverseAsyncLogSink(file);
+        solver.setLogStream(sink);
+        try {
+            solver.addSearchListener(sink);
+
+        } catch (UnsupportedOperationException e) {
+            // The logs will only be flushed when the sink is closed.
+        }
+        return sink;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.OutputStream#write(int)
+     */
+    @Override
+    public synchronized void write(int b) throws IOException {
+        append((byte) b);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.OutputStream#write(byte[], int, int)
+     */
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            append(b[i]);
+        }
+    }
+
+    /**
+     * Appends a byte to the line currently being logged.
+     *
+     * @param b The byte to append.
+     *
+     * @throws IOException If this sink has been closed.
+     */
+    private void append(byte b) throws IOException {
+        if (closed) {
+            throw new IOException("The log sink has been closed");
+        }
+
+        if (lineLength == line.length) {
+            if (lineLength >= bufferSize) {
+                // The line is too long to be checked for repetitions.
+                emit(line, 0, lineLength);
+                lineLength = 0;
+
+            } else {
+                line = Arrays.copyOf(line, Math.min(2 * line.length, bufferSize));
+            }
+        }
+
+        line[lineLength++] = b;
+        if (b == '\n') {
+            endLine();
+        }
+    }
+
+    /**
+     * Logs the line that has just been completed, unless it has been repeated too many
+     * times.
+     */
+    private void endLine() {
+        if (Arrays.equals(line, 0, lineLength, previousLine, 0, previousLine.length)) {
+            repeats++;
+            if (repeats > maxRepeats) {
+                suppressed++;
+                lineLength = 0;
+                return;
+            }
+
+        } else {
+            summarizeRepetitions();
+            repeats = 0;
+            previousLine = Arrays.copyOf(line, lineLength);
+        }
+
+        emit(line, 0, lineLength);
+        lineLength = 0;
+    }
+
+    /**
+     * Logs the number of repetitions of the last line that have been suppressed, if
+     * any.
+     */
+    private void summarizeRepetitions() {
+        if (suppressed > 0) {
+            var summary = ("[last line repeated " + suppressed + " more times]\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            emit(summary, 0, summary.length);
+            suppressed = 0;
+        }
+    }
+
+    /**
+     * Copies bytes into the buffers, without blocking.
+     *
+     * @param bytes The bytes to copy.
+     * @param offset The index of the first byte to copy.
+     * @param length The number of bytes to copy.
+     */
+    private void emit(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            if (current == null) {
+                current = free.poll();
+                if (current == null) {
+                    // All buffers are waiting to be written: the logs are dropped.
+                    dropped.add(length);
+                    return;
+                }
+            }
+
+            int n = Math.min(length, current.remaining());
+            current.put(bytes, offset, n);
+            offset += n;
+            length -= n;
+            if (!current.hasRemaining()) {
+                submitCurrent();
+            }
+        }
+    }
+
+    /**
+     * Submits the buffer currently being filled to the writer thread, if it is not
+     * empty.
+     *
+     * @return The number of buffers submitted so far.
+     */
+    private long submitCurrent() {
+        synchronized (progress) {
+            if ((current != null) && (current.position() > 0)) {
+                current.flip();
+                full.add(current);
+                current = null;
+                submitted++;
+            }
+            return submitted;
+        }
+    }
+
+    /**
+     * Writes the submitted buffers to the channel, until this sink is closed.
+     */
+    private void run() {
+        while (true) {
+            ByteBuffer buffer;
+            try {
+                buffer = full.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (buffer == null) {
+                if (closed) {
+                    return;
+                }
+
+                // Writing the logs of a solver that does not log much.
+                synchronized (this) {
+                    submitCurrent();
+                }
+                continue;
+            }
+
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            buffer.clear();
+            free.add(buffer);
+            synchronized (progress) {
+                written++;
+                progress.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until all the logs written so far have been written to the channel.
+     * Note that the line currently being logged is written as is.
+     *
+     * @throws IOException If an error occurred while writing the logs.
+     */
+    @Override
+    public void flush() throws IOException {
+        long target;
+        synchronized (this) {
+            if (lineLength > 0) {
+                summarizeRepetitions();
+                emit(line, 0, lineLength);
+                lineLength = 0;
+                previousLine = new byte[0];
+                repeats = 0;
+            }
+            target = submitCurrent();
+        }
+
+        synchronized (progress) {
+            while ((written < target) && writer.isAlive()) {
+                try {
+                    progress.wait(FLUSH_INTERVAL_MS);
+
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while flushing the logs", e);
+                }
+            }
+        }
+
+        var error = failure;
+        if (error != null) {
+            failure = null;
+            throw error;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#end(fr.univartois.
+     * cril.juniverse.core.UniverseSolverResult)
+     */
+    @Override
+    public void end(UniverseSolverResult result) {
+        try {
+            synchronized (this) {
+                summarizeRepetitions();
+            }
+            flush();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gives the number of bytes that have been dropped because all the buffers were
+     * waiting to be written.
+     *
+     * @return The number of dropped bytes.
+     */
+    public long getDroppedBytes() {
+        return dropped.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.OutputStream#close()
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            synchronized (this) {
+                summarizeRepetitions();
+            }
+            flush();
+
+        } finally {
+            closed = true;
+            try {
+                writer.join();
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The UniverseChunkedStorage is an append-only storage of bytes, made of fixed-size
+ * chunks allocated either off-heap or by mapping a file in memory.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseChunkedStorage implements Closeable {
+
+    /**
+     * The size of the chunks (in bytes).
+     */
+    private final int chunkSize;
+
+    /**
+     * The channel of the file mapped in memory, or {@code null} if the chunks are
+     * allocated off-heap.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The chunks of this storage.
+     */
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    /**
+     * The number of bytes stored in this storage.
+     */
+    private long size;
+
+    /**
+     * Creates a new UniverseChunkedStorage.
+     *
+     * @param chunkSize The size of the chunks (in bytes).
+     * @param channel The channel of the file to map in memory, or {@code null} to
+     *        allocate the chunks off-heap.
+     */
+    UniverseChunkedStorage(int chunkSize, FileChannel channel) {
+        this.chunkSize = chunkSize;
+        this.channel = channel;
+    }
+
+    /**
+     * Gives the number of bytes stored in this storage.
+     *
+     * @return The size of this storage (in bytes).
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Appends bytes to this storage.
+     *
+     * @param bytes The array containing the bytes to append.
+     * @param length The number of bytes to append, starting from the first one.
+     */
+    void append(byte[] bytes, int length) {
+        int offset = 0;
+        while (offset < length) {
+            int index = (int) (size / chunkSize);
+            if (index == chunks.size()) {
+                chunks.add(allocate(index));
+            }
+
+            var chunk = chunks.get(index);
+            chunk.position((int) (size % chunkSize));
+            int n = Math.min(chunk.remaining(), length - offset);
+            chunk.put(bytes, offset, n);
+            offset += n;
+            size += n;
+        }
+    }
+
+    /**
+     * Allocates a new chunk.
+     *
+     * @param index The index of the chunk to allocate.
+     *
+     * @return The allocated chunk.
+     */
+    private ByteBuffer allocate(int index) {
+        if (channel == null) {
+            return ByteBuffer.allocateDirect(chunkSize);
+        }
+
+        try {
+            return channel.map(MapMode.READ_WRITE, (long) index * chunkSize, chunkSize);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a byte from this storage.
+     *
+     * @param position The position of the byte to read.
+     *
+     * @return The read byte.
+     */
+    byte get(long position) {
+        return chunks.get((int) (position / chunkSize)).get((int) (position % chunkSize));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        chunks.clear();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+}
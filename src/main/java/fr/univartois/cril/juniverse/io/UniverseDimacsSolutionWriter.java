@@ -0,0 +1,104 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.io;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+
+/**
+ * The UniverseDimacsSolutionWriter prints solutions as DIMACS {@code v} lines, as
+ * expected in the SAT competitions.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseDimacsSolutionWriter extends UniverseSolutionWriter {
+
+    /**
+     * The number of literals written on each {@code v} line.
+     */
+    private static final int LITERALS_PER_LINE = 32;
+
+    /**
+     * Creates a new UniverseDimacsSolutionWriter.
+     *
+     * @param channel The channel to which the solutions are written.
+     */
+    public UniverseDimacsSolutionWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new UniverseDimacsSolutionWriter.
+     *
+     * @param channel The channel to which the solutions are written.
+     * @param bufferSize The size of the buffer (in bytes).
+     */
+    public UniverseDimacsSolutionWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    /**
+     * Writes the solution found by the given solver.
+     * The solution given by {@link IUniverseSolver#solution()} is expected to be a list
+     * of DIMACS literals.
+     *
+     * @param solver The solver that has found the solution.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(IUniverseSolver solver) throws IOException {
+        write(solver.solution());
+    }
+
+    /**
+     * Writes a solution given as a list of DIMACS literals.
+     * The terminating {@code 0} is added by this method.
+     *
+     * @param literals The literals satisfied by the solution.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(List<BigInteger> literals) throws IOException {
+        int count = 0;
+        for (var literal : literals) {
+            if (count % LITERALS_PER_LINE == 0) {
+                writeAscii((count == 0) ? "v" : "\nv");
+            }
+            writeByte(' ');
+            writeNumber(literal);
+            count++;
+        }
+        if (count == 0) {
+            writeAscii("v 0\n");
+
+        } else {
+            writeAscii((count % LITERALS_PER_LINE == 0) ? "\nv 0\n" : " 0\n");
+        }
+    }
+
+}
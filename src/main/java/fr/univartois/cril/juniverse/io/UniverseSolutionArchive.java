@@ -0,0 +1,510 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The UniverseSolutionArchive stores a large number of solutions in a compact way.
+ *
+ * The names of the variables are stored once in a dictionary shared by all the
+ * solutions.
+ * Each solution is stored as a row that only contains the variables whose value differs
+ * from the previous solution, together with the difference between the two values,
+ * packed as variable-length integers.
+ * Every few solutions, a complete row (a keyframe) is stored, so that any solution can
+ * be retrieved by decoding at most this number of rows.
+ * The rows are stored outside of the Java heap, either in direct buffers or in a file
+ * mapped in memory.
+ *
+ * An archive is a {@link Consumer} of solutions, so that it can directly collect the
+ * solutions produced by an enumeration or an optimization.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseSolutionArchive implements Consumer<Map<String, BigInteger>>, Closeable {
+
+    /**
+     * The default size of the storage chunks (in bytes).
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The default number of solutions between two keyframes.
+     */
+    private static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+
+    /**
+     * The kind of entry giving the difference between the new value and the previous
+     * one, which fits in a {@code long}.
+     */
+    private static final int DELTA = 0;
+
+    /**
+     * The kind of entry giving the new value in full.
+     */
+    private static final int VALUE = 1;
+
+    /**
+     * The kind of entry stating that the variable is not assigned anymore.
+     */
+    private static final int ABSENT = 2;
+
+    /**
+     * The storage of the rows.
+     */
+    private final UniverseChunkedStorage storage;
+
+    /**
+     * The number of solutions between two keyframes.
+     */
+    private final int keyframeInterval;
+
+    /**
+     * The names of the variables, in the order of their index.
+     */
+    private final List<String> variables = new ArrayList<>();
+
+    /**
+     * The index of each variable.
+     */
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    /**
+     * The positions of the rows in the storage.
+     */
+    private long[] offsets = new long[16];
+
+    /**
+     * The number of solutions in this archive.
+     */
+    private int size;
+
+    /**
+     * The values of the last solution added to this archive, indexed by variable
+     * ({@code null} for unassigned variables).
+     */
+    private final List<BigInteger> last = new ArrayList<>();
+
+    /**
+     * The buffer in which a row is encoded.
+     */
+    private byte[] row = new byte[256];
+
+    /**
+     * The number of bytes in the row being encoded.
+     */
+    private int rowLength;
+
+    /**
+     * Creates a new UniverseSolutionArchive.
+     *
+     * @param storage The storage of the rows.
+     * @param keyframeInterval The number of solutions between two keyframes.
+     */
+    private UniverseSolutionArchive(UniverseChunkedStorage storage, int keyframeInterval) {
+        this.storage = storage;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Creates an archive stored in direct buffers.
+     *
+     * @return The created archive.
+     */
+    public static UniverseSolutionArchive offHeap() {
+        return offHeap(DEFAULT_CHUNK_SIZE, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Creates an archive stored in direct buffers.
+     *
+     * @param chunkSize The size of the buffers (in bytes).
+     * @param keyframeInterval The number of solutions between two keyframes.
+     *
+     * @return The created archive.
+     */
+    public static UniverseSolutionArchive offHeap(int chunkSize, int keyframeInterval) {
+        return new UniverseSolutionArchive(new UniverseChunkedStorage(chunkSize, null),
+                keyframeInterval);
+    }
+
+    /**
+     * Creates an archive stored in a file mapped in memory.
+     * The file is used as a scratch area, and is truncated if it already exists.
+     *
+     * @param file The file in which to store the archive.
+     *
+     * @return The created archive.
+     *
+     * @throws IOException If the file cannot be opened.
+     */
+    public static UniverseSolutionArchive mapped(Path file) throws IOException {
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new UniverseSolutionArchive(
+                new UniverseChunkedStorage(DEFAULT_CHUNK_SIZE, channel),
+                DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.function.Consumer#accept(java.lang.Object)
+     */
+    @Override
+    public void accept(Map<String, BigInteger> solution) {
+        add(solution);
+    }
+
+    /**
+     * Adds a solution to this archive.
+     *
+     * @param solution The solution to add.
+     *
+     * @return The index of the solution in this archive.
+     */
+    public synchronized int add(Map<String, BigInteger> solution) {
+        for (var variable : solution.keySet()) {
+            if (indices.putIfAbsent(variable, variables.size()) == null) {
+                variables.add(variable);
+                last.add(null);
+            }
+        }
+
+        // Encoding the row of the solution.
+        boolean keyframe = (size % keyframeInterval) == 0;
+        int previous = -1;
+        rowLength = 0;
+        for (int i = 0; i < variables.size(); i++) {
+            var value = solution.get(variables.get(i));
+            var old = keyframe ? null : last.get(i);
+            if ((value == null) ? (old == null) : value.equals(old)) {
+                continue;
+            }
+
+            if (value == null) {
+                writeEntry(i - previous, ABSENT);
+
+            } else {
+                var delta = (old == null) ? value : value.subtract(old);
+                if (delta.bitLength() < Long.SIZE) {
+                    writeEntry(i - previous, DELTA);
+                    writeVarint(zigzag(delta.longValue()));
+
+                } else {
+                    var bytes = value.toByteArray();
+                    writeEntry(i - previous, VALUE);
+                    writeVarint(bytes.length);
+                    for (var b : bytes) {
+                        writeByte(b);
+                    }
+                }
+            }
+
+            last.set(i, value);
+            previous = i;
+        }
+        writeVarint(0);
+
+        // Storing the row.
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, 2 * size);
+        }
+        offsets[size] = storage.size();
+        storage.append(row, rowLength);
+        return size++;
+    }
+
+    /**
+     * Writes the header of an entry of the row being encoded.
+     *
+     * @param gap The difference between the index of the variable of the entry and that
+     *        of the previous entry.
+     * @param kind The kind of the entry.
+     */
+    private void writeEntry(int gap, int kind) {
+        writeVarint(((long) gap << 2) | kind);
+    }
+
+    /**
+     * Writes an unsigned variable-length integer in the row being encoded.
+     *
+     * @param value The value to write.
+     */
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((byte) value);
+    }
+
+    /**
+     * Writes a byte in the row being encoded.
+     *
+     * @param b The byte to write.
+     */
+    private void writeByte(byte b) {
+        if (rowLength == row.length) {
+            row = Arrays.copyOf(row, 2 * row.length);
+        }
+        row[rowLength++] = b;
+    }
+
+    /**
+     * Gives the number of solutions in this archive.
+     *
+     * @return The number of solutions.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gives the names of the variables appearing in the solutions of this archive.
+     *
+     * @return The names of the variables.
+     */
+    public synchronized List<String> getVariables() {
+        return List.copyOf(variables);
+    }
+
+    /**
+     * Gives the number of bytes used to store the solutions of this archive.
+     *
+     * @return The size of the storage (in bytes).
+     */
+    public synchronized long getStorageSize() {
+        return storage.size();
+    }
+
+    /**
+     * Gives a solution stored in this archive.
+     *
+     * @param index The index of the solution.
+     *
+     * @return The solution at the given index.
+     *
+     * @throws IndexOutOfBoundsException If there is no solution at the given index.
+     */
+    public synchronized Map<String, BigInteger> get(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        var values = new BigInteger[variables.size()];
+        for (int i = index - (index % keyframeInterval); i <= index; i++) {
+            decode(i, values);
+        }
+        return toMap(values);
+    }
+
+    /**
+     * Decodes a row, by applying the differences it contains to the given values.
+     *
+     * @param index The index of the row to decode.
+     * @param values The values of the previous solution, which are updated.
+     */
+    private void decode(int index, BigInteger[] values) {
+        if ((index % keyframeInterval) == 0) {
+            Arrays.fill(values, null);
+        }
+
+        var position = new long[] { offsets[index] };
+        int variable = -1;
+        for (long header = readVarint(position); header != 0; header = readVarint(position)) {
+            variable += (int) (header >>> 2);
+            int kind = (int) (header & 3);
+
+            if (kind == ABSENT) {
+                values[variable] = null;
+
+            } else if (kind == DELTA) {
+                var delta = BigInteger.valueOf(unzigzag(readVarint(position)));
+                values[variable] = (values[variable] == null) ? delta
+                        : values[variable].add(delta);
+
+            } else {
+                var bytes = new byte[(int) readVarint(position)];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = storage.get(position[0]++);
+                }
+                values[variable] = new BigInteger(bytes);
+            }
+        }
+    }
+
+    /**
+     * Reads an unsigned variable-length integer from the storage.
+     *
+     * @param position The position at which to read, which is updated.
+     *
+     * @return The read value.
+     */
+    private long readVarint(long[] position) {
+        long value = 0;
+        for (int shift = 0;; shift += 7) {
+            byte b = storage.get(position[0]++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Converts decoded values into a solution.
+     *
+     * @param values The decoded values.
+     *
+     * @return The solution.
+     */
+    private Map<String, BigInteger> toMap(BigInteger[] values) {
+        var solution = new LinkedHashMap<String, BigInteger>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                solution.put(variables.get(i), values[i]);
+            }
+        }
+        return Collections.unmodifiableMap(solution);
+    }
+
+    /**
+     * Gives a sequential stream of the solutions stored in this archive, in the order in
+     * which they have been added.
+     * Each row is decoded only once, so that this stream is the most efficient way to
+     * export all the solutions.
+     * The solutions added while the stream is consumed are not part of the stream.
+     *
+     * @return The stream of the solutions.
+     */
+    public Stream<Map<String, BigInteger>> stream() {
+        int count;
+        BigInteger[] values;
+        synchronized (this) {
+            count = size;
+            values = new BigInteger[variables.size()];
+        }
+
+        var iterator = new Spliterators.AbstractSpliterator<Map<String, BigInteger>>(count,
+                Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL) {
+
+            /**
+             * The index of the next solution to decode.
+             */
+            private int next;
+
+            /*
+             * (non-Javadoc)
+             *
+             * @see java.util.Spliterator#tryAdvance(java.util.function.Consumer)
+             */
+            @Override
+            public boolean tryAdvance(Consumer<? super Map<String, BigInteger>> action) {
+                if (next >= count) {
+                    return false;
+                }
+
+                Map<String, BigInteger> solution;
+                synchronized (UniverseSolutionArchive.this) {
+                    decode(next++, values);
+                    solution = toMap(values);
+                }
+                action.accept(solution);
+                return true;
+            }
+        };
+        return StreamSupport.stream(iterator, false);
+    }
+
+    /**
+     * Writes all the solutions of this archive with the given writer.
+     *
+     * @param writer The writer to use.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void export(UniverseXcsp3SolutionWriter writer) throws IOException {
+        var iterator = stream().iterator();
+        while (iterator.hasNext()) {
+            var solution = iterator.next();
+            writer.write(new ArrayList<>(solution.keySet()), new ArrayList<>(solution.values()),
+                    null);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Converts a signed integer so that its absolute value is small when encoded as an
+     * unsigned integer.
+     *
+     * @param value The value to convert.
+     *
+     * @return The converted value.
+     */
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverts the conversion performed by {@link #zigzag(long)}.
+     *
+     * @param value The value to convert.
+     *
+     * @return The original value.
+     */
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        storage.close();
+    }
+
+}
@@ -0,0 +1,264 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+
+/**
+ * The UniverseSolutionWriter is the parent class of the writers printing solutions in
+ * the output formats of the solver competitions.
+ *
+ * Writers encode the solutions directly into a buffer, which is written to a channel
+ * each time it is full, so that no intermediate {@link String} is created when printing
+ * (possibly huge) solutions.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public abstract class UniverseSolutionWriter implements Closeable {
+
+    /**
+     * The default size of the buffer (in bytes).
+     */
+    protected static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The maximum number of bytes needed to write a {@code long} value.
+     */
+    private static final int MAX_LONG_LENGTH = 20;
+
+    /**
+     * The channel to which the solutions are written.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * The buffer in which the solutions are encoded.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The buffer used to encode the digits of a number (in reverse order).
+     */
+    private final byte[] digits = new byte[MAX_LONG_LENGTH];
+
+    /**
+     * Creates a new UniverseSolutionWriter.
+     *
+     * @param channel The channel to which the solutions are written.
+     * @param bufferSize The size of the buffer (in bytes).
+     */
+    protected UniverseSolutionWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MAX_LONG_LENGTH + 1));
+    }
+
+    /**
+     * Writes the status line corresponding to the given result (e.g.,
+     * {@code s SATISFIABLE}).
+     *
+     * @param result The result of the search.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void writeStatus(UniverseSolverResult result) throws IOException {
+        writeAscii("s ");
+        writeAscii((result == UniverseSolverResult.OPTIMUM_FOUND) ? "OPTIMUM FOUND"
+                : result.name());
+        writeByte('\n');
+    }
+
+    /**
+     * Writes the line giving the cost of a solution (e.g., {@code o 42}).
+     *
+     * @param cost The cost of the solution.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void writeObjective(BigInteger cost) throws IOException {
+        writeAscii("o ");
+        writeNumber(cost);
+        writeByte('\n');
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param b The byte to write.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    protected void writeByte(int b) throws IOException {
+        ensure(1);
+        buffer.put((byte) b);
+    }
+
+    /**
+     * Writes a string made of ASCII characters only.
+     *
+     * @param string The string to write.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    protected void writeAscii(String string) throws IOException {
+        for (int i = 0; i < string.length(); i++) {
+            writeByte(string.charAt(i));
+        }
+    }
+
+    /**
+     * Writes a string, which is encoded in UTF-8.
+     * Strings made of ASCII characters only are encoded without any copy.
+     *
+     * @param string The string to write.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    protected void writeString(String string) throws IOException {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) >= 0x80) {
+                writeBytes(string.substring(i).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            writeByte(string.charAt(i));
+        }
+    }
+
+    /**
+     * Writes an array of bytes.
+     *
+     * @param bytes The bytes to write.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void writeBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    /**
+     * Writes the decimal representation of a number.
+     *
+     * @param value The number to write.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    protected void writeNumber(BigInteger value) throws IOException {
+        if (value.bitLength() < Long.SIZE) {
+            writeNumber(value.longValue());
+
+        } else {
+            writeAscii(value.toString());
+        }
+    }
+
+    /**
+     * Writes the decimal representation of a number.
+     *
+     * @param value The number to write.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    protected void writeNumber(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+
+        ensure(MAX_LONG_LENGTH);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+
+    /**
+     * Ensures that the buffer has enough space to write the given number of bytes,
+     * writing its content to the channel if needed.
+     *
+     * @param length The number of bytes to write.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void ensure(int length) throws IOException {
+        if (buffer.remaining() < length) {
+            drain();
+        }
+    }
+
+    /**
+     * Writes the content of the buffer to the channel.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes all the content written so far to the channel.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Flushes this writer.
+     * The underlying channel is not closed, as it is owned by the caller.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.io;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+
+/**
+ * The UniverseXcsp3SolutionWriter prints solutions as XCSP3 instantiations, as expected
+ * in the XCSP3 competitions.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseXcsp3SolutionWriter extends UniverseSolutionWriter {
+
+    /**
+     * Creates a new UniverseXcsp3SolutionWriter.
+     *
+     * @param channel The channel to which the solutions are written.
+     */
+    public UniverseXcsp3SolutionWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new UniverseXcsp3SolutionWriter.
+     *
+     * @param channel The channel to which the solutions are written.
+     * @param bufferSize The size of the buffer (in bytes).
+     */
+    public UniverseXcsp3SolutionWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    /**
+     * Writes the solution found by the given solver.
+     * The solution is read from {@link IUniverseSolver#mapSolution(boolean)}, so that
+     * auxiliary variables are not written.
+     *
+     * @param solver The solver that has found the solution.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(IUniverseSolver solver) throws IOException {
+        var solution = solver.mapSolution(true);
+        var names = new ArrayList<String>(solution.size());
+        var values = new ArrayList<BigInteger>(solution.size());
+        for (var entry : solution.entrySet()) {
+            names.add(entry.getKey());
+            values.add(entry.getValue());
+        }
+        write(names, values, null);
+    }
+
+    /**
+     * Writes a solution.
+     *
+     * @param variables The names of the variables.
+     * @param values The values of the variables, in the same order.
+     * @param cost The cost of the solution, or {@code null} if the problem has no
+     *        objective function.
+     *
+     * @throws IllegalArgumentException If there are not as many values as variables.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(List<String> variables, List<BigInteger> values, BigInteger cost)
+            throws IOException {
+        if (variables.size() != values.size()) {
+            throw new IllegalArgumentException("Cannot write " + values.size()
+                    + " values for " + variables.size() + " variables");
+        }
+        writeAscii("v <instantiation type=\"solution\"");
+        if (cost != null) {
+            writeAscii(" cost=\"");
+            writeNumber(cost);
+            writeByte('"');
+        }
+        writeAscii(">\nv   <list>");
+        for (var variable : variables) {
+            writeByte(' ');
+            writeString(variable);
+        }
+        writeAscii(" </list>\nv   <values>");
+        for (var value : values) {
+            writeByte(' ');
+            writeNumber(value);
+        }
+        writeAscii(" </values>\nv </instantiation>\n");
+    }
+
+}
@@ -0,0 +1,11 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.io} package provides input/output utilities
+ * for the solvers, such as a non-blocking log sink.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.io;
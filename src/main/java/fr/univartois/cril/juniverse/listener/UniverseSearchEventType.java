@@ -0,0 +1,121 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener;
+
+/**
+ * The UniverseSearchEventType enumerates the different types of events that may be
+ * notified to an {@link IUniverseSearchListener}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public enum UniverseSearchEventType {
+
+    /**
+     * The type of the events notified by {@link IUniverseSearchListener#start()}.
+     */
+    START,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#onPositiveDecision(fr.univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)}.
+     */
+    POSITIVE_DECISION,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#onNegativeDecision(fr.univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)}.
+     */
+    NEGATIVE_DECISION,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#onPropagation(fr.univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)}.
+     */
+    PROPAGATION,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#onAssignment(fr.univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)}.
+     */
+    ASSIGNMENT,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#onFailedAssignment(fr.univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)}.
+     */
+    FAILED_ASSIGNMENT,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#onConflict(fr.univartois.cril.juniverse.core.problem.IUniverseConstraint, fr.univartois.cril.juniverse.core.problem.IUniverseVariable)}.
+     */
+    CONFLICT,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#onLearning(fr.univartois.cril.juniverse.core.problem.IUniverseConstraint)}.
+     */
+    LEARNING,
+
+    /**
+     * The type of the events notified by both {@code onBacktrack} methods of
+     * {@link IUniverseSearchListener}.
+     */
+    BACKTRACK,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#onUnassignment(fr.univartois.cril.juniverse.core.problem.IUniverseVariable)}.
+     */
+    UNASSIGNMENT,
+
+    /**
+     * The type of the events notified by {@link IUniverseSearchListener#onRestart()}.
+     */
+    RESTART,
+
+    /**
+     * The type of the events notified by {@link IUniverseSearchListener#onCleaning()}.
+     */
+    CLEANING,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#onDelete(fr.univartois.cril.juniverse.core.problem.IUniverseConstraint)}.
+     */
+    DELETE,
+
+    /**
+     * The type of the events notified by both {@code onSolutionFound} methods of
+     * {@link IUniverseSearchListener}.
+     */
+    SOLUTION,
+
+    /**
+     * The type of the events notified by
+     * {@link IUniverseSearchListener#end(fr.univartois.cril.juniverse.core.UniverseSolverResult)}.
+     */
+    END;
+
+}
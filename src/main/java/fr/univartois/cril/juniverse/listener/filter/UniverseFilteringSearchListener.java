@@ -0,0 +1,537 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.filter;
+
+import static fr.univartois.cril.juniverse.listener.UniverseSearchEventType.*;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+import fr.univartois.cril.juniverse.listener.UniverseSearchEventType;
+
+/**
+ * The UniverseFilteringSearchListener is a search listener that forwards only a part of
+ * the events it receives to another listener.
+ *
+ * Three kinds of filters are supported, and are applied in this order:
+ * <ul>
+ * <li>event types: only events of accepted types are forwarded (all types are accepted
+ * by default);</li>
+ * <li>watched variables: if at least one variable is watched, events involving
+ * variables (decisions, propagations, assignments, conflicts, learned or deleted
+ * no-goods, etc.) are only forwarded when they involve a watched variable (as given by
+ * {@link IUniverseVariable#getId()});</li>
+ * <li>sampling: for each event type, only one event out of {@code N} of the events that
+ * pass the previous filters is forwarded ({@code N = 1} by default).</li>
+ * </ul>
+ *
+ * This listener is meant to be configured before being added to a solver, and must only
+ * receive events from the search thread of this solver.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseFilteringSearchListener implements IUniverseSearchListener {
+
+    /**
+     * The listener to which events are forwarded.
+     */
+    private final IUniverseSearchListener listener;
+
+    /**
+     * Whether each type of event is accepted, indexed by ordinal.
+     */
+    private final boolean[] accepted;
+
+    /**
+     * The identifiers of the variables that are watched.
+     */
+    private final BitSet watchedVariables;
+
+    /**
+     * Whether only the events involving watched variables are forwarded.
+     */
+    private boolean watching;
+
+    /**
+     * The sampling period of each type of event, indexed by ordinal.
+     */
+    private final int[] samplingPeriods;
+
+    /**
+     * The number of events that must still be ignored before forwarding the next one,
+     * for each type of event, indexed by ordinal.
+     */
+    private final int[] countdowns;
+
+    /**
+     * Creates a new UniverseFilteringSearchListener.
+     * By default, all events are forwarded.
+     *
+     * @param listener The listener to which events are forwarded.
+     */
+    public UniverseFilteringSearchListener(IUniverseSearchListener listener) {
+        int nbTypes = UniverseSearchEventType.values().length;
+        this.listener = listener;
+        this.accepted = new boolean[nbTypes];
+        this.watchedVariables = new BitSet();
+        this.samplingPeriods = new int[nbTypes];
+        this.countdowns = new int[nbTypes];
+        Arrays.fill(accepted, true);
+        Arrays.fill(samplingPeriods, 1);
+    }
+
+    /**
+     * Makes this listener forward only the events of the given types.
+     *
+     * @param types The types of the events to forward.
+     *
+     * @return This listener.
+     */
+    public UniverseFilteringSearchListener acceptOnly(UniverseSearchEventType... types) {
+        return acceptOnly(Arrays.asList(types));
+    }
+
+    /**
+     * Makes this listener forward only the events of the given types.
+     *
+     * @param types The types of the events to forward.
+     *
+     * @return This listener.
+     */
+    public UniverseFilteringSearchListener acceptOnly(
+            Collection<UniverseSearchEventType> types) {
+        Arrays.fill(accepted, false);
+        for (var type : types) {
+            accepted[type.ordinal()] = true;
+        }
+        return this;
+    }
+
+    /**
+     * Makes this listener ignore the events of the given types.
+     *
+     * @param types The types of the events to ignore.
+     *
+     * @return This listener.
+     */
+    public UniverseFilteringSearchListener ignore(UniverseSearchEventType... types) {
+        for (var type : types) {
+            accepted[type.ordinal()] = false;
+        }
+        return this;
+    }
+
+    /**
+     * Adds a variable to the set of watched variables.
+     *
+     * @param variable The variable to watch.
+     *
+     * @return This listener.
+     */
+    public UniverseFilteringSearchListener watch(IUniverseVariable variable) {
+        return watch(variable.getId());
+    }
+
+    /**
+     * Adds variables to the set of watched variables.
+     *
+     * @param variables The variables to watch.
+     *
+     * @return This listener.
+     */
+    public UniverseFilteringSearchListener watch(
+            Collection<? extends IUniverseVariable> variables) {
+        for (var variable : variables) {
+            watch(variable.getId());
+        }
+        return this;
+    }
+
+    /**
+     * Adds variables to the set of watched variables.
+     *
+     * @param ids The identifiers of the variables to watch.
+     *
+     * @return This listener.
+     *
+     * @throws IllegalArgumentException If one of the identifiers is negative.
+     */
+    public UniverseFilteringSearchListener watch(int... ids) {
+        for (int id : ids) {
+            if (id < 0) {
+                throw new IllegalArgumentException("Cannot watch variable with id " + id);
+            }
+            watchedVariables.set(id);
+        }
+        watching = true;
+        return this;
+    }
+
+    /**
+     * Makes this listener forward only one event out of {@code period} events of the
+     * given type.
+     *
+     * @param type The type of the events to sample.
+     * @param period The sampling period, i.e., the number of events of the given type
+     *        received for each forwarded event.
+     *
+     * @return This listener.
+     *
+     * @throws IllegalArgumentException If {@code period} is not positive.
+     */
+    public UniverseFilteringSearchListener sample(UniverseSearchEventType type, int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Sampling period must be positive: " + period);
+        }
+        samplingPeriods[type.ordinal()] = period;
+        countdowns[type.ordinal()] = 0;
+        return this;
+    }
+
+    /**
+     * Checks whether an event that does not involve any variable must be forwarded.
+     *
+     * @param type The type of the event.
+     *
+     * @return Whether the event must be forwarded.
+     */
+    private boolean accept(UniverseSearchEventType type) {
+        int index = type.ordinal();
+        if (!accepted[index]) {
+            return false;
+        }
+
+        if (countdowns[index] > 0) {
+            countdowns[index]--;
+            return false;
+        }
+
+        countdowns[index] = samplingPeriods[index] - 1;
+        return true;
+    }
+
+    /**
+     * Checks whether an event involving a variable must be forwarded.
+     *
+     * @param type The type of the event.
+     * @param variable The variable involved in the event.
+     *
+     * @return Whether the event must be forwarded.
+     */
+    private boolean accept(UniverseSearchEventType type, IUniverseVariable variable) {
+        return accepted[type.ordinal()] && isWatched(variable) && accept(type);
+    }
+
+    /**
+     * Checks whether an event involving a constraint must be forwarded.
+     *
+     * @param type The type of the event.
+     * @param constraint The constraint involved in the event.
+     *
+     * @return Whether the event must be forwarded.
+     */
+    private boolean accept(UniverseSearchEventType type, IUniverseConstraint constraint) {
+        return accepted[type.ordinal()] && isWatched(constraint) && accept(type);
+    }
+
+    /**
+     * Checks whether the given variable is watched.
+     *
+     * @param variable The variable to check.
+     *
+     * @return Whether the variable is watched, or {@code true} if no variable is watched.
+     */
+    private boolean isWatched(IUniverseVariable variable) {
+        if (!watching) {
+            return true;
+        }
+
+        if (variable == null) {
+            return false;
+        }
+
+        int id = variable.getId();
+        return (id >= 0) && watchedVariables.get(id);
+    }
+
+    /**
+     * Checks whether the given constraint involves a watched variable.
+     *
+     * @param constraint The constraint to check.
+     *
+     * @return Whether the constraint involves a watched variable, or {@code true} if no
+     *         variable is watched.
+     */
+    private boolean isWatched(IUniverseConstraint constraint) {
+        if (!watching) {
+            return true;
+        }
+
+        if (constraint == null) {
+            return false;
+        }
+
+        for (var variable : constraint.scope()) {
+            if (isWatched(variable)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#start()
+     */
+    @Override
+    public void start() {
+        if (accept(START)) {
+            listener.start();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onPositiveDecision(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onPositiveDecision(IUniverseVariable decisionVariable, BigInteger value) {
+        if (accept(POSITIVE_DECISION, decisionVariable)) {
+            listener.onPositiveDecision(decisionVariable, value);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onNegativeDecision(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onNegativeDecision(IUniverseVariable decisionVariable, BigInteger value) {
+        if (accept(NEGATIVE_DECISION, decisionVariable)) {
+            listener.onNegativeDecision(decisionVariable, value);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onPropagation(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onPropagation(IUniverseVariable variable, BigInteger value) {
+        if (accept(PROPAGATION, variable)) {
+            listener.onPropagation(variable, value);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onAssignment(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onAssignment(IUniverseVariable variable, BigInteger value) {
+        if (accept(ASSIGNMENT, variable)) {
+            listener.onAssignment(variable, value);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onFailedAssignment(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onFailedAssignment(IUniverseVariable variable, BigInteger value) {
+        if (accept(FAILED_ASSIGNMENT, variable)) {
+            listener.onFailedAssignment(variable, value);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onConflict(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint,
+     * fr.univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onConflict(IUniverseConstraint constraint, IUniverseVariable variable) {
+        if (accepted[CONFLICT.ordinal()]
+                && (isWatched(variable) || isWatched(constraint)) && accept(CONFLICT)) {
+            listener.onConflict(constraint, variable);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onLearning(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint)
+     */
+    @Override
+    public void onLearning(IUniverseConstraint noGood) {
+        if (accept(LEARNING, noGood)) {
+            listener.onLearning(noGood);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onBacktrack(int)
+     */
+    @Override
+    public void onBacktrack(int level) {
+        if (accept(BACKTRACK)) {
+            listener.onBacktrack(level);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onBacktrack(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onBacktrack(IUniverseVariable decisionVariable) {
+        if (accept(BACKTRACK, decisionVariable)) {
+            listener.onBacktrack(decisionVariable);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onUnassignment(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onUnassignment(IUniverseVariable variable) {
+        if (accept(UNASSIGNMENT, variable)) {
+            listener.onUnassignment(variable);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onRestart()
+     */
+    @Override
+    public void onRestart() {
+        if (accept(RESTART)) {
+            listener.onRestart();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onCleaning()
+     */
+    @Override
+    public void onCleaning() {
+        if (accept(CLEANING)) {
+            listener.onCleaning();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onDelete(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint)
+     */
+    @Override
+    public void onDelete(IUniverseConstraint noGood) {
+        if (accept(DELETE, noGood)) {
+            listener.onDelete(noGood);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution) {
+        if (accept(SOLUTION)) {
+            listener.onSolutionFound(solution);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map, java.math.BigInteger)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution,
+            BigInteger cost) {
+        if (accept(SOLUTION)) {
+            listener.onSolutionFound(solution, cost);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#end(fr.
+     * univartois.cril.juniverse.core.UniverseSolverResult)
+     */
+    @Override
+    public void end(UniverseSolverResult result) {
+        if (accept(END)) {
+            listener.end(result);
+        }
+    }
+
+}
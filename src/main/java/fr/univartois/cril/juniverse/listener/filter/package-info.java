@@ -0,0 +1,12 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.listener.filter} package provides listeners
+ * for filtering and sampling the search events before they are dispatched to other
+ * listeners.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.listener.filter;
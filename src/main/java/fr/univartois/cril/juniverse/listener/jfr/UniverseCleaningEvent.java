@@ -0,0 +1,65 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The UniverseCleaningEvent is the JFR event recording a cleaning of the no-good database of a solver.
+ * The duration of this event is the time elapsed since the previous cleaning (or since
+ * the beginning of the search).
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@Name(UniverseFlightRecorderListener.EVENT_PREFIX + "Cleaning")
+@Label("No-Good Cleaning")
+@Category({"JUniverse", "Search"})
+@Description("Search period ending with a cleaning of the no-good database")
+@StackTrace(false)
+final class UniverseCleaningEvent extends Event {
+
+    /**
+     * The name of the solver for which this event is emitted.
+     */
+    @Label("Solver")
+    String solver;
+
+    /**
+     * The number of cleanings performed so far by the solver, including this one.
+     */
+    @Label("Cleanings")
+    long cleanings;
+
+    /**
+     * The number of no-goods learned since the previous cleaning.
+     */
+    @Label("Learned No-Goods")
+    long learned;
+
+}
@@ -0,0 +1,401 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.jfr;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * The UniverseFlightRecorderListener is a search listener that emits JDK Flight Recorder
+ * events about the search performed by a solver.
+ *
+ * Restarts, cleanings and solutions are recorded as events whose duration covers the
+ * search period they end, so that they can be correlated with the other events of the
+ * JVM (GC pauses, allocations, lock contention, etc.).
+ * In addition, a periodic event samples the decision and conflict rates of all the
+ * solvers that are currently running.
+ * High-frequency events (decisions and conflicts) are only counted, so that the overhead
+ * of this listener remains negligible, even when no recording is in progress.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseFlightRecorderListener implements IUniverseSearchListener {
+
+    /**
+     * The prefix of the names of all the JFR events emitted by JUniverse.
+     */
+    public static final String EVENT_PREFIX = "fr.univartois.cril.juniverse.";
+
+    /**
+     * The listeners of the solvers that are currently running.
+     */
+    private static final Set<UniverseFlightRecorderListener> RUNNING = ConcurrentHashMap
+            .newKeySet();
+
+    static {
+        FlightRecorder.addPeriodicEvent(UniverseSearchStatisticsEvent.class,
+                UniverseFlightRecorderListener::sampleRunningSolvers);
+    }
+
+    /**
+     * The name of the solver listened to by this listener.
+     */
+    private final String solverName;
+
+    /**
+     * The counter for the decisions taken by the solver.
+     */
+    private final LongAdder decisions = new LongAdder();
+
+    /**
+     * The counter for the conflicts encountered by the solver.
+     */
+    private final LongAdder conflicts = new LongAdder();
+
+    /**
+     * The number of restarts performed by the solver.
+     */
+    private long restarts;
+
+    /**
+     * The number of conflicts encountered by the solver when it performed its last
+     * restart.
+     */
+    private long conflictsAtLastRestart;
+
+    /**
+     * The number of cleanings performed by the solver.
+     */
+    private long cleanings;
+
+    /**
+     * The number of no-goods learned by the solver since its last cleaning.
+     */
+    private long learnedSinceLastCleaning;
+
+    /**
+     * The number of solutions found by the solver.
+     */
+    private long solutions;
+
+    /**
+     * The event covering the current run of the solver, committed at the next restart.
+     */
+    private UniverseRestartEvent restartEvent;
+
+    /**
+     * The event covering the search since the last cleaning, committed at the next
+     * cleaning.
+     */
+    private UniverseCleaningEvent cleaningEvent;
+
+    /**
+     * The event covering the search since the last solution, committed at the next
+     * solution.
+     */
+    private UniverseSolutionEvent solutionEvent;
+
+    /**
+     * The number of decisions at the time of the previous sample.
+     */
+    private long sampledDecisions;
+
+    /**
+     * The number of conflicts at the time of the previous sample.
+     */
+    private long sampledConflicts;
+
+    /**
+     * The time of the previous sample (in nanoseconds).
+     */
+    private long sampleTime;
+
+    /**
+     * Creates a new UniverseFlightRecorderListener.
+     *
+     * @param solverName The name of the solver listened to by this listener, used to
+     *        identify the solver in the emitted events.
+     */
+    public UniverseFlightRecorderListener(String solverName) {
+        this.solverName = solverName;
+    }
+
+    /**
+     * Gives the name of the solver listened to by this listener.
+     *
+     * @return The name of the solver.
+     */
+    public String getSolverName() {
+        return solverName;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#start()
+     */
+    @Override
+    public void start() {
+        decisions.reset();
+        conflicts.reset();
+        restarts = 0;
+        conflictsAtLastRestart = 0;
+        cleanings = 0;
+        learnedSinceLastCleaning = 0;
+        solutions = 0;
+        restartEvent = beginRestart();
+        cleaningEvent = beginCleaning();
+        solutionEvent = beginSolution();
+        synchronized (this) {
+            sampledDecisions = 0;
+            sampledConflicts = 0;
+            sampleTime = System.nanoTime();
+        }
+        RUNNING.add(this);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onPositiveDecision(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onPositiveDecision(IUniverseVariable decisionVariable, BigInteger value) {
+        decisions.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onNegativeDecision(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onNegativeDecision(IUniverseVariable decisionVariable, BigInteger value) {
+        decisions.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onConflict(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint,
+     * fr.univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onConflict(IUniverseConstraint constraint, IUniverseVariable variable) {
+        conflicts.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onLearning(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint)
+     */
+    @Override
+    public void onLearning(IUniverseConstraint noGood) {
+        learnedSinceLastCleaning++;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onRestart()
+     */
+    @Override
+    public void onRestart() {
+        restarts++;
+        long currentConflicts = conflicts.sum();
+        if (restartEvent != null) {
+            restartEvent.end();
+            if (restartEvent.shouldCommit()) {
+                restartEvent.solver = solverName;
+                restartEvent.restarts = restarts;
+                restartEvent.conflicts = currentConflicts - conflictsAtLastRestart;
+                restartEvent.commit();
+            }
+        }
+        conflictsAtLastRestart = currentConflicts;
+        restartEvent = beginRestart();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onCleaning()
+     */
+    @Override
+    public void onCleaning() {
+        cleanings++;
+        if (cleaningEvent != null) {
+            cleaningEvent.end();
+            if (cleaningEvent.shouldCommit()) {
+                cleaningEvent.solver = solverName;
+                cleaningEvent.cleanings = cleanings;
+                cleaningEvent.learned = learnedSinceLastCleaning;
+                cleaningEvent.commit();
+            }
+        }
+        learnedSinceLastCleaning = 0;
+        cleaningEvent = beginCleaning();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution) {
+        commitSolution(null);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map, java.math.BigInteger)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution,
+            BigInteger cost) {
+        commitSolution(cost);
+    }
+
+    /**
+     * Commits the event recording the solution that has just been found.
+     *
+     * @param cost The cost of the solution, if any.
+     */
+    private void commitSolution(BigInteger cost) {
+        solutions++;
+        if (solutionEvent != null) {
+            solutionEvent.end();
+            if (solutionEvent.shouldCommit()) {
+                solutionEvent.solver = solverName;
+                solutionEvent.solutions = solutions;
+                solutionEvent.cost = (cost == null) ? null : cost.toString();
+                solutionEvent.commit();
+            }
+        }
+        solutionEvent = beginSolution();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#end(fr.
+     * univartois.cril.juniverse.core.UniverseSolverResult)
+     */
+    @Override
+    public void end(UniverseSolverResult result) {
+        RUNNING.remove(this);
+        restartEvent = null;
+        cleaningEvent = null;
+        solutionEvent = null;
+    }
+
+    /**
+     * Begins a new event covering the current run of the solver.
+     *
+     * @return The created event.
+     */
+    private static UniverseRestartEvent beginRestart() {
+        var event = new UniverseRestartEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Begins a new event covering the search until the next cleaning.
+     *
+     * @return The created event.
+     */
+    private static UniverseCleaningEvent beginCleaning() {
+        var event = new UniverseCleaningEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Begins a new event covering the search until the next solution.
+     *
+     * @return The created event.
+     */
+    private static UniverseSolutionEvent beginSolution() {
+        var event = new UniverseSolutionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Emits the periodic statistics of all the solvers that are currently running.
+     */
+    private static void sampleRunningSolvers() {
+        for (var listener : RUNNING) {
+            listener.sample();
+        }
+    }
+
+    /**
+     * Emits the periodic statistics of the solver listened to by this listener.
+     */
+    private synchronized void sample() {
+        long now = System.nanoTime();
+        long currentDecisions = decisions.sum();
+        long currentConflicts = conflicts.sum();
+        double elapsed = (now - sampleTime) / 1e9;
+
+        var event = new UniverseSearchStatisticsEvent();
+        event.solver = solverName;
+        event.decisions = currentDecisions;
+        event.conflicts = currentConflicts;
+        if (elapsed > 0) {
+            event.decisionRate = (currentDecisions - sampledDecisions) / elapsed;
+            event.conflictRate = (currentConflicts - sampledConflicts) / elapsed;
+        }
+        event.commit();
+
+        sampledDecisions = currentDecisions;
+        sampledConflicts = currentConflicts;
+        sampleTime = now;
+    }
+
+}
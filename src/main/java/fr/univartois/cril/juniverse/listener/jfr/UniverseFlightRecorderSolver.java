@@ -0,0 +1,205 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.jfr;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.function.Supplier;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseAssumption;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.utils.UniverseSolverDecorator;
+
+/**
+ * The UniverseFlightRecorderSolver is a solver decorator that emits JDK Flight Recorder
+ * events about the life cycle of the decorated solver (loading of instances, searches
+ * and interruptions).
+ * If the decorated solver supports search listeners, a
+ * {@link UniverseFlightRecorderListener} is also added to it, so that search events are
+ * recorded too.
+ *
+ * @param <S> The type of the decorated solver.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseFlightRecorderSolver<S extends IUniverseSolver>
+        extends UniverseSolverDecorator<S> {
+
+    /**
+     * The name identifying the decorated solver in the emitted events.
+     */
+    private final String solverName;
+
+    /**
+     * The listener recording the search events of the decorated solver, or {@code null}
+     * if the solver does not support search listeners.
+     */
+    private final UniverseFlightRecorderListener listener;
+
+    /**
+     * Creates a new UniverseFlightRecorderSolver.
+     *
+     * @param solver The solver to decorate.
+     * @param solverName The name identifying the solver in the emitted events.
+     */
+    public UniverseFlightRecorderSolver(S solver, String solverName) {
+        super(solver);
+        this.solverName = solverName;
+        this.listener = addListener(solver, solverName);
+    }
+
+    /**
+     * Adds a {@link UniverseFlightRecorderListener} to the given solver, if supported.
+     *
+     * @param solver The solver to add the listener to.
+     * @param solverName The name identifying the solver in the emitted events.
+     *
+     * @return The added listener, or {@code null} if the solver does not support search
+     *         listeners.
+     */
+    private static UniverseFlightRecorderListener addListener(IUniverseSolver solver,
+            String solverName) {
+        try {
+            var listener = new UniverseFlightRecorderListener(solverName);
+            solver.addSearchListener(listener);
+            return listener;
+
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gives the listener recording the search events of the decorated solver.
+     *
+     * @return The listener, or {@code null} if the decorated solver does not support
+     *         search listeners.
+     */
+    public UniverseFlightRecorderListener getListener() {
+        return listener;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.utils.UniverseSolverDecorator#loadInstance(java.lang.
+     * String)
+     */
+    @Override
+    public void loadInstance(String filename) {
+        var event = new UniverseLoadEvent();
+        event.begin();
+        try {
+            super.loadInstance(filename);
+
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.solver = solverName;
+                event.filename = filename;
+                event.commit();
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.utils.UniverseSolverDecorator#solve()
+     */
+    @Override
+    public UniverseSolverResult solve() {
+        return recordSolve(0, super::solve);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.utils.UniverseSolverDecorator#solve(java.lang.
+     * String)
+     */
+    @Override
+    public UniverseSolverResult solve(String filename) {
+        return recordSolve(0, () -> super.solve(filename));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.utils.UniverseSolverDecorator#solve(java.util.
+     * List)
+     */
+    @Override
+    public UniverseSolverResult solve(List<UniverseAssumption<BigInteger>> assumptions) {
+        return recordSolve(assumptions.size(), () -> super.solve(assumptions));
+    }
+
+    /**
+     * Records a search performed by the decorated solver.
+     *
+     * @param assumptions The number of assumptions given to the solver.
+     * @param search The search to perform.
+     *
+     * @return The result of the search.
+     */
+    private UniverseSolverResult recordSolve(int assumptions,
+            Supplier<UniverseSolverResult> search) {
+        var event = new UniverseSolveEvent();
+        UniverseSolverResult result = null;
+        event.begin();
+        try {
+            result = search.get();
+            return result;
+
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.solver = solverName;
+                event.assumptions = assumptions;
+                event.result = (result == null) ? null : result.name();
+                event.commit();
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.utils.UniverseSolverDecorator#interrupt()
+     */
+    @Override
+    public void interrupt() {
+        var event = new UniverseInterruptEvent();
+        event.begin();
+        super.interrupt();
+        event.end();
+        if (event.shouldCommit()) {
+            event.solver = solverName;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The UniverseLoadEvent is the JFR event recording the loading of an instance by a solver.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@Name(UniverseFlightRecorderListener.EVENT_PREFIX + "Load")
+@Label("Instance Loading")
+@Category({"JUniverse", "Lifecycle"})
+@Description("Loading of an instance by a solver")
+final class UniverseLoadEvent extends Event {
+
+    /**
+     * The name of the solver for which this event is emitted.
+     */
+    @Label("Solver")
+    String solver;
+
+    /**
+     * The name of the file from which the instance is loaded.
+     */
+    @Label("File")
+    String filename;
+
+}
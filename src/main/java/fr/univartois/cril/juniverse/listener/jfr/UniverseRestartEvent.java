@@ -0,0 +1,65 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The UniverseRestartEvent is the JFR event recording a restart of a solver.
+ * The duration of this event is that of the run that ends with the restart, i.e., the
+ * time elapsed since the previous restart (or since the beginning of the search).
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@Name(UniverseFlightRecorderListener.EVENT_PREFIX + "Restart")
+@Label("Restart")
+@Category({"JUniverse", "Search"})
+@Description("Run of the search ending with a restart")
+@StackTrace(false)
+final class UniverseRestartEvent extends Event {
+
+    /**
+     * The name of the solver for which this event is emitted.
+     */
+    @Label("Solver")
+    String solver;
+
+    /**
+     * The number of restarts performed so far by the solver, including this one.
+     */
+    @Label("Restarts")
+    long restarts;
+
+    /**
+     * The number of conflicts encountered during the run ending with this restart.
+     */
+    @Label("Conflicts")
+    long conflicts;
+
+}
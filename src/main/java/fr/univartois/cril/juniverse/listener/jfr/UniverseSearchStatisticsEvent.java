@@ -0,0 +1,81 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Frequency;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * The UniverseSearchStatisticsEvent is the JFR event periodically sampling the progress of the
+ * search of a solver.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@Name(UniverseFlightRecorderListener.EVENT_PREFIX + "SearchStatistics")
+@Label("Search Statistics")
+@Category({"JUniverse", "Search"})
+@Description("Periodic sample of the decision and conflict rates of a running solver")
+@Period("1 s")
+@StackTrace(false)
+final class UniverseSearchStatisticsEvent extends Event {
+
+    /**
+     * The name of the solver for which this event is emitted.
+     */
+    @Label("Solver")
+    String solver;
+
+    /**
+     * The number of decisions taken so far by the solver.
+     */
+    @Label("Decisions")
+    long decisions;
+
+    /**
+     * The number of conflicts encountered so far by the solver.
+     */
+    @Label("Conflicts")
+    long conflicts;
+
+    /**
+     * The number of decisions taken per second since the previous sample.
+     */
+    @Label("Decision Rate")
+    @Frequency
+    double decisionRate;
+
+    /**
+     * The number of conflicts encountered per second since the previous sample.
+     */
+    @Label("Conflict Rate")
+    @Frequency
+    double conflictRate;
+
+}
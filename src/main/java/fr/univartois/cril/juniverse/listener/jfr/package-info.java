@@ -0,0 +1,12 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.listener.jfr} package provides a listener and
+ * a solver decorator emitting JDK Flight Recorder events about the life cycle of a
+ * solver and about its search.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.listener.jfr;
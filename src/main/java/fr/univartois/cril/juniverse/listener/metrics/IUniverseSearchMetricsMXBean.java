@@ -0,0 +1,175 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.metrics;
+
+import java.math.BigInteger;
+
+/**
+ * The IUniverseSearchMetricsMXBean interface defines the management interface through
+ * which the metrics collected about the search of a solver are exposed as a JMX MBean.
+ * These metrics describe the current (or last) search performed by the solver.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public interface IUniverseSearchMetricsMXBean {
+
+    /**
+     * Checks whether the solver is currently searching.
+     *
+     * @return Whether the search is running.
+     */
+    boolean isRunning();
+
+    /**
+     * Gives the time elapsed since the beginning of the search.
+     *
+     * @return The elapsed time (in milliseconds), or {@code 0} if the search has not
+     *         started yet.
+     */
+    long getElapsedTimeMs();
+
+    /**
+     * Gives the number of decisions taken by the solver.
+     *
+     * @return The number of decisions.
+     */
+    long getDecisions();
+
+    /**
+     * Gives the average number of decisions taken per second by the solver.
+     *
+     * @return The decision rate.
+     */
+    double getDecisionsPerSecond();
+
+    /**
+     * Gives the number of propagations performed by the solver.
+     *
+     * @return The number of propagations.
+     */
+    long getPropagations();
+
+    /**
+     * Gives the average number of propagations performed per second by the solver.
+     *
+     * @return The propagation rate.
+     */
+    double getPropagationsPerSecond();
+
+    /**
+     * Gives the number of conflicts encountered by the solver.
+     *
+     * @return The number of conflicts.
+     */
+    long getConflicts();
+
+    /**
+     * Gives the average number of conflicts encountered per second by the solver.
+     *
+     * @return The conflict rate.
+     */
+    double getConflictsPerSecond();
+
+    /**
+     * Gives the number of no-goods learned by the solver.
+     *
+     * @return The number of learned no-goods.
+     */
+    long getLearnedNoGoods();
+
+    /**
+     * Gives the number of no-goods deleted by the solver.
+     *
+     * @return The number of deleted no-goods.
+     */
+    long getDeletedNoGoods();
+
+    /**
+     * Gives the number of restarts performed by the solver.
+     *
+     * @return The number of restarts.
+     */
+    long getRestarts();
+
+    /**
+     * Gives the number of times the solver has cleaned its no-good database.
+     *
+     * @return The number of cleanings.
+     */
+    long getCleanings();
+
+    /**
+     * Gives the number of solutions found by the solver.
+     *
+     * @return The number of solutions.
+     */
+    long getSolutions();
+
+    /**
+     * Gives the time elapsed between the beginning of the search and the first solution.
+     *
+     * @return The time to the first solution (in milliseconds), or {@code -1} if no
+     *         solution has been found yet.
+     */
+    long getTimeToFirstSolutionMs();
+
+    /**
+     * Gives the time elapsed between the beginning of the search and the last solution.
+     *
+     * @return The time to the last solution (in milliseconds), or {@code -1} if no
+     *         solution has been found yet.
+     */
+    long getTimeToLastSolutionMs();
+
+    /**
+     * Gives the cost of the first solution found by the solver.
+     *
+     * @return The cost of the first solution, or {@code null} if no solution with a
+     *         cost has been found yet.
+     */
+    BigInteger getFirstCost();
+
+    /**
+     * Gives the cost of the last solution found by the solver.
+     * For optimization problems, this is the cost of the best solution found so far.
+     *
+     * @return The cost of the last solution, or {@code null} if no solution with a
+     *         cost has been found yet.
+     */
+    BigInteger getLastCost();
+
+    /**
+     * Gives the result of the last search performed by the solver.
+     *
+     * @return The name of the last result, or {@code null} if the search has not ended
+     *         yet.
+     */
+    String getLastResult();
+
+    /**
+     * Resets all the metrics collected so far.
+     */
+    void reset();
+
+}
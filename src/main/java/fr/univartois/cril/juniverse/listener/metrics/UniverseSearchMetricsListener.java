@@ -0,0 +1,649 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+
+/**
+ * The UniverseSearchMetricsListener is a search listener that collects metrics about the
+ * search performed by a solver, and that may publish them as a JMX MBean.
+ *
+ * Counters are maintained without any lock, so that the overhead on the search thread
+ * remains as low as possible, while allowing the metrics to be read concurrently from
+ * any other thread (typically, a JMX client).
+ * The metrics describe the current (or last) search: they are reset each time a new
+ * search starts, so that rates are computed over this search only.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseSearchMetricsListener
+        implements IUniverseSearchListener, IUniverseSearchMetricsMXBean {
+
+    /**
+     * The JMX domain in which the metrics of the solvers are registered.
+     */
+    public static final String JMX_DOMAIN = "fr.univartois.cril.juniverse";
+
+    /**
+     * The counter for the decisions taken by the solver.
+     */
+    private final LongAdder decisions = new LongAdder();
+
+    /**
+     * The counter for the propagations performed by the solver.
+     */
+    private final LongAdder propagations = new LongAdder();
+
+    /**
+     * The counter for the conflicts encountered by the solver.
+     */
+    private final LongAdder conflicts = new LongAdder();
+
+    /**
+     * The counter for the no-goods learned by the solver.
+     */
+    private final LongAdder learnedNoGoods = new LongAdder();
+
+    /**
+     * The counter for the no-goods deleted by the solver.
+     */
+    private final LongAdder deletedNoGoods = new LongAdder();
+
+    /**
+     * The counter for the restarts performed by the solver.
+     */
+    private final LongAdder restarts = new LongAdder();
+
+    /**
+     * The counter for the cleanings of the no-good database of the solver.
+     */
+    private final LongAdder cleanings = new LongAdder();
+
+    /**
+     * The counter for the solutions found by the solver.
+     */
+    private final LongAdder solutions = new LongAdder();
+
+    /**
+     * The time at which the search started (in nanoseconds).
+     */
+    private volatile long startTime;
+
+    /**
+     * The time at which the search ended (in nanoseconds), or {@code 0} while the search
+     * is running.
+     */
+    private volatile long endTime;
+
+    /**
+     * Whether the search is currently running.
+     */
+    private volatile boolean running;
+
+    /**
+     * The time elapsed between the start of the search and the first solution (in
+     * nanoseconds).
+     */
+    private volatile long timeToFirstSolution;
+
+    /**
+     * The time elapsed between the start of the search and the last solution (in
+     * nanoseconds).
+     */
+    private volatile long timeToLastSolution;
+
+    /**
+     * The cost of the first solution found by the solver.
+     */
+    private volatile BigInteger firstCost;
+
+    /**
+     * The cost of the last solution found by the solver.
+     */
+    private volatile BigInteger lastCost;
+
+    /**
+     * The last result obtained by the solver.
+     */
+    private volatile UniverseSolverResult lastResult;
+
+    /**
+     * The name under which this listener is registered as an MBean (if any).
+     */
+    private ObjectName objectName;
+
+    /**
+     * Creates a new UniverseSearchMetricsListener.
+     */
+    public UniverseSearchMetricsListener() {
+        reset();
+    }
+
+    /**
+     * Creates a new UniverseSearchMetricsListener, adds it to the given solver, and
+     * registers it as an MBean identified by the given name.
+     *
+     * @param solver The solver to collect the metrics of.
+     * @param name The name identifying the solver in the JMX domain.
+     *
+     * @return The created listener.
+     *
+     * @throws UnsupportedOperationException If the solver does not support search
+     *         listeners (in which case no MBean is registered).
+     * @throws IllegalStateException If the MBean could not be registered (in which case
+     *         the listener is removed from the solver).
+     */
+    public static UniverseSearchMetricsListener attach(IUniverseSolver solver, String name) {
+        var listener = new UniverseSearchMetricsListener();
+        solver.addSearchListener(listener);
+
+        try {
+            listener.register(name);
+            return listener;
+
+        } catch (IllegalStateException e) {
+            solver.removeSearchListener(listener);
+            throw e;
+        }
+    }
+
+    /**
+     * Registers this listener in the platform MBean server.
+     *
+     * @param name The name identifying the solver in the JMX domain.
+     *
+     * @throws IllegalStateException If this listener is already registered, or if it
+     *         could not be registered.
+     */
+    public synchronized void register(String name) {
+        if (objectName != null) {
+            throw new IllegalStateException("Metrics are already registered as " + objectName);
+        }
+
+        try {
+            var newName = new ObjectName(
+                    JMX_DOMAIN + ":type=SearchMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+            objectName = newName;
+
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register search metrics for " + name, e);
+        }
+    }
+
+    /**
+     * Unregisters this listener from the platform MBean server.
+     * Nothing happens if this listener is not registered.
+     *
+     * @throws IllegalStateException If this listener could not be unregistered.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not unregister " + objectName, e);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#start()
+     */
+    @Override
+    public void start() {
+        reset();
+        startTime = System.nanoTime();
+        endTime = 0;
+        running = true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onPositiveDecision(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onPositiveDecision(IUniverseVariable decisionVariable, BigInteger value) {
+        decisions.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onNegativeDecision(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onNegativeDecision(IUniverseVariable decisionVariable, BigInteger value) {
+        decisions.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onPropagation(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onPropagation(IUniverseVariable variable, BigInteger value) {
+        propagations.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onConflict(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint,
+     * fr.univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onConflict(IUniverseConstraint constraint, IUniverseVariable variable) {
+        conflicts.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onLearning(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint)
+     */
+    @Override
+    public void onLearning(IUniverseConstraint noGood) {
+        learnedNoGoods.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onRestart()
+     */
+    @Override
+    public void onRestart() {
+        restarts.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onCleaning()
+     */
+    @Override
+    public void onCleaning() {
+        cleanings.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onDelete(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint)
+     */
+    @Override
+    public void onDelete(IUniverseConstraint noGood) {
+        deletedNoGoods.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution) {
+        recordSolution();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map, java.math.BigInteger)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution,
+            BigInteger cost) {
+        recordSolution();
+        if (firstCost == null) {
+            firstCost = cost;
+        }
+        lastCost = cost;
+    }
+
+    /**
+     * Records the time at which a solution has been found.
+     */
+    private void recordSolution() {
+        long time = System.nanoTime() - startTime;
+        if (timeToFirstSolution < 0) {
+            timeToFirstSolution = time;
+        }
+        timeToLastSolution = time;
+        solutions.increment();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#end(fr.
+     * univartois.cril.juniverse.core.UniverseSolverResult)
+     */
+    @Override
+    public void end(UniverseSolverResult result) {
+        endTime = System.nanoTime();
+        running = false;
+        lastResult = result;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#isRunning()
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#
+     * getElapsedTimeMs()
+     */
+    @Override
+    public long getElapsedTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos());
+    }
+
+    /**
+     * Gives the time elapsed since the beginning of the search.
+     *
+     * @return The elapsed time (in nanoseconds).
+     */
+    private long elapsedNanos() {
+        long start = startTime;
+        if (start == 0) {
+            return 0;
+        }
+
+        long end = running ? System.nanoTime() : endTime;
+        return Math.max(0, end - start);
+    }
+
+    /**
+     * Computes the rate at which some event occurs during the search.
+     *
+     * @param count The number of occurrences of the event.
+     *
+     * @return The number of occurrences per second.
+     */
+    private double perSecond(long count) {
+        long elapsed = elapsedNanos();
+        if (elapsed == 0) {
+            return 0;
+        }
+        return count * 1e9 / elapsed;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#getDecisions
+     * ()
+     */
+    @Override
+    public long getDecisions() {
+        return decisions.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#
+     * getDecisionsPerSecond()
+     */
+    @Override
+    public double getDecisionsPerSecond() {
+        return perSecond(decisions.sum());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#
+     * getPropagations()
+     */
+    @Override
+    public long getPropagations() {
+        return propagations.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#
+     * getPropagationsPerSecond()
+     */
+    @Override
+    public double getPropagationsPerSecond() {
+        return perSecond(propagations.sum());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#getConflicts
+     * ()
+     */
+    @Override
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#
+     * getConflictsPerSecond()
+     */
+    @Override
+    public double getConflictsPerSecond() {
+        return perSecond(conflicts.sum());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#
+     * getLearnedNoGoods()
+     */
+    @Override
+    public long getLearnedNoGoods() {
+        return learnedNoGoods.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#
+     * getDeletedNoGoods()
+     */
+    @Override
+    public long getDeletedNoGoods() {
+        return deletedNoGoods.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#getRestarts
+     * ()
+     */
+    @Override
+    public long getRestarts() {
+        return restarts.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#getCleanings
+     * ()
+     */
+    @Override
+    public long getCleanings() {
+        return cleanings.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#getSolutions
+     * ()
+     */
+    @Override
+    public long getSolutions() {
+        return solutions.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#
+     * getTimeToFirstSolutionMs()
+     */
+    @Override
+    public long getTimeToFirstSolutionMs() {
+        long time = timeToFirstSolution;
+        return (time < 0) ? -1 : TimeUnit.NANOSECONDS.toMillis(time);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#
+     * getTimeToLastSolutionMs()
+     */
+    @Override
+    public long getTimeToLastSolutionMs() {
+        long time = timeToLastSolution;
+        return (time < 0) ? -1 : TimeUnit.NANOSECONDS.toMillis(time);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#getFirstCost
+     * ()
+     */
+    @Override
+    public BigInteger getFirstCost() {
+        return firstCost;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#getLastCost
+     * ()
+     */
+    @Override
+    public BigInteger getLastCost() {
+        return lastCost;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#getLastResult
+     * ()
+     */
+    @Override
+    public String getLastResult() {
+        var result = lastResult;
+        return (result == null) ? null : result.name();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.metrics.IUniverseSearchMetricsMXBean#reset()
+     */
+    @Override
+    public void reset() {
+        decisions.reset();
+        propagations.reset();
+        conflicts.reset();
+        learnedNoGoods.reset();
+        deletedNoGoods.reset();
+        restarts.reset();
+        cleanings.reset();
+        solutions.reset();
+        startTime = 0;
+        endTime = 0;
+        running = false;
+        timeToFirstSolution = -1;
+        timeToLastSolution = -1;
+        firstCost = null;
+        lastCost = null;
+        lastResult = null;
+    }
+
+}
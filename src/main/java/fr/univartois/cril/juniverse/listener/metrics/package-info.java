@@ -0,0 +1,12 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.listener.metrics} package provides listeners
+ * for collecting metrics about the search performed by a solver, and for exposing
+ * them through JMX.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.listener.metrics;
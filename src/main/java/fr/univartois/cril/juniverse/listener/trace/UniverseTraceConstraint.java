@@ -0,0 +1,99 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.trace;
+
+import java.util.List;
+
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+
+/**
+ * The UniverseTraceConstraint is the representation of a constraint read from a search
+ * trace.
+ * Only the scope of the constraint is recorded in the trace.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseTraceConstraint implements IUniverseConstraint {
+
+    /**
+     * The variables appearing in this constraint.
+     */
+    private final List<IUniverseVariable> scope;
+
+    /**
+     * Whether this constraint must be ignored.
+     */
+    private boolean ignored;
+
+    /**
+     * Creates a new UniverseTraceConstraint.
+     *
+     * @param scope The variables appearing in the constraint.
+     */
+    UniverseTraceConstraint(List<IUniverseVariable> scope) {
+        this.scope = scope;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.problem.IUniverseConstraint#scope()
+     */
+    @Override
+    public List<IUniverseVariable> scope() {
+        return scope;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.problem.IUniverseConstraint#setIgnored(boolean)
+     */
+    @Override
+    public void setIgnored(boolean ignored) {
+        this.ignored = ignored;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.problem.IUniverseConstraint#isIgnored()
+     */
+    @Override
+    public boolean isIgnored() {
+        return ignored;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.problem.IUniverseConstraint#getScore()
+     */
+    @Override
+    public double getScore() {
+        return 0;
+    }
+
+}
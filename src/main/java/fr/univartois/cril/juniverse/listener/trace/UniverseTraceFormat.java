@@ -0,0 +1,189 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.trace;
+
+/**
+ * The UniverseTraceFormat defines the constants describing the binary format of the
+ * search traces.
+ *
+ * A trace starts with a header made of the {@link #MAGIC} number and the
+ * {@link #VERSION} of the format.
+ * It is then followed by a sequence of records, each of them starting with a single-byte
+ * opcode, followed by the payload of the record.
+ * All integers are encoded as unsigned LEB128 varints (signed integers being first
+ * zigzag-encoded), variables are referred to by their identifier (the name of a variable
+ * is written only once, in a {@link #DEFINE_VARIABLE} record), and constraints are
+ * represented by their scope.
+ * A trace ends with an {@link #END_OF_TRACE} opcode (or at the end of the file).
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseTraceFormat {
+
+    /**
+     * The magic number identifying a search trace ({@code "JUVT"}).
+     */
+    static final int MAGIC = 0x4A555654;
+
+    /**
+     * The version of the trace format.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * The opcode marking the end of the trace.
+     */
+    static final byte END_OF_TRACE = 0;
+
+    /**
+     * The opcode of the records defining the name of a variable.
+     */
+    static final byte DEFINE_VARIABLE = 1;
+
+    /**
+     * The opcode of the records for {@code start} events.
+     */
+    static final byte START = 2;
+
+    /**
+     * The opcode of the records for {@code onPositiveDecision} events.
+     */
+    static final byte POSITIVE_DECISION = 3;
+
+    /**
+     * The opcode of the records for {@code onNegativeDecision} events.
+     */
+    static final byte NEGATIVE_DECISION = 4;
+
+    /**
+     * The opcode of the records for {@code onPropagation} events.
+     */
+    static final byte PROPAGATION = 5;
+
+    /**
+     * The opcode of the records for {@code onAssignment} events.
+     */
+    static final byte ASSIGNMENT = 6;
+
+    /**
+     * The opcode of the records for {@code onFailedAssignment} events.
+     */
+    static final byte FAILED_ASSIGNMENT = 7;
+
+    /**
+     * The opcode of the records for {@code onConflict} events.
+     */
+    static final byte CONFLICT = 8;
+
+    /**
+     * The opcode of the records for {@code onLearning} events.
+     */
+    static final byte LEARNING = 9;
+
+    /**
+     * The opcode of the records for {@code onBacktrack} events (given a level).
+     */
+    static final byte BACKTRACK_LEVEL = 10;
+
+    /**
+     * The opcode of the records for {@code onBacktrack} events (given a variable).
+     */
+    static final byte BACKTRACK_VARIABLE = 11;
+
+    /**
+     * The opcode of the records for {@code onUnassignment} events.
+     */
+    static final byte UNASSIGNMENT = 12;
+
+    /**
+     * The opcode of the records for {@code onRestart} events.
+     */
+    static final byte RESTART = 13;
+
+    /**
+     * The opcode of the records for {@code onCleaning} events.
+     */
+    static final byte CLEANING = 14;
+
+    /**
+     * The opcode of the records for {@code onDelete} events.
+     */
+    static final byte DELETE = 15;
+
+    /**
+     * The opcode of the records for {@code onSolutionFound} events (without cost).
+     */
+    static final byte SOLUTION = 16;
+
+    /**
+     * The opcode of the records for {@code onSolutionFound} events (with a cost).
+     */
+    static final byte SOLUTION_WITH_COST = 17;
+
+    /**
+     * The opcode of the records for {@code end} events.
+     */
+    static final byte END = 18;
+
+    /**
+     * The maximum number of bytes needed to encode a varint.
+     */
+    static final int MAX_VARINT_SIZE = 10;
+
+    /**
+     * The maximum bit length of the integers that are encoded inline as varints.
+     * Larger integers are encoded by their two's complement representation.
+     */
+    static final int MAX_INLINE_BIT_LENGTH = 62;
+
+    /**
+     * Disables instantiation.
+     */
+    private UniverseTraceFormat() {
+        throw new AssertionError("No UniverseTraceFormat instances for you!");
+    }
+
+    /**
+     * Encodes a signed integer so that small absolute values are encoded on few bytes.
+     *
+     * @param value The value to encode.
+     *
+     * @return The zigzag-encoding of the value.
+     */
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Decodes a zigzag-encoded integer.
+     *
+     * @param value The value to decode.
+     *
+     * @return The decoded value.
+     */
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
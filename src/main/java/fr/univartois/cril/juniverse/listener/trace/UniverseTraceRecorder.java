@@ -0,0 +1,572 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.trace;
+
+import static fr.univartois.cril.juniverse.listener.trace.UniverseTraceFormat.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+
+/**
+ * The UniverseTraceRecorder is a search listener that records all the events it
+ * receives in an append-only binary trace, written to a memory-mapped file.
+ *
+ * Records are varint-encoded, and the name of each variable is written only once, so
+ * that recording a trace costs much less than writing textual logs.
+ * Traces can be read back using a {@link UniverseTraceReplayer}.
+ *
+ * Note that this recorder is not thread-safe: it must only receive events from the
+ * search thread of the solver it listens to.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseTraceRecorder implements IUniverseSearchListener, Closeable {
+
+    /**
+     * The default size of the chunks of the file that are mapped in memory.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+
+    /**
+     * The channel of the file in which the trace is written.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The size of the chunks of the file that are mapped in memory.
+     */
+    private final int chunkSize;
+
+    /**
+     * The position in the file of the chunk that is currently mapped.
+     */
+    private long chunkStart;
+
+    /**
+     * The chunk of the file that is currently mapped.
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * The (non-negative) identifiers of the variables that have already been defined in
+     * the trace.
+     */
+    private final BitSet definedVariables = new BitSet();
+
+    /**
+     * The (negative) identifiers of the variables that have already been defined in the
+     * trace.
+     */
+    private final Set<Integer> definedNegativeVariables = new HashSet<>();
+
+    /**
+     * Creates a new UniverseTraceRecorder, using chunks of {@link #DEFAULT_CHUNK_SIZE}
+     * bytes.
+     *
+     * @param path The path of the file in which to write the trace.
+     *        If this file already exists, it is overwritten.
+     *
+     * @throws UncheckedIOException If an I/O error occurs while opening the file.
+     */
+    public UniverseTraceRecorder(Path path) {
+        this(path, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new UniverseTraceRecorder.
+     *
+     * @param path The path of the file in which to write the trace.
+     *        If this file already exists, it is overwritten.
+     * @param chunkSize The size of the chunks of the file that are mapped in memory.
+     *
+     * @throws UncheckedIOException If an I/O error occurs while opening the file.
+     */
+    public UniverseTraceRecorder(Path path, int chunkSize) {
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.chunkSize = Math.max(chunkSize, MAX_VARINT_SIZE + 1);
+            this.buffer = channel.map(MapMode.READ_WRITE, 0, this.chunkSize);
+            buffer.putInt(MAGIC);
+            buffer.put(VERSION);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#start()
+     */
+    @Override
+    public void start() {
+        writeOpcode(START);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onPositiveDecision(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onPositiveDecision(IUniverseVariable decisionVariable, BigInteger value) {
+        writeVariableEvent(POSITIVE_DECISION, decisionVariable, value);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onNegativeDecision(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onNegativeDecision(IUniverseVariable decisionVariable, BigInteger value) {
+        writeVariableEvent(NEGATIVE_DECISION, decisionVariable, value);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onPropagation(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onPropagation(IUniverseVariable variable, BigInteger value) {
+        writeVariableEvent(PROPAGATION, variable, value);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onAssignment(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onAssignment(IUniverseVariable variable, BigInteger value) {
+        writeVariableEvent(ASSIGNMENT, variable, value);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onFailedAssignment(fr
+     * .univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onFailedAssignment(IUniverseVariable variable, BigInteger value) {
+        writeVariableEvent(FAILED_ASSIGNMENT, variable, value);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onConflict(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint,
+     * fr.univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onConflict(IUniverseConstraint constraint, IUniverseVariable variable) {
+        defineScope(constraint);
+        defineVariable(variable);
+        writeOpcode(CONFLICT);
+        writeConstraint(constraint);
+        writeVariable(variable);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onLearning(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint)
+     */
+    @Override
+    public void onLearning(IUniverseConstraint noGood) {
+        writeConstraintEvent(LEARNING, noGood);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onBacktrack(int)
+     */
+    @Override
+    public void onBacktrack(int level) {
+        writeOpcode(BACKTRACK_LEVEL);
+        writeVarLong(zigzag(level));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onBacktrack(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onBacktrack(IUniverseVariable decisionVariable) {
+        defineVariable(decisionVariable);
+        writeOpcode(BACKTRACK_VARIABLE);
+        writeVariable(decisionVariable);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onUnassignment(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onUnassignment(IUniverseVariable variable) {
+        defineVariable(variable);
+        writeOpcode(UNASSIGNMENT);
+        writeVariable(variable);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onRestart()
+     */
+    @Override
+    public void onRestart() {
+        writeOpcode(RESTART);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onCleaning()
+     */
+    @Override
+    public void onCleaning() {
+        writeOpcode(CLEANING);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onDelete(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseConstraint)
+     */
+    @Override
+    public void onDelete(IUniverseConstraint noGood) {
+        writeConstraintEvent(DELETE, noGood);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution) {
+        defineVariables(solution);
+        writeOpcode(SOLUTION);
+        writeSolution(solution);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map, java.math.BigInteger)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution,
+            BigInteger cost) {
+        defineVariables(solution);
+        writeOpcode(SOLUTION_WITH_COST);
+        writeSolution(solution);
+        writeValue(cost);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#end(fr.
+     * univartois.cril.juniverse.core.UniverseSolverResult)
+     */
+    @Override
+    public void end(UniverseSolverResult result) {
+        writeOpcode(END);
+        writeVarLong(result.ordinal());
+    }
+
+    /**
+     * Forces the content of the trace written so far to be stored on the disk.
+     */
+    public void flush() {
+        buffer.force();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+
+        writeOpcode(END_OF_TRACE);
+        long size = chunkStart + buffer.position();
+        buffer.force();
+        buffer = null;
+        channel.truncate(size);
+        channel.close();
+    }
+
+    /**
+     * Writes a record for an event involving a variable and a value.
+     *
+     * @param opcode The opcode of the event.
+     * @param variable The variable involved in the event.
+     * @param value The value involved in the event.
+     */
+    private void writeVariableEvent(byte opcode, IUniverseVariable variable, BigInteger value) {
+        defineVariable(variable);
+        writeOpcode(opcode);
+        writeVariable(variable);
+        writeValue(value);
+    }
+
+    /**
+     * Writes a record for an event involving a constraint.
+     *
+     * @param opcode The opcode of the event.
+     * @param constraint The constraint involved in the event.
+     */
+    private void writeConstraintEvent(byte opcode, IUniverseConstraint constraint) {
+        defineScope(constraint);
+        writeOpcode(opcode);
+        writeConstraint(constraint);
+    }
+
+    /**
+     * Writes the definitions of the variables appearing in a solution, if needed.
+     *
+     * @param solution The solution to write the variables of.
+     */
+    private void defineVariables(Map<? extends IUniverseVariable, BigInteger> solution) {
+        for (var variable : solution.keySet()) {
+            defineVariable(variable);
+        }
+    }
+
+    /**
+     * Writes the definitions of the variables in the scope of a constraint, if needed.
+     *
+     * @param constraint The constraint to write the variables of.
+     */
+    private void defineScope(IUniverseConstraint constraint) {
+        if (constraint != null) {
+            for (var variable : constraint.scope()) {
+                defineVariable(variable);
+            }
+        }
+    }
+
+    /**
+     * Writes the definition of a variable, if it has not been written yet.
+     *
+     * @param variable The variable to define.
+     */
+    private void defineVariable(IUniverseVariable variable) {
+        if (variable == null) {
+            return;
+        }
+
+        int id = variable.getId();
+        if (id >= 0) {
+            if (definedVariables.get(id)) {
+                return;
+            }
+            definedVariables.set(id);
+
+        } else if (!definedNegativeVariables.add(id)) {
+            return;
+        }
+
+        writeOpcode(DEFINE_VARIABLE);
+        writeVariable(variable);
+        writeBytes(variable.getName().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a reference to a (previously defined) variable.
+     *
+     * @param variable The variable to write.
+     */
+    private void writeVariable(IUniverseVariable variable) {
+        if (variable == null) {
+            writeVarLong(0);
+
+        } else {
+            writeVarLong(zigzag(variable.getId()) + 1);
+        }
+    }
+
+    /**
+     * Writes a constraint, represented by its scope.
+     *
+     * @param constraint The constraint to write.
+     */
+    private void writeConstraint(IUniverseConstraint constraint) {
+        if (constraint == null) {
+            writeVarLong(0);
+            return;
+        }
+
+        var scope = constraint.scope();
+        writeVarLong(scope.size() + 1L);
+        for (var variable : scope) {
+            writeVariable(variable);
+        }
+    }
+
+    /**
+     * Writes a solution, as a sequence of pairs of variables and values.
+     *
+     * @param solution The solution to write.
+     */
+    private void writeSolution(Map<? extends IUniverseVariable, BigInteger> solution) {
+        writeVarLong(solution.size());
+        for (var entry : solution.entrySet()) {
+            writeVariable(entry.getKey());
+            writeValue(entry.getValue());
+        }
+    }
+
+    /**
+     * Writes an integer value.
+     * Values that fit on {@link UniverseTraceFormat#MAX_INLINE_BIT_LENGTH} bits are
+     * written inline, while larger values are written as byte arrays.
+     *
+     * @param value The value to write.
+     */
+    private void writeValue(BigInteger value) {
+        if (value.bitLength() <= MAX_INLINE_BIT_LENGTH) {
+            writeVarLong(zigzag(value.longValue()) << 1);
+
+        } else {
+            var bytes = value.toByteArray();
+            ensureCapacity(MAX_VARINT_SIZE + bytes.length);
+            writeVarLong(((long) bytes.length << 1) | 1);
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Writes an array of bytes, preceded by its length.
+     *
+     * @param bytes The bytes to write.
+     */
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(MAX_VARINT_SIZE + bytes.length);
+        writeVarLong(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Writes the opcode of a record.
+     *
+     * @param opcode The opcode to write.
+     */
+    private void writeOpcode(byte opcode) {
+        ensureCapacity(1);
+        buffer.put(opcode);
+    }
+
+    /**
+     * Writes an unsigned varint.
+     *
+     * @param value The value to write.
+     */
+    private void writeVarLong(long value) {
+        ensureCapacity(MAX_VARINT_SIZE);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Ensures that the currently mapped chunk has enough room for writing the given
+     * number of bytes, and maps the next chunk of the file otherwise.
+     *
+     * @param size The number of bytes to write.
+     *
+     * @throws IllegalStateException If this recorder has been closed.
+     * @throws UncheckedIOException If an I/O error occurs while mapping the file.
+     */
+    private void ensureCapacity(int size) {
+        if (buffer == null) {
+            throw new IllegalStateException("Trace recorder has been closed");
+        }
+
+        if (buffer.remaining() >= size) {
+            return;
+        }
+
+        try {
+            chunkStart += buffer.position();
+            buffer = channel.map(MapMode.READ_WRITE, chunkStart, Math.max(size, chunkSize));
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,548 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.listener.trace;
+
+import static fr.univartois.cril.juniverse.listener.trace.UniverseTraceFormat.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+
+/**
+ * The UniverseTraceReplayer reads a search trace written by a
+ * {@link UniverseTraceRecorder}, and feeds the events it contains to arbitrary search
+ * listeners, as if they were listening to the solver that produced the trace.
+ *
+ * The variables and constraints given to the listeners only provide the information
+ * recorded in the trace, i.e., the name and identifier of the variables and the scope of
+ * the constraints.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseTraceReplayer {
+
+    /**
+     * The size of the buffer used to read the trace.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The results that may appear in the trace, indexed by their ordinal.
+     */
+    private static final UniverseSolverResult[] RESULTS = UniverseSolverResult.values();
+
+    /**
+     * The path of the file containing the trace.
+     */
+    private final Path path;
+
+    /**
+     * The channel from which the trace is currently read.
+     */
+    private FileChannel channel;
+
+    /**
+     * The buffer from which the trace is currently read.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * The variables defined in the trace, indexed by their reference.
+     */
+    private UniverseTraceVariable[] variables;
+
+    /**
+     * The variables defined in the trace whose references are too large to be indexed in
+     * {@link #variables}.
+     */
+    private Map<Long, UniverseTraceVariable> otherVariables;
+
+    /**
+     * Creates a new UniverseTraceReplayer.
+     *
+     * @param path The path of the file containing the trace to replay.
+     */
+    public UniverseTraceReplayer(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Replays the trace, by feeding all the events it contains to the given listeners.
+     *
+     * @param listeners The listeners to notify about the events in the trace.
+     *
+     * @return The number of events that have been replayed.
+     *
+     * @throws UncheckedIOException If an I/O error occurs while reading the trace, or if
+     *         the trace is malformed.
+     */
+    public long replay(IUniverseSearchListener... listeners) {
+        return replay(Arrays.asList(listeners));
+    }
+
+    /**
+     * Replays the trace, by feeding all the events it contains to the given listeners.
+     *
+     * @param listeners The listeners to notify about the events in the trace.
+     *
+     * @return The number of events that have been replayed.
+     *
+     * @throws UncheckedIOException If an I/O error occurs while reading the trace, or if
+     *         the trace is malformed.
+     */
+    public synchronized long replay(List<? extends IUniverseSearchListener> listeners) {
+        try (var fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel = fileChannel;
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).limit(0);
+            variables = new UniverseTraceVariable[1024];
+            otherVariables = new HashMap<>();
+            readHeader();
+            return readEvents(listeners.toArray(new IUniverseSearchListener[0]));
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+
+        } finally {
+            channel = null;
+            buffer = null;
+            variables = null;
+            otherVariables = null;
+        }
+    }
+
+    /**
+     * Reads and checks the header of the trace.
+     *
+     * @throws IOException If an I/O error occurs, or if the header is not valid.
+     */
+    private void readHeader() throws IOException {
+        ensureAvailable(Integer.BYTES + 1);
+        if ((buffer.getInt() != MAGIC) || (buffer.get() != VERSION)) {
+            throw new IOException(path + " is not a supported search trace");
+        }
+    }
+
+    /**
+     * Reads all the events of the trace, and dispatches them to the given listeners.
+     *
+     * @param listeners The listeners to notify.
+     *
+     * @return The number of events that have been read.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is malformed.
+     */
+    private long readEvents(IUniverseSearchListener[] listeners) throws IOException {
+        long nbEvents = 0;
+
+        for (int opcode = readOpcode(); opcode != END_OF_TRACE; opcode = readOpcode()) {
+            if (opcode == DEFINE_VARIABLE) {
+                readDefinition();
+                continue;
+            }
+
+            dispatch(opcode, listeners);
+            nbEvents++;
+        }
+
+        return nbEvents;
+    }
+
+    /**
+     * Reads the payload of an event and dispatches this event to the given listeners.
+     *
+     * @param opcode The opcode of the event.
+     * @param listeners The listeners to notify.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is malformed.
+     */
+    private void dispatch(int opcode, IUniverseSearchListener[] listeners) throws IOException {
+        switch (opcode) {
+            case START:
+                for (var listener : listeners) {
+                    listener.start();
+                }
+                break;
+
+            case POSITIVE_DECISION: {
+                var variable = readVariable();
+                var value = readValue();
+                for (var listener : listeners) {
+                    listener.onPositiveDecision(variable, value);
+                }
+                break;
+            }
+
+            case NEGATIVE_DECISION: {
+                var variable = readVariable();
+                var value = readValue();
+                for (var listener : listeners) {
+                    listener.onNegativeDecision(variable, value);
+                }
+                break;
+            }
+
+            case PROPAGATION: {
+                var variable = readVariable();
+                var value = readValue();
+                for (var listener : listeners) {
+                    listener.onPropagation(variable, value);
+                }
+                break;
+            }
+
+            case ASSIGNMENT: {
+                var variable = readVariable();
+                var value = readValue();
+                for (var listener : listeners) {
+                    listener.onAssignment(variable, value);
+                }
+                break;
+            }
+
+            case FAILED_ASSIGNMENT: {
+                var variable = readVariable();
+                var value = readValue();
+                for (var listener : listeners) {
+                    listener.onFailedAssignment(variable, value);
+                }
+                break;
+            }
+
+            case CONFLICT: {
+                var constraint = readConstraint();
+                var variable = readVariable();
+                for (var listener : listeners) {
+                    listener.onConflict(constraint, variable);
+                }
+                break;
+            }
+
+            case LEARNING: {
+                var constraint = readConstraint();
+                for (var listener : listeners) {
+                    listener.onLearning(constraint);
+                }
+                break;
+            }
+
+            case BACKTRACK_LEVEL: {
+                int level = (int) unzigzag(readVarLong());
+                for (var listener : listeners) {
+                    listener.onBacktrack(level);
+                }
+                break;
+            }
+
+            case BACKTRACK_VARIABLE: {
+                var variable = readVariable();
+                for (var listener : listeners) {
+                    listener.onBacktrack(variable);
+                }
+                break;
+            }
+
+            case UNASSIGNMENT: {
+                var variable = readVariable();
+                for (var listener : listeners) {
+                    listener.onUnassignment(variable);
+                }
+                break;
+            }
+
+            case RESTART:
+                for (var listener : listeners) {
+                    listener.onRestart();
+                }
+                break;
+
+            case CLEANING:
+                for (var listener : listeners) {
+                    listener.onCleaning();
+                }
+                break;
+
+            case DELETE: {
+                var constraint = readConstraint();
+                for (var listener : listeners) {
+                    listener.onDelete(constraint);
+                }
+                break;
+            }
+
+            case SOLUTION: {
+                var solution = readSolution();
+                for (var listener : listeners) {
+                    listener.onSolutionFound(solution);
+                }
+                break;
+            }
+
+            case SOLUTION_WITH_COST: {
+                var solution = readSolution();
+                var cost = readValue();
+                for (var listener : listeners) {
+                    listener.onSolutionFound(solution, cost);
+                }
+                break;
+            }
+
+            case END: {
+                var result = RESULTS[(int) readVarLong()];
+                for (var listener : listeners) {
+                    listener.end(result);
+                }
+                break;
+            }
+
+            default:
+                throw new IOException("Unknown opcode " + opcode + " in " + path);
+        }
+    }
+
+    /**
+     * Reads the definition of a variable.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is malformed.
+     */
+    private void readDefinition() throws IOException {
+        long reference = readVarLong();
+        var name = new String(readBytes(), StandardCharsets.UTF_8);
+        var variable = new UniverseTraceVariable(name, (int) unzigzag(reference - 1));
+
+        if (reference < Integer.MAX_VALUE) {
+            int index = (int) reference;
+            if (index >= variables.length) {
+                variables = Arrays.copyOf(variables,
+                        Math.max(index + 1, variables.length + (variables.length >> 1)));
+            }
+            variables[index] = variable;
+
+        } else {
+            otherVariables.put(reference, variable);
+        }
+    }
+
+    /**
+     * Reads a reference to a variable.
+     *
+     * @return The variable that is read, or {@code null} if the reference is a null
+     *         reference.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is malformed.
+     */
+    private IUniverseVariable readVariable() throws IOException {
+        long reference = readVarLong();
+        if (reference == 0) {
+            return null;
+        }
+
+        UniverseTraceVariable variable;
+        if (reference < variables.length) {
+            variable = variables[(int) reference];
+
+        } else {
+            variable = otherVariables.get(reference);
+        }
+
+        if (variable == null) {
+            throw new IOException("Undefined variable reference " + reference + " in " + path);
+        }
+        return variable;
+    }
+
+    /**
+     * Reads a constraint.
+     *
+     * @return The constraint that is read, or {@code null} if the constraint is a null
+     *         reference.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is malformed.
+     */
+    private IUniverseConstraint readConstraint() throws IOException {
+        int size = (int) readVarLong();
+        if (size == 0) {
+            return null;
+        }
+
+        var scope = new ArrayList<IUniverseVariable>(size - 1);
+        for (int i = 1; i < size; i++) {
+            scope.add(readVariable());
+        }
+        return new UniverseTraceConstraint(scope);
+    }
+
+    /**
+     * Reads a solution.
+     *
+     * @return The solution that is read.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is malformed.
+     */
+    private Map<IUniverseVariable, BigInteger> readSolution() throws IOException {
+        int size = (int) readVarLong();
+        var solution = new LinkedHashMap<IUniverseVariable, BigInteger>(
+                (int) (size / 0.75f) + 1);
+        for (int i = 0; i < size; i++) {
+            var variable = readVariable();
+            solution.put(variable, readValue());
+        }
+        return solution;
+    }
+
+    /**
+     * Reads an integer value.
+     *
+     * @return The value that is read.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is malformed.
+     */
+    private BigInteger readValue() throws IOException {
+        long header = readVarLong();
+        if ((header & 1) == 0) {
+            return BigInteger.valueOf(unzigzag(header >>> 1));
+        }
+
+        var bytes = new byte[(int) (header >>> 1)];
+        readFully(bytes);
+        return new BigInteger(bytes);
+    }
+
+    /**
+     * Reads an array of bytes, preceded by its length.
+     *
+     * @return The array of bytes that is read.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is malformed.
+     */
+    private byte[] readBytes() throws IOException {
+        var bytes = new byte[(int) readVarLong()];
+        readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Reads the opcode of the next record.
+     *
+     * @return The opcode of the record, or {@link UniverseTraceFormat#END_OF_TRACE} if
+     *         the end of the file has been reached.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private int readOpcode() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return END_OF_TRACE;
+        }
+        return buffer.get();
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @return The value that is read.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is malformed.
+     */
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            if (!buffer.hasRemaining() && !fill()) {
+                throw new EOFException("Truncated search trace " + path);
+            }
+
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in " + path);
+    }
+
+    /**
+     * Reads bytes until the given array is full.
+     *
+     * @param bytes The array to fill.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is truncated.
+     */
+    private void readFully(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining() && !fill()) {
+                throw new EOFException("Truncated search trace " + path);
+            }
+
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Ensures that the given number of bytes can be read from the buffer.
+     *
+     * @param size The number of bytes to read.
+     *
+     * @throws IOException If an I/O error occurs, or if the trace is truncated.
+     */
+    private void ensureAvailable(int size) throws IOException {
+        while (buffer.remaining() < size) {
+            if (!fill()) {
+                throw new EOFException("Truncated search trace " + path);
+            }
+        }
+    }
+
+    /**
+     * Reads more bytes from the file into the buffer.
+     *
+     * @return Whether some bytes have been read.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private boolean fill() throws IOException {
+        buffer.compact();
+        int read = channel.read(buffer);
+        buffer.flip();
+        return read > 0;
+    }
+
+}
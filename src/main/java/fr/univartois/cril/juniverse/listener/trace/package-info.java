@@ -0,0 +1,12 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.listener.trace} package provides a listener
+ * for recording the search events occurring in a solver in a compact binary trace, and
+ * a replayer for feeding such a trace back to arbitrary listeners.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.listener.trace;
@@ -0,0 +1,43 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim;
+
+/**
+ * The IUniverseBoundProgressListener interface defines a listener notified about the
+ * progress made by an optimizer on the bounds of an objective function.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@FunctionalInterface
+public interface IUniverseBoundProgressListener {
+
+    /**
+     * Notifies this listener that the bounds of the objective function have been
+     * improved, possibly because a new solution has been found.
+     *
+     * @param update The description of the progress that has been made.
+     */
+    void onProgress(UniverseOptimizationUpdate update);
+
+}
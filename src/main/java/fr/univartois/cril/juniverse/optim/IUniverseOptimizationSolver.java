@@ -21,6 +21,7 @@
 package fr.univartois.cril.juniverse.optim;
 
 import java.math.BigInteger;
+import java.util.concurrent.Executor;
 
 import fr.univartois.cril.juniverse.core.IUniverseSolver;
 
@@ -89,4 +90,20 @@ public interface IUniverseOptimizationSolver extends IUniverseSolver {
      */
     BigInteger getCurrentBound();
 
+    /**
+     * Creates a publisher for the progress made by this solver during its search.
+     * The search is started by invoking one of the {@code solve} methods of the
+     * returned publisher, after having subscribed to it.
+     *
+     * @param executor The executor used to deliver the updates to the subscribers.
+     * @param maxBufferCapacity The maximum number of updates buffered for each
+     *        subscriber.
+     *
+     * @return The publisher of the progress of this solver.
+     */
+    default UniverseImprovingSolutionPublisher improvingSolutions(Executor executor,
+            int maxBufferCapacity) {
+        return new UniverseImprovingSolutionPublisher(this, executor, maxBufferCapacity);
+    }
+
 }
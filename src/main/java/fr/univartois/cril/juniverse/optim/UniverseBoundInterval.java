@@ -0,0 +1,134 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim;
+
+import java.math.BigInteger;
+
+/**
+ * The UniverseBoundInterval represents a (non-empty) interval of values of an objective
+ * function, whose both ends are included.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseBoundInterval {
+
+    /**
+     * The lower end of this interval.
+     */
+    private final BigInteger lower;
+
+    /**
+     * The upper end of this interval.
+     */
+    private final BigInteger upper;
+
+    /**
+     * Creates a new UniverseBoundInterval.
+     *
+     * @param lower The lower end of the interval.
+     * @param upper The upper end of the interval.
+     */
+    UniverseBoundInterval(BigInteger lower, BigInteger upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Gives the lower end of this interval.
+     *
+     * @return The lower end of this interval.
+     */
+    BigInteger getLower() {
+        return lower;
+    }
+
+    /**
+     * Gives the upper end of this interval.
+     *
+     * @return The upper end of this interval.
+     */
+    BigInteger getUpper() {
+        return upper;
+    }
+
+    /**
+     * Gives the number of values in this interval.
+     *
+     * @return The width of this interval.
+     */
+    BigInteger width() {
+        return upper.subtract(lower).add(BigInteger.ONE);
+    }
+
+    /**
+     * Checks whether this interval contains the given value.
+     *
+     * @param value The value to check.
+     *
+     * @return Whether the value is in this interval.
+     */
+    boolean contains(BigInteger value) {
+        return (value != null) && (lower.compareTo(value) <= 0) && (value.compareTo(upper) <= 0);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof UniverseBoundInterval)) {
+            return false;
+        }
+
+        var other = (UniverseBoundInterval) obj;
+        return lower.equals(other.lower) && upper.equals(other.upper);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return 31 * lower.hashCode() + upper.hashCode();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "[" + lower + ", " + upper + "]";
+    }
+
+}
@@ -0,0 +1,194 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * The UniverseBoundIntervalSet represents a set of values of an objective function, as
+ * a union of disjoint intervals.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseBoundIntervalSet {
+
+    /**
+     * The intervals in this set, given by their lower and upper ends.
+     */
+    private final TreeMap<BigInteger, BigInteger> intervals = new TreeMap<>();
+
+    /**
+     * Creates a new, empty, UniverseBoundIntervalSet.
+     */
+    UniverseBoundIntervalSet() {
+        // Nothing to do: the set is initially empty.
+    }
+
+    /**
+     * Creates a new UniverseBoundIntervalSet containing a single interval.
+     *
+     * @param lower The lower end of the interval.
+     * @param upper The upper end of the interval.
+     */
+    UniverseBoundIntervalSet(BigInteger lower, BigInteger upper) {
+        if (lower.compareTo(upper) <= 0) {
+            intervals.put(lower, upper);
+        }
+    }
+
+    /**
+     * Checks whether this set is empty.
+     *
+     * @return Whether this set is empty.
+     */
+    boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+
+    /**
+     * Gives the smallest value in this set.
+     *
+     * @return The smallest value, or {@code null} if this set is empty.
+     */
+    BigInteger min() {
+        return intervals.isEmpty() ? null : intervals.firstKey();
+    }
+
+    /**
+     * Gives the largest value in this set.
+     *
+     * @return The largest value, or {@code null} if this set is empty.
+     */
+    BigInteger max() {
+        return intervals.isEmpty() ? null : intervals.lastEntry().getValue();
+    }
+
+    /**
+     * Removes from this set all the values in the given interval.
+     *
+     * @param lower The lower end of the interval to remove.
+     * @param upper The upper end of the interval to remove.
+     */
+    void remove(BigInteger lower, BigInteger upper) {
+        if (lower.compareTo(upper) > 0) {
+            return;
+        }
+
+        // Splitting the interval containing the lower end, if any.
+        var before = intervals.lowerEntry(lower);
+        if ((before != null) && (before.getValue().compareTo(lower) >= 0)) {
+            intervals.put(before.getKey(), lower.subtract(BigInteger.ONE));
+            if (before.getValue().compareTo(upper) > 0) {
+                intervals.put(upper.add(BigInteger.ONE), before.getValue());
+                return;
+            }
+        }
+
+        // Removing or truncating the intervals starting inside the removed interval.
+        for (var entry = intervals.ceilingEntry(lower); (entry != null)
+                && (entry.getKey().compareTo(upper) <= 0); entry = intervals.ceilingEntry(lower)) {
+            intervals.remove(entry.getKey());
+            if (entry.getValue().compareTo(upper) > 0) {
+                intervals.put(upper.add(BigInteger.ONE), entry.getValue());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes from this set all the values that are greater than or equal to the given
+     * value.
+     *
+     * @param value The smallest value to remove.
+     */
+    void removeFrom(BigInteger value) {
+        var max = max();
+        if (max != null) {
+            remove(value, max);
+        }
+    }
+
+    /**
+     * Removes from this set all the values that are less than or equal to the given
+     * value.
+     *
+     * @param value The largest value to remove.
+     */
+    void removeUpTo(BigInteger value) {
+        var min = min();
+        if (min != null) {
+            remove(min, value);
+        }
+    }
+
+    /**
+     * Checks whether this set contains at least one value of the given interval.
+     *
+     * @param interval The interval to check.
+     *
+     * @return Whether this set intersects the interval.
+     */
+    boolean intersects(UniverseBoundInterval interval) {
+        var floor = intervals.floorEntry(interval.getUpper());
+        return (floor != null) && (floor.getValue().compareTo(interval.getLower()) >= 0);
+    }
+
+    /**
+     * Gives the intervals in this set, sorted in increasing order.
+     *
+     * @return The intervals in this set.
+     */
+    List<UniverseBoundInterval> intervals() {
+        var list = new ArrayList<UniverseBoundInterval>(intervals.size());
+        for (var entry : intervals.entrySet()) {
+            list.add(new UniverseBoundInterval(entry.getKey(), entry.getValue()));
+        }
+        return list;
+    }
+
+    /**
+     * Creates a copy of this set.
+     *
+     * @return The copy of this set.
+     */
+    UniverseBoundIntervalSet copy() {
+        var copy = new UniverseBoundIntervalSet();
+        copy.intervals.putAll(intervals);
+        return copy;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return intervals().toString();
+    }
+
+}
@@ -0,0 +1,423 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import fr.univartois.cril.juniverse.core.UniverseAssumption;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+
+/**
+ * The UniverseBoundOptimizer optimizes the objective function of a problem by
+ * performing successive satisfaction checks with an underlying solver, each of them
+ * looking for a solution whose cost lies within given bounds.
+ *
+ * This optimizer only relies on
+ * {@link IUniverseOptimizationSolver#setBounds(BigInteger, BigInteger)} and on
+ * {@link IUniverseOptimizationSolver#solve(List)}, so that it may be used with any
+ * solver able to satisfy bounds on the objective function, whatever the optimization
+ * approach it implements natively.
+ * The way the bounds are chosen is defined by an {@link UniverseOptimizationStrategy}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseBoundOptimizer {
+
+    /**
+     * The solver used to perform the satisfaction checks.
+     */
+    private final IUniverseOptimizationSolver solver;
+
+    /**
+     * Whether the objective function must be minimized.
+     */
+    private final boolean minimization;
+
+    /**
+     * The listeners notified about the progress of the optimization.
+     */
+    private final List<IUniverseBoundProgressListener> listeners =
+            new CopyOnWriteArrayList<>();
+
+    /**
+     * The strategy used to choose the bounds of the satisfaction checks.
+     */
+    private UniverseOptimizationStrategy strategy = UniverseOptimizationStrategy.LINEAR_SAT_UNSAT;
+
+    /**
+     * The largest (normalized) cost allowed by the objective range.
+     */
+    private BigInteger limit;
+
+    /**
+     * The smallest (normalized) cost that has not been refuted yet.
+     */
+    private BigInteger lower;
+
+    /**
+     * The (normalized) cost of the best solution found so far.
+     */
+    private BigInteger best;
+
+    /**
+     * The best solution found so far.
+     */
+    private Map<String, BigInteger> bestSolution;
+
+    /**
+     * The width of the next stratum to consider with the
+     * {@link UniverseOptimizationStrategy#STRATIFIED} strategy.
+     */
+    private BigInteger stratum;
+
+    /**
+     * The time at which the current optimization has started (in nanoseconds).
+     */
+    private long startTime;
+
+    /**
+     * Whether the optimization has been interrupted.
+     */
+    private volatile boolean interrupted;
+
+    /**
+     * Creates a new UniverseBoundOptimizer.
+     *
+     * @param solver The solver used to perform the satisfaction checks.
+     */
+    public UniverseBoundOptimizer(IUniverseOptimizationSolver solver) {
+        this.solver = solver;
+        this.minimization = solver.isMinimization();
+    }
+
+    /**
+     * Sets the strategy used to choose the bounds of the satisfaction checks.
+     *
+     * @param strategy The strategy to use.
+     */
+    public void setStrategy(UniverseOptimizationStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Adds a listener notified about the progress of the optimization.
+     *
+     * @param listener The listener to add.
+     */
+    public void addProgressListener(IUniverseBoundProgressListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener notified about the progress of the optimization.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeProgressListener(IUniverseBoundProgressListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Interrupts (asynchronously) the optimization currently performed by this
+     * optimizer.
+     */
+    public void interrupt() {
+        interrupted = true;
+        solver.interrupt();
+    }
+
+    /**
+     * Searches for an optimal solution whose cost is within the given range.
+     *
+     * @param lb The lower bound of the objective range.
+     * @param ub The upper bound of the objective range.
+     *
+     * @return The outcome of the optimization.
+     *
+     * @see #optimize(BigInteger, BigInteger, List)
+     */
+    public UniverseSolverResult optimize(BigInteger lb, BigInteger ub) {
+        return optimize(lb, ub, Collections.emptyList());
+    }
+
+    /**
+     * Searches for an optimal solution whose cost is within the given range, under the
+     * given assumptions.
+     *
+     * @param lb The lower bound of the objective range.
+     * @param ub The upper bound of the objective range.
+     * @param assumptions The assumptions to consider for each satisfaction check.
+     *
+     * @return The outcome of the optimization, which is
+     *         {@link UniverseSolverResult#OPTIMUM_FOUND} if an optimal solution has been
+     *         found, {@link UniverseSolverResult#UNSATISFIABLE} if the range does not
+     *         contain any solution, {@link UniverseSolverResult#SATISFIABLE} if a
+     *         solution has been found but has not been proven optimal, and
+     *         {@link UniverseSolverResult#UNKNOWN} otherwise.
+     */
+    public UniverseSolverResult optimize(BigInteger lb, BigInteger ub,
+            List<UniverseAssumption<BigInteger>> assumptions) {
+        synchronized (this) {
+            limit = minimization ? ub : lb.negate();
+            lower = minimization ? lb : ub.negate();
+            best = null;
+            bestSolution = null;
+        }
+        stratum = BigInteger.ONE;
+        startTime = System.nanoTime();
+        interrupted = false;
+
+        while (!interrupted) {
+            var upper = (best == null) ? limit : best.subtract(BigInteger.ONE);
+            if (lower.compareTo(upper) > 0) {
+                break;
+            }
+
+            var checked = nextUpperBound(upper);
+            var result = check(checked, assumptions);
+
+            if ((result == UniverseSolverResult.SATISFIABLE)
+                    || (result == UniverseSolverResult.OPTIMUM_FOUND)) {
+                var cost = normalize(solver.getCurrentBound());
+                if (!improve(cost, result == UniverseSolverResult.OPTIMUM_FOUND)) {
+                    // The solver does not enforce the bounds: no progress can be made.
+                    break;
+                }
+
+            } else if (result == UniverseSolverResult.UNSATISFIABLE) {
+                refute(checked);
+
+            } else {
+                break;
+            }
+        }
+
+        return getResult();
+    }
+
+    /**
+     * Computes the upper bound of the next satisfaction check, depending on the strategy
+     * in use.
+     *
+     * @param upper The (normalized) largest cost that may be improving.
+     *
+     * @return The (normalized) upper bound to check.
+     */
+    private BigInteger nextUpperBound(BigInteger upper) {
+        switch (strategy) {
+            case LINEAR_UNSAT_SAT:
+                return lower;
+
+            case STRATIFIED:
+                if (best == null) {
+                    return lower.add(stratum).subtract(BigInteger.ONE).min(upper);
+                }
+                // Once a solution is found, a binary search is performed.
+                return middle(upper);
+
+            case BINARY:
+                return middle(upper);
+
+            default:
+                return upper;
+        }
+    }
+
+    /**
+     * Computes the middle of the range of costs that has not been refuted yet.
+     *
+     * @param upper The (normalized) largest cost that may be improving.
+     *
+     * @return The (normalized) middle of the range.
+     */
+    private BigInteger middle(BigInteger upper) {
+        return lower.add(upper.subtract(lower).shiftRight(1));
+    }
+
+    /**
+     * Looks for a solution whose (normalized) cost is between the smallest cost that has
+     * not been refuted yet and the given bound.
+     *
+     * @param upper The (normalized) upper bound of the check.
+     * @param assumptions The assumptions to consider.
+     *
+     * @return The outcome of the check.
+     */
+    private UniverseSolverResult check(BigInteger upper,
+            List<UniverseAssumption<BigInteger>> assumptions) {
+        if (minimization) {
+            solver.setBounds(lower, upper);
+
+        } else {
+            solver.setBounds(upper.negate(), lower.negate());
+        }
+
+        if (assumptions.isEmpty()) {
+            return solver.solve();
+        }
+        return solver.solve(assumptions);
+    }
+
+    /**
+     * Records a solution that has been found by the solver.
+     *
+     * @param cost The (normalized) cost of the solution.
+     * @param optimal Whether the solver has proven that the solution is optimal w.r.t.
+     *        the bounds it has been given.
+     *
+     * @return Whether progress has been made.
+     */
+    private boolean improve(BigInteger cost, boolean optimal) {
+        boolean progress = false;
+        Map<String, BigInteger> solution = null;
+
+        synchronized (this) {
+            if ((best == null) || (cost.compareTo(best) < 0)) {
+                solution = new HashMap<>(solver.mapSolution(true));
+                best = cost;
+                bestSolution = solution;
+                progress = true;
+            }
+
+            if (optimal && (lower.compareTo(cost) < 0)) {
+                // All checks start from the lower bound: the cost is optimal.
+                lower = cost;
+                progress = true;
+            }
+        }
+
+        if (progress) {
+            fireProgress(solution);
+        }
+        return progress;
+    }
+
+    /**
+     * Records that there is no solution whose (normalized) cost is between the smallest
+     * cost that has not been refuted yet and the given bound.
+     *
+     * @param upper The (normalized) upper bound that has been refuted.
+     */
+    private void refute(BigInteger upper) {
+        synchronized (this) {
+            if (strategy == UniverseOptimizationStrategy.STRATIFIED) {
+                stratum = stratum.shiftLeft(1);
+            }
+            lower = upper.add(BigInteger.ONE);
+        }
+        fireProgress(null);
+    }
+
+    /**
+     * Notifies the listeners about the progress of the optimization.
+     *
+     * @param solution The new solution that has been found, if any.
+     */
+    private void fireProgress(Map<String, BigInteger> solution) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        var update = new UniverseOptimizationUpdate(
+                (solution == null) ? null : Collections.unmodifiableMap(solution),
+                (solution == null) ? null : getBestCost(), getLowerBound(), getUpperBound(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        for (var listener : listeners) {
+            listener.onProgress(update);
+        }
+    }
+
+    /**
+     * Converts a cost into its normalized form, which is to be minimized.
+     *
+     * @param cost The cost to normalize.
+     *
+     * @return The normalized cost.
+     */
+    private BigInteger normalize(BigInteger cost) {
+        return minimization ? cost : cost.negate();
+    }
+
+    /**
+     * Gives the result of the last optimization.
+     *
+     * @return The result of the optimization.
+     */
+    private synchronized UniverseSolverResult getResult() {
+        if (best == null) {
+            return (lower.compareTo(limit) > 0) ? UniverseSolverResult.UNSATISFIABLE
+                    : UniverseSolverResult.UNKNOWN;
+        }
+        return (lower.compareTo(best) >= 0) ? UniverseSolverResult.OPTIMUM_FOUND : UniverseSolverResult.SATISFIABLE;
+    }
+
+    /**
+     * Gives the cost of the best solution found so far.
+     *
+     * @return The best cost, or {@code null} if no solution has been found.
+     */
+    public synchronized BigInteger getBestCost() {
+        return (best == null) ? null : normalize(best);
+    }
+
+    /**
+     * Gives the best solution found so far.
+     *
+     * @return The best solution, or {@code null} if no solution has been found.
+     */
+    public synchronized Map<String, BigInteger> getBestSolution() {
+        return (bestSolution == null) ? null : Collections.unmodifiableMap(bestSolution);
+    }
+
+    /**
+     * Gives the best lower bound proven so far for the objective function.
+     *
+     * @return The lower bound, or {@code null} if it is not known.
+     */
+    public synchronized BigInteger getLowerBound() {
+        if (minimization) {
+            return (best == null) ? lower : lower.min(best);
+        }
+        return getBestCost();
+    }
+
+    /**
+     * Gives the best upper bound proven so far for the objective function.
+     *
+     * @return The upper bound, or {@code null} if it is not known.
+     */
+    public synchronized BigInteger getUpperBound() {
+        if (minimization) {
+            return getBestCost();
+        }
+        return ((best == null) ? lower : lower.min(best)).negate();
+    }
+
+}
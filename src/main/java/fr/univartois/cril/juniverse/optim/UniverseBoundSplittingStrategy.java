@@ -0,0 +1,49 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim;
+
+/**
+ * The UniverseBoundSplittingStrategy enumerates the strategies that can be used by a
+ * {@link UniverseParallelBoundSplittingOptimizer} to split the part of the objective
+ * range that remains to be explored into intervals given to the solvers.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public enum UniverseBoundSplittingStrategy {
+
+    /**
+     * The strategy splitting the unexplored range into intervals of equal width, one for
+     * each idle solver.
+     * With a single solver, this strategy behaves as a linear (SAT-UNSAT) search.
+     */
+    LINEAR,
+
+    /**
+     * The strategy giving to each idle solver the most promising half of the largest
+     * unexplored interval (i.e., the half containing the best costs).
+     * With a single solver, this strategy behaves as a binary search.
+     */
+    BINARY;
+
+}
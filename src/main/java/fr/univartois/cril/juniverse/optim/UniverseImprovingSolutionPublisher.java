@@ -0,0 +1,326 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import fr.univartois.cril.juniverse.core.UniverseAssumption;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+
+/**
+ * The UniverseImprovingSolutionPublisher publishes the progress made by an
+ * {@link IUniverseOptimizationSolver} during its search, as a
+ * {@link Flow.Publisher} of {@link UniverseOptimizationUpdate}s.
+ *
+ * Each improving solution found by the solver is published along with its cost, and
+ * bound updates (as given by {@link IUniverseOptimizationSolver#getLowerBound()} and
+ * {@link IUniverseOptimizationSolver#getUpperBound()}) are published whenever they are
+ * observed to change (at each restart and at the end of the search).
+ * Updates are delivered to subscribers by an {@link Executor}, off the search thread,
+ * through a bounded buffer: when the buffer of a subscriber is full, updates are dropped
+ * for this subscriber rather than blocking the search.
+ * When the search ends, subscribers are completed (or notified of the error that
+ * interrupted the search).
+ *
+ * Subscribers should subscribe before invoking one of the {@code solve} methods of this
+ * publisher, which may be invoked only once.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseImprovingSolutionPublisher
+        implements Flow.Publisher<UniverseOptimizationUpdate>, IUniverseSearchListener {
+
+    /**
+     * The solver whose progress is published.
+     */
+    private final IUniverseOptimizationSolver solver;
+
+    /**
+     * The publisher delivering the updates to the subscribers.
+     */
+    private final SubmissionPublisher<UniverseOptimizationUpdate> publisher;
+
+    /**
+     * The number of updates that have been dropped because of a full buffer.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * The time at which the search started (in nanoseconds).
+     */
+    private long startTime;
+
+    /**
+     * The cost of the best solution found so far.
+     */
+    private BigInteger bestCost;
+
+    /**
+     * The last lower bound that has been published.
+     */
+    private BigInteger lowerBound;
+
+    /**
+     * The last upper bound that has been published.
+     */
+    private BigInteger upperBound;
+
+    /**
+     * Creates a new UniverseImprovingSolutionPublisher.
+     *
+     * @param solver The solver whose progress is published.
+     * @param executor The executor used to deliver the updates to the subscribers.
+     * @param maxBufferCapacity The maximum number of updates buffered for each
+     *        subscriber.
+     */
+    public UniverseImprovingSolutionPublisher(IUniverseOptimizationSolver solver,
+            Executor executor, int maxBufferCapacity) {
+        this.solver = solver;
+        this.publisher = new SubmissionPublisher<>(executor, maxBufferCapacity);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.concurrent.Flow.Publisher#subscribe(java.util.concurrent.Flow.
+     * Subscriber)
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super UniverseOptimizationUpdate> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Solves the problem associated to the solver, while publishing its progress.
+     * This method blocks until the end of the search.
+     *
+     * @return The outcome of the search conducted by the solver.
+     */
+    public UniverseSolverResult solve() {
+        return publish(solver::solve);
+    }
+
+    /**
+     * Solves the problem associated to the solver under the given assumptions, while
+     * publishing its progress.
+     * This method blocks until the end of the search.
+     *
+     * @param assumptions The assumptions to consider when solving.
+     *
+     * @return The outcome of the search conducted by the solver.
+     */
+    public UniverseSolverResult solve(List<UniverseAssumption<BigInteger>> assumptions) {
+        return publish(() -> solver.solve(assumptions));
+    }
+
+    /**
+     * Performs a search while publishing the progress of the solver.
+     *
+     * @param search The search to perform.
+     *
+     * @return The outcome of the search.
+     */
+    private UniverseSolverResult publish(Supplier<UniverseSolverResult> search) {
+        if (publisher.isClosed()) {
+            throw new IllegalStateException("Progress of the solver has already been published");
+        }
+
+        boolean listening = addListener();
+        try {
+            startTime = System.nanoTime();
+            var result = search.get();
+            if (!listening && ((result == UniverseSolverResult.SATISFIABLE)
+                    || (result == UniverseSolverResult.OPTIMUM_FOUND))) {
+                // Only the final solution can be published.
+                publishSolution(solver.mapSolution(true), solver.getCurrentBound());
+            }
+            publishBounds();
+            publisher.close();
+            return result;
+
+        } catch (RuntimeException | Error e) {
+            publisher.closeExceptionally(e);
+            throw e;
+
+        } finally {
+            if (listening) {
+                solver.removeSearchListener(this);
+            }
+        }
+    }
+
+    /**
+     * Adds this publisher as a listener of the solver, if supported.
+     *
+     * @return Whether this publisher listens to the solver.
+     */
+    private boolean addListener() {
+        try {
+            solver.addSearchListener(this);
+            return true;
+
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gives the number of updates that have been dropped because the buffer of a
+     * subscriber was full.
+     *
+     * @return The number of dropped updates.
+     */
+    public long getDroppedUpdates() {
+        return dropped.sum();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onRestart()
+     */
+    @Override
+    public void onRestart() {
+        publishBounds();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution) {
+        onSolutionFound(solution, solver.getCurrentBound());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+     * util.Map, java.math.BigInteger)
+     */
+    @Override
+    public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution,
+            BigInteger cost) {
+        if (!isImproving(cost)) {
+            return;
+        }
+
+        if (!publisher.hasSubscribers()) {
+            // There is no need to copy the solution.
+            bestCost = cost;
+            return;
+        }
+
+        var named = new LinkedHashMap<String, BigInteger>();
+        for (var entry : solution.entrySet()) {
+            named.put(entry.getKey().getName(), entry.getValue());
+        }
+        publishSolution(named, cost);
+    }
+
+    /**
+     * Checks whether the given cost improves the best cost found so far.
+     *
+     * @param cost The cost to check.
+     *
+     * @return Whether the cost is improving.
+     */
+    private boolean isImproving(BigInteger cost) {
+        if ((bestCost == null) || (cost == null)) {
+            return true;
+        }
+
+        int comparison = cost.compareTo(bestCost);
+        return solver.isMinimization() ? (comparison < 0) : (comparison > 0);
+    }
+
+    /**
+     * Publishes an improving solution.
+     *
+     * @param solution The solution to publish.
+     * @param cost The cost of the solution.
+     */
+    private void publishSolution(Map<String, BigInteger> solution, BigInteger cost) {
+        bestCost = cost;
+        lowerBound = solver.getLowerBound();
+        upperBound = solver.getUpperBound();
+        offer(new UniverseOptimizationUpdate(Collections.unmodifiableMap(solution), cost,
+                lowerBound, upperBound, elapsedMs()));
+    }
+
+    /**
+     * Publishes the bounds of the solver, if they have changed since the last update.
+     */
+    private void publishBounds() {
+        var lb = solver.getLowerBound();
+        var ub = solver.getUpperBound();
+        if (Objects.equals(lb, lowerBound) && Objects.equals(ub, upperBound)) {
+            return;
+        }
+
+        lowerBound = lb;
+        upperBound = ub;
+        offer(new UniverseOptimizationUpdate(null, null, lb, ub, elapsedMs()));
+    }
+
+    /**
+     * Offers an update to the subscribers, without blocking.
+     *
+     * @param update The update to offer.
+     */
+    private void offer(UniverseOptimizationUpdate update) {
+        publisher.offer(update, (subscriber, item) -> {
+            dropped.increment();
+            return false;
+        });
+    }
+
+    /**
+     * Gives the time elapsed since the beginning of the search.
+     *
+     * @return The elapsed time (in milliseconds).
+     */
+    private long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+}
@@ -0,0 +1,68 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim;
+
+/**
+ * The UniverseOptimizationStrategy enumerates the strategies that can be used by a
+ * {@link UniverseBoundOptimizer} to optimize an objective function with successive
+ * satisfaction checks.
+ *
+ * In the following, the strategies are described for minimization problems.
+ * They are applied symmetrically to maximization problems.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public enum UniverseOptimizationStrategy {
+
+    /**
+     * The strategy looking for solutions that are strictly better than the best one
+     * found so far, until no such solution exists.
+     * Only the upper bound is improved during the search.
+     */
+    LINEAR_SAT_UNSAT,
+
+    /**
+     * The strategy looking for solutions having exactly the smallest cost that has not
+     * been refuted yet, until a solution is found.
+     * Only the lower bound is improved during the search.
+     */
+    LINEAR_UNSAT_SAT,
+
+    /**
+     * The strategy looking for solutions in the best half of the range of costs that
+     * have not been refuted yet.
+     * Both bounds are improved during the search.
+     */
+    BINARY,
+
+    /**
+     * The strategy looking for solutions in strata of exponentially increasing width
+     * starting from the lower bound, and switching to a binary search as soon as a
+     * solution is found.
+     * Like core-guided approaches, this strategy mostly improves the lower bound, while
+     * remaining efficient on problems having a large range of costs.
+     */
+    STRATIFIED
+
+}
@@ -0,0 +1,152 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * The UniverseOptimizationUpdate represents a piece of progress made by an
+ * {@link IUniverseOptimizationSolver}: either a new improving solution, or an update of
+ * the bounds of the objective function.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseOptimizationUpdate {
+
+    /**
+     * The improving solution, or {@code null} if this update only concerns the bounds.
+     */
+    private final Map<String, BigInteger> solution;
+
+    /**
+     * The cost of the improving solution, or {@code null} if this update only concerns
+     * the bounds.
+     */
+    private final BigInteger cost;
+
+    /**
+     * The lower bound of the objective function at the time of this update.
+     */
+    private final BigInteger lowerBound;
+
+    /**
+     * The upper bound of the objective function at the time of this update.
+     */
+    private final BigInteger upperBound;
+
+    /**
+     * The time elapsed since the beginning of the search (in milliseconds).
+     */
+    private final long elapsedMs;
+
+    /**
+     * Creates a new UniverseOptimizationUpdate.
+     *
+     * @param solution The improving solution, or {@code null} if the update only
+     *        concerns the bounds.
+     * @param cost The cost of the improving solution, or {@code null} if the update only
+     *        concerns the bounds.
+     * @param lowerBound The lower bound of the objective function.
+     * @param upperBound The upper bound of the objective function.
+     * @param elapsedMs The time elapsed since the beginning of the search (in
+     *        milliseconds).
+     */
+    public UniverseOptimizationUpdate(Map<String, BigInteger> solution, BigInteger cost,
+            BigInteger lowerBound, BigInteger upperBound, long elapsedMs) {
+        this.solution = solution;
+        this.cost = cost;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.elapsedMs = elapsedMs;
+    }
+
+    /**
+     * Checks whether this update brings a new improving solution.
+     *
+     * @return Whether this update contains a solution.
+     */
+    public boolean isSolution() {
+        return solution != null;
+    }
+
+    /**
+     * Gives the improving solution brought by this update.
+     *
+     * @return The improving solution, or {@code null} if this update only concerns the
+     *         bounds.
+     */
+    public Map<String, BigInteger> getSolution() {
+        return solution;
+    }
+
+    /**
+     * Gives the cost of the improving solution brought by this update.
+     *
+     * @return The cost of the solution, or {@code null} if this update only concerns the
+     *         bounds.
+     */
+    public BigInteger getCost() {
+        return cost;
+    }
+
+    /**
+     * Gives the lower bound of the objective function at the time of this update.
+     *
+     * @return The lower bound.
+     */
+    public BigInteger getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Gives the upper bound of the objective function at the time of this update.
+     *
+     * @return The upper bound.
+     */
+    public BigInteger getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Gives the time elapsed between the beginning of the search and this update.
+     *
+     * @return The elapsed time (in milliseconds).
+     */
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return (isSolution() ? ("solution of cost " + cost) : "bounds")
+                + " [" + lowerBound + ", " + upperBound + "] after " + elapsedMs + " ms";
+    }
+
+}
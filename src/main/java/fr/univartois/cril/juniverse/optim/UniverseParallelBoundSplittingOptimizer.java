@@ -0,0 +1,908 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+
+/**
+ * The UniverseParallelBoundSplittingOptimizer solves an optimization problem by
+ * partitioning the range of its objective function into intervals, and by running in
+ * parallel one solver per interval (using
+ * {@link IUniverseOptimizationSolver#setBounds(BigInteger, BigInteger)}).
+ *
+ * All the solvers must have been given the same problem.
+ * Each time a solver finds a solution improving the best known one, the part of the
+ * range that cannot contain better solutions is discarded: the solvers working on
+ * intervals that are entirely discarded are interrupted, and the bounds of the solvers
+ * working on intervals that are partially discarded are tightened.
+ * Each time a solver proves that an interval does not contain any solution, this
+ * interval is discarded too.
+ * Idle solvers are then given new intervals, according to the
+ * {@link UniverseBoundSplittingStrategy} in use.
+ * The optimum is proven when the whole range has been discarded.
+ * An interval whose search ends without any progress (e.g., when the solver gives up) is
+ * abandoned, and is not given to a solver again: the optimization stops when no interval
+ * remains to be assigned and no solver is running.
+ *
+ * Improving solutions are learned as soon as they are found, by listening to the search
+ * of each solver (see {@link IUniverseSearchListener#onSolutionFound(Map, BigInteger)}).
+ * Backends that do not support search listeners only report their solution when their
+ * search ends.
+ * The bounds of a running solver are tightened from another thread, so that only
+ * backends supporting such concurrent updates benefit from them.
+ * Other backends simply explore a larger interval than needed.
+ * For the same reason, the progress listeners may be notified from the threads running
+ * the solvers.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseParallelBoundSplittingOptimizer {
+
+    /**
+     * The solvers used to explore the intervals of the objective range.
+     */
+    private final List<? extends IUniverseOptimizationSolver> solvers;
+
+    /**
+     * Whether the objective function must be minimized.
+     */
+    private final boolean minimization;
+
+    /**
+     * The listeners notified about the progress of the optimization.
+     */
+    private final List<IUniverseBoundProgressListener> listeners =
+            new CopyOnWriteArrayList<>();
+
+    /**
+     * The strategy used to split the objective range into intervals.
+     */
+    private UniverseBoundSplittingStrategy strategy = UniverseBoundSplittingStrategy.LINEAR;
+
+    /**
+     * The time limit for the whole optimization (in milliseconds), or {@code 0} if there
+     * is no time limit.
+     */
+    private long timeoutMs;
+
+    /**
+     * The outcomes of the searches performed by the solvers, in the order in which they
+     * have terminated.
+     */
+    private final BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+
+    /**
+     * The intervals currently explored by the running solvers.
+     * This map is shared with the threads running the solvers, and is protected by the
+     * lock of this optimizer.
+     */
+    private final Map<IUniverseOptimizationSolver, UniverseBoundInterval> running =
+            new IdentityHashMap<>();
+
+    /**
+     * The solvers that have been interrupted because their interval has been entirely
+     * discarded.
+     * This set is protected by the lock of this optimizer.
+     */
+    private final Set<IUniverseOptimizationSolver> discarded =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The intervals that have been abandoned because their search has ended without any
+     * progress.
+     */
+    private final List<UniverseBoundInterval> abandoned = new ArrayList<>();
+
+    /**
+     * The part of the objective range that still has to be explored.
+     */
+    private UniverseBoundIntervalSet open = new UniverseBoundIntervalSet();
+
+    /**
+     * The cost of the best solution found so far.
+     */
+    private BigInteger bestCost;
+
+    /**
+     * The best solution found so far.
+     */
+    private Map<String, BigInteger> bestSolution;
+
+    /**
+     * The time at which the current optimization has started (in nanoseconds).
+     */
+    private long startTime;
+
+    /**
+     * Whether the optimization has been interrupted.
+     */
+    private volatile boolean interrupted;
+
+    /**
+     * Creates a new UniverseParallelBoundSplittingOptimizer.
+     *
+     * @param solvers The solvers used to explore the intervals of the objective range.
+     *        All these solvers must have been given the same problem.
+     *
+     * @throws IllegalArgumentException If no solver is given.
+     */
+    public UniverseParallelBoundSplittingOptimizer(
+            List<? extends IUniverseOptimizationSolver> solvers) {
+        if (solvers.isEmpty()) {
+            throw new IllegalArgumentException("At least one solver is required");
+        }
+        this.solvers = solvers;
+        this.minimization = solvers.get(0).isMinimization();
+    }
+
+    /**
+     * Sets the strategy used to split the objective range into intervals.
+     *
+     * @param strategy The strategy to use.
+     */
+    public void setStrategy(UniverseBoundSplittingStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Sets the time limit for the whole optimization.
+     *
+     * @param timeoutMs The time limit (in milliseconds), or {@code 0} to disable it.
+     */
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Adds a listener notified about the progress of the optimization.
+     *
+     * @param listener The listener to add.
+     */
+    public void addProgressListener(IUniverseBoundProgressListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener notified about the progress of the optimization.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeProgressListener(IUniverseBoundProgressListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Interrupts (asynchronously) the optimization currently performed by this
+     * optimizer.
+     */
+    public void interrupt() {
+        interrupted = true;
+        outcomes.add(Outcome.INTERRUPTION);
+    }
+
+    /**
+     * Searches for an optimal solution whose cost is within the given range.
+     *
+     * @param lb The lower bound of the objective range.
+     * @param ub The upper bound of the objective range.
+     *
+     * @return The outcome of the optimization, which is
+     *         {@link UniverseSolverResult#OPTIMUM_FOUND} if an optimal solution has been
+     *         found, {@link UniverseSolverResult#UNSATISFIABLE} if the range does not
+     *         contain any solution, {@link UniverseSolverResult#SATISFIABLE} if a
+     *         solution has been found but has not been proven optimal, and
+     *         {@link UniverseSolverResult#UNKNOWN} otherwise.
+     *
+     * @throws IllegalStateException If one of the solvers has failed.
+     */
+    public UniverseSolverResult optimize(BigInteger lb, BigInteger ub) {
+        synchronized (this) {
+            open = new UniverseBoundIntervalSet(lb, ub);
+            bestCost = null;
+            bestSolution = null;
+            discarded.clear();
+        }
+        startTime = System.nanoTime();
+        interrupted = false;
+        outcomes.clear();
+        abandoned.clear();
+
+        long deadline = (timeoutMs > 0)
+                ? (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs))
+                : Long.MAX_VALUE;
+        var executor = Executors.newFixedThreadPool(solvers.size(), runnable -> {
+            var thread = new Thread(runnable, "juniverse-bound-splitting");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<IUniverseOptimizationSolver> idle = new ArrayDeque<>(solvers);
+        RuntimeException failure = null;
+        var incumbentListeners = listenIncumbents();
+
+        try {
+            while (!isOptimumProven() && !interrupted) {
+                assign(idle, executor);
+                if (isIdle()) {
+                    // All the remaining intervals have been abandoned.
+                    break;
+                }
+
+                var outcome = nextOutcome(deadline);
+                if (outcome == null) {
+                    break;
+                }
+
+                synchronized (this) {
+                    running.remove(outcome.solver);
+                    discarded.remove(outcome.solver);
+                }
+                idle.add(outcome.solver);
+                if (outcome.failure != null) {
+                    failure = outcome.failure;
+                    break;
+                }
+                process(outcome);
+            }
+
+        } finally {
+            drain();
+            executor.shutdown();
+            for (var listener : incumbentListeners) {
+                listener.solver.removeSearchListener(listener);
+            }
+        }
+
+        if (failure != null) {
+            throw new IllegalStateException("A solver has failed during the optimization",
+                    failure);
+        }
+        return getResult();
+    }
+
+    /**
+     * Stops the solvers that are still running, and waits for them to return.
+     * Waiting is not interruptible, so that no solver is still running once the
+     * optimization is over: if the current thread is interrupted in the meantime, its
+     * interrupt status is restored after all solvers have returned.
+     */
+    private void drain() {
+        synchronized (this) {
+            for (var solver : running.keySet()) {
+                solver.interrupt();
+            }
+        }
+
+        boolean interruptedWhileDraining = false;
+        while (!isIdle()) {
+            Outcome outcome;
+            try {
+                outcome = outcomes.take();
+
+            } catch (InterruptedException e) {
+                interruptedWhileDraining = true;
+                continue;
+            }
+
+            if (outcome == Outcome.INTERRUPTION) {
+                continue;
+            }
+
+            synchronized (this) {
+                running.remove(outcome.solver);
+            }
+            if ((outcome.failure == null) && !interrupted) {
+                process(outcome);
+            }
+        }
+
+        if (interruptedWhileDraining) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gives idle solvers new intervals to explore.
+     *
+     * @param idle The idle solvers.
+     * @param executor The executor running the solvers.
+     */
+    private void assign(Deque<IUniverseOptimizationSolver> idle, ExecutorService executor) {
+        UniverseBoundIntervalSet free;
+        synchronized (this) {
+            free = open.copy();
+            for (var interval : running.values()) {
+                free.remove(interval.getLower(), interval.getUpper());
+            }
+        }
+        for (var interval : abandoned) {
+            free.remove(interval.getLower(), interval.getUpper());
+        }
+
+        var intervals = (strategy == UniverseBoundSplittingStrategy.LINEAR)
+                ? splitLinearly(free, idle.size())
+                : splitBinarily(free, idle.size());
+        for (var interval : intervals) {
+            var solver = idle.poll();
+            synchronized (this) {
+                running.put(solver, interval);
+            }
+            executor.execute(() -> explore(solver, interval));
+        }
+    }
+
+    /**
+     * Checks whether no solver is currently running.
+     *
+     * @return Whether all solvers are idle.
+     */
+    private synchronized boolean isIdle() {
+        return running.isEmpty();
+    }
+
+    /**
+     * Adds to each solver a listener learning the improving solutions it finds, so that
+     * the other solvers can be tightened without waiting for its search to end.
+     *
+     * @return The listeners that have been added.
+     */
+    private List<IncumbentListener> listenIncumbents() {
+        var added = new ArrayList<IncumbentListener>(solvers.size());
+        for (var solver : solvers) {
+            var listener = new IncumbentListener(solver);
+            try {
+                solver.addSearchListener(listener);
+                added.add(listener);
+
+            } catch (UnsupportedOperationException e) {
+                // The solution of this solver will be learned when its search ends.
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Splits the given set of values into intervals of equal width, starting from the
+     * most promising values.
+     *
+     * @param free The set of values to split.
+     * @param nbIntervals The maximum number of intervals to create.
+     *
+     * @return The created intervals.
+     */
+    private List<UniverseBoundInterval> splitLinearly(UniverseBoundIntervalSet free,
+            int nbIntervals) {
+        var intervals = new ArrayList<UniverseBoundInterval>(nbIntervals);
+        if (nbIntervals == 0) {
+            return intervals;
+        }
+
+        var segments = free.intervals();
+        if (!minimization) {
+            Collections.reverse(segments);
+        }
+
+        var total = BigInteger.ZERO;
+        for (var segment : segments) {
+            total = total.add(segment.width());
+        }
+        var width = ceilDiv(total, BigInteger.valueOf(nbIntervals));
+
+        for (var segment : segments) {
+            var lower = segment.getLower();
+            var upper = segment.getUpper();
+            while ((lower.compareTo(upper) <= 0) && (intervals.size() < nbIntervals)) {
+                if (minimization) {
+                    var end = lower.add(width).subtract(BigInteger.ONE).min(upper);
+                    intervals.add(new UniverseBoundInterval(lower, end));
+                    lower = end.add(BigInteger.ONE);
+
+                } else {
+                    var start = upper.subtract(width).add(BigInteger.ONE).max(lower);
+                    intervals.add(new UniverseBoundInterval(start, upper));
+                    upper = start.subtract(BigInteger.ONE);
+                }
+            }
+        }
+
+        return intervals;
+    }
+
+    /**
+     * Splits the given set of values by repeatedly taking the most promising half of its
+     * largest interval.
+     *
+     * @param free The set of values to split.
+     * @param nbIntervals The maximum number of intervals to create.
+     *
+     * @return The created intervals.
+     */
+    private List<UniverseBoundInterval> splitBinarily(UniverseBoundIntervalSet free,
+            int nbIntervals) {
+        var intervals = new ArrayList<UniverseBoundInterval>(nbIntervals);
+
+        while ((intervals.size() < nbIntervals) && !free.isEmpty()) {
+            UniverseBoundInterval largest = null;
+            for (var segment : free.intervals()) {
+                if ((largest == null) || (segment.width().compareTo(largest.width()) > 0)
+                        || (!minimization && (segment.width().compareTo(largest.width()) == 0))) {
+                    largest = segment;
+                }
+            }
+
+            var half = largest.width().shiftRight(1).max(BigInteger.ONE);
+            UniverseBoundInterval interval;
+            if (minimization) {
+                interval = new UniverseBoundInterval(largest.getLower(),
+                        largest.getLower().add(half).subtract(BigInteger.ONE));
+
+            } else {
+                interval = new UniverseBoundInterval(
+                        largest.getUpper().subtract(half).add(BigInteger.ONE), largest.getUpper());
+            }
+
+            intervals.add(interval);
+            free.remove(interval.getLower(), interval.getUpper());
+        }
+
+        return intervals;
+    }
+
+    /**
+     * Explores an interval of the objective range with a solver.
+     * This method is executed by the threads running the solvers.
+     *
+     * @param solver The solver exploring the interval.
+     * @param interval The interval to explore.
+     */
+    private void explore(IUniverseOptimizationSolver solver, UniverseBoundInterval interval) {
+        try {
+            solver.setBounds(interval.getLower(), interval.getUpper());
+            var result = solver.solve();
+            BigInteger cost = null;
+            Map<String, BigInteger> solution = null;
+
+            if ((result == UniverseSolverResult.SATISFIABLE)
+                    || (result == UniverseSolverResult.OPTIMUM_FOUND)) {
+                cost = solver.getCurrentBound();
+                solution = new HashMap<>(solver.mapSolution(true));
+            }
+
+            outcomes.add(new Outcome(solver, interval, result, cost, solution, null));
+
+        } catch (RuntimeException e) {
+            outcomes.add(new Outcome(solver, interval, UniverseSolverResult.UNKNOWN, null,
+                    null, e));
+        }
+    }
+
+    /**
+     * Waits for the next outcome of a solver.
+     *
+     * @param deadline The time at which to stop waiting (in nanoseconds).
+     *
+     * @return The next outcome, or {@code null} if the deadline has been reached or if
+     *         the optimization has been interrupted.
+     */
+    private Outcome nextOutcome(long deadline) {
+        try {
+            Outcome outcome;
+            if (deadline == Long.MAX_VALUE) {
+                outcome = outcomes.take();
+
+            } else {
+                outcome = outcomes.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+            return (outcome == Outcome.INTERRUPTION) ? null : outcome;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+            return null;
+        }
+    }
+
+    /**
+     * Updates the state of the optimization based on the outcome of a solver, and
+     * updates the running solvers accordingly.
+     *
+     * @param outcome The outcome to process.
+     */
+    private void process(Outcome outcome) {
+        Map<String, BigInteger> solution = null;
+        boolean progress;
+
+        synchronized (this) {
+            var before = open.intervals();
+            switch (outcome.result) {
+                case SATISFIABLE:
+                    solution = improve(outcome.cost, outcome.solution);
+                    if (!outcome.interval.contains(outcome.cost)) {
+                        // The solution does not allow to discard part of the interval.
+                        abandoned.add(outcome.interval);
+                    }
+                    break;
+
+                case OPTIMUM_FOUND:
+                    solution = improve(outcome.cost, outcome.solution);
+                    open.remove(outcome.interval.getLower(), outcome.interval.getUpper());
+                    break;
+
+                case UNSATISFIABLE:
+                    open.remove(outcome.interval.getLower(), outcome.interval.getUpper());
+                    break;
+
+                default:
+                    // Nothing has been learned: exploring this interval again may not help.
+                    abandoned.add(outcome.interval);
+                    break;
+            }
+            progress = (solution != null) || !before.equals(open.intervals());
+        }
+
+        if (progress) {
+            fireProgress(solution);
+        }
+        tightenRunningSolvers(null);
+    }
+
+    /**
+     * Records an improving solution found by a running solver, and tightens the other
+     * running solvers accordingly.
+     * This method is executed by the threads running the solvers.
+     *
+     * @param solver The solver that has found the solution.
+     * @param cost The cost of the solution.
+     * @param solution The solution.
+     */
+    private void improve(IUniverseOptimizationSolver solver, BigInteger cost,
+            Map<? extends IUniverseVariable, BigInteger> solution) {
+        if ((cost == null) || interrupted) {
+            return;
+        }
+
+        synchronized (this) {
+            if ((bestCost != null) && !isBetter(cost, bestCost)) {
+                // There is no need to copy the solution.
+                return;
+            }
+        }
+
+        var named = new HashMap<String, BigInteger>();
+        for (var entry : solution.entrySet()) {
+            named.put(entry.getKey().getName(), entry.getValue());
+        }
+
+        Map<String, BigInteger> improved;
+        synchronized (this) {
+            improved = improve(cost, named);
+        }
+
+        if (improved != null) {
+            fireProgress(improved);
+            tightenRunningSolvers(solver);
+        }
+    }
+
+    /**
+     * Records a new solution, if it improves the best solution found so far.
+     *
+     * @param cost The cost of the solution.
+     * @param solution The solution.
+     *
+     * @return The solution if it is the new best solution, {@code null} otherwise.
+     */
+    private Map<String, BigInteger> improve(BigInteger cost, Map<String, BigInteger> solution) {
+        if ((bestCost != null) && !isBetter(cost, bestCost)) {
+            return null;
+        }
+
+        bestCost = cost;
+        bestSolution = solution;
+        if (minimization) {
+            open.removeFrom(cost);
+
+        } else {
+            open.removeUpTo(cost);
+        }
+        return solution;
+    }
+
+    /**
+     * Notifies the listeners about the progress of the optimization.
+     *
+     * @param solution The new solution that has been found, if any.
+     */
+    private void fireProgress(Map<String, BigInteger> solution) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        var update = new UniverseOptimizationUpdate(
+                (solution == null) ? null : Collections.unmodifiableMap(solution),
+                (solution == null) ? null : getBestCost(), getLowerBound(), getUpperBound(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        for (var listener : listeners) {
+            listener.onProgress(update);
+        }
+    }
+
+    /**
+     * Interrupts the solvers whose interval has been entirely discarded, and tightens
+     * the bounds of those whose interval has been partially discarded.
+     *
+     * @param source The solver that has found the new best solution, which is left
+     *        untouched, or {@code null} to consider all the running solvers.
+     */
+    private synchronized void tightenRunningSolvers(IUniverseOptimizationSolver source) {
+        for (var entry : running.entrySet()) {
+            var solver = entry.getKey();
+            var interval = entry.getValue();
+            if ((solver == source) || discarded.contains(solver)) {
+                continue;
+            }
+
+            if (!open.intersects(interval)) {
+                discarded.add(solver);
+                solver.interrupt();
+                continue;
+            }
+
+            if (bestCost == null) {
+                continue;
+            }
+
+            if (minimization && (interval.getUpper().compareTo(bestCost) >= 0)) {
+                var upper = bestCost.subtract(BigInteger.ONE);
+                entry.setValue(new UniverseBoundInterval(interval.getLower(), upper));
+                solver.setUpperBound(upper);
+
+            } else if (!minimization && (interval.getLower().compareTo(bestCost) <= 0)) {
+                var lower = bestCost.add(BigInteger.ONE);
+                entry.setValue(new UniverseBoundInterval(lower, interval.getUpper()));
+                solver.setLowerBound(lower);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a cost is better than another one.
+     *
+     * @param cost The cost to check.
+     * @param reference The cost to compare with.
+     *
+     * @return Whether {@code cost} is better than {@code reference}.
+     */
+    private boolean isBetter(BigInteger cost, BigInteger reference) {
+        int comparison = cost.compareTo(reference);
+        return minimization ? (comparison < 0) : (comparison > 0);
+    }
+
+    /**
+     * Checks whether the whole objective range has been explored.
+     *
+     * @return Whether the optimization is over.
+     */
+    private synchronized boolean isOptimumProven() {
+        return open.isEmpty();
+    }
+
+    /**
+     * Gives the result of the last optimization.
+     *
+     * @return The result of the optimization.
+     */
+    private synchronized UniverseSolverResult getResult() {
+        if (open.isEmpty()) {
+            return (bestCost == null) ? UniverseSolverResult.UNSATISFIABLE
+                    : UniverseSolverResult.OPTIMUM_FOUND;
+        }
+        return (bestCost == null) ? UniverseSolverResult.UNKNOWN
+                : UniverseSolverResult.SATISFIABLE;
+    }
+
+    /**
+     * Gives the cost of the best solution found so far.
+     *
+     * @return The best cost, or {@code null} if no solution has been found.
+     */
+    public synchronized BigInteger getBestCost() {
+        return bestCost;
+    }
+
+    /**
+     * Gives the best solution found so far.
+     *
+     * @return The best solution, or {@code null} if no solution has been found.
+     */
+    public synchronized Map<String, BigInteger> getBestSolution() {
+        return (bestSolution == null) ? null : Collections.unmodifiableMap(bestSolution);
+    }
+
+    /**
+     * Gives the best lower bound proven so far for the objective function.
+     *
+     * @return The lower bound, or {@code null} if it is not known.
+     */
+    public synchronized BigInteger getLowerBound() {
+        if (!minimization) {
+            return bestCost;
+        }
+        return open.isEmpty() ? bestCost : open.min();
+    }
+
+    /**
+     * Gives the best upper bound proven so far for the objective function.
+     *
+     * @return The upper bound, or {@code null} if it is not known.
+     */
+    public synchronized BigInteger getUpperBound() {
+        if (minimization) {
+            return bestCost;
+        }
+        return open.isEmpty() ? bestCost : open.max();
+    }
+
+    /**
+     * Computes the ceiling of the division of two positive integers.
+     *
+     * @param dividend The dividend.
+     * @param divisor The divisor.
+     *
+     * @return The ceiling of {@code dividend / divisor}.
+     */
+    private static BigInteger ceilDiv(BigInteger dividend, BigInteger divisor) {
+        var result = dividend.add(divisor).subtract(BigInteger.ONE).divide(divisor);
+        return result.max(BigInteger.ONE);
+    }
+
+    /**
+     * The IncumbentListener learns the improving solutions found by a solver during its
+     * search.
+     */
+    private final class IncumbentListener implements IUniverseSearchListener {
+
+        /**
+         * The solver listened to by this listener.
+         */
+        final IUniverseOptimizationSolver solver;
+
+        /**
+         * Creates a new IncumbentListener.
+         *
+         * @param solver The solver listened to by this listener.
+         */
+        IncumbentListener(IUniverseOptimizationSolver solver) {
+            this.solver = solver;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see
+         * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+         * util.Map)
+         */
+        @Override
+        public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution) {
+            improve(solver, solver.getCurrentBound(), solution);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see
+         * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onSolutionFound(java.
+         * util.Map, java.math.BigInteger)
+         */
+        @Override
+        public void onSolutionFound(Map<? extends IUniverseVariable, BigInteger> solution,
+                BigInteger cost) {
+            improve(solver, cost, solution);
+        }
+
+    }
+
+    /**
+     * The Outcome represents the outcome of the exploration of an interval by a solver.
+     */
+    private static final class Outcome {
+
+        /**
+         * The outcome used to signal that the optimization has been interrupted.
+         */
+        static final Outcome INTERRUPTION = new Outcome(null, null, null, null, null, null);
+
+        /**
+         * The solver that has explored the interval.
+         */
+        final IUniverseOptimizationSolver solver;
+
+        /**
+         * The explored interval.
+         */
+        final UniverseBoundInterval interval;
+
+        /**
+         * The result of the search.
+         */
+        final UniverseSolverResult result;
+
+        /**
+         * The cost of the solution found by the solver, if any.
+         */
+        final BigInteger cost;
+
+        /**
+         * The solution found by the solver, if any.
+         */
+        final Map<String, BigInteger> solution;
+
+        /**
+         * The exception thrown by the solver, if any.
+         */
+        final RuntimeException failure;
+
+        /**
+         * Creates a new Outcome.
+         *
+         * @param solver The solver that has explored the interval.
+         * @param interval The explored interval.
+         * @param result The result of the search.
+         * @param cost The cost of the solution found by the solver, if any.
+         * @param solution The solution found by the solver, if any.
+         * @param failure The exception thrown by the solver, if any.
+         */
+        Outcome(IUniverseOptimizationSolver solver, UniverseBoundInterval interval,
+                UniverseSolverResult result, BigInteger cost, Map<String, BigInteger> solution,
+                RuntimeException failure) {
+            this.solver = solver;
+            this.interval = interval;
+            this.result = result;
+            this.cost = cost;
+            this.solution = solution;
+            this.failure = failure;
+        }
+
+    }
+
+}
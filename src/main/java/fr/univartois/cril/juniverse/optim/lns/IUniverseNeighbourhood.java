@@ -0,0 +1,59 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim.lns;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import fr.univartois.cril.juniverse.optim.IUniverseOptimizationSolver;
+
+/**
+ * The IUniverseNeighbourhood interface defines the contract for the neighbourhoods
+ * explored by a {@link UniverseLargeNeighbourhoodSearch}.
+ * A neighbourhood selects the variables to relax in the current best solution, while
+ * all other variables keep the value they have in this solution.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@FunctionalInterface
+public interface IUniverseNeighbourhood {
+
+    /**
+     * Selects the variables to relax in the given solution.
+     *
+     * @param solver The solver that will explore the neighbourhood.
+     * @param incumbent The current best solution.
+     * @param size The number of variables to relax.
+     *        It is always between {@code 1} and the number of variables in
+     *        {@code incumbent}.
+     * @param random The random number generator to use.
+     *
+     * @return The names of the variables to relax.
+     */
+    Set<String> relax(IUniverseOptimizationSolver solver, Map<String, BigInteger> incumbent,
+            int size, Random random);
+
+}
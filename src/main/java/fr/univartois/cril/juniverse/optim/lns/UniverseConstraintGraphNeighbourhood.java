@@ -0,0 +1,126 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim.lns;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.optim.IUniverseOptimizationSolver;
+
+/**
+ * The UniverseConstraintGraphNeighbourhood relaxes variables that are close to each
+ * other in the constraint graph of the problem.
+ * Starting from a variable chosen at random, the variables sharing constraints with
+ * already relaxed variables are relaxed in a breadth-first manner, so that the
+ * relaxed variables are likely to interact.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseConstraintGraphNeighbourhood implements IUniverseNeighbourhood {
+
+    /**
+     * Creates a new UniverseConstraintGraphNeighbourhood.
+     */
+    public UniverseConstraintGraphNeighbourhood() {
+        // Nothing to initialize.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.optim.lns.IUniverseNeighbourhood#relax(fr.univartois.
+     * cril.juniverse.optim.IUniverseOptimizationSolver, java.util.Map, int,
+     * java.util.Random)
+     */
+    @Override
+    public Set<String> relax(IUniverseOptimizationSolver solver,
+            Map<String, BigInteger> incumbent, int size, Random random) {
+        var relaxed = new LinkedHashSet<String>();
+        expand(solver.getVariablesMapping(), incumbent.keySet(), relaxed, size, random);
+        return relaxed;
+    }
+
+    /**
+     * Relaxes the neighbours of the relaxed variables in the constraint graph, until the
+     * expected number of variables is relaxed.
+     * When all the neighbours of the relaxed variables are relaxed, a new variable is
+     * chosen at random to continue the expansion.
+     *
+     * @param variables The mapping of the variables of the problem.
+     * @param candidates The names of the variables that may be relaxed.
+     * @param relaxed The names of the variables that are already relaxed, in which the
+     *        newly relaxed variables are added.
+     * @param size The number of variables to relax.
+     * @param random The random number generator to use.
+     */
+    static void expand(Map<String, IUniverseVariable> variables, Collection<String> candidates,
+            Set<String> relaxed, int size, Random random) {
+        var queue = new ArrayDeque<>(relaxed);
+        List<String> remaining = null;
+
+        while (relaxed.size() < size) {
+            if (queue.isEmpty()) {
+                // Restarting the expansion from a variable that is not relaxed yet.
+                if (remaining == null) {
+                    remaining = new ArrayList<>(candidates);
+                    Collections.sort(remaining);
+                    Collections.shuffle(remaining, random);
+                }
+                var seed = remaining.remove(remaining.size() - 1);
+                if (relaxed.add(seed)) {
+                    queue.add(seed);
+                }
+                continue;
+            }
+
+            var variable = variables.get(queue.poll());
+            if (variable == null) {
+                continue;
+            }
+
+            var constraints = new ArrayList<>(variable.getConstraints());
+            Collections.shuffle(constraints, random);
+            for (var constraint : constraints) {
+                for (var neighbour : constraint.scope()) {
+                    var name = neighbour.getName();
+                    if ((relaxed.size() < size) && candidates.contains(name)
+                            && relaxed.add(name)) {
+                        queue.add(name);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,539 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim.lns;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import fr.univartois.cril.juniverse.core.UniverseAssumption;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.optim.IUniverseBoundProgressListener;
+import fr.univartois.cril.juniverse.optim.IUniverseOptimizationSolver;
+import fr.univartois.cril.juniverse.optim.UniverseOptimizationUpdate;
+
+/**
+ * The UniverseLargeNeighbourhoodSearch improves the solution of an optimization problem
+ * by repeatedly fixing most of its variables to their value in the best solution found
+ * so far (using {@link UniverseAssumption}s), and by searching for a better solution in
+ * the remaining part of the search space within a short time limit.
+ *
+ * The neighbourhoods are explored in parallel, each solver working on its own copy of
+ * the problem.
+ * The proportion of fixed variables is adapted by each solver independently: it is
+ * decreased when a neighbourhood is proven not to contain any improving solution, and
+ * increased when the exploration of a neighbourhood reaches its time limit.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseLargeNeighbourhoodSearch {
+
+    /**
+     * The amount by which the proportion of fixed variables is adapted.
+     */
+    private static final double FIXED_FRACTION_STEP = 0.05;
+
+    /**
+     * The solvers used to explore the neighbourhoods.
+     */
+    private final List<? extends IUniverseOptimizationSolver> solvers;
+
+    /**
+     * Whether the objective function must be minimized.
+     */
+    private final boolean minimization;
+
+    /**
+     * The neighbourhoods to explore.
+     */
+    private final List<IUniverseNeighbourhood> neighbourhoods = new ArrayList<>();
+
+    /**
+     * The listeners notified about the progress of the search.
+     */
+    private final List<IUniverseBoundProgressListener> listeners =
+            new CopyOnWriteArrayList<>();
+
+    /**
+     * The initial proportion of variables to fix in each neighbourhood.
+     */
+    private double fixedFraction = 0.8;
+
+    /**
+     * The time limit for the exploration of a neighbourhood (in milliseconds).
+     */
+    private long iterationTimeoutMs = 1000;
+
+    /**
+     * The time limit for the whole search (in milliseconds), or {@code 0} if there is no
+     * time limit.
+     */
+    private long timeoutMs;
+
+    /**
+     * The seed of the random number generators used by the solvers.
+     */
+    private long seed;
+
+    /**
+     * The cost of the best solution found so far.
+     */
+    private BigInteger bestCost;
+
+    /**
+     * The best solution found so far.
+     */
+    private Map<String, BigInteger> bestSolution;
+
+    /**
+     * Whether the best solution found so far has been proven optimal.
+     */
+    private boolean optimal;
+
+    /**
+     * The time at which the current search has started (in nanoseconds).
+     */
+    private long startTime;
+
+    /**
+     * The time at which the current search must stop (in nanoseconds).
+     */
+    private long deadline;
+
+    /**
+     * Whether the search has been interrupted.
+     */
+    private volatile boolean interrupted;
+
+    /**
+     * Creates a new UniverseLargeNeighbourhoodSearch.
+     *
+     * @param solvers The solvers used to explore the neighbourhoods.
+     *        All these solvers must have been given the same problem.
+     *
+     * @throws IllegalArgumentException If no solver is given.
+     */
+    public UniverseLargeNeighbourhoodSearch(List<? extends IUniverseOptimizationSolver> solvers) {
+        if (solvers.isEmpty()) {
+            throw new IllegalArgumentException("At least one solver is required");
+        }
+        this.solvers = solvers;
+        this.minimization = solvers.get(0).isMinimization();
+    }
+
+    /**
+     * Adds a neighbourhood to explore.
+     * The neighbourhoods are explored in turn by each solver.
+     * If no neighbourhood is added, a {@link UniverseRandomNeighbourhood} is used.
+     *
+     * @param neighbourhood The neighbourhood to add.
+     */
+    public void addNeighbourhood(IUniverseNeighbourhood neighbourhood) {
+        neighbourhoods.add(neighbourhood);
+    }
+
+    /**
+     * Sets the initial proportion of variables to fix in each neighbourhood.
+     *
+     * @param fixedFraction The proportion of variables to fix, between {@code 0} and
+     *        {@code 1}.
+     *
+     * @throws IllegalArgumentException If the given proportion is not between {@code 0}
+     *         and {@code 1}.
+     */
+    public void setFixedFraction(double fixedFraction) {
+        if ((fixedFraction < 0) || (fixedFraction > 1)) {
+            throw new IllegalArgumentException("Invalid fraction: " + fixedFraction);
+        }
+        this.fixedFraction = fixedFraction;
+    }
+
+    /**
+     * Sets the time limit for the exploration of a neighbourhood.
+     *
+     * @param iterationTimeoutMs The time limit (in milliseconds).
+     */
+    public void setIterationTimeoutMs(long iterationTimeoutMs) {
+        this.iterationTimeoutMs = iterationTimeoutMs;
+    }
+
+    /**
+     * Sets the time limit for the whole search.
+     *
+     * @param timeoutMs The time limit (in milliseconds), or {@code 0} to disable it.
+     */
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Sets the seed of the random number generators used to select the neighbourhoods.
+     *
+     * @param seed The seed to use.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Adds a listener notified about the progress of the search.
+     *
+     * @param listener The listener to add.
+     */
+    public void addProgressListener(IUniverseBoundProgressListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener notified about the progress of the search.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeProgressListener(IUniverseBoundProgressListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Interrupts (asynchronously) the search currently performed.
+     */
+    public void interrupt() {
+        interrupted = true;
+        for (var solver : solvers) {
+            solver.interrupt();
+        }
+    }
+
+    /**
+     * Searches for a good solution, starting from the first solution found by the first
+     * solver.
+     * Note that if this solver performs optimization natively, the initial search may
+     * take the whole time limit: use {@link #search(Map, BigInteger)} to provide an
+     * initial solution in this case.
+     *
+     * @return The outcome of the search.
+     *
+     * @see #search(Map, BigInteger)
+     */
+    public UniverseSolverResult search() {
+        start();
+        var solver = solvers.get(0);
+        solver.setTimeoutMs(remainingMs());
+        var result = solver.solve();
+
+        if ((result == UniverseSolverResult.SATISFIABLE)
+                || (result == UniverseSolverResult.OPTIMUM_FOUND)) {
+            improve(solver.getCurrentBound(), new HashMap<>(solver.mapSolution(true)),
+                    result == UniverseSolverResult.OPTIMUM_FOUND);
+            return improve();
+        }
+        return result;
+    }
+
+    /**
+     * Searches for a solution better than the given one.
+     *
+     * @param initialSolution The initial solution, which must be a solution of the
+     *        problem.
+     * @param initialCost The cost of the initial solution.
+     *
+     * @return The outcome of the search, which is
+     *         {@link UniverseSolverResult#OPTIMUM_FOUND} if the best solution has been
+     *         proven optimal, and {@link UniverseSolverResult#SATISFIABLE} otherwise.
+     *
+     * @throws IllegalStateException If one of the solvers has failed.
+     */
+    public UniverseSolverResult search(Map<String, BigInteger> initialSolution,
+            BigInteger initialCost) {
+        start();
+        improve(initialCost, new HashMap<>(initialSolution), false);
+        return improve();
+    }
+
+    /**
+     * Initializes the state of this search.
+     */
+    private void start() {
+        synchronized (this) {
+            bestCost = null;
+            bestSolution = null;
+            optimal = false;
+        }
+        interrupted = false;
+        startTime = System.nanoTime();
+        deadline = (timeoutMs > 0) ? (startTime + TimeUnit.MILLISECONDS.toNanos(timeoutMs))
+                : Long.MAX_VALUE;
+    }
+
+    /**
+     * Improves the best solution found so far by exploring neighbourhoods in parallel.
+     *
+     * @return The outcome of the search.
+     *
+     * @throws IllegalStateException If one of the solvers has failed.
+     */
+    private UniverseSolverResult improve() {
+        var executor = Executors.newFixedThreadPool(solvers.size(), runnable -> {
+            var thread = new Thread(runnable, "juniverse-lns");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            var futures = new ArrayList<Future<?>>(solvers.size());
+            for (int i = 0; i < solvers.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> explore(index)));
+            }
+
+            for (var future : futures) {
+                try {
+                    future.get();
+
+                } catch (ExecutionException e) {
+                    interrupt();
+                    throw new IllegalStateException("A solver has failed during the search",
+                            e.getCause());
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupt();
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return isOptimal() ? UniverseSolverResult.OPTIMUM_FOUND : UniverseSolverResult.SATISFIABLE;
+    }
+
+    /**
+     * Explores neighbourhoods of the best solution with one of the solvers, until the
+     * search is over.
+     * This method is executed by the threads running the solvers.
+     *
+     * @param index The index of the solver to use.
+     */
+    private void explore(int index) {
+        var solver = solvers.get(index);
+        var random = new Random(seed + index);
+        var fraction = fixedFraction;
+        List<IUniverseNeighbourhood> available = neighbourhoods.isEmpty()
+                ? List.of(new UniverseRandomNeighbourhood())
+                : neighbourhoods;
+
+        for (int iteration = index; !isOver(); iteration++) {
+            BigInteger cost;
+            Map<String, BigInteger> incumbent;
+            synchronized (this) {
+                cost = bestCost;
+                incumbent = bestSolution;
+            }
+
+            // Selecting the variables to fix.
+            var neighbourhood = available.get(iteration % available.size());
+            int size = (int) Math.ceil(incumbent.size() * (1 - fraction));
+            size = Math.max(1, Math.min(size, incumbent.size()));
+            var relaxed = neighbourhood.relax(solver, incumbent, size, random);
+            var assumptions = new ArrayList<UniverseAssumption<BigInteger>>();
+            for (var assignment : incumbent.entrySet()) {
+                if (!relaxed.contains(assignment.getKey())) {
+                    assumptions.add(new UniverseAssumption<>(assignment.getKey(), true,
+                            assignment.getValue()));
+                }
+            }
+
+            // Looking for an improving solution in the neighbourhood.
+            if (minimization) {
+                solver.setUpperBound(cost.subtract(BigInteger.ONE));
+
+            } else {
+                solver.setLowerBound(cost.add(BigInteger.ONE));
+            }
+            solver.setTimeoutMs(Math.min(iterationTimeoutMs, remainingMs()));
+            var result = solver.solve(assumptions);
+
+            if ((result == UniverseSolverResult.SATISFIABLE)
+                    || (result == UniverseSolverResult.OPTIMUM_FOUND)) {
+                improve(solver.getCurrentBound(), new HashMap<>(solver.mapSolution(true)),
+                        assumptions.isEmpty() && (result == UniverseSolverResult.OPTIMUM_FOUND));
+
+            } else if (result == UniverseSolverResult.UNSATISFIABLE) {
+                if (assumptions.isEmpty()) {
+                    // The whole search space has been explored.
+                    proveOptimality(cost);
+                }
+                fraction = Math.max(0, fraction - FIXED_FRACTION_STEP);
+
+            } else if (!isOver()) {
+                fraction = Math.min(1, fraction + FIXED_FRACTION_STEP);
+            }
+        }
+    }
+
+    /**
+     * Records a solution, if it improves the best solution found so far.
+     *
+     * @param cost The cost of the solution.
+     * @param solution The solution.
+     * @param proven Whether the solution has been proven optimal.
+     */
+    private void improve(BigInteger cost, Map<String, BigInteger> solution, boolean proven) {
+        synchronized (this) {
+            if ((bestCost != null) && !isBetter(cost, bestCost)) {
+                return;
+            }
+            bestCost = cost;
+            bestSolution = solution;
+            optimal = proven;
+            fireProgress(cost, solution);
+        }
+    }
+
+    /**
+     * Records that there is no solution better than the given one.
+     *
+     * @param cost The cost of the solution that has been proven optimal.
+     */
+    private void proveOptimality(BigInteger cost) {
+        synchronized (this) {
+            if (!cost.equals(bestCost)) {
+                return;
+            }
+            optimal = true;
+            fireProgress(null, null);
+        }
+    }
+
+    /**
+     * Notifies the listeners about the progress of the search.
+     * This method is invoked while holding the lock of this object, so that the
+     * listeners are notified in the order in which the progress has been made.
+     *
+     * @param cost The cost of the new solution that has been found, if any.
+     * @param solution The new solution that has been found, if any.
+     */
+    private void fireProgress(BigInteger cost, Map<String, BigInteger> solution) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        var update = new UniverseOptimizationUpdate(
+                (solution == null) ? null : Collections.unmodifiableMap(solution), cost,
+                getLowerBound(), getUpperBound(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        for (var listener : listeners) {
+            listener.onProgress(update);
+        }
+    }
+
+    /**
+     * Checks whether a cost is better than another one.
+     *
+     * @param cost The cost to check.
+     * @param reference The cost to compare with.
+     *
+     * @return Whether {@code cost} is better than {@code reference}.
+     */
+    private boolean isBetter(BigInteger cost, BigInteger reference) {
+        int comparison = cost.compareTo(reference);
+        return minimization ? (comparison < 0) : (comparison > 0);
+    }
+
+    /**
+     * Checks whether the search is over.
+     *
+     * @return Whether the search is over.
+     */
+    private boolean isOver() {
+        return interrupted || (System.nanoTime() >= deadline) || isOptimal();
+    }
+
+    /**
+     * Gives the time remaining before the search must stop.
+     *
+     * @return The remaining time (in milliseconds), which is at least {@code 1}.
+     */
+    private long remainingMs() {
+        if (deadline == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * Checks whether the best solution found so far has been proven optimal.
+     *
+     * @return Whether the best solution is optimal.
+     */
+    public synchronized boolean isOptimal() {
+        return optimal;
+    }
+
+    /**
+     * Gives the cost of the best solution found so far.
+     *
+     * @return The best cost, or {@code null} if no solution has been found.
+     */
+    public synchronized BigInteger getBestCost() {
+        return bestCost;
+    }
+
+    /**
+     * Gives the best solution found so far.
+     *
+     * @return The best solution, or {@code null} if no solution has been found.
+     */
+    public synchronized Map<String, BigInteger> getBestSolution() {
+        return (bestSolution == null) ? null : Collections.unmodifiableMap(bestSolution);
+    }
+
+    /**
+     * Gives the best lower bound known so far for the objective function.
+     *
+     * @return The lower bound, or {@code null} if it is not known.
+     */
+    private synchronized BigInteger getLowerBound() {
+        return (minimization && !optimal) ? null : bestCost;
+    }
+
+    /**
+     * Gives the best upper bound known so far for the objective function.
+     *
+     * @return The upper bound, or {@code null} if it is not known.
+     */
+    private synchronized BigInteger getUpperBound() {
+        return (!minimization && !optimal) ? null : bestCost;
+    }
+
+}
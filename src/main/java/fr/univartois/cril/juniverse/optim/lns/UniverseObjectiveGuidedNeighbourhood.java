@@ -0,0 +1,102 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim.lns;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import fr.univartois.cril.juniverse.optim.IUniverseOptimizationSolver;
+
+/**
+ * The UniverseObjectiveGuidedNeighbourhood relaxes the variables that contribute the
+ * most to the cost of a linear objective function, together with their neighbours in
+ * the constraint graph of the problem.
+ *
+ * Half of the relaxed variables are drawn among the variables of the objective function
+ * having the worst contributions, and the other half is made of their neighbours.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseObjectiveGuidedNeighbourhood implements IUniverseNeighbourhood {
+
+    /**
+     * The coefficients of the variables in the objective function.
+     */
+    private final Map<String, BigInteger> coefficients;
+
+    /**
+     * Creates a new UniverseObjectiveGuidedNeighbourhood.
+     *
+     * @param coefficients The coefficients of the variables in the (linear) objective
+     *        function.
+     */
+    public UniverseObjectiveGuidedNeighbourhood(Map<String, BigInteger> coefficients) {
+        this.coefficients = Map.copyOf(coefficients);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.optim.lns.IUniverseNeighbourhood#relax(fr.univartois.
+     * cril.juniverse.optim.IUniverseOptimizationSolver, java.util.Map, int,
+     * java.util.Random)
+     */
+    @Override
+    public Set<String> relax(IUniverseOptimizationSolver solver,
+            Map<String, BigInteger> incumbent, int size, Random random) {
+        // Sorting the variables of the objective from the worst contribution to the best.
+        var objective = new ArrayList<String>();
+        for (var variable : coefficients.keySet()) {
+            if (incumbent.containsKey(variable)) {
+                objective.add(variable);
+            }
+        }
+        Comparator<String> byContribution = Comparator.comparing(
+                variable -> coefficients.get(variable).multiply(incumbent.get(variable)));
+        objective.sort(byContribution.thenComparing(Comparator.naturalOrder()));
+        if (solver.isMinimization()) {
+            Collections.reverse(objective);
+        }
+
+        // Drawing half of the variables among the worst contributors.
+        int nbSeeds = Math.min(Math.max(1, size / 2), objective.size());
+        var candidates = new ArrayList<>(
+                objective.subList(0, Math.min(2 * nbSeeds, objective.size())));
+        Collections.shuffle(candidates, random);
+        var relaxed = new LinkedHashSet<>(candidates.subList(0, nbSeeds));
+
+        // Completing with the neighbours of these variables.
+        UniverseConstraintGraphNeighbourhood.expand(solver.getVariablesMapping(),
+                incumbent.keySet(), relaxed, size, random);
+        return relaxed;
+    }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.optim.lns;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import fr.univartois.cril.juniverse.optim.IUniverseOptimizationSolver;
+
+/**
+ * The UniverseRandomNeighbourhood relaxes variables chosen uniformly at random.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseRandomNeighbourhood implements IUniverseNeighbourhood {
+
+    /**
+     * Creates a new UniverseRandomNeighbourhood.
+     */
+    public UniverseRandomNeighbourhood() {
+        // Nothing to initialize.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.optim.lns.IUniverseNeighbourhood#relax(fr.univartois.
+     * cril.juniverse.optim.IUniverseOptimizationSolver, java.util.Map, int,
+     * java.util.Random)
+     */
+    @Override
+    public Set<String> relax(IUniverseOptimizationSolver solver,
+            Map<String, BigInteger> incumbent, int size, Random random) {
+        var variables = new ArrayList<>(incumbent.keySet());
+        Collections.sort(variables);
+        Collections.shuffle(variables, random);
+        return new HashSet<>(variables.subList(0, size));
+    }
+
+}
@@ -0,0 +1,12 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.optim.lns} package provides a large
+ * neighbourhood search engine built on top of solving assumptions, together with the
+ * neighbourhoods it may explore.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.optim.lns;
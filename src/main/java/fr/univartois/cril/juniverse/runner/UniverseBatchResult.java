@@ -0,0 +1,223 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.util.Locale;
+
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.utils.UniverseProblemKind;
+
+/**
+ * The UniverseBatchResult is the outcome of the solving of an instance of a batch.
+ * It can be formatted as a CSV or as a JSON line, so that results are streamed as soon
+ * as they are available.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseBatchResult {
+
+    /**
+     * The header of the CSV representation of the results.
+     */
+    public static final String CSV_HEADER = "instance,kind,result,status,wallTimeMs,error";
+
+    /**
+     * The path of the instance.
+     */
+    private final String instance;
+
+    /**
+     * The kind of the instance.
+     */
+    private final UniverseProblemKind kind;
+
+    /**
+     * The result of the solver.
+     */
+    private final UniverseSolverResult result;
+
+    /**
+     * The way in which the solving ended.
+     */
+    private final UniverseBatchStatus status;
+
+    /**
+     * The wall-clock time spent on the instance (including its loading), in milliseconds.
+     */
+    private final double wallTimeMs;
+
+    /**
+     * The message of the error that occurred, if any.
+     */
+    private final String error;
+
+    /**
+     * Creates a new UniverseBatchResult.
+     *
+     * @param instance The path of the instance.
+     * @param kind The kind of the instance.
+     * @param result The result of the solver.
+     * @param status The way in which the solving ended.
+     * @param wallTimeMs The wall-clock time spent on the instance, in milliseconds.
+     * @param error The message of the error that occurred, or {@code null} if there is
+     *        none.
+     */
+    public UniverseBatchResult(String instance, UniverseProblemKind kind,
+            UniverseSolverResult result, UniverseBatchStatus status, double wallTimeMs,
+            String error) {
+        this.instance = instance;
+        this.kind = kind;
+        this.result = result;
+        this.status = status;
+        this.wallTimeMs = wallTimeMs;
+        this.error = error;
+    }
+
+    /**
+     * Gives the path of the instance.
+     *
+     * @return The path of the instance.
+     */
+    public String getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gives the kind of the instance.
+     *
+     * @return The kind of the instance.
+     */
+    public UniverseProblemKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gives the result of the solver.
+     *
+     * @return The result of the solver.
+     */
+    public UniverseSolverResult getResult() {
+        return result;
+    }
+
+    /**
+     * Gives the way in which the solving ended.
+     *
+     * @return The status of the solving.
+     */
+    public UniverseBatchStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gives the wall-clock time spent on the instance, including its loading.
+     *
+     * @return The wall-clock time, in milliseconds.
+     */
+    public double getWallTimeMs() {
+        return wallTimeMs;
+    }
+
+    /**
+     * Gives the message of the error that occurred, if any.
+     *
+     * @return The message of the error, or {@code null} if there is none.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Formats this result as a CSV line, following {@link #CSV_HEADER}.
+     *
+     * @return The CSV representation of this result.
+     */
+    public String toCsv() {
+        return String.join(",", csv(instance), String.valueOf(kind), String.valueOf(result),
+                String.valueOf(status), String.format(Locale.ROOT, "%.3f", wallTimeMs),
+                (error == null) ? "" : csv(error));
+    }
+
+    /**
+     * Formats this result as a JSON object, on a single line.
+     *
+     * @return The JSON representation of this result.
+     */
+    public String toJson() {
+        return String.format(Locale.ROOT,
+                "{\"instance\":%s,\"kind\":\"%s\",\"result\":\"%s\",\"status\":\"%s\","
+                        + "\"wallTimeMs\":%.3f,\"error\":%s}",
+                json(instance), kind, result, status, wallTimeMs,
+                (error == null) ? "null" : json(error));
+    }
+
+    /**
+     * Escapes a value for a CSV line.
+     *
+     * @param value The value to escape.
+     *
+     * @return The escaped value.
+     */
+    private static String csv(String value) {
+        if ((value.indexOf(',') < 0) && (value.indexOf('"') < 0) && (value.indexOf('\n') < 0)) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Formats a value as a JSON string.
+     *
+     * @param value The value to format.
+     *
+     * @return The JSON string representing the value.
+     */
+    private static String json(String value) {
+        var builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c == '"') || (c == '\\')) {
+                builder.append('\\').append(c);
+
+            } else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return toCsv();
+    }
+
+}
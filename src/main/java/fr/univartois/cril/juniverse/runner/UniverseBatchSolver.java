@@ -0,0 +1,604 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import fr.univartois.cril.juniverse.concurrent.UniverseDeadlineScheduler;
+import fr.univartois.cril.juniverse.concurrent.UniverseMemoryGovernor;
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.utils.IUniverseSolverFactory;
+import fr.univartois.cril.juniverse.utils.SolverFactoryLoader;
+import fr.univartois.cril.juniverse.utils.UniverseProblemKind;
+
+/**
+ * The UniverseBatchSolver solves a batch of instance files (CNF, OPB or XCSP3)
+ * concurrently, with the solvers created by a given factory.
+ *
+ * Instances are run longest-expected-first, so that long instances do not end up
+ * running alone at the end of the batch.
+ * The expected running time of an instance is read from the results of a previous run
+ * (if available), and is otherwise estimated from the size of its file.
+ * Instances are dispatched to a work-stealing {@link ForkJoinPool}, so that the load
+ * is balanced dynamically between the workers rather than by static sharding.
+ * Each worker keeps one solver per kind of problem, which is reused (after a call to
+ * {@link IUniverseSolver#reset()}) from one instance to the next.
+ *
+ * Timeouts are enforced by a {@link UniverseDeadlineScheduler}, and the heap cap by a
+ * {@link UniverseMemoryGovernor}.
+ * As all the solvers share the same heap, the heap cap applies to the whole batch: when
+ * it is exceeded, the biggest consumers are interrupted.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseBatchSolver {
+
+    /**
+     * The pattern matching the path of the instance in a JSON result.
+     */
+    private static final Pattern JSON_INSTANCE =
+            Pattern.compile("\"instance\":\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    /**
+     * The pattern matching the wall-clock time in a JSON result.
+     */
+    private static final Pattern JSON_TIME = Pattern.compile("\"wallTimeMs\":([-+.0-9eE]+)");
+
+    /**
+     * The factory creating the solvers.
+     */
+    private final IUniverseSolverFactory factory;
+
+    /**
+     * The solvers owned by each worker, indexed by the kind of problem they solve.
+     */
+    private final ThreadLocal<Map<UniverseProblemKind, IUniverseSolver>> solvers =
+            ThreadLocal.withInitial(() -> new EnumMap<>(UniverseProblemKind.class));
+
+    /**
+     * The running times of previously solved instances, in milliseconds, indexed by the
+     * path of the instances.
+     */
+    private final Map<String, Double> history = new HashMap<>();
+
+    /**
+     * The number of workers solving instances in parallel.
+     */
+    private int workers = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The timeout of each instance, in milliseconds (non-positive for no timeout).
+     */
+    private long timeoutMs;
+
+    /**
+     * The maximum number of bytes that the solvers may use on the heap (non-positive for
+     * no cap).
+     */
+    private long heapCap;
+
+    /**
+     * Creates a new UniverseBatchSolver.
+     *
+     * @param factory The factory creating the solvers.
+     */
+    public UniverseBatchSolver(IUniverseSolverFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Sets the number of workers solving instances in parallel.
+     *
+     * @param workers The number of workers.
+     *
+     * @return This batch solver.
+     *
+     * @throws IllegalArgumentException If the number of workers is not positive.
+     */
+    public UniverseBatchSolver setWorkers(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Invalid number of workers: " + workers);
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Sets the timeout of each instance.
+     *
+     * @param seconds The timeout, in seconds (non-positive for no timeout).
+     *
+     * @return This batch solver.
+     */
+    public UniverseBatchSolver setTimeout(long seconds) {
+        this.timeoutMs = seconds * 1000;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes that the solvers may use on the heap.
+     *
+     * @param bytes The heap cap, in bytes (non-positive for no cap).
+     *
+     * @return This batch solver.
+     */
+    public UniverseBatchSolver setHeapCap(long bytes) {
+        this.heapCap = bytes;
+        return this;
+    }
+
+    /**
+     * Reads the running times of the instances from the output of a previous batch, in
+     * CSV or JSONL format.
+     * These times are used to order the instances of the next batches.
+     *
+     * @param file The file containing the results of the previous batch.
+     *
+     * @return This batch solver.
+     *
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public UniverseBatchSolver loadHistory(Path file) throws IOException {
+        var lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        var header = List.<String> of();
+        for (var line : lines) {
+            if (line.startsWith("{")) {
+                var instance = JSON_INSTANCE.matcher(line);
+                var time = JSON_TIME.matcher(line);
+                if (instance.find() && time.find()) {
+                    history.put(instance.group(1).replace("\\\\", "\\").replace("\\\"", "\""),
+                            Double.parseDouble(time.group(1)));
+                }
+
+            } else if (line.startsWith("instance,")) {
+                header = Arrays.asList(line.split(","));
+
+            } else if (!header.isEmpty()) {
+                var fields = splitCsv(line);
+                history.put(fields.get(header.indexOf("instance")),
+                        Double.parseDouble(fields.get(header.indexOf("wallTimeMs"))));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Splits a CSV line into its fields.
+     *
+     * @param line The line to split.
+     *
+     * @return The fields of the line.
+     */
+    private static List<String> splitCsv(String line) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted && (c == '"') && (i + 1 < line.length()) && (line.charAt(i + 1) == '"')) {
+                field.append(c);
+                i++;
+
+            } else if (c == '"') {
+                quoted = !quoted;
+
+            } else if ((c == ',') && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Orders instances longest-expected-first.
+     * The expected time of an instance is its time in the history if it is known, and is
+     * otherwise estimated from the size of its file, using the median time per byte of
+     * the instances in the history.
+     *
+     * @param instances The instances to order.
+     *
+     * @return The ordered instances.
+     */
+    public List<Path> order(List<Path> instances) {
+        var sizes = new HashMap<Path, Long>();
+        var timesPerByte = new ArrayList<Double>();
+        for (var instance : instances) {
+            long size = size(instance);
+            sizes.put(instance, size);
+            var time = history.get(instance.toString());
+            if ((time != null) && (size > 0)) {
+                timesPerByte.add(time / size);
+            }
+        }
+
+        double timePerByte = 1;
+        if (!timesPerByte.isEmpty()) {
+            timesPerByte.sort(null);
+            timePerByte = timesPerByte.get(timesPerByte.size() / 2);
+        }
+
+        var estimates = new HashMap<Path, Double>();
+        for (var instance : instances) {
+            estimates.put(instance, history.getOrDefault(instance.toString(),
+                    sizes.get(instance) * timePerByte));
+        }
+
+        var ordered = new ArrayList<>(instances);
+        ordered.sort(Comparator.comparingDouble(estimates::get).reversed());
+        return ordered;
+    }
+
+    /**
+     * Gives the size of a file.
+     *
+     * @param file The file to get the size of.
+     *
+     * @return The size of the file, or {@code 0} if it cannot be read.
+     */
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Solves a batch of instances.
+     *
+     * @param instances The paths of the instances to solve.
+     * @param onResult The consumer notified (possibly concurrently) as soon as an
+     *        instance has been solved.
+     *
+     * @return The results of all the instances, in the order in which they were run.
+     */
+    public List<UniverseBatchResult> solve(List<Path> instances,
+            Consumer<UniverseBatchResult> onResult) {
+        var pool = new ForkJoinPool(workers, ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                null, true);
+        var scheduler = (timeoutMs > 0) ? new UniverseDeadlineScheduler() : null;
+        var governor = createGovernor();
+
+        try {
+            var tasks = new ArrayList<ForkJoinTask<UniverseBatchResult>>(instances.size());
+            for (var instance : order(instances)) {
+                tasks.add(pool.submit(() -> {
+                    var result = solve(instance, scheduler, governor);
+                    onResult.accept(result);
+                    return result;
+                }));
+            }
+            return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+
+        } finally {
+            pool.shutdown();
+            if (scheduler != null) {
+                scheduler.close();
+            }
+            if (governor != null) {
+                governor.close();
+            }
+        }
+    }
+
+    /**
+     * Creates the memory governor enforcing the heap cap.
+     *
+     * @return The created governor, or {@code null} if there is no heap cap (or if it is
+     *         above the maximum heap size).
+     */
+    private UniverseMemoryGovernor createGovernor() {
+        long max = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
+        if ((heapCap <= 0) || ((max > 0) && (heapCap >= max))) {
+            return null;
+        }
+
+        double high = (max > 0) ? ((double) heapCap / max) : 0.85;
+        return new UniverseMemoryGovernor(high, 0.8 * high, 1);
+    }
+
+    /**
+     * Solves an instance of the batch.
+     *
+     * @param path The path of the instance.
+     * @param scheduler The scheduler enforcing the timeout (if any).
+     * @param governor The governor enforcing the heap cap (if any).
+     *
+     * @return The result of the instance.
+     */
+    private UniverseBatchResult solve(Path path, UniverseDeadlineScheduler scheduler,
+            UniverseMemoryGovernor governor) {
+        long start = System.nanoTime();
+        UniverseProblemKind kind = null;
+
+        try {
+            var instance = UniverseBenchmarkInstance.file(path);
+            kind = instance.getKind();
+            var solver = acquire(kind);
+            instance.loadInto(solver);
+
+            if (governor != null) {
+                governor.register(solver);
+            }
+            var deadline = (scheduler == null) ? null : scheduler.schedule(solver, timeoutMs);
+            UniverseSolverResult result;
+            boolean expired = false;
+            boolean memout = false;
+            try {
+                result = solver.solve();
+
+            } finally {
+                expired = (deadline != null) && deadline.complete();
+                memout = (governor != null) && governor.unregister(solver);
+            }
+
+            UniverseBatchStatus status = UniverseBatchStatus.COMPLETE;
+            if (memout) {
+                // The solver may have been left in a bad state.
+                solvers.get().remove(kind);
+                status = UniverseBatchStatus.MEMOUT;
+
+            } else if (expired) {
+                status = UniverseBatchStatus.TIMEOUT;
+            }
+            return new UniverseBatchResult(path.toString(), kind, result, status,
+                    elapsedMs(start), null);
+
+        } catch (RuntimeException e) {
+            if (kind != null) {
+                solvers.get().remove(kind);
+            }
+            return new UniverseBatchResult(path.toString(), kind, UniverseSolverResult.UNKNOWN,
+                    UniverseBatchStatus.ERROR, elapsedMs(start), String.valueOf(e));
+        }
+    }
+
+    /**
+     * Gives a solver owned by the current worker, reusing the previous one if possible.
+     *
+     * @param kind The kind of problem to solve.
+     *
+     * @return The solver to use.
+     *
+     * @throws UnsupportedOperationException If the factory cannot create a solver for
+     *         this kind of problem.
+     */
+    private IUniverseSolver acquire(UniverseProblemKind kind) {
+        var owned = solvers.get();
+        var solver = owned.get(kind);
+        if (solver != null) {
+            try {
+                solver.reset();
+                return solver;
+
+            } catch (RuntimeException e) {
+                // The solver cannot be reused: a new one is created.
+                owned.remove(kind);
+            }
+        }
+
+        solver = kind.createSolver(factory);
+        if (solver == null) {
+            throw new UnsupportedOperationException(factory + " does not support " + kind);
+        }
+        owned.put(kind, solver);
+        return solver;
+    }
+
+    /**
+     * Computes the time elapsed since a given time.
+     *
+     * @param start The start time, in nanoseconds.
+     *
+     * @return The elapsed time, in milliseconds.
+     */
+    private static double elapsedMs(long start) {
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    /**
+     * Collects the instances designated by command line arguments.
+     * An argument may be an instance file, a directory (in which all the instance files
+     * are collected recursively), or a file name prefixed by {@code @} listing one
+     * instance per line.
+     *
+     * @param args The arguments designating the instances.
+     *
+     * @return The paths of the designated instances.
+     *
+     * @throws IOException If an I/O error occurs while reading a directory or a list.
+     */
+    public static List<Path> collect(List<String> args) throws IOException {
+        var instances = new ArrayList<Path>();
+        for (var arg : args) {
+            if (arg.startsWith("@")) {
+                for (var line : Files.readAllLines(Path.of(arg.substring(1)))) {
+                    if (!line.isBlank()) {
+                        instances.add(Path.of(line.strip()));
+                    }
+                }
+
+            } else if (Files.isDirectory(Path.of(arg))) {
+                try (var files = Files.walk(Path.of(arg))) {
+                    files.filter(Files::isRegularFile).filter(UniverseBatchSolver::isInstance)
+                            .sorted().forEach(instances::add);
+                }
+
+            } else {
+                instances.add(Path.of(arg));
+            }
+        }
+        return instances;
+    }
+
+    /**
+     * Checks whether a file is an instance that can be solved.
+     *
+     * @param file The file to check.
+     *
+     * @return Whether the file is an instance.
+     */
+    private static boolean isInstance(Path file) {
+        try {
+            UniverseBenchmarkInstance.file(file);
+            return true;
+
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Runs a batch from the command line.
+     * The expected arguments are the name of the solver factory, followed by options and
+     * by the instances to solve (see {@link #collect(List)}).
+     * The recognized options are:
+     * <ul>
+     * <li>{@code -w <n>}: the number of workers (the number of processors by
+     * default),</li>
+     * <li>{@code -t <seconds>}: the timeout of each instance,</li>
+     * <li>{@code -m <megabytes>}: the heap cap,</li>
+     * <li>{@code -f csv|jsonl}: the output format ({@code csv} by default),</li>
+     * <li>{@code -o <file>}: the output file (the standard output by default),</li>
+     * <li>{@code -h <file>}: the output of a previous run, used to order instances.</li>
+     * </ul>
+     * The process exits with status {@code 2} if the arguments are invalid.
+     *
+     * @param args The command line arguments.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            usage("Missing arguments");
+        }
+
+        var factory = SolverFactoryLoader.getInstance().getFactory(args[0]);
+        if (factory == null) {
+            usage("Unknown solver factory: " + args[0]);
+        }
+
+        var batch = new UniverseBatchSolver(factory);
+        var format = "csv";
+        Path output = null;
+        var paths = new ArrayList<String>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("-")) {
+                paths.add(args[i]);
+                continue;
+            }
+            if (i + 1 == args.length) {
+                usage("Missing value for " + args[i]);
+            }
+
+            var value = args[++i];
+            switch (args[i - 1]) {
+                case "-w":
+                    batch.setWorkers(Integer.parseInt(value));
+                    break;
+
+                case "-t":
+                    batch.setTimeout(Long.parseLong(value));
+                    break;
+
+                case "-m":
+                    batch.setHeapCap(Long.parseLong(value) << 20);
+                    break;
+
+                case "-f":
+                    format = value;
+                    break;
+
+                case "-o":
+                    output = Path.of(value);
+                    break;
+
+                case "-h":
+                    batch.loadHistory(Path.of(value));
+                    break;
+
+                default:
+                    usage("Unknown option: " + args[i - 1]);
+            }
+        }
+
+        boolean json = "jsonl".equals(format);
+        if (!json && !"csv".equals(format)) {
+            usage("Unknown format: " + format);
+        }
+
+        var out = (output == null) ? System.out
+                : new PrintStream(Files.newOutputStream(output), true, StandardCharsets.UTF_8);
+        if (!json) {
+            out.println(UniverseBatchResult.CSV_HEADER);
+        }
+        batch.solve(collect(paths), r -> {
+            synchronized (out) {
+                out.println(json ? r.toJson() : r.toCsv());
+                out.flush();
+            }
+        });
+        if (output != null) {
+            out.close();
+        }
+    }
+
+    /**
+     * Prints the usage of the command line and exits.
+     *
+     * @param message The message explaining why the arguments are invalid.
+     */
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: UniverseBatchSolver <factory> [-w workers] [-t seconds]"
+                + " [-m megabytes] [-f csv|jsonl] [-o output] [-h history]"
+                + " <instance|directory|@list>...");
+        System.exit(2);
+    }
+
+}
@@ -0,0 +1,54 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+/**
+ * The UniverseBatchStatus enumerates the ways in which the solving of an instance of a
+ * batch may end.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public enum UniverseBatchStatus {
+
+    /**
+     * The solver returned before any limit was reached.
+     */
+    COMPLETE,
+
+    /**
+     * The solver has been interrupted because of the timeout.
+     */
+    TIMEOUT,
+
+    /**
+     * The solver has been interrupted because the heap cap has been exceeded.
+     */
+    MEMOUT,
+
+    /**
+     * The solver has failed with an exception.
+     */
+    ERROR
+
+}
@@ -0,0 +1,92 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The UniverseBenchmarkBaseline stores measures in (and reads them from) a
+ * tab-separated file, so that they can serve as a baseline for later runs.
+ * The first line of the file is {@link UniverseBenchmarkMeasure#HEADER}, and each
+ * following line is a measure.
+ * Blank lines and lines starting with {@code #} are ignored.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseBenchmarkBaseline {
+
+    /**
+     * Disables instantiation.
+     */
+    private UniverseBenchmarkBaseline() {
+        throw new AssertionError("No UniverseBenchmarkBaseline instances for you!");
+    }
+
+    /**
+     * Reads the measures stored in a baseline file.
+     *
+     * @param file The file to read.
+     *
+     * @return The measures stored in the file.
+     *
+     * @throws IOException If an I/O error occurs while reading the file.
+     * @throws IllegalArgumentException If the file contains an invalid measure.
+     */
+    public static List<UniverseBenchmarkMeasure> read(Path file) throws IOException {
+        var measures = new ArrayList<UniverseBenchmarkMeasure>();
+        for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")
+                    || line.equals(UniverseBenchmarkMeasure.HEADER)) {
+                continue;
+            }
+            measures.add(UniverseBenchmarkMeasure.parse(line));
+        }
+        return measures;
+    }
+
+    /**
+     * Writes measures to a baseline file, replacing its previous content.
+     *
+     * @param file The file to write.
+     * @param measures The measures to write.
+     *
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public static void write(Path file, Collection<UniverseBenchmarkMeasure> measures)
+            throws IOException {
+        var lines = new ArrayList<String>(measures.size() + 1);
+        lines.add(UniverseBenchmarkMeasure.HEADER);
+        for (var measure : measures) {
+            lines.add(measure.toString());
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,143 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.util.function.Consumer;
+
+import fr.univartois.cril.juniverse.config.IUniverseConfigurableSolver;
+import fr.univartois.cril.juniverse.config.UniverseConfiguration;
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+
+/**
+ * The UniverseBenchmarkConfiguration is a named setting applied to the solvers before
+ * running an instance.
+ * A configuration that does not apply to a solver throws an
+ * {@link UnsupportedOperationException}, in which case the runner skips the
+ * corresponding runs.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseBenchmarkConfiguration {
+
+    /**
+     * The configuration leaving the solvers in their default settings.
+     */
+    private static final UniverseBenchmarkConfiguration DEFAULT =
+            new UniverseBenchmarkConfiguration("default", s -> {
+            });
+
+    /**
+     * The name of this configuration.
+     */
+    private final String name;
+
+    /**
+     * The function applying this configuration to a solver.
+     */
+    private final Consumer<IUniverseSolver> setup;
+
+    /**
+     * Creates a new UniverseBenchmarkConfiguration.
+     *
+     * @param name The name of the configuration.
+     * @param setup The function applying the configuration to a solver.
+     */
+    private UniverseBenchmarkConfiguration(String name, Consumer<IUniverseSolver> setup) {
+        this.name = name;
+        this.setup = setup;
+    }
+
+    /**
+     * Gives the configuration leaving the solvers in their default settings.
+     *
+     * @return The default configuration.
+     */
+    public static UniverseBenchmarkConfiguration defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a configuration applied by an arbitrary function.
+     *
+     * @param name The name of the configuration.
+     * @param setup The function applying the configuration to a solver.
+     *
+     * @return The created configuration.
+     */
+    public static UniverseBenchmarkConfiguration of(String name,
+            Consumer<IUniverseSolver> setup) {
+        return new UniverseBenchmarkConfiguration(name, setup);
+    }
+
+    /**
+     * Creates a configuration setting the main configuration of
+     * {@link IUniverseConfigurableSolver} instances.
+     * This configuration does not apply to other solvers.
+     *
+     * @param configuration The main configuration to set.
+     *
+     * @return The created configuration.
+     */
+    public static UniverseBenchmarkConfiguration solverConfiguration(
+            UniverseConfiguration configuration) {
+        return new UniverseBenchmarkConfiguration(configuration.getName(), s -> {
+            if (!(s instanceof IUniverseConfigurableSolver)) {
+                throw new UnsupportedOperationException(s + " is not configurable");
+            }
+            ((IUniverseConfigurableSolver) s).setSolverConfiguration(configuration);
+        });
+    }
+
+    /**
+     * Gives the name of this configuration.
+     *
+     * @return The name of this configuration.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Applies this configuration to a solver.
+     *
+     * @param solver The solver to configure.
+     *
+     * @throws UnsupportedOperationException If this configuration does not apply to the
+     *         solver.
+     */
+    public void applyTo(IUniverseSolver solver) {
+        setup.accept(solver);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
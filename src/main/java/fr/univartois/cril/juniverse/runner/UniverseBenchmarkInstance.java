@@ -0,0 +1,191 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.csp.IUniverseCSPSolver;
+import fr.univartois.cril.juniverse.generator.IUniverseInstanceGenerator;
+import fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver;
+import fr.univartois.cril.juniverse.sat.IUniverseSatSolver;
+import fr.univartois.cril.juniverse.utils.UniverseProblemKind;
+
+/**
+ * The UniverseBenchmarkInstance is an instance to run, which is either read from a file
+ * or produced by an {@link IUniverseInstanceGenerator}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseBenchmarkInstance {
+
+    /**
+     * The name of the instance.
+     */
+    private final String name;
+
+    /**
+     * The kind of the problem represented by the instance.
+     */
+    private final UniverseProblemKind kind;
+
+    /**
+     * The function loading the instance into a solver.
+     */
+    private final Consumer<IUniverseSolver> loader;
+
+    /**
+     * Creates a new UniverseBenchmarkInstance.
+     *
+     * @param name The name of the instance.
+     * @param kind The kind of the problem represented by the instance.
+     * @param loader The function loading the instance into a solver.
+     */
+    private UniverseBenchmarkInstance(String name, UniverseProblemKind kind,
+            Consumer<IUniverseSolver> loader) {
+        this.name = name;
+        this.kind = kind;
+        this.loader = loader;
+    }
+
+    /**
+     * Creates an instance read from a file.
+     *
+     * @param kind The kind of the problem represented by the instance.
+     * @param file The file containing the instance.
+     *
+     * @return The created instance.
+     */
+    public static UniverseBenchmarkInstance file(UniverseProblemKind kind, Path file) {
+        return new UniverseBenchmarkInstance(file.getFileName().toString(), kind,
+                s -> s.loadInstance(file.toString()));
+    }
+
+    /**
+     * Creates an instance read from a file, whose kind is guessed from its extension:
+     * {@code .cnf} files are SAT instances, {@code .opb} files are pseudo-Boolean
+     * instances and {@code .xml} files are XCSP3 instances.
+     * Compression extensions (e.g., {@code .gz} or {@code .lzma}) are ignored.
+     *
+     * @param file The file containing the instance.
+     *
+     * @return The created instance.
+     *
+     * @throws IllegalArgumentException If the kind of the instance cannot be guessed.
+     */
+    public static UniverseBenchmarkInstance file(Path file) {
+        var name = file.getFileName().toString().toLowerCase()
+                .replaceFirst("\\.(gz|xz|bz2|lzma|zip)$", "");
+        if (name.endsWith(".cnf")) {
+            return file(UniverseProblemKind.SAT, file);
+        }
+        if (name.endsWith(".opb")) {
+            return file(UniverseProblemKind.PSEUDO_BOOLEAN, file);
+        }
+        if (name.endsWith(".xml")) {
+            return file(UniverseProblemKind.CSP, file);
+        }
+        throw new IllegalArgumentException("Unknown kind of instance: " + file);
+    }
+
+    /**
+     * Creates a SAT instance produced by a generator.
+     *
+     * @param generator The generator producing the instance.
+     *
+     * @return The created instance.
+     */
+    public static UniverseBenchmarkInstance sat(
+            IUniverseInstanceGenerator<IUniverseSatSolver> generator) {
+        return new UniverseBenchmarkInstance(generator.getName(), UniverseProblemKind.SAT,
+                s -> generator.generate((IUniverseSatSolver) s));
+    }
+
+    /**
+     * Creates a pseudo-Boolean instance produced by a generator.
+     *
+     * @param generator The generator producing the instance.
+     *
+     * @return The created instance.
+     */
+    public static UniverseBenchmarkInstance pseudoBoolean(
+            IUniverseInstanceGenerator<IUniversePseudoBooleanSolver> generator) {
+        return new UniverseBenchmarkInstance(generator.getName(),
+                UniverseProblemKind.PSEUDO_BOOLEAN,
+                s -> generator.generate((IUniversePseudoBooleanSolver) s));
+    }
+
+    /**
+     * Creates a CSP instance produced by a generator.
+     *
+     * @param generator The generator producing the instance.
+     *
+     * @return The created instance.
+     */
+    public static UniverseBenchmarkInstance csp(
+            IUniverseInstanceGenerator<IUniverseCSPSolver> generator) {
+        return new UniverseBenchmarkInstance(generator.getName(), UniverseProblemKind.CSP,
+                s -> generator.generate((IUniverseCSPSolver) s));
+    }
+
+    /**
+     * Gives the name of this instance.
+     *
+     * @return The name of this instance.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gives the kind of the problem represented by this instance.
+     *
+     * @return The kind of the problem.
+     */
+    public UniverseProblemKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Loads this instance into a solver.
+     *
+     * @param solver The solver to load this instance into, which must have been created
+     *        for the kind of this instance.
+     */
+    public void loadInto(IUniverseSolver solver) {
+        loader.accept(solver);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
@@ -0,0 +1,316 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.util.Locale;
+
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+
+/**
+ * The UniverseBenchmarkMeasure records what has been measured during a run of an
+ * instance by a solver in a given configuration.
+ * Statistics on the search are only available for solvers supporting search listeners,
+ * and are {@code -1} otherwise.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseBenchmarkMeasure {
+
+    /**
+     * The header of the tab-separated representation of the measures.
+     */
+    public static final String HEADER = "solver\tconfiguration\tinstance\trun\tresult"
+            + "\twallTimeMs\tcpuTimeMs\tpeakHeapBytes\tallocatedBytes"
+            + "\tdecisions\tconflicts\tpropagations\trestarts";
+
+    /**
+     * The name of the solver factory.
+     */
+    private final String solver;
+
+    /**
+     * The name of the configuration of the solver.
+     */
+    private final String configuration;
+
+    /**
+     * The name of the instance.
+     */
+    private final String instance;
+
+    /**
+     * The index of the run among the repetitions of the same instance.
+     */
+    private final int run;
+
+    /**
+     * The result of the solver.
+     */
+    private final UniverseSolverResult result;
+
+    /**
+     * The wall-clock time of the solve, in milliseconds.
+     */
+    private final double wallTimeMs;
+
+    /**
+     * The CPU time consumed by the process during the solve, in milliseconds.
+     */
+    private final double cpuTimeMs;
+
+    /**
+     * The peak heap usage during the solve, in bytes.
+     */
+    private final long peakHeapBytes;
+
+    /**
+     * The number of bytes allocated on the heap during the solve.
+     */
+    private final long allocatedBytes;
+
+    /**
+     * The number of decisions made by the solver.
+     */
+    private final long decisions;
+
+    /**
+     * The number of conflicts encountered by the solver.
+     */
+    private final long conflicts;
+
+    /**
+     * The number of propagations performed by the solver.
+     */
+    private final long propagations;
+
+    /**
+     * The number of restarts performed by the solver.
+     */
+    private final long restarts;
+
+    /**
+     * Creates a new UniverseBenchmarkMeasure.
+     *
+     * @param solver The name of the solver factory.
+     * @param configuration The name of the configuration of the solver.
+     * @param instance The name of the instance.
+     * @param run The index of the run among the repetitions of the same instance.
+     * @param result The result of the solver.
+     * @param wallTimeMs The wall-clock time of the solve, in milliseconds.
+     * @param cpuTimeMs The CPU time consumed by the process during the solve, in
+     *        milliseconds.
+     * @param peakHeapBytes The peak heap usage during the solve, in bytes.
+     * @param allocatedBytes The number of bytes allocated on the heap during the solve.
+     * @param decisions The number of decisions made by the solver.
+     * @param conflicts The number of conflicts encountered by the solver.
+     * @param propagations The number of propagations performed by the solver.
+     * @param restarts The number of restarts performed by the solver.
+     */
+    public UniverseBenchmarkMeasure(String solver, String configuration, String instance,
+            int run, UniverseSolverResult result, double wallTimeMs, double cpuTimeMs,
+            long peakHeapBytes, long allocatedBytes, long decisions, long conflicts,
+            long propagations, long restarts) {
+        this.solver = solver;
+        this.configuration = configuration;
+        this.instance = instance;
+        this.run = run;
+        this.result = result;
+        this.wallTimeMs = wallTimeMs;
+        this.cpuTimeMs = cpuTimeMs;
+        this.peakHeapBytes = peakHeapBytes;
+        this.allocatedBytes = allocatedBytes;
+        this.decisions = decisions;
+        this.conflicts = conflicts;
+        this.propagations = propagations;
+        this.restarts = restarts;
+    }
+
+    /**
+     * Reads a measure from its tab-separated representation.
+     *
+     * @param line The line representing the measure, as produced by {@link #toString()}.
+     *
+     * @return The read measure.
+     *
+     * @throws IllegalArgumentException If the line is not a valid measure.
+     */
+    public static UniverseBenchmarkMeasure parse(String line) {
+        var fields = line.split("\t");
+        if (fields.length != 13) {
+            throw new IllegalArgumentException("Invalid measure: " + line);
+        }
+
+        try {
+            return new UniverseBenchmarkMeasure(fields[0], fields[1], fields[2],
+                    Integer.parseInt(fields[3]), UniverseSolverResult.valueOf(fields[4]),
+                    Double.parseDouble(fields[5]), Double.parseDouble(fields[6]),
+                    Long.parseLong(fields[7]), Long.parseLong(fields[8]),
+                    Long.parseLong(fields[9]), Long.parseLong(fields[10]),
+                    Long.parseLong(fields[11]), Long.parseLong(fields[12]));
+
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid measure: " + line, e);
+        }
+    }
+
+    /**
+     * Gives the key identifying the runs that are comparable with this one, i.e., the
+     * runs of the same instance by the same solver in the same configuration.
+     *
+     * @return The key of this measure.
+     */
+    public String getKey() {
+        return solver + "/" + configuration + "/" + instance;
+    }
+
+    /**
+     * Gives the name of the solver factory.
+     *
+     * @return The name of the solver factory.
+     */
+    public String getSolver() {
+        return solver;
+    }
+
+    /**
+     * Gives the name of the configuration of the solver.
+     *
+     * @return The name of the configuration.
+     */
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Gives the name of the instance.
+     *
+     * @return The name of the instance.
+     */
+    public String getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gives the index of the run among the repetitions of the same instance.
+     *
+     * @return The index of the run.
+     */
+    public int getRun() {
+        return run;
+    }
+
+    /**
+     * Gives the result of the solver.
+     *
+     * @return The result of the solver.
+     */
+    public UniverseSolverResult getResult() {
+        return result;
+    }
+
+    /**
+     * Gives the wall-clock time of the solve.
+     *
+     * @return The wall-clock time, in milliseconds.
+     */
+    public double getWallTimeMs() {
+        return wallTimeMs;
+    }
+
+    /**
+     * Gives the CPU time consumed by the process during the solve.
+     *
+     * @return The CPU time, in milliseconds.
+     */
+    public double getCpuTimeMs() {
+        return cpuTimeMs;
+    }
+
+    /**
+     * Gives the peak heap usage during the solve.
+     *
+     * @return The peak heap usage, in bytes.
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * Gives the number of bytes allocated on the heap during the solve.
+     *
+     * @return The number of allocated bytes.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gives the number of decisions made by the solver.
+     *
+     * @return The number of decisions, or {@code -1} if it is unknown.
+     */
+    public long getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * Gives the number of conflicts encountered by the solver.
+     *
+     * @return The number of conflicts, or {@code -1} if it is unknown.
+     */
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Gives the number of propagations performed by the solver.
+     *
+     * @return The number of propagations, or {@code -1} if it is unknown.
+     */
+    public long getPropagations() {
+        return propagations;
+    }
+
+    /**
+     * Gives the number of restarts performed by the solver.
+     *
+     * @return The number of restarts, or {@code -1} if it is unknown.
+     */
+    public long getRestarts() {
+        return restarts;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s\t%s\t%s\t%d\t%s\t%.3f\t%.3f\t%d\t%d\t%d\t%d\t%d\t%d",
+                solver, configuration, instance, run, result, wallTimeMs, cpuTimeMs,
+                peakHeapBytes, allocatedBytes, decisions, conflicts, propagations, restarts);
+    }
+
+}
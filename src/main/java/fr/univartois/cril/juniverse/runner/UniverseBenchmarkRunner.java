@@ -0,0 +1,352 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.generator.UniverseGraphColoringGenerator;
+import fr.univartois.cril.juniverse.generator.UniverseJobShopGenerator;
+import fr.univartois.cril.juniverse.generator.UniverseKnapsackGenerator;
+import fr.univartois.cril.juniverse.generator.UniverseMagicSquareGenerator;
+import fr.univartois.cril.juniverse.generator.UniverseRandomKSatGenerator;
+import fr.univartois.cril.juniverse.generator.UniverseSetCoveringGenerator;
+import fr.univartois.cril.juniverse.listener.metrics.UniverseSearchMetricsListener;
+import fr.univartois.cril.juniverse.utils.IUniverseSolverFactory;
+import fr.univartois.cril.juniverse.utils.SolverFactoryLoader;
+
+/**
+ * The UniverseBenchmarkRunner runs a set of instances on several solver factories, in
+ * several configurations, and measures each run.
+ * Runs are executed sequentially, on a fresh solver, so that they do not interfere with
+ * each other.
+ * Each combination is run a few times without being measured to warm up the JVM, and
+ * then repeated to give enough samples for a statistical comparison against a baseline
+ * (see {@link UniverseRegressionReport}).
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseBenchmarkRunner {
+
+    /**
+     * The seed used by the generators of the default benchmark set.
+     */
+    private static final long DEFAULT_SEED = 2023L;
+
+    /**
+     * The factories of the solvers to run.
+     */
+    private final List<IUniverseSolverFactory> factories;
+
+    /**
+     * The configurations in which to run the solvers.
+     */
+    private final List<UniverseBenchmarkConfiguration> configurations = new ArrayList<>();
+
+    /**
+     * The instances to run.
+     */
+    private final List<UniverseBenchmarkInstance> instances = new ArrayList<>();
+
+    /**
+     * The number of measured runs of each combination.
+     */
+    private int repetitions = 5;
+
+    /**
+     * The number of unmeasured runs of each combination.
+     */
+    private int warmup = 1;
+
+    /**
+     * The timeout of each run, in seconds (non-positive for no timeout).
+     */
+    private long timeout;
+
+    /**
+     * Creates a new UniverseBenchmarkRunner running all the solver factories available
+     * in the classpath.
+     */
+    public UniverseBenchmarkRunner() {
+        this(SolverFactoryLoader.getInstance().getFactories());
+    }
+
+    /**
+     * Creates a new UniverseBenchmarkRunner.
+     *
+     * @param factories The factories of the solvers to run.
+     */
+    public UniverseBenchmarkRunner(List<IUniverseSolverFactory> factories) {
+        this.factories = List.copyOf(factories);
+    }
+
+    /**
+     * Adds a configuration in which to run the solvers.
+     * If no configuration is added, the solvers are run in their default configuration.
+     *
+     * @param configuration The configuration to add.
+     *
+     * @return This runner.
+     */
+    public UniverseBenchmarkRunner addConfiguration(UniverseBenchmarkConfiguration configuration) {
+        configurations.add(configuration);
+        return this;
+    }
+
+    /**
+     * Adds an instance to run.
+     *
+     * @param instance The instance to add.
+     *
+     * @return This runner.
+     */
+    public UniverseBenchmarkRunner addInstance(UniverseBenchmarkInstance instance) {
+        instances.add(instance);
+        return this;
+    }
+
+    /**
+     * Adds the default benchmark set, made of small instances of each family of
+     * {@link fr.univartois.cril.juniverse.generator}.
+     *
+     * @return This runner.
+     */
+    public UniverseBenchmarkRunner addDefaultInstances() {
+        for (int n : new int[] { 100, 200 }) {
+            addInstance(UniverseBenchmarkInstance.sat(
+                    new UniverseRandomKSatGenerator(n, 4.26, 3, DEFAULT_SEED)));
+            addInstance(UniverseBenchmarkInstance.pseudoBoolean(
+                    new UniverseKnapsackGenerator(n / 2, 100, 0.5, 0.5, DEFAULT_SEED)));
+            addInstance(UniverseBenchmarkInstance.pseudoBoolean(
+                    new UniverseSetCoveringGenerator(n, n / 2, 3, 10, 0.4, DEFAULT_SEED)));
+            addInstance(UniverseBenchmarkInstance.csp(
+                    new UniverseGraphColoringGenerator(n, 0.05, 4, DEFAULT_SEED)));
+        }
+        addInstance(UniverseBenchmarkInstance.csp(
+                new UniverseJobShopGenerator(6, 6, 10, false, DEFAULT_SEED)));
+        addInstance(UniverseBenchmarkInstance.csp(
+                new UniverseJobShopGenerator(6, 6, 10, true, DEFAULT_SEED)));
+        addInstance(UniverseBenchmarkInstance.csp(new UniverseMagicSquareGenerator(4)));
+        return this;
+    }
+
+    /**
+     * Sets the number of measured runs of each combination of solver, configuration
+     * and instance.
+     *
+     * @param repetitions The number of measured runs.
+     *
+     * @return This runner.
+     */
+    public UniverseBenchmarkRunner setRepetitions(int repetitions) {
+        if (repetitions <= 0) {
+            throw new IllegalArgumentException("Invalid number of repetitions: " + repetitions);
+        }
+        this.repetitions = repetitions;
+        return this;
+    }
+
+    /**
+     * Sets the number of unmeasured runs of each combination of solver, configuration
+     * and instance, which are performed before the measured ones.
+     *
+     * @param warmup The number of unmeasured runs.
+     *
+     * @return This runner.
+     */
+    public UniverseBenchmarkRunner setWarmup(int warmup) {
+        this.warmup = Math.max(0, warmup);
+        return this;
+    }
+
+    /**
+     * Sets the timeout of each run.
+     *
+     * @param seconds The timeout, in seconds (non-positive for no timeout).
+     *
+     * @return This runner.
+     */
+    public UniverseBenchmarkRunner setTimeout(long seconds) {
+        this.timeout = seconds;
+        return this;
+    }
+
+    /**
+     * Runs all the combinations of solver, configuration and instance.
+     *
+     * @return The measures of all the runs.
+     */
+    public List<UniverseBenchmarkMeasure> run() {
+        return run(m -> {
+        });
+    }
+
+    /**
+     * Runs all the combinations of solver, configuration and instance.
+     * Combinations for which the configuration or the kind of instance is not supported
+     * by the solver are skipped.
+     *
+     * @param onMeasure The consumer notified as soon as a run has been measured.
+     *
+     * @return The measures of all the runs.
+     */
+    public List<UniverseBenchmarkMeasure> run(Consumer<UniverseBenchmarkMeasure> onMeasure) {
+        var configs = configurations.isEmpty()
+                ? List.of(UniverseBenchmarkConfiguration.defaults())
+                : configurations;
+        var measures = new ArrayList<UniverseBenchmarkMeasure>();
+
+        for (var factory : factories) {
+            for (var configuration : configs) {
+                for (var instance : instances) {
+                    for (int run = -warmup; run < repetitions; run++) {
+                        var measure = runOnce(factory, configuration, instance, run);
+                        if (measure == null) {
+                            // The combination is not supported.
+                            break;
+                        }
+                        if (run >= 0) {
+                            measures.add(measure);
+                            onMeasure.accept(measure);
+                        }
+                    }
+                }
+            }
+        }
+
+        return measures;
+    }
+
+    /**
+     * Runs an instance once.
+     *
+     * @param factory The factory of the solver to run.
+     * @param configuration The configuration of the solver.
+     * @param instance The instance to run.
+     * @param run The index of the run.
+     *
+     * @return The measure of the run, or {@code null} if the combination is not
+     *         supported.
+     */
+    private UniverseBenchmarkMeasure runOnce(IUniverseSolverFactory factory,
+            UniverseBenchmarkConfiguration configuration, UniverseBenchmarkInstance instance,
+            int run) {
+        IUniverseSolver solver;
+        try {
+            solver = instance.getKind().createSolver(factory);
+            if (solver == null) {
+                return null;
+            }
+            configuration.applyTo(solver);
+
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+
+        if (timeout > 0) {
+            solver.setTimeout(timeout);
+        }
+        var metrics = attachMetrics(solver);
+        instance.loadInto(solver);
+
+        // Collecting the garbage of previous runs, so that it does not pollute this one.
+        System.gc();
+        var monitor = new UniverseResourceMonitor();
+        monitor.start();
+        var result = solver.solve();
+        monitor.stop();
+
+        return new UniverseBenchmarkMeasure(factory.toString(), configuration.getName(),
+                instance.getName(), run, result, monitor.getWallTimeMs(),
+                monitor.getCpuTimeMs(), monitor.getPeakHeapBytes(), monitor.getAllocatedBytes(),
+                (metrics == null) ? -1 : metrics.getDecisions(),
+                (metrics == null) ? -1 : metrics.getConflicts(),
+                (metrics == null) ? -1 : metrics.getPropagations(),
+                (metrics == null) ? -1 : metrics.getRestarts());
+    }
+
+    /**
+     * Attaches a listener collecting search statistics to a solver.
+     *
+     * @param solver The solver to collect the statistics of.
+     *
+     * @return The attached listener, or {@code null} if the solver does not support
+     *         search listeners.
+     */
+    private static UniverseSearchMetricsListener attachMetrics(IUniverseSolver solver) {
+        try {
+            var metrics = new UniverseSearchMetricsListener();
+            solver.addSearchListener(metrics);
+            return metrics;
+
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Runs the default benchmark set on all the solvers available in the classpath, and
+     * compares the measures against a baseline.
+     * The expected arguments are the path of the baseline file, optionally followed by
+     * {@code --update} to replace the baseline with the new measures.
+     * If the baseline does not exist yet, it is created.
+     * The process exits with status {@code 1} if a regression is detected, and
+     * {@code 2} if the arguments are invalid.
+     *
+     * @param args The command line arguments.
+     *
+     * @throws IOException If an I/O error occurs while reading or writing the baseline.
+     */
+    public static void main(String[] args) throws IOException {
+        if ((args.length == 0) || (args.length > 2)
+                || ((args.length == 2) && !"--update".equals(args[1]))) {
+            System.err.println("Usage: UniverseBenchmarkRunner <baseline-file> [--update]");
+            System.exit(2);
+        }
+
+        var baseline = Path.of(args[0]);
+        var measures = new UniverseBenchmarkRunner().addDefaultInstances()
+                .run(m -> System.out.println(m.getKey() + " #" + m.getRun() + ": "
+                        + m.getResult() + " in " + m.getWallTimeMs() + " ms"));
+
+        if ((args.length == 2) || !Files.exists(baseline)) {
+            UniverseBenchmarkBaseline.write(baseline, measures);
+            System.out.println("Baseline written to " + baseline);
+            return;
+        }
+
+        var report = UniverseRegressionReport.compare(
+                UniverseBenchmarkBaseline.read(baseline), measures);
+        System.out.println(report);
+        if (report.hasRegressions()) {
+            System.exit(1);
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.util.Arrays;
+
+/**
+ * The UniverseMannWhitneyTest implements the one-sided Mann-Whitney U test, which
+ * checks whether the values of a sample tend to be greater than those of another one.
+ * This non-parametric test does not assume that the values are normally distributed,
+ * which suits running times (that are typically skewed by outliers).
+ * The p-value is computed with the normal approximation, corrected for ties and
+ * continuity.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseMannWhitneyTest {
+
+    /**
+     * Disables instantiation.
+     */
+    private UniverseMannWhitneyTest() {
+        throw new AssertionError("No UniverseMannWhitneyTest instances for you!");
+    }
+
+    /**
+     * Computes the p-value of the hypothesis that the values of a sample tend to be
+     * greater than those of a reference sample.
+     *
+     * @param reference The reference sample.
+     * @param sample The sample to compare with the reference.
+     *
+     * @return The p-value of the test (the lower, the more significant).
+     */
+    static double pValueGreater(double[] reference, double[] sample) {
+        int n1 = reference.length;
+        int n2 = sample.length;
+        int n = n1 + n2;
+        if ((n1 == 0) || (n2 == 0)) {
+            return 1;
+        }
+
+        // Sorting all values, remembering the sample they come from.
+        var values = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            values[i] = new double[] { reference[i], 0 };
+        }
+        for (int i = 0; i < n2; i++) {
+            values[n1 + i] = new double[] { sample[i], 1 };
+        }
+        Arrays.sort(values, (a, b) -> Double.compare(a[0], b[0]));
+
+        // Computing the rank sum of the sample, using average ranks for ties.
+        double rankSum = 0;
+        double ties = 0;
+        for (int i = 0; i < n;) {
+            int j = i;
+            while ((j < n) && (values[j][0] == values[i][0])) {
+                j++;
+            }
+            double rank = (i + j + 1) / 2.0;
+            for (int k = i; k < j; k++) {
+                rankSum += rank * values[k][1];
+            }
+            double t = j - i;
+            ties += t * t * t - t;
+            i = j;
+        }
+
+        double u = rankSum - n2 * (n2 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - ties / (n * (double) (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    /**
+     * Computes the median of a sample.
+     *
+     * @param sample The sample to compute the median of.
+     *
+     * @return The median of the sample, or {@link Double#NaN} if the sample is empty.
+     */
+    static double median(double[] sample) {
+        if (sample.length == 0) {
+            return Double.NaN;
+        }
+
+        var sorted = sample.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        if ((sorted.length % 2) == 1) {
+            return sorted[middle];
+        }
+        return (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Computes the cumulative distribution function of the standard normal
+     * distribution.
+     *
+     * @param z The value at which to compute the function.
+     *
+     * @return The probability that a standard normal variable is at most {@code z}.
+     */
+    private static double normalCdf(double z) {
+        return 0.5 * (1 + erf(z / Math.sqrt(2)));
+    }
+
+    /**
+     * Computes the error function, with the approximation 7.1.26 of Abramowitz and
+     * Stegun (whose maximum error is {@code 1.5e-7}).
+     *
+     * @param x The value at which to compute the function.
+     *
+     * @return The value of the error function.
+     */
+    private static double erf(double x) {
+        double t = 1 / (1 + 0.3275911 * Math.abs(x));
+        double poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+                + t * (-1.453152027 + t * 1.061405429))));
+        double y = 1 - poly * Math.exp(-x * x);
+        return (x >= 0) ? y : -y;
+    }
+
+}
@@ -0,0 +1,102 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+/**
+ * The UniverseRegression describes a regression detected on a combination of solver,
+ * configuration and instance.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseRegression {
+
+    /**
+     * The key of the combination on which the regression has been detected (see
+     * {@link UniverseBenchmarkMeasure#getKey()}).
+     */
+    private final String key;
+
+    /**
+     * The kind of the regression.
+     */
+    private final UniverseRegressionKind kind;
+
+    /**
+     * The description of the regression.
+     */
+    private final String description;
+
+    /**
+     * Creates a new UniverseRegression.
+     *
+     * @param key The key of the combination on which the regression has been detected.
+     * @param kind The kind of the regression.
+     * @param description The description of the regression.
+     */
+    public UniverseRegression(String key, UniverseRegressionKind kind, String description) {
+        this.key = key;
+        this.kind = kind;
+        this.description = description;
+    }
+
+    /**
+     * Gives the key of the combination on which the regression has been detected.
+     *
+     * @return The key of the combination.
+     *
+     * @see UniverseBenchmarkMeasure#getKey()
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gives the kind of the regression.
+     *
+     * @return The kind of the regression.
+     */
+    public UniverseRegressionKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gives the description of the regression.
+     *
+     * @return The description of the regression.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return kind + " " + key + ": " + description;
+    }
+
+}
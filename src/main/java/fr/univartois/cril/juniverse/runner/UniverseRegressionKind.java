@@ -0,0 +1,50 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+/**
+ * The UniverseRegressionKind enumerates the kinds of regressions detected when comparing
+ * measures against a baseline.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public enum UniverseRegressionKind {
+
+    /**
+     * The solver got significantly slower on an instance.
+     */
+    SLOWDOWN,
+
+    /**
+     * The solver gave a different result on an instance.
+     */
+    RESULT_CHANGE,
+
+    /**
+     * A combination of solver, configuration and instance present in the baseline has
+     * not been run.
+     */
+    MISSING
+
+}
@@ -0,0 +1,281 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The UniverseRegressionReport compares measures against a baseline.
+ * For each combination of solver, configuration and instance, it reports:
+ * <ul>
+ * <li>a {@link UniverseRegressionKind#RESULT_CHANGE} when the set of results differs
+ * from that of the baseline,</li>
+ * <li>a {@link UniverseRegressionKind#SLOWDOWN} when the wall-clock times are
+ * significantly greater than those of the baseline according to a one-sided
+ * Mann-Whitney U test, and the median time has increased by more than a tolerance,</li>
+ * <li>a {@link UniverseRegressionKind#MISSING} when the combination has not been run.</li>
+ * </ul>
+ * The report also summarizes the evolution of CPU time, allocations and peak heap usage,
+ * which are not considered as regressions by themselves.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseRegressionReport {
+
+    /**
+     * The default significance level of the statistical tests.
+     */
+    public static final double DEFAULT_SIGNIFICANCE = 0.05;
+
+    /**
+     * The default relative increase of the median time below which a slowdown is
+     * ignored, even if it is significant.
+     */
+    public static final double DEFAULT_TOLERANCE = 0.05;
+
+    /**
+     * The summary of the comparison of each combination.
+     */
+    private final List<String> summary;
+
+    /**
+     * The detected regressions.
+     */
+    private final List<UniverseRegression> regressions;
+
+    /**
+     * Creates a new UniverseRegressionReport.
+     *
+     * @param summary The summary of the comparison of each combination.
+     * @param regressions The detected regressions.
+     */
+    private UniverseRegressionReport(List<String> summary, List<UniverseRegression> regressions) {
+        this.summary = summary;
+        this.regressions = regressions;
+    }
+
+    /**
+     * Compares measures against a baseline, with the default significance and tolerance.
+     *
+     * @param baseline The measures of the baseline.
+     * @param current The measures to compare with the baseline.
+     *
+     * @return The report of the comparison.
+     */
+    public static UniverseRegressionReport compare(Collection<UniverseBenchmarkMeasure> baseline,
+            Collection<UniverseBenchmarkMeasure> current) {
+        return compare(baseline, current, DEFAULT_SIGNIFICANCE, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Compares measures against a baseline.
+     *
+     * @param baseline The measures of the baseline.
+     * @param current The measures to compare with the baseline.
+     * @param significance The significance level of the statistical tests.
+     * @param tolerance The relative increase of the median time below which a slowdown
+     *        is ignored.
+     *
+     * @return The report of the comparison.
+     */
+    public static UniverseRegressionReport compare(Collection<UniverseBenchmarkMeasure> baseline,
+            Collection<UniverseBenchmarkMeasure> current, double significance,
+            double tolerance) {
+        var before = group(baseline);
+        var after = group(current);
+        var summary = new ArrayList<String>();
+        var regressions = new ArrayList<UniverseRegression>();
+        summary.add(String.format(Locale.ROOT, "%-60s %12s %12s %8s %8s %8s %8s %8s",
+                "combination", "base (ms)", "new (ms)", "ratio", "p-value", "cpu", "alloc",
+                "heap"));
+
+        for (var entry : before.entrySet()) {
+            var key = entry.getKey();
+            var old = entry.getValue();
+            var now = after.get(key);
+            if (now == null) {
+                regressions.add(new UniverseRegression(key, UniverseRegressionKind.MISSING,
+                        "no measure"));
+                continue;
+            }
+
+            var oldResults = results(old);
+            var newResults = results(now);
+            if (!oldResults.equals(newResults)) {
+                regressions.add(new UniverseRegression(key, UniverseRegressionKind.RESULT_CHANGE,
+                        oldResults + " -> " + newResults));
+            }
+
+            var oldTimes = values(old, UniverseBenchmarkMeasure::getWallTimeMs);
+            var newTimes = values(now, UniverseBenchmarkMeasure::getWallTimeMs);
+            double oldMedian = UniverseMannWhitneyTest.median(oldTimes);
+            double newMedian = UniverseMannWhitneyTest.median(newTimes);
+            double ratio = ratio(oldMedian, newMedian);
+            double p = UniverseMannWhitneyTest.pValueGreater(oldTimes, newTimes);
+            if ((p < significance) && (ratio > 1 + tolerance)) {
+                regressions.add(new UniverseRegression(key, UniverseRegressionKind.SLOWDOWN,
+                        String.format(Locale.ROOT, "median %.3f ms -> %.3f ms (x%.2f, p=%.4f)",
+                                oldMedian, newMedian, ratio, p)));
+            }
+
+            summary.add(String.format(Locale.ROOT,
+                    "%-60s %12.3f %12.3f %8.2f %8.4f %8.2f %8.2f %8.2f", key, oldMedian,
+                    newMedian, ratio, p, ratio(old, now, UniverseBenchmarkMeasure::getCpuTimeMs),
+                    ratio(old, now, UniverseBenchmarkMeasure::getAllocatedBytes),
+                    ratio(old, now, UniverseBenchmarkMeasure::getPeakHeapBytes)));
+        }
+
+        for (var key : after.keySet()) {
+            if (!before.containsKey(key)) {
+                summary.add(String.format(Locale.ROOT, "%-60s %12s", key, "(new)"));
+            }
+        }
+
+        return new UniverseRegressionReport(Collections.unmodifiableList(summary),
+                Collections.unmodifiableList(regressions));
+    }
+
+    /**
+     * Groups measures by combination of solver, configuration and instance.
+     *
+     * @param measures The measures to group.
+     *
+     * @return The measures, grouped by key.
+     */
+    private static Map<String, List<UniverseBenchmarkMeasure>> group(
+            Collection<UniverseBenchmarkMeasure> measures) {
+        var groups = new LinkedHashMap<String, List<UniverseBenchmarkMeasure>>();
+        for (var measure : measures) {
+            groups.computeIfAbsent(measure.getKey(), k -> new ArrayList<>()).add(measure);
+        }
+        return groups;
+    }
+
+    /**
+     * Gives the set of results of a group of measures.
+     *
+     * @param measures The measures to get the results of.
+     *
+     * @return The results of the measures, sorted.
+     */
+    private static TreeSet<String> results(List<UniverseBenchmarkMeasure> measures) {
+        var results = new TreeSet<String>();
+        for (var measure : measures) {
+            results.add(String.valueOf(measure.getResult()));
+        }
+        return results;
+    }
+
+    /**
+     * Extracts the values of a metric from a group of measures.
+     *
+     * @param measures The measures to extract the values from.
+     * @param metric The metric to extract.
+     *
+     * @return The values of the metric.
+     */
+    private static double[] values(List<UniverseBenchmarkMeasure> measures,
+            ToDoubleFunction<UniverseBenchmarkMeasure> metric) {
+        return measures.stream().mapToDouble(metric).toArray();
+    }
+
+    /**
+     * Computes the ratio between the medians of a metric in two groups of measures.
+     *
+     * @param old The measures of the baseline.
+     * @param now The measures to compare with the baseline.
+     * @param metric The metric to compare.
+     *
+     * @return The ratio between the medians of the metric.
+     */
+    private static double ratio(List<UniverseBenchmarkMeasure> old,
+            List<UniverseBenchmarkMeasure> now,
+            ToDoubleFunction<UniverseBenchmarkMeasure> metric) {
+        return ratio(UniverseMannWhitneyTest.median(values(old, metric)),
+                UniverseMannWhitneyTest.median(values(now, metric)));
+    }
+
+    /**
+     * Computes the ratio between a new value and an old value.
+     *
+     * @param old The old value.
+     * @param now The new value.
+     *
+     * @return The ratio between the values ({@code 1} if both are zero).
+     */
+    private static double ratio(double old, double now) {
+        if (old == 0) {
+            return (now == 0) ? 1 : Double.POSITIVE_INFINITY;
+        }
+        return now / old;
+    }
+
+    /**
+     * Gives the regressions detected by the comparison.
+     *
+     * @return The detected regressions.
+     */
+    public List<UniverseRegression> getRegressions() {
+        return regressions;
+    }
+
+    /**
+     * Checks whether a regression has been detected by the comparison.
+     *
+     * @return Whether a regression has been detected.
+     */
+    public boolean hasRegressions() {
+        return !regressions.isEmpty();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        var builder = new StringBuilder();
+        for (var line : summary) {
+            builder.append(line).append(System.lineSeparator());
+        }
+        builder.append(System.lineSeparator());
+        if (regressions.isEmpty()) {
+            builder.append("No regression detected").append(System.lineSeparator());
+        }
+        for (var regression : regressions) {
+            builder.append(regression).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+}
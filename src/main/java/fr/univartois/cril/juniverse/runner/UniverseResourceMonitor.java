@@ -0,0 +1,204 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.runner;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The UniverseResourceMonitor measures the resources consumed by the JVM between two
+ * points of time: wall-clock time, CPU time of the process, bytes allocated by all
+ * live threads and peak heap usage.
+ * As solvers may run their own threads (or native code), the CPU time and the
+ * allocations are measured for the whole process rather than for the calling thread.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseResourceMonitor {
+
+    /**
+     * The bean used to measure the CPU time of the process.
+     */
+    private static final com.sun.management.OperatingSystemMXBean SYSTEM =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory
+                    .getOperatingSystemMXBean();
+
+    /**
+     * The bean used to measure the allocations of the threads.
+     */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * The memory pools of the heap.
+     */
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = heapPools();
+
+    /**
+     * The wall-clock time when the monitoring started, in nanoseconds.
+     */
+    private long startWallTime;
+
+    /**
+     * The CPU time of the process when the monitoring started, in nanoseconds.
+     */
+    private long startCpuTime;
+
+    /**
+     * The number of bytes allocated by the live threads when the monitoring started.
+     */
+    private long startAllocatedBytes;
+
+    /**
+     * The wall-clock time elapsed during the monitoring, in nanoseconds.
+     */
+    private long wallTime;
+
+    /**
+     * The CPU time consumed by the process during the monitoring, in nanoseconds.
+     */
+    private long cpuTime;
+
+    /**
+     * The number of bytes allocated during the monitoring.
+     */
+    private long allocatedBytes;
+
+    /**
+     * The peak heap usage during the monitoring, in bytes.
+     */
+    private long peakHeapBytes;
+
+    /**
+     * Creates a new UniverseResourceMonitor.
+     */
+    UniverseResourceMonitor() {
+        // Monitoring starts when start() is called.
+    }
+
+    /**
+     * Gives the memory pools of the heap.
+     *
+     * @return The memory pools of the heap.
+     */
+    private static List<MemoryPoolMXBean> heapPools() {
+        var pools = new ArrayList<MemoryPoolMXBean>();
+        for (var pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    /**
+     * Starts monitoring the resources.
+     */
+    void start() {
+        for (var pool : HEAP_POOLS) {
+            pool.resetPeakUsage();
+        }
+        startAllocatedBytes = allocatedBytes();
+        startCpuTime = SYSTEM.getProcessCpuTime();
+        startWallTime = System.nanoTime();
+    }
+
+    /**
+     * Stops monitoring the resources.
+     */
+    void stop() {
+        wallTime = System.nanoTime() - startWallTime;
+        cpuTime = SYSTEM.getProcessCpuTime() - startCpuTime;
+        allocatedBytes = Math.max(0, allocatedBytes() - startAllocatedBytes);
+        peakHeapBytes = 0;
+        for (var pool : HEAP_POOLS) {
+            peakHeapBytes += pool.getPeakUsage().getUsed();
+        }
+    }
+
+    /**
+     * Gives the number of bytes allocated so far by all the live threads.
+     *
+     * @return The number of allocated bytes, or {@code 0} if this measure is not
+     *         supported.
+     */
+    private static long allocatedBytes() {
+        if (!THREADS.isThreadAllocatedMemorySupported()
+                || !THREADS.isThreadAllocatedMemoryEnabled()) {
+            return 0;
+        }
+
+        long total = 0;
+        for (long allocated : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gives the wall-clock time elapsed during the monitoring.
+     *
+     * @return The wall-clock time, in milliseconds.
+     */
+    double getWallTimeMs() {
+        return wallTime / 1e6;
+    }
+
+    /**
+     * Gives the CPU time consumed by the process during the monitoring.
+     *
+     * @return The CPU time, in milliseconds.
+     */
+    double getCpuTimeMs() {
+        return cpuTime / 1e6;
+    }
+
+    /**
+     * Gives the number of bytes allocated during the monitoring.
+     * Bytes allocated by threads that terminated during the monitoring are not taken
+     * into account.
+     *
+     * @return The number of allocated bytes.
+     */
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gives the peak heap usage during the monitoring.
+     * This value is the sum of the peak usages of the different memory pools of the
+     * heap, and is thus an upper bound of the actual peak usage.
+     *
+     * @return The peak heap usage, in bytes.
+     */
+    long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+}
@@ -0,0 +1,12 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.runner} package provides tools for running
+ * sets of instances on the solvers available in the classpath, and for comparing the
+ * measured performance against a stored baseline.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.runner;
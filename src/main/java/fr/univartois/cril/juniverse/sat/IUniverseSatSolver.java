@@ -25,11 +25,15 @@ import static java.math.BigInteger.ZERO;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import fr.univartois.cril.juniverse.core.IUniverseSolver;
 import fr.univartois.cril.juniverse.core.UniverseAssumption;
 import fr.univartois.cril.juniverse.core.UniverseContradictionException;
+import fr.univartois.cril.juniverse.core.UniverseSolutionIterator;
 import fr.univartois.cril.juniverse.core.UniverseSolverResult;
 
 /**
@@ -115,4 +119,158 @@ public interface IUniverseSatSolver extends IUniverseSolver {
         return solve(integerAssumptions);
     }
 
+    /**
+     * Enumerates the solutions of the problem associated to this solver.
+     * After each solution, a clause blocking this solution is added to this solver,
+     * and the search goes on incrementally.
+     *
+     * @return The stream of the solutions of the problem.
+     *
+     * @see #solutionIterator(List, long)
+     */
+    default Stream<Map<String, BigInteger>> solutions() {
+        return solutions(null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Enumerates the solutions of the problem associated to this solver, projected on
+     * the given variables.
+     * After each solution, a clause blocking this solution is added to this solver,
+     * and the search goes on incrementally.
+     *
+     * @param variables The variables (given by their name, or by their DIMACS identifier)
+     *        on which solutions are projected, or {@code null} to consider all
+     *        non-auxiliary variables.
+     *        In the solutions, a DIMACS identifier is replaced by the name of the
+     *        corresponding variable, if this name is known.
+     *        In the solutions, a DIMACS identifier is replaced by the name of the
+     *        corresponding variable, if this name is known.
+     * @param limit The maximum number of solutions to enumerate.
+     *
+     * @return The stream of the solutions of the problem.
+     *
+     * @see #solutionIterator(List, long)
+     */
+    default Stream<Map<String, BigInteger>> solutions(List<String> variables, long limit) {
+        return solutionIterator(variables, limit).stream();
+    }
+
+    /**
+     * Gives an iterator enumerating the solutions of the problem associated to this
+     * solver, projected on the given variables.
+     * After each solution, a clause blocking this solution is added to this solver,
+     * and the search goes on incrementally.
+     * These clauses remain in the solver after the enumeration.
+     *
+     * @param variables The variables (given by their name, or by their DIMACS identifier)
+     *        on which solutions are projected, or {@code null} to consider all
+     *        non-auxiliary variables.
+     *        In the solutions, a DIMACS identifier is replaced by the name of the
+     *        corresponding variable, if this name is known.
+     * @param limit The maximum number of solutions to enumerate.
+     *
+     * @return The iterator over the solutions of the problem.
+     *
+     * @throws IllegalArgumentException If a projected variable is neither in the mapping
+     *         of this solver, nor a DIMACS identifier between {@code 1} and
+     *         {@link #nVariables()}.
+     */
+    default UniverseSolutionIterator solutionIterator(List<String> variables, long limit) {
+        return new UniverseSolutionIterator(this, toVariableNames(variables), limit,
+                this::addBlockingClause, this::isVariable);
+    }
+
+    /**
+     * Replaces the DIMACS identifiers in the given list by the names of the corresponding
+     * variables, when these names are known.
+     *
+     * @param variables The variables, given by their name or by their DIMACS identifier.
+     *
+     * @return The list of the variables, given by their name when possible.
+     */
+    private List<String> toVariableNames(List<String> variables) {
+        var mapping = getVariablesMapping();
+        if ((variables == null) || (mapping == null)) {
+            return variables;
+        }
+
+        var namesById = new HashMap<Integer, String>();
+        for (var entry : mapping.entrySet()) {
+            namesById.put(entry.getValue().getId(), entry.getKey());
+        }
+
+        var names = new ArrayList<String>(variables.size());
+        for (var variable : variables) {
+            var name = mapping.containsKey(variable) ? variable
+                    : namesById.get(toDimacsIdentifier(variable));
+            names.add((name == null) ? variable : name);
+        }
+        return names;
+    }
+
+    /**
+     * Checks whether the given name designates a variable of this solver, either because
+     * it is in the mapping of this solver, or because it is a valid DIMACS identifier.
+     *
+     * @param name The name to check.
+     *
+     * @return Whether the name designates a variable.
+     */
+    private boolean isVariable(String name) {
+        var mapping = getVariablesMapping();
+        if ((mapping != null) && mapping.containsKey(name)) {
+            return true;
+        }
+
+        int id = toDimacsIdentifier(name);
+        return (1 <= id) && (id <= nVariables());
+    }
+
+    /**
+     * Reads the DIMACS identifier given by a variable name.
+     *
+     * @param name The name of the variable.
+     *
+     * @return The DIMACS identifier, or {@code 0} if the name is not an identifier.
+     */
+    private static int toDimacsIdentifier(String name) {
+        try {
+            return Integer.parseInt(name);
+
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Adds to this solver a clause forbidding the given assignment.
+     *
+     * @param assignment The assignment to forbid, given as a mapping from variable names
+     *        to Boolean values.
+     *        Variables that are not in the mapping of this solver are expected to be
+     *        named after their DIMACS identifier.
+     *
+     * @throws UniverseContradictionException If the clause to add is inconsistent.
+     */
+    private void addBlockingClause(Map<String, BigInteger> assignment) {
+        var clause = new ArrayList<Integer>(assignment.size());
+        var mapping = getVariablesMapping();
+
+        for (var entry : assignment.entrySet()) {
+            var mapped = (mapping == null) ? null : mapping.get(entry.getKey());
+            int variable = (mapped == null) ? Integer.parseInt(entry.getKey()) : mapped.getId();
+            if (ZERO.equals(entry.getValue())) {
+                clause.add(variable);
+
+            } else {
+                clause.add(-variable);
+            }
+        }
+
+        if (clause.isEmpty()) {
+            throw new UniverseContradictionException("Empty blocking clause");
+        }
+        addClause(clause);
+    }
+
 }
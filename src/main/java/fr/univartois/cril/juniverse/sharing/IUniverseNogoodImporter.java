@@ -0,0 +1,98 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.sharing;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.univartois.cril.juniverse.core.UniverseContradictionException;
+import fr.univartois.cril.juniverse.csp.IUniverseCSPSolver;
+import fr.univartois.cril.juniverse.sat.IUniverseSatSolver;
+
+/**
+ * The IUniverseNogoodImporter interface defines the way nogoods learned by other
+ * solvers are added to a solver.
+ * Importers are invoked by the thread running the solver, when this solver restarts.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@FunctionalInterface
+public interface IUniverseNogoodImporter {
+
+    /**
+     * Adds a nogood learned by another solver.
+     *
+     * @param nogood The nogood to add.
+     *
+     * @throws UniverseContradictionException If adding the nogood results in a trivial
+     *         inconsistency.
+     */
+    void importNogood(UniverseSharedNogood nogood);
+
+    /**
+     * Creates an importer adding nogoods to a SAT solver as clauses.
+     * The variables of the nogoods are resolved through the mapping of the solver.
+     * Variables that are not in this mapping are expected to be named after their DIMACS
+     * identifier.
+     *
+     * @param solver The solver to add the nogoods to.
+     *
+     * @return The created importer.
+     */
+    static IUniverseNogoodImporter forSatSolver(IUniverseSatSolver solver) {
+        return nogood -> {
+            var mapping = solver.getVariablesMapping();
+            var clause = new ArrayList<Integer>(nogood.size());
+            for (int i = 0; i < nogood.size(); i++) {
+                var name = nogood.getVariables().get(i);
+                var mapped = (mapping == null) ? null : mapping.get(name);
+                int variable = (mapped == null) ? Integer.parseInt(name) : mapped.getId();
+                clause.add(BigInteger.ZERO.equals(nogood.getValues().get(i))
+                        ? variable : -variable);
+            }
+            solver.addClause(clause);
+        };
+    }
+
+    /**
+     * Creates an importer adding nogoods to a CSP solver as {@code extension}
+     * constraints.
+     *
+     * @param solver The solver to add the nogoods to.
+     *
+     * @return The created importer.
+     */
+    static IUniverseNogoodImporter forCSPSolver(IUniverseCSPSolver solver) {
+        return nogood -> {
+            if (nogood.size() == 1) {
+                solver.addConflicts(nogood.getVariables().get(0), nogood.getValues());
+
+            } else {
+                solver.addConflicts(nogood.getVariables(), List.of(nogood.getValues()));
+            }
+        };
+    }
+
+}
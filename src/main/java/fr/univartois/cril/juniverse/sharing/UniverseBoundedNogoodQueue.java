@@ -0,0 +1,96 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.sharing;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The UniverseBoundedNogoodQueue is a lock-free queue storing the nogoods waiting to be
+ * imported by a solver.
+ * When the queue is full, new nogoods are dropped rather than blocking the producers.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+final class UniverseBoundedNogoodQueue {
+
+    /**
+     * The nogoods stored in this queue.
+     */
+    private final Queue<UniverseSharedNogood> nogoods = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of nogoods stored in this queue.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * The maximum number of nogoods that can be stored in this queue.
+     */
+    private final int capacity;
+
+    /**
+     * Creates a new UniverseBoundedNogoodQueue.
+     *
+     * @param capacity The maximum number of nogoods that can be stored in the queue.
+     */
+    UniverseBoundedNogoodQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a nogood to this queue, if it is not full.
+     *
+     * @param nogood The nogood to add.
+     *
+     * @return Whether the nogood has been added.
+     */
+    boolean offer(UniverseSharedNogood nogood) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+
+        nogoods.add(nogood);
+        return true;
+    }
+
+    /**
+     * Removes the oldest nogood from this queue.
+     *
+     * @return The removed nogood, or {@code null} if this queue is empty.
+     */
+    UniverseSharedNogood poll() {
+        var nogood = nogoods.poll();
+        if (nogood != null) {
+            size.decrementAndGet();
+        }
+        return nogood;
+    }
+
+}
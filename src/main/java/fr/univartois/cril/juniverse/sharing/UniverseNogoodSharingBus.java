@@ -0,0 +1,217 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.sharing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+
+/**
+ * The UniverseNogoodSharingBus allows a portfolio of solvers working on the same
+ * problem to share the nogoods they learn.
+ *
+ * Each solver registered on the bus is given a {@link UniverseNogoodSharingListener},
+ * which captures the nogoods learned by the solver, keeps only those that are short
+ * enough and whose LBD is small enough, and publishes them to the other solvers.
+ * Each solver has its own bounded queue of nogoods to import, from which the nogoods
+ * are imported when the solver restarts.
+ * Publishing never blocks: nogoods are dropped when the queue of a solver is full.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseNogoodSharingBus {
+
+    /**
+     * The maximum number of nogoods waiting to be imported by each solver.
+     */
+    private final int queueCapacity;
+
+    /**
+     * The maximum number of variables in a shared nogood.
+     */
+    private final int maxSize;
+
+    /**
+     * The maximum LBD of a shared nogood.
+     */
+    private final int maxLbd;
+
+    /**
+     * The listeners of the solvers registered on this bus.
+     */
+    private final List<UniverseNogoodSharingListener> participants =
+            new CopyOnWriteArrayList<>();
+
+    /**
+     * The generator for the identifiers of the solvers registered on this bus.
+     */
+    private final AtomicInteger identifiers = new AtomicInteger();
+
+    /**
+     * The number of nogoods that have been published on this bus.
+     */
+    private final LongAdder published = new LongAdder();
+
+    /**
+     * The number of learned nogoods that have been rejected by the quality filter.
+     */
+    private final LongAdder filtered = new LongAdder();
+
+    /**
+     * The number of nogoods that have been dropped because a queue was full.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * The number of nogoods that have been imported by the solvers.
+     */
+    private final LongAdder imported = new LongAdder();
+
+    /**
+     * Creates a new UniverseNogoodSharingBus.
+     *
+     * @param queueCapacity The maximum number of nogoods waiting to be imported by each
+     *        solver.
+     * @param maxSize The maximum number of variables in a shared nogood.
+     * @param maxLbd The maximum LBD of a shared nogood.
+     */
+    public UniverseNogoodSharingBus(int queueCapacity, int maxSize, int maxLbd) {
+        this.queueCapacity = queueCapacity;
+        this.maxSize = maxSize;
+        this.maxLbd = maxLbd;
+    }
+
+    /**
+     * Registers a solver on this bus.
+     * The solver will publish the nogoods it learns, and import those learned by the
+     * other solvers registered on this bus.
+     *
+     * @param solver The solver to register.
+     * @param importer The importer used to add the nogoods to the solver.
+     *
+     * @return The listener capturing and importing the nogoods of the solver.
+     *
+     * @throws UnsupportedOperationException If the solver does not support search
+     *         listeners.
+     */
+    public UniverseNogoodSharingListener register(IUniverseSolver solver,
+            IUniverseNogoodImporter importer) {
+        var listener = new UniverseNogoodSharingListener(this, identifiers.getAndIncrement(),
+                solver, importer, new UniverseBoundedNogoodQueue(queueCapacity));
+        participants.add(listener);
+        solver.addSearchListener(listener);
+        return listener;
+    }
+
+    /**
+     * Unregisters a solver from this bus.
+     * The nogoods waiting to be imported by this solver are discarded.
+     *
+     * @param listener The listener that has been given when registering the solver.
+     */
+    public void unregister(UniverseNogoodSharingListener listener) {
+        participants.remove(listener);
+        listener.getSolver().removeSearchListener(listener);
+    }
+
+    /**
+     * Checks whether a learned nogood is worth sharing.
+     *
+     * @param size The number of variables in the nogood.
+     * @param lbd The LBD of the nogood.
+     *
+     * @return Whether the nogood should be shared.
+     */
+    boolean accepts(int size, int lbd) {
+        if ((size <= maxSize) && (lbd <= maxLbd)) {
+            return true;
+        }
+        filtered.increment();
+        return false;
+    }
+
+    /**
+     * Publishes a nogood to all the solvers but the one that has learned it.
+     *
+     * @param nogood The nogood to publish.
+     */
+    void publish(UniverseSharedNogood nogood) {
+        published.increment();
+        for (var participant : participants) {
+            if ((participant.getIdentifier() != nogood.getSource())
+                    && !participant.getInbox().offer(nogood)) {
+                dropped.increment();
+            }
+        }
+    }
+
+    /**
+     * Records that a nogood has been imported by a solver.
+     */
+    void imported() {
+        imported.increment();
+    }
+
+    /**
+     * Gives the number of nogoods that have been published on this bus.
+     *
+     * @return The number of published nogoods.
+     */
+    public long getPublishedNogoods() {
+        return published.sum();
+    }
+
+    /**
+     * Gives the number of learned nogoods that have been rejected by the quality
+     * filter of this bus.
+     *
+     * @return The number of filtered nogoods.
+     */
+    public long getFilteredNogoods() {
+        return filtered.sum();
+    }
+
+    /**
+     * Gives the number of nogoods that have been dropped because the queue of a solver
+     * was full.
+     *
+     * @return The number of dropped nogoods.
+     */
+    public long getDroppedNogoods() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gives the number of nogoods that have been imported by the solvers.
+     *
+     * @return The number of imported nogoods.
+     */
+    public long getImportedNogoods() {
+        return imported.sum();
+    }
+
+}
@@ -0,0 +1,399 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.sharing;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseContradictionException;
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+
+/**
+ * The UniverseNogoodSharingListener connects a solver to a
+ * {@link UniverseNogoodSharingBus}.
+ *
+ * This listener keeps track of the current assignment of the solver and of the
+ * decision level of each assigned variable.
+ * When a nogood is learned right after a conflict (i.e., when
+ * {@link #onLearning(IUniverseConstraint)} follows
+ * {@link #onConflict(IUniverseConstraint, IUniverseVariable)} without any backtrack or
+ * assignment in between), all its variables are assigned (they are involved in the
+ * conflict), so that the nogood is shared as the current assignment of its variables.
+ * This assignment may be more specific than the nogood actually learned (e.g., when
+ * this nogood involves disequalities), which makes the shared nogood weaker but still
+ * sound.
+ * Nogoods involving unassigned variables, or learned after the solver has started to
+ * backjump (at which point the assignment may already satisfy the nogood), are never
+ * shared.
+ *
+ * Note that this listener is expected to be notified by a single thread, namely the
+ * one running the solver it listens to.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseNogoodSharingListener implements IUniverseSearchListener {
+
+    /**
+     * The bus on which the nogoods are shared.
+     */
+    private final UniverseNogoodSharingBus bus;
+
+    /**
+     * The identifier of the solver on the bus.
+     */
+    private final int identifier;
+
+    /**
+     * The solver listened to by this listener.
+     */
+    private final IUniverseSolver solver;
+
+    /**
+     * The importer used to add the nogoods to the solver.
+     */
+    private final IUniverseNogoodImporter importer;
+
+    /**
+     * The queue of the nogoods waiting to be imported by the solver.
+     */
+    private final UniverseBoundedNogoodQueue inbox;
+
+    /**
+     * The current assignment of the solver, with the decision level of each variable.
+     */
+    private final Map<String, Assignment> assignment = new HashMap<>();
+
+    /**
+     * The names of the variables assigned at each decision level.
+     */
+    private final List<List<String>> trail = new ArrayList<>();
+
+    /**
+     * The current decision level of the solver.
+     */
+    private int level;
+
+    /**
+     * Whether importing a nogood has revealed an inconsistency.
+     */
+    private boolean inconsistent;
+
+    /**
+     * Whether a conflict has occurred and the assignment has not changed since then.
+     */
+    private boolean conflicting;
+
+    /**
+     * Creates a new UniverseNogoodSharingListener.
+     *
+     * @param bus The bus on which the nogoods are shared.
+     * @param identifier The identifier of the solver on the bus.
+     * @param solver The solver listened to by the listener.
+     * @param importer The importer used to add the nogoods to the solver.
+     * @param inbox The queue of the nogoods waiting to be imported by the solver.
+     */
+    UniverseNogoodSharingListener(UniverseNogoodSharingBus bus, int identifier,
+            IUniverseSolver solver, IUniverseNogoodImporter importer,
+            UniverseBoundedNogoodQueue inbox) {
+        this.bus = bus;
+        this.identifier = identifier;
+        this.solver = solver;
+        this.importer = importer;
+        this.inbox = inbox;
+        this.trail.add(new ArrayList<>());
+    }
+
+    /**
+     * Gives the identifier of the solver on the bus.
+     *
+     * @return The identifier of the solver.
+     */
+    int getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Gives the solver listened to by this listener.
+     *
+     * @return The solver.
+     */
+    IUniverseSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Gives the queue of the nogoods waiting to be imported by the solver.
+     *
+     * @return The queue of the solver.
+     */
+    UniverseBoundedNogoodQueue getInbox() {
+        return inbox;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#start()
+     */
+    @Override
+    public void start() {
+        assignment.clear();
+        trail.clear();
+        trail.add(new ArrayList<>());
+        level = 0;
+        inconsistent = false;
+        conflicting = false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onPositiveDecision(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onPositiveDecision(IUniverseVariable decisionVariable, BigInteger value) {
+        conflicting = false;
+        level++;
+        trail.add(new ArrayList<>());
+        assign(decisionVariable, value);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onPropagation(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onPropagation(IUniverseVariable variable, BigInteger value) {
+        assign(variable, value);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onAssignment(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable, java.math.BigInteger)
+     */
+    @Override
+    public void onAssignment(IUniverseVariable variable, BigInteger value) {
+        assign(variable, value);
+    }
+
+    /**
+     * Records the assignment of a variable at the current decision level.
+     *
+     * @param variable The assigned variable.
+     * @param value The value assigned to the variable.
+     */
+    private void assign(IUniverseVariable variable, BigInteger value) {
+        conflicting = false;
+        var name = variable.getName();
+        var previous = assignment.put(name, new Assignment(value, level));
+        if ((previous == null) || (previous.level != level)) {
+            trail.get(level).add(name);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onUnassignment(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onUnassignment(IUniverseVariable variable) {
+        conflicting = false;
+        assignment.remove(variable.getName());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onBacktrack(int)
+     */
+    @Override
+    public void onBacktrack(int level) {
+        backtrack(level);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onBacktrack(fr.
+     * univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onBacktrack(IUniverseVariable decisionVariable) {
+        backtrack(level - 1);
+    }
+
+    /**
+     * Removes the assignments made after the given decision level.
+     *
+     * @param target The decision level to backtrack to.
+     */
+    private void backtrack(int target) {
+        conflicting = false;
+        target = Math.max(0, target);
+        while (level > target) {
+            for (var name : trail.remove(level)) {
+                var current = assignment.get(name);
+                if ((current != null) && (current.level == level)) {
+                    assignment.remove(name);
+                }
+            }
+            level--;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onConflict(fr.univartois.
+     * cril.juniverse.core.problem.IUniverseConstraint,
+     * fr.univartois.cril.juniverse.core.problem.IUniverseVariable)
+     */
+    @Override
+    public void onConflict(IUniverseConstraint constraint, IUniverseVariable variable) {
+        conflicting = true;
+    }
+
+    /**
+     * Shares a learned nogood with the other solvers, as the current assignment of its
+     * variables.
+     * This is only sound when the nogood is notified right after the conflict it has been
+     * learned from, i.e., after {@link #onConflict(IUniverseConstraint, IUniverseVariable)}
+     * and before any backtrack or assignment.
+     * Nogoods notified in any other order are not shared.
+     *
+     * @param noGood The learned nogood.
+     */
+    @Override
+    public void onLearning(IUniverseConstraint noGood) {
+        if (!conflicting) {
+            // The current assignment may not violate the nogood anymore.
+            return;
+        }
+
+        var scope = noGood.scope();
+        var variables = new ArrayList<String>(scope.size());
+        var values = new ArrayList<BigInteger>(scope.size());
+        var levels = new HashSet<Integer>();
+
+        for (var variable : scope) {
+            var current = assignment.get(variable.getName());
+            if (current == null) {
+                // The nogood cannot be described by the current assignment.
+                return;
+            }
+            variables.add(variable.getName());
+            values.add(current.value);
+            if (current.level > 0) {
+                levels.add(current.level);
+            }
+        }
+
+        if (!variables.isEmpty() && bus.accepts(variables.size(), levels.size())) {
+            bus.publish(new UniverseSharedNogood(identifier, variables, values,
+                    levels.size()));
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.listener.IUniverseSearchListener#onRestart()
+     */
+    @Override
+    public void onRestart() {
+        backtrack(0);
+        importNogoods();
+    }
+
+    /**
+     * Imports the nogoods learned by the other solvers since the last restart.
+     * If a nogood reveals an inconsistency, the remaining nogoods are discarded, as the
+     * solver is expected to detect this inconsistency by itself.
+     */
+    public void importNogoods() {
+        for (var nogood = inbox.poll(); nogood != null; nogood = inbox.poll()) {
+            if (inconsistent) {
+                continue;
+            }
+
+            try {
+                importer.importNogood(nogood);
+                bus.imported();
+
+            } catch (UniverseContradictionException e) {
+                inconsistent = true;
+            }
+        }
+    }
+
+    /**
+     * The Assignment represents the value assigned to a variable, together with the
+     * decision level at which it has been assigned.
+     */
+    private static final class Assignment {
+
+        /**
+         * The value assigned to the variable.
+         */
+        final BigInteger value;
+
+        /**
+         * The decision level at which the variable has been assigned.
+         */
+        final int level;
+
+        /**
+         * Creates a new Assignment.
+         *
+         * @param value The value assigned to the variable.
+         * @param level The decision level at which the variable has been assigned.
+         */
+        Assignment(BigInteger value, int level) {
+            this.value = value;
+            this.level = level;
+        }
+
+    }
+
+}
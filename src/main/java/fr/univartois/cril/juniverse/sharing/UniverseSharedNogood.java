@@ -0,0 +1,139 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.sharing;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * The UniverseSharedNogood represents a nogood exchanged between solvers, i.e., an
+ * assignment of variables that cannot be extended to a solution.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseSharedNogood {
+
+    /**
+     * The identifier of the solver that has learned this nogood.
+     */
+    private final int source;
+
+    /**
+     * The names of the variables involved in this nogood.
+     */
+    private final List<String> variables;
+
+    /**
+     * The values forbidden for the variables of this nogood.
+     */
+    private final List<BigInteger> values;
+
+    /**
+     * The number of distinct decision levels involved in this nogood when it has been
+     * learned.
+     */
+    private final int lbd;
+
+    /**
+     * Creates a new UniverseSharedNogood.
+     *
+     * @param source The identifier of the solver that has learned the nogood.
+     * @param variables The names of the variables involved in the nogood.
+     * @param values The values forbidden for the variables of the nogood.
+     * @param lbd The number of distinct decision levels involved in the nogood.
+     */
+    public UniverseSharedNogood(int source, List<String> variables, List<BigInteger> values,
+            int lbd) {
+        this.source = source;
+        this.variables = List.copyOf(variables);
+        this.values = List.copyOf(values);
+        this.lbd = lbd;
+    }
+
+    /**
+     * Gives the identifier of the solver that has learned this nogood.
+     *
+     * @return The identifier of the source solver.
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Gives the names of the variables involved in this nogood.
+     *
+     * @return The variables of this nogood.
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Gives the values forbidden for the variables of this nogood.
+     * The conjunction of the assignments of each variable to its corresponding value is
+     * inconsistent.
+     *
+     * @return The values of this nogood.
+     */
+    public List<BigInteger> getValues() {
+        return values;
+    }
+
+    /**
+     * Gives the number of variables involved in this nogood.
+     *
+     * @return The size of this nogood.
+     */
+    public int size() {
+        return variables.size();
+    }
+
+    /**
+     * Gives the number of distinct decision levels involved in this nogood when it has
+     * been learned (a.k.a. its literal block distance).
+     *
+     * @return The LBD of this nogood.
+     */
+    public int getLbd() {
+        return lbd;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        var builder = new StringBuilder("nogood(");
+        for (int i = 0; i < variables.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(variables.get(i)).append('=').append(values.get(i));
+        }
+        return builder.append(") lbd=").append(lbd).toString();
+    }
+
+}
@@ -0,0 +1,11 @@
+/**
+ * The {@code fr.univartois.cril.juniverse.sharing} package provides a bus for sharing
+ * the nogoods learned by solvers running in parallel on the same problem.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+
+package fr.univartois.cril.juniverse.sharing;
@@ -27,6 +27,8 @@ import fr.univartois.cril.juniverse.sat.IUniverseSatSolver;
 /**
  * The IUniverseSolverFactory defines an abstract factory for instantiating solvers
  * implementing different interfaces.
+ * The capabilities of the created solvers are declared by annotating the class of the
+ * factory with {@link UniverseCapabilities}.
  *
  * @author Thibault Falque
  * @author Romain Wallon
@@ -22,11 +22,20 @@ package fr.univartois.cril.juniverse.utils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * The SolverFactoryLoader loads all implementations of {@link IUniverseSolverFactory}
  * that are present in the classpath.
+ * The providers are looked up only once, and each factory is instantiated lazily (at most
+ * once), when it is actually needed.
+ * The capabilities of the factories (see {@link UniverseCapabilities}) are read from their
+ * classes, so that a factory can be selected without instantiating the others.
  *
  * @author Thibault Falque
  * @author Romain Wallon
@@ -40,11 +49,26 @@ public final class SolverFactoryLoader {
      */
     private static final SolverFactoryLoader INSTANCE = new SolverFactoryLoader();
 
+    /**
+     * The providers of the factories available in the classpath, looked up lazily.
+     */
+    private volatile List<Provider<IUniverseSolverFactory>> providers;
+
+    /**
+     * The capabilities of the factories available in the classpath, looked up lazily.
+     */
+    private volatile List<UniverseSolverCapabilities> capabilities;
+
+    /**
+     * The factories that have already been instantiated, indexed by their class.
+     */
+    private final Map<Class<? extends IUniverseSolverFactory>, IUniverseSolverFactory> factories;
+
     /**
      * Disables external instantiation.
      */
     private SolverFactoryLoader() {
-        // Nothing to do: Singleton Design Pattern
+        this.factories = new ConcurrentHashMap<>();
     }
 
     /**
@@ -56,18 +80,147 @@ public final class SolverFactoryLoader {
         return INSTANCE;
     }
 
+    /**
+     * Gives the providers of the factories available in the classpath.
+     * They are looked up on the first call only.
+     *
+     * @return The providers of the available factories.
+     */
+    private List<Provider<IUniverseSolverFactory>> providers() {
+        var result = providers;
+        if (result == null) {
+            synchronized (this) {
+                result = providers;
+                if (result == null) {
+                    result = ServiceLoader.load(IUniverseSolverFactory.class).stream()
+                            .collect(Collectors.toUnmodifiableList());
+                    providers = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gives the factory supplied by the given provider, instantiating it if needed.
+     *
+     * @param provider The provider of the factory.
+     *
+     * @return The factory supplied by the provider.
+     */
+    private IUniverseSolverFactory instantiate(Provider<IUniverseSolverFactory> provider) {
+        return factories.computeIfAbsent(provider.type(), t -> provider.get());
+    }
+
     /**
      * Gives a list of instances of all available {@link IUniverseSolverFactory}
      * implementations in the classpath.
+     * Factories that have already been instantiated are reused.
      *
      * @return A list of available factories.
      */
     public List<IUniverseSolverFactory> getFactories() {
-        ServiceLoader<IUniverseSolverFactory> services = ServiceLoader
-                .load(IUniverseSolverFactory.class);
         List<IUniverseSolverFactory> list = new ArrayList<>();
-        services.iterator().forEachRemaining(list::add);
+        for (var provider : providers()) {
+            list.add(instantiate(provider));
+        }
         return list;
     }
 
+    /**
+     * Gives the capabilities of all available {@link IUniverseSolverFactory}
+     * implementations in the classpath.
+     * This does not instantiate any factory.
+     *
+     * @return The capabilities of the available factories.
+     */
+    public List<UniverseSolverCapabilities> getCapabilities() {
+        var result = capabilities;
+        if (result == null) {
+            result = providers().stream()
+                    .map(p -> UniverseSolverCapabilities.of(p.type()))
+                    .collect(Collectors.toUnmodifiableList());
+            capabilities = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gives the factory with the given class, provided that it is available in the
+     * classpath.
+     *
+     * @param type The class of the factory.
+     *
+     * @return The factory with the given class, or {@code null} if there is none.
+     */
+    public IUniverseSolverFactory getFactory(Class<? extends IUniverseSolverFactory> type) {
+        for (var provider : providers()) {
+            if (provider.type() == type) {
+                return instantiate(provider);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gives the factory with the given name.
+     * A factory matches if its declared name (see {@link UniverseCapabilities#name()}),
+     * the simple name of its class, or the fully qualified name of its class is equal
+     * (ignoring case) to the given name.
+     * Only the matching factory is instantiated.
+     * If no factory matches, the name is compared to the {@code toString()} of each
+     * factory, which requires to instantiate all of them.
+     *
+     * @param name The name of the factory.
+     *
+     * @return The factory with the given name, or {@code null} if there is none.
+     */
+    public IUniverseSolverFactory getFactory(String name) {
+        for (var capability : getCapabilities()) {
+            var type = capability.getType();
+            if (name.equalsIgnoreCase(capability.getName())
+                    || name.equalsIgnoreCase(type.getSimpleName())
+                    || name.equalsIgnoreCase(type.getName())) {
+                return getFactory(type);
+            }
+        }
+
+        for (var factory : getFactories()) {
+            if (name.equalsIgnoreCase(factory.toString())) {
+                return factory;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gives the factories whose capabilities satisfy the given predicate.
+     * Only the matching factories are instantiated.
+     *
+     * @param predicate The predicate the capabilities of the factories must satisfy.
+     *
+     * @return The list of matching factories.
+     */
+    public List<IUniverseSolverFactory> findFactories(
+            Predicate<UniverseSolverCapabilities> predicate) {
+        List<IUniverseSolverFactory> list = new ArrayList<>();
+        for (var capability : getCapabilities()) {
+            if (predicate.test(capability)) {
+                list.add(getFactory(capability.getType()));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Forgets all the providers and factories that have been loaded, so that the next
+     * lookup takes into account the implementations that have been added to the classpath
+     * in the meantime.
+     */
+    public synchronized void reload() {
+        providers = null;
+        capabilities = null;
+        factories.clear();
+    }
+
 }
@@ -0,0 +1,87 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The UniverseCapabilities annotation declares the capabilities of the solvers created by
+ * an {@link IUniverseSolverFactory}.
+ * As it is read from the class of the factory, {@link SolverFactoryLoader} can select a
+ * factory based on its capabilities without instantiating it (which may be costly, e.g.,
+ * when native libraries are loaded).
+ * Factories that are not annotated are assumed to support all kinds of problems, and no
+ * other capability.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface UniverseCapabilities {
+
+    /**
+     * Gives the name of the factory.
+     * By default, the simple name of the class of the factory is used.
+     *
+     * @return The name of the factory.
+     */
+    String name() default "";
+
+    /**
+     * Gives the kinds of problems for which the factory creates solvers.
+     *
+     * @return The supported kinds of problems.
+     */
+    UniverseProblemKind[] kinds() default { UniverseProblemKind.SAT,
+            UniverseProblemKind.PSEUDO_BOOLEAN, UniverseProblemKind.CSP };
+
+    /**
+     * Gives whether the solvers support incremental solving (e.g., solving under
+     * assumptions, or adding constraints between two solves).
+     *
+     * @return Whether the solvers are incremental.
+     */
+    boolean incremental() default false;
+
+    /**
+     * Gives whether the solvers can safely be used by several threads (provided that the
+     * calls are not concurrent), e.g., when interrupting them from another thread.
+     *
+     * @return Whether the solvers are thread-safe.
+     */
+    boolean threadSafe() default false;
+
+    /**
+     * Gives whether the solvers rely on native code.
+     *
+     * @return Whether the solvers are native.
+     */
+    boolean nativeCode() default false;
+
+}
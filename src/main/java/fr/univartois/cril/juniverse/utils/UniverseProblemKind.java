@@ -0,0 +1,82 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.utils;
+
+import java.util.function.Function;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+
+/**
+ * The UniverseProblemKind enumerates the kinds of problems for which an
+ * {@link IUniverseSolverFactory} creates solvers.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public enum UniverseProblemKind {
+
+    /**
+     * The kind of SAT problems, solved by
+     * {@link fr.univartois.cril.juniverse.sat.IUniverseSatSolver}.
+     */
+    SAT(IUniverseSolverFactory::createSatSolver),
+
+    /**
+     * The kind of pseudo-Boolean problems, solved by
+     * {@link fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver}.
+     */
+    PSEUDO_BOOLEAN(IUniverseSolverFactory::createPseudoBooleanSolver),
+
+    /**
+     * The kind of CSP problems, solved by
+     * {@link fr.univartois.cril.juniverse.csp.IUniverseCSPSolver}.
+     */
+    CSP(IUniverseSolverFactory::createCspSolver);
+
+    /**
+     * The function creating a solver for this kind of problems from a factory.
+     */
+    private final Function<IUniverseSolverFactory, IUniverseSolver> creator;
+
+    /**
+     * Creates a new UniverseProblemKind.
+     *
+     * @param creator The function creating a solver for this kind of problems from a
+     *        factory.
+     */
+    UniverseProblemKind(Function<IUniverseSolverFactory, IUniverseSolver> creator) {
+        this.creator = creator;
+    }
+
+    /**
+     * Creates a solver for this kind of problems.
+     *
+     * @param factory The factory to use to create the solver.
+     *
+     * @return The created solver.
+     */
+    public IUniverseSolver createSolver(IUniverseSolverFactory factory) {
+        return creator.apply(factory);
+    }
+
+}
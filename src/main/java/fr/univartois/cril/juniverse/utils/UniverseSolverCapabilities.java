@@ -0,0 +1,189 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.utils;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The UniverseSolverCapabilities describes the capabilities of the solvers created by an
+ * {@link IUniverseSolverFactory}, as declared with {@link UniverseCapabilities}.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public final class UniverseSolverCapabilities {
+
+    /**
+     * The class of the factory.
+     */
+    private final Class<? extends IUniverseSolverFactory> type;
+
+    /**
+     * The name of the factory.
+     */
+    private final String name;
+
+    /**
+     * The kinds of problems for which the factory creates solvers.
+     */
+    private final Set<UniverseProblemKind> kinds;
+
+    /**
+     * Whether the solvers support incremental solving.
+     */
+    private final boolean incremental;
+
+    /**
+     * Whether the solvers can safely be used by several threads.
+     */
+    private final boolean threadSafe;
+
+    /**
+     * Whether the solvers rely on native code.
+     */
+    private final boolean nativeCode;
+
+    /**
+     * Creates a new UniverseSolverCapabilities.
+     *
+     * @param type The class of the factory.
+     * @param name The name of the factory.
+     * @param kinds The kinds of problems for which the factory creates solvers.
+     * @param incremental Whether the solvers support incremental solving.
+     * @param threadSafe Whether the solvers can safely be used by several threads.
+     * @param nativeCode Whether the solvers rely on native code.
+     */
+    private UniverseSolverCapabilities(Class<? extends IUniverseSolverFactory> type,
+            String name, Set<UniverseProblemKind> kinds, boolean incremental,
+            boolean threadSafe, boolean nativeCode) {
+        this.type = type;
+        this.name = name;
+        this.kinds = kinds;
+        this.incremental = incremental;
+        this.threadSafe = threadSafe;
+        this.nativeCode = nativeCode;
+    }
+
+    /**
+     * Reads the capabilities declared on the class of a factory.
+     * This does not instantiate the factory.
+     *
+     * @param type The class of the factory.
+     *
+     * @return The capabilities of the factory.
+     */
+    public static UniverseSolverCapabilities of(Class<? extends IUniverseSolverFactory> type) {
+        var annotation = type.getAnnotation(UniverseCapabilities.class);
+        if (annotation == null) {
+            return new UniverseSolverCapabilities(type, type.getSimpleName(),
+                    Collections.unmodifiableSet(EnumSet.allOf(UniverseProblemKind.class)),
+                    false, false, false);
+        }
+
+        var kinds = EnumSet.noneOf(UniverseProblemKind.class);
+        Collections.addAll(kinds, annotation.kinds());
+        return new UniverseSolverCapabilities(type,
+                annotation.name().isEmpty() ? type.getSimpleName() : annotation.name(),
+                Collections.unmodifiableSet(kinds), annotation.incremental(),
+                annotation.threadSafe(), annotation.nativeCode());
+    }
+
+    /**
+     * Gives the class of the factory.
+     *
+     * @return The class of the factory.
+     */
+    public Class<? extends IUniverseSolverFactory> getType() {
+        return type;
+    }
+
+    /**
+     * Gives the name of the factory.
+     *
+     * @return The name of the factory.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gives the kinds of problems for which the factory creates solvers.
+     *
+     * @return The supported kinds of problems.
+     */
+    public Set<UniverseProblemKind> getKinds() {
+        return kinds;
+    }
+
+    /**
+     * Checks whether the factory creates solvers for the given kind of problems.
+     *
+     * @param kind The kind of problems to check.
+     *
+     * @return Whether the kind of problems is supported.
+     */
+    public boolean supports(UniverseProblemKind kind) {
+        return kinds.contains(kind);
+    }
+
+    /**
+     * Gives whether the solvers support incremental solving.
+     *
+     * @return Whether the solvers are incremental.
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Gives whether the solvers can safely be used by several threads.
+     *
+     * @return Whether the solvers are thread-safe.
+     */
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
+    /**
+     * Gives whether the solvers rely on native code.
+     *
+     * @return Whether the solvers are native.
+     */
+    public boolean isNative() {
+        return nativeCode;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return name + kinds + (incremental ? " incremental" : "")
+                + (threadSafe ? " thread-safe" : "") + (nativeCode ? " native" : "");
+    }
+
+}
@@ -0,0 +1,341 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.utils;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseAssumption;
+import fr.univartois.cril.juniverse.core.UniverseSolverResult;
+import fr.univartois.cril.juniverse.core.problem.IUniverseConstraint;
+import fr.univartois.cril.juniverse.core.problem.IUniverseVariable;
+import fr.univartois.cril.juniverse.listener.IUniverseSearchListener;
+
+/**
+ * The UniverseSolverDecorator is a solver that delegates all its method calls to another
+ * solver.
+ * It is meant to be extended by classes that need to add behavior around some of the
+ * methods of a solver (e.g., for monitoring purposes), following the Decorator Design
+ * Pattern.
+ *
+ * @param <S> The type of the decorated solver.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseSolverDecorator<S extends IUniverseSolver> implements IUniverseSolver {
+
+    /**
+     * The solver to which method calls are delegated.
+     */
+    protected final S solver;
+
+    /**
+     * Creates a new UniverseSolverDecorator.
+     *
+     * @param solver The solver to which method calls are delegated.
+     */
+    public UniverseSolverDecorator(S solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Gives the solver decorated by this decorator.
+     *
+     * @return The decorated solver.
+     */
+    public S getDecoratedSolver() {
+        return solver;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#reset()
+     */
+    @Override
+    public void reset() {
+        solver.reset();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#nVariables()
+     */
+    @Override
+    public int nVariables() {
+        return solver.nVariables();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#getVariablesMapping()
+     */
+    @Override
+    public Map<String, IUniverseVariable> getVariablesMapping() {
+        return solver.getVariablesMapping();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#getAuxiliaryVariables()
+     */
+    @Override
+    public List<String> getAuxiliaryVariables() {
+        return solver.getAuxiliaryVariables();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#getConstraints()
+     */
+    @Override
+    public List<IUniverseConstraint> getConstraints() {
+        return solver.getConstraints();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#decisionVariables(java.util.
+     * List)
+     */
+    @Override
+    public void decisionVariables(List<String> variables) {
+        solver.decisionVariables(variables);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.juniverse.core.IUniverseSolver#valueHeuristicStatic(java.util.List,
+     * java.util.List)
+     */
+    @Override
+    public void valueHeuristicStatic(List<String> variables,
+            List<? extends Number> orderedValues) {
+        solver.valueHeuristicStatic(variables, orderedValues);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#nConstraints()
+     */
+    @Override
+    public int nConstraints() {
+        return solver.nConstraints();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#isOptimization()
+     */
+    @Override
+    public boolean isOptimization() {
+        return solver.isOptimization();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setTimeout(long)
+     */
+    @Override
+    public void setTimeout(long seconds) {
+        solver.setTimeout(seconds);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setTimeoutMs(long)
+     */
+    @Override
+    public void setTimeoutMs(long mseconds) {
+        solver.setTimeoutMs(mseconds);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setVerbosity(int)
+     */
+    @Override
+    public void setVerbosity(int level) {
+        solver.setVerbosity(level);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#addSearchListener(fr.
+     * univartois.cril.juniverse.listener.IUniverseSearchListener)
+     */
+    @Override
+    public void addSearchListener(IUniverseSearchListener listener) {
+        solver.addSearchListener(listener);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#removeSearchListener(fr.
+     * univartois.cril.juniverse.listener.IUniverseSearchListener)
+     */
+    @Override
+    public void removeSearchListener(IUniverseSearchListener listener) {
+        solver.removeSearchListener(listener);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setLogFile(java.lang.String)
+     */
+    @Override
+    public void setLogFile(String filename) {
+        solver.setLogFile(filename);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#setLogStream(java.io.
+     * OutputStream)
+     */
+    @Override
+    public void setLogStream(OutputStream stream) {
+        solver.setLogStream(stream);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#loadInstance(java.lang.String)
+     */
+    @Override
+    public void loadInstance(String filename) {
+        solver.loadInstance(filename);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#solve()
+     */
+    @Override
+    public UniverseSolverResult solve() {
+        return solver.solve();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#solve(java.lang.String)
+     */
+    @Override
+    public UniverseSolverResult solve(String filename) {
+        return solver.solve(filename);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#solve(java.util.List)
+     */
+    @Override
+    public UniverseSolverResult solve(List<UniverseAssumption<BigInteger>> assumptions) {
+        return solver.solve(assumptions);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#interrupt()
+     */
+    @Override
+    public void interrupt() {
+        solver.interrupt();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#solution()
+     */
+    @Override
+    public List<BigInteger> solution() {
+        return solver.solution();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#mapSolution()
+     */
+    @Override
+    public Map<String, BigInteger> mapSolution() {
+        return solver.mapSolution();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#mapSolution(boolean)
+     */
+    @Override
+    public Map<String, BigInteger> mapSolution(boolean excludeAux) {
+        return solver.mapSolution(excludeAux);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#checkSolution()
+     */
+    @Override
+    public boolean checkSolution() {
+        return solver.checkSolution();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.juniverse.core.IUniverseSolver#checkSolution(java.util.Map)
+     */
+    @Override
+    public boolean checkSolution(Map<String, BigInteger> assignment) {
+        return solver.checkSolution(assignment);
+    }
+
+}
@@ -0,0 +1,551 @@
+/**
+ * JUniverse, a universal solver interface.
+ * Copyright (c) 2022-2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package fr.univartois.cril.juniverse.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+import fr.univartois.cril.juniverse.core.IUniverseSolver;
+import fr.univartois.cril.juniverse.core.UniverseContradictionException;
+import fr.univartois.cril.juniverse.csp.IUniverseCSPSolver;
+import fr.univartois.cril.juniverse.generator.UniverseGraphColoringGenerator;
+import fr.univartois.cril.juniverse.generator.UniverseKnapsackGenerator;
+import fr.univartois.cril.juniverse.generator.UniverseRandomKSatGenerator;
+import fr.univartois.cril.juniverse.pb.IUniversePseudoBooleanSolver;
+import fr.univartois.cril.juniverse.sat.IUniverseSatSolver;
+
+/**
+ * The UniverseSolverPool keeps solvers ready to be used, so as to avoid paying the cost
+ * of creating a solver (native initialization, allocation of large arrays, class
+ * loading, etc.) for each instance to solve.
+ *
+ * Solvers are pooled by factory and by kind of problem.
+ * A borrowed solver must be given back to the pool with {@link #release(IUniverseSolver)}
+ * once it is not used anymore.
+ * Before being handed out again, a solver is reset with {@link IUniverseSolver#reset()}
+ * and validated: solvers that fail to reset, or that still contain constraints after
+ * their reset, are evicted.
+ * Solvers are also evicted after a maximum number of uses, or when the live heap
+ * (as measured after the last garbage collection) has grown by more than a given amount
+ * since they were created, which suggests that they leak memory.
+ * Evicted solvers are simply dropped, and left to the garbage collector.
+ *
+ * To make the first solves fast as well, the pool can be pre-warmed: the solvers it
+ * creates are then run once on a small synthetic instance, which loads the classes and
+ * lets the JIT compiler optimize the code of the solver.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.2.0
+ */
+public class UniverseSolverPool implements AutoCloseable {
+
+    /**
+     * The seed of the synthetic instances used to pre-warm the solvers.
+     */
+    private static final long WARM_UP_SEED = 42L;
+
+    /**
+     * The memory pools of the heap.
+     */
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = heapPools();
+
+    /**
+     * The maximum number of idle solvers kept for each factory and kind of problem.
+     */
+    private final int maxIdle;
+
+    /**
+     * The maximum number of times a solver is handed out before being evicted.
+     */
+    private final int maxUses;
+
+    /**
+     * The maximum growth of the live heap (in bytes) since the creation of a solver,
+     * above which the solver is evicted.
+     */
+    private final long maxHeapGrowth;
+
+    /**
+     * The idle solvers, indexed by factory and kind of problem.
+     */
+    private final Map<Key, Deque<PooledSolver>> idle = new ConcurrentHashMap<>();
+
+    /**
+     * The solvers that are currently borrowed.
+     */
+    private final Map<IUniverseSolver, PooledSolver> borrowed =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * The number of solvers created by this pool.
+     */
+    private final LongAdder created = new LongAdder();
+
+    /**
+     * The number of solvers evicted from this pool.
+     */
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * Creates a new UniverseSolverPool, keeping up to 4 idle solvers per factory and
+     * kind of problem, evicting them after 1000 uses or when the live heap has grown by
+     * more than 256 MB since their creation.
+     */
+    public UniverseSolverPool() {
+        this(4, 1000, 256L << 20);
+    }
+
+    /**
+     * Creates a new UniverseSolverPool.
+     *
+     * @param maxIdle The maximum number of idle solvers kept for each factory and kind
+     *        of problem.
+     * @param maxUses The maximum number of times a solver is handed out before being
+     *        evicted.
+     * @param maxHeapGrowth The maximum growth of the live heap (in bytes) since the
+     *        creation of a solver, above which the solver is evicted.
+     *
+     * @throws IllegalArgumentException If one of the parameters is not positive.
+     */
+    public UniverseSolverPool(int maxIdle, int maxUses, long maxHeapGrowth) {
+        if ((maxIdle <= 0) || (maxUses <= 0) || (maxHeapGrowth <= 0)) {
+            throw new IllegalArgumentException("Invalid pool parameters");
+        }
+
+        this.maxIdle = maxIdle;
+        this.maxUses = maxUses;
+        this.maxHeapGrowth = maxHeapGrowth;
+    }
+
+    /**
+     * Gives the memory pools of the heap.
+     *
+     * @return The memory pools of the heap.
+     */
+    private static List<MemoryPoolMXBean> heapPools() {
+        var pools = new ArrayList<MemoryPoolMXBean>();
+        for (var pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    /**
+     * Creates solvers in advance, and warms them up on a small synthetic instance.
+     *
+     * @param factory The factory creating the solvers.
+     * @param kind The kind of problem solved by the solvers.
+     * @param count The number of solvers to create (at most the maximum number of idle
+     *        solvers).
+     *
+     * @throws UnsupportedOperationException If the factory cannot create a solver for
+     *         this kind of problem.
+     */
+    public void prewarm(IUniverseSolverFactory factory, UniverseProblemKind kind, int count) {
+        var queue = idle(new Key(factory, kind));
+        for (int i = 0; i < Math.min(count, maxIdle); i++) {
+            var pooled = create(factory, kind);
+            warmUp(pooled.solver, kind);
+            queue.offerLast(pooled);
+        }
+    }
+
+    /**
+     * Runs a solver on a small synthetic instance.
+     *
+     * @param solver The solver to warm up.
+     * @param kind The kind of problem solved by the solver.
+     */
+    private static void warmUp(IUniverseSolver solver, UniverseProblemKind kind) {
+        try {
+            load(solver, kind);
+            solver.solve();
+
+        } catch (UniverseContradictionException e) {
+            // The instance is trivially inconsistent: the solver is warm enough.
+        }
+    }
+
+    /**
+     * Loads a small synthetic instance into a solver.
+     *
+     * @param solver The solver to load the instance into.
+     * @param kind The kind of problem solved by the solver.
+     */
+    private static void load(IUniverseSolver solver, UniverseProblemKind kind) {
+        switch (kind) {
+            case SAT:
+                new UniverseRandomKSatGenerator(50, 4.26, 3, WARM_UP_SEED)
+                        .generate((IUniverseSatSolver) solver);
+                break;
+
+            case PSEUDO_BOOLEAN:
+                new UniverseKnapsackGenerator(20, 20, 0.5, 0.5, WARM_UP_SEED)
+                        .generate((IUniversePseudoBooleanSolver) solver);
+                break;
+
+            case CSP:
+                new UniverseGraphColoringGenerator(20, 0.2, 3, WARM_UP_SEED)
+                        .generate((IUniverseCSPSolver) solver);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown kind of problem: " + kind);
+        }
+    }
+
+    /**
+     * Borrows a SAT solver from this pool.
+     *
+     * @param factory The factory creating the solver.
+     *
+     * @return A SAT solver, which must be released once it is not used anymore.
+     *
+     * @see #borrow(IUniverseSolverFactory, UniverseProblemKind)
+     */
+    public IUniverseSatSolver borrowSat(IUniverseSolverFactory factory) {
+        return (IUniverseSatSolver) borrow(factory, UniverseProblemKind.SAT);
+    }
+
+    /**
+     * Borrows a pseudo-Boolean solver from this pool.
+     *
+     * @param factory The factory creating the solver.
+     *
+     * @return A pseudo-Boolean solver, which must be released once it is not used
+     *         anymore.
+     *
+     * @see #borrow(IUniverseSolverFactory, UniverseProblemKind)
+     */
+    public IUniversePseudoBooleanSolver borrowPseudoBoolean(IUniverseSolverFactory factory) {
+        return (IUniversePseudoBooleanSolver) borrow(factory, UniverseProblemKind.PSEUDO_BOOLEAN);
+    }
+
+    /**
+     * Borrows a CSP solver from this pool.
+     *
+     * @param factory The factory creating the solver.
+     *
+     * @return A CSP solver, which must be released once it is not used anymore.
+     *
+     * @see #borrow(IUniverseSolverFactory, UniverseProblemKind)
+     */
+    public IUniverseCSPSolver borrowCsp(IUniverseSolverFactory factory) {
+        return (IUniverseCSPSolver) borrow(factory, UniverseProblemKind.CSP);
+    }
+
+    /**
+     * Borrows a solver from this pool.
+     * An idle solver is handed out after having been reset and validated if there is
+     * one, and a new solver is created otherwise.
+     *
+     * @param factory The factory creating the solver.
+     * @param kind The kind of problem to solve.
+     *
+     * @return A solver in its original state, which must be released once it is not
+     *         used anymore.
+     *
+     * @throws UnsupportedOperationException If the factory cannot create a solver for
+     *         this kind of problem.
+     */
+    public IUniverseSolver borrow(IUniverseSolverFactory factory, UniverseProblemKind kind) {
+        var queue = idle(new Key(factory, kind));
+        for (var pooled = queue.pollFirst(); pooled != null; pooled = queue.pollFirst()) {
+            if (validate(pooled.solver)) {
+                return lend(pooled);
+            }
+            evicted.increment();
+        }
+        return lend(create(factory, kind));
+    }
+
+    /**
+     * Resets a solver and checks that it is back in its original state.
+     *
+     * @param solver The solver to validate.
+     *
+     * @return Whether the solver can be used again.
+     */
+    private static boolean validate(IUniverseSolver solver) {
+        try {
+            solver.reset();
+
+        } catch (RuntimeException e) {
+            return false;
+        }
+
+        try {
+            return solver.nConstraints() == 0;
+
+        } catch (UnsupportedOperationException e) {
+            // The solver cannot be inspected: its reset is trusted.
+            return true;
+
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records that a pooled solver is handed out.
+     *
+     * @param pooled The solver handed out.
+     *
+     * @return The solver handed out.
+     */
+    private IUniverseSolver lend(PooledSolver pooled) {
+        pooled.uses++;
+        borrowed.put(pooled.solver, pooled);
+        return pooled.solver;
+    }
+
+    /**
+     * Gives back a borrowed solver to this pool.
+     * The solver is evicted if it has been used too many times, if the live heap has
+     * grown too much since its creation, or if there are already enough idle solvers.
+     * It must not be used by the caller anymore.
+     *
+     * @param solver The solver to give back.
+     *
+     * @throws IllegalArgumentException If the solver has not been borrowed from this
+     *         pool.
+     */
+    public void release(IUniverseSolver solver) {
+        var pooled = borrowed.remove(solver);
+        if (pooled == null) {
+            throw new IllegalArgumentException("The solver has not been borrowed from this pool");
+        }
+
+        if ((pooled.uses >= maxUses) || (liveHeap() - pooled.liveHeapAtCreation > maxHeapGrowth)) {
+            evicted.increment();
+            return;
+        }
+
+        var queue = idle(pooled.key);
+        if (queue.size() >= maxIdle) {
+            evicted.increment();
+            return;
+        }
+        queue.offerFirst(pooled);
+    }
+
+    /**
+     * Creates a new solver.
+     *
+     * @param factory The factory creating the solver.
+     * @param kind The kind of problem to solve.
+     *
+     * @return The created solver.
+     *
+     * @throws UnsupportedOperationException If the factory cannot create a solver for
+     *         this kind of problem.
+     */
+    private PooledSolver create(IUniverseSolverFactory factory, UniverseProblemKind kind) {
+        var solver = kind.createSolver(factory);
+        if (solver == null) {
+            throw new UnsupportedOperationException(factory + " does not support " + kind);
+        }
+        created.increment();
+        return new PooledSolver(new Key(factory, kind), solver, liveHeap());
+    }
+
+    /**
+     * Gives the queue of the idle solvers having the given key.
+     *
+     * @param key The key of the solvers.
+     *
+     * @return The queue of the idle solvers.
+     */
+    private Deque<PooledSolver> idle(Key key) {
+        return idle.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+    }
+
+    /**
+     * Gives the size of the live heap, i.e., the heap usage measured after the last
+     * garbage collection.
+     *
+     * @return The size of the live heap, in bytes.
+     */
+    private static long liveHeap() {
+        long live = 0;
+        for (var pool : HEAP_POOLS) {
+            var usage = pool.getCollectionUsage();
+            if (usage != null) {
+                live += usage.getUsed();
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Gives the number of solvers created by this pool.
+     *
+     * @return The number of created solvers.
+     */
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * Gives the number of solvers evicted from this pool.
+     *
+     * @return The number of evicted solvers.
+     */
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    /**
+     * Gives the number of idle solvers in this pool.
+     *
+     * @return The number of idle solvers.
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (var queue : idle.values()) {
+            count += queue.size();
+        }
+        return count;
+    }
+
+    /**
+     * Evicts all the idle solvers of this pool.
+     * Borrowed solvers are evicted when they are released.
+     */
+    @Override
+    public void close() {
+        for (var queue : idle.values()) {
+            for (var pooled = queue.pollFirst(); pooled != null; pooled = queue.pollFirst()) {
+                evicted.increment();
+            }
+        }
+    }
+
+    /**
+     * The Key identifies the solvers created by the same factory for the same kind of
+     * problem.
+     */
+    private static final class Key {
+
+        /**
+         * The factory creating the solvers.
+         */
+        private final IUniverseSolverFactory factory;
+
+        /**
+         * The kind of problem solved by the solvers.
+         */
+        private final UniverseProblemKind kind;
+
+        /**
+         * Creates a new Key.
+         *
+         * @param factory The factory creating the solvers.
+         * @param kind The kind of problem solved by the solvers.
+         */
+        private Key(IUniverseSolverFactory factory, UniverseProblemKind kind) {
+            this.factory = factory;
+            this.kind = kind;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(factory), kind);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            var other = (Key) obj;
+            return (factory == other.factory) && (kind == other.kind);
+        }
+
+    }
+
+    /**
+     * The PooledSolver is a solver managed by the pool.
+     */
+    private static final class PooledSolver {
+
+        /**
+         * The key of the solver.
+         */
+        private final Key key;
+
+        /**
+         * The solver.
+         */
+        private final IUniverseSolver solver;
+
+        /**
+         * The size of the live heap when the solver was created.
+         */
+        private final long liveHeapAtCreation;
+
+        /**
+         * The number of times the solver has been handed out.
+         */
+        private int uses;
+
+        /**
+         * Creates a new PooledSolver.
+         *
+         * @param key The key of the solver.
+         * @param solver The solver.
+         * @param liveHeapAtCreation The size of the live heap when the solver was
+         *        created.
+         */
+        private PooledSolver(Key key, IUniverseSolver solver, long liveHeapAtCreation) {
+            this.key = key;
+            this.solver = solver;
+            this.liveHeapAtCreation = liveHeapAtCreation;
+        }
+
+    }
+
+}
@@ -12,8 +12,20 @@
 
 module fr.univartois.cril.juniverse {
 
+    // Required modules.
+
+    requires java.management;
+
+    requires jdk.jfr;
+
+    requires jdk.management;
+
     // Exported packages.
 
+    exports fr.univartois.cril.juniverse.checker;
+
+    exports fr.univartois.cril.juniverse.concurrent;
+
     exports fr.univartois.cril.juniverse.config;
 
     exports fr.univartois.cril.juniverse.core;
@@ -26,14 +38,32 @@ module fr.univartois.cril.juniverse {
 
     exports fr.univartois.cril.juniverse.csp.operator;
 
+    exports fr.univartois.cril.juniverse.generator;
+
+    exports fr.univartois.cril.juniverse.io;
+
     exports fr.univartois.cril.juniverse.listener;
 
+    exports fr.univartois.cril.juniverse.listener.filter;
+
+    exports fr.univartois.cril.juniverse.listener.jfr;
+
+    exports fr.univartois.cril.juniverse.listener.metrics;
+
+    exports fr.univartois.cril.juniverse.listener.trace;
+
     exports fr.univartois.cril.juniverse.optim;
 
+    exports fr.univartois.cril.juniverse.optim.lns;
+
     exports fr.univartois.cril.juniverse.pb;
 
+    exports fr.univartois.cril.juniverse.runner;
+
     exports fr.univartois.cril.juniverse.sat;
 
+    exports fr.univartois.cril.juniverse.sharing;
+
     exports fr.univartois.cril.juniverse.utils;
 
     // Solver factories can be easily retrieve when using IUniverseSolverFactory.